@@ -1,6 +1,10 @@
 package src.main.java; // Package declaration for the main application code
 
-import java.util.Date; // Importing Date class for appointmentDate field and validation 
+import java.time.Clock; // Importing Clock so "now" can be injected for the past-date check
+import java.time.Duration; // Importing Duration for the optional appointment length
+import java.time.Instant; // Importing Instant for the java.time accessors
+import java.util.Arrays; // Importing Arrays to grow and shrink the list of owning services
+import java.util.Date; // Importing Date class for the compatibility accessors 
 
 /**
  * CS 320 Module Five Milestone
@@ -14,17 +18,37 @@ import java.util.Date; // Importing Date class for appointmentDate field and val
  * - Unique appointment ID: String, max 10 characters, not null, not updatable
  * - Appointment Date: Date, cannot be in the past, not null
  * - Description: String, max 50 characters, not null
+ * - Duration: optional, not negative; zero (the default) means the appointment
+ *   marks a point in time and never conflicts with another appointment
+ * 
+ * The date is stored as a primitive epoch-millisecond value. getAppointmentMillis
+ * reads it without allocating; the Instant and Date accessors build a new object
+ * per call, so a caller can never move an appointment by mutating a returned Date.
+ * "Now" for the past-date check comes from an injectable Clock (system UTC by default).
  * 
  * All validations throw IllegalArgumentException with descriptive messages
  * to help identify issues during development and testing.
+ * tryCreate is the non-throwing alternative to the constructors for bulk input:
+ * it reports every invalid field in a reusable AppointmentValidation.
  */
 public class Appointment {
     
     // appointmentId is final to prevent any updates after construction (meets "not updatable" requirement)
     private final String appointmentId; // Unique identifier for the appointment (immutable)
     
-    private Date appointmentDate; // Date of the appointment (must be in the future or present, can be updated with validation)
+    private long appointmentMillis; // Date of the appointment in epoch milliseconds (must be in the future or present, can be updated with validation)
     private String description; // Description of the appointment (max 50 characters, can be updated with validation)
+    private long durationMillis; // Length of the appointment in milliseconds (0 = no duration)
+
+    // Services currently storing this appointment, notified on every change so their time indexes and stores stay current
+    private AppointmentService[] owners = NO_OWNERS; // Usually none or one; changed only through addOwner and removeOwner
+
+    private static final AppointmentService[] NO_OWNERS = {}; // Shared by every appointment not stored in a service
+
+    // Source of "now" for the past-date check
+    private final Clock clock; // Shared SYSTEM_CLOCK unless a test or caller injects another
+
+    static final Clock SYSTEM_CLOCK = Clock.systemUTC(); // Default clock; millis() is System.currentTimeMillis(), no allocation
 
     /**
      * Constructor - Creates a new Appointment object with full validation.
@@ -35,23 +59,158 @@ public class Appointment {
      * @throws IllegalArgumentException if any field violates the requirements
      */
     public Appointment(String appointmentId, Date appointmentDate, String description) { // Constructor with all fields, validates each according to the requirements
-        // Validate appointmentId first since it's immutable and required
-        if (appointmentId == null || appointmentId.trim().isEmpty()) { // Check for null or blank (using trim() to reject "   " as invalid)
-            throw new IllegalArgumentException("Appointment ID cannot be null or empty"); // Clear message indicating the issue with appointmentId
-        }
-        if (appointmentId.length() > 10) { // Check length without trimming to allow for exact 10-character IDs, but still reject longer ones
-            throw new IllegalArgumentException("Appointment ID cannot exceed 10 characters"); // Clear message indicating the issue with appointmentId length
-        }
-        // Store the original value (no trimming here to preserve exact ID) // This also ensures that the ID is exactly as provided, which can be important for uniqueness and matching in the system
-        this.appointmentId = appointmentId; // Set the appointmentId after validation (immutable, so no setter method provided)
-
+        this(appointmentId, SYSTEM_CLOCK); // Validate and set the ID
         // Validate and set appointmentDate
         setAppointmentDate(appointmentDate); // Use setter to leverage existing validation logic for appointmentDate
-        
         // Validate and set description
         setDescription(description); // Use setter to leverage existing validation logic for description
     }
 
+    /**
+     * Constructor - Creates a new Appointment object from an Instant, checking
+     * "not in the past" against the given clock.
+     * 
+     * @param appointmentId      Unique identifier (required, max 10 characters, cannot be changed later)
+     * @param appointmentInstant Date of the appointment (required, not before clock's current time; stored to the millisecond)
+     * @param description        Description of the appointment (required, max 50 characters)
+     * @param clock              Source of the current time for this and later date checks
+     * @throws IllegalArgumentException if any field violates the requirements
+     */
+    public Appointment(String appointmentId, Instant appointmentInstant, String description, Clock clock) { // Constructor for java.time callers and tests with a fixed clock
+        this(appointmentId, requireClock(clock)); // Validate and set the ID
+        setAppointmentInstant(appointmentInstant); // Validate and set the date against the injected clock
+        setDescription(description); // Validate and set the description
+    }
+
+    // Shared constructor body: validates and sets the ID; the caller sets the date, then the description, so errors are reported in field order
+    private Appointment(String appointmentId, Clock clock) { // Every public constructor and restore() start here
+        // Validate appointmentId first since it's immutable and required
+        throwIfInvalid(AppointmentValidator.checkAppointmentId(appointmentId)); // Rejects null, blank, and IDs longer than 10 characters
+        // Store the original value (no trimming here to preserve exact ID) // This also ensures that the ID is exactly as provided, which can be important for uniqueness and matching in the system
+        this.appointmentId = appointmentId; // Set the appointmentId after validation (immutable, so no setter method provided)
+        this.clock = clock; // Clock used by the date setters
+    }
+
+    /**
+     * Rebuilds a previously stored appointment (for example from a snapshot file)
+     * whose later date changes are checked against the given clock.
+     * The date is not checked against the current time, because a stored
+     * appointment may have passed since it was saved.
+     * 
+     * @param appointmentId     the stored ID
+     * @param appointmentMillis the stored date in epoch milliseconds
+     * @param durationMillis    the stored duration in milliseconds (not negative)
+     * @param description       the stored description
+     * @param clock             source of the current time for later date checks
+     * @return the rebuilt appointment
+     * @throws IllegalArgumentException if the ID or description is invalid
+     */
+    static Appointment restore(String appointmentId, long appointmentMillis, long durationMillis, String description, Clock clock) { // Package-private factory for storage code
+        Appointment appointment = new Appointment(appointmentId, clock); // Same checks as a new booking except the date
+        appointment.setDescription(description); // Not yet stored, so only validated
+        appointment.appointmentMillis = appointmentMillis; // A stored appointment may have passed since it was saved, so the date is taken as-is
+        appointment.durationMillis = durationMillis; // Written by the same validated setter before it was stored
+        return appointment; // Return the rebuilt appointment
+    }
+
+    /**
+     * Validates a row without throwing for bad input, and creates the
+     * appointment only if every field is valid. "Now" comes from the system clock.
+     * 
+     * @param appointmentId   the ID to check
+     * @param appointmentDate the date to check
+     * @param description     the description to check
+     * @return a new result holding the appointment or every field's failure
+     */
+    public static AppointmentValidation tryCreate(String appointmentId, Date appointmentDate, String description) { // Non-throwing alternative to the Date constructor
+        return tryCreate(appointmentId, appointmentDate, description, new AppointmentValidation()); // Fresh result
+    }
+
+    /**
+     * Validates a row into a reused result, without throwing for bad input.
+     * 
+     * @param appointmentId   the ID to check
+     * @param appointmentDate the date to check
+     * @param description     the description to check
+     * @param into            the result to overwrite (reused across rows)
+     * @return into, now describing this row
+     * @throws IllegalArgumentException if into is null
+     */
+    public static AppointmentValidation tryCreate(String appointmentId, Date appointmentDate, String description, AppointmentValidation into) { // Date form with a reused result
+        requireResult(into); // A null result is a programming error, not bad input
+        into.reset(); // Forget the previous row
+        long now = SYSTEM_CLOCK.millis(); // "Now" for the past-date check
+        AppointmentError dateError = AppointmentValidator.checkAppointmentDate(appointmentDate, now); // Null or past date
+        return checkAndCreate(appointmentId, dateError == null ? appointmentDate.getTime() : 0L, dateError, description, SYSTEM_CLOCK, into); // Shared with the Instant form
+    }
+
+    /**
+     * Validates a row against the given clock without throwing for bad input,
+     * and creates the appointment only if every field is valid.
+     * 
+     * @param appointmentId      the ID to check
+     * @param appointmentInstant the date to check
+     * @param description        the description to check
+     * @param clock              source of the current time for this and later date checks
+     * @return a new result holding the appointment or every field's failure
+     * @throws IllegalArgumentException if clock is null
+     */
+    public static AppointmentValidation tryCreate(String appointmentId, Instant appointmentInstant, String description, Clock clock) { // Non-throwing alternative to the Instant constructor
+        return tryCreate(appointmentId, appointmentInstant, description, clock, new AppointmentValidation()); // Fresh result
+    }
+
+    /**
+     * Validates a row against the given clock into a reused result, without
+     * throwing for bad input.
+     * 
+     * @param appointmentId      the ID to check
+     * @param appointmentInstant the date to check
+     * @param description        the description to check
+     * @param clock              source of the current time for this and later date checks
+     * @param into               the result to overwrite (reused across rows)
+     * @return into, now describing this row
+     * @throws IllegalArgumentException if clock or into is null
+     */
+    public static AppointmentValidation tryCreate(String appointmentId, Instant appointmentInstant, String description, Clock clock, AppointmentValidation into) { // Instant form with a reused result
+        requireClock(clock); // A null clock is a programming error, not bad input
+        requireResult(into); // So is a null result
+        into.reset(); // Forget the previous row
+        long millis = 0L; // The instant in epoch milliseconds, once checked
+        AppointmentError dateError; // Why the date was rejected, or null
+        if (appointmentInstant == null) { // Same rule as the Instant constructor
+            dateError = AppointmentError.DATE_NULL; // Missing date
+        } else {
+            try {
+                millis = appointmentInstant.toEpochMilli(); // Truncates sub-millisecond precision
+                dateError = AppointmentValidator.checkAppointmentMillis(millis, clock.millis()); // Rejects past dates
+            } catch (ArithmeticException outOfRange) { // Too far from the epoch for a long of milliseconds
+                dateError = AppointmentError.DATE_OUT_OF_RANGE; // Reported, not thrown
+            }
+        }
+        return checkAndCreate(appointmentId, millis, dateError, description, clock, into); // Shared with the Date form
+    }
+
+    // Checks the ID and description, records the date's outcome, and builds the appointment if all three passed
+    private static AppointmentValidation checkAndCreate(String appointmentId, long millis, AppointmentError dateError, String description, Clock clock, AppointmentValidation into) { // Shared by both tryCreate forms
+        into.check(AppointmentValidation.Field.APPOINTMENT_ID, AppointmentValidator.checkAppointmentId(appointmentId)); // appointmentId
+        into.check(AppointmentValidation.Field.DATE, dateError); // appointmentDate, already checked by the caller
+        into.check(AppointmentValidation.Field.DESCRIPTION, AppointmentValidator.checkDescription(description)); // description
+        if (into.isValid()) { // Every field passed
+            Appointment appointment = new Appointment(appointmentId, clock); // ID is valid, so this cannot throw
+            appointment.setDescription(description); // Nor can this
+            appointment.appointmentMillis = millis; // Checked against the same "now", so a row that passed at the millisecond boundary is not rejected by a second clock read
+            into.setAppointment(appointment); // Hand it to the caller
+        }
+        return into; // The same result, now describing this row
+    }
+
+    // Rejects a null result before any field is checked
+    private static void requireResult(AppointmentValidation into) { // Used by the tryCreate forms that take a result
+        if (into == null) { // Check for a null result
+            throw new IllegalArgumentException("Validation result cannot be null"); // Clear message indicating the issue with the result
+        }
+    }
+
     /**
      * Returns the unique, immutable appointment ID.
      * 
@@ -62,28 +221,141 @@ public class Appointment {
     }
 
     /**
-     * Returns the current appointment date.
+     * Returns the appointment date in epoch milliseconds, without allocating.
+     * 
+     * @return the appointment date in epoch milliseconds
+     */
+    public long getAppointmentMillis() { // Primitive getter for hot paths (indexes, storage, comparisons)
+        return appointmentMillis; // Return the stored value
+    }
+
+    /**
+     * Returns the appointment date as an Instant.
+     * 
+     * @return the appointment date (never null)
+     */
+    public Instant getAppointmentInstant() { // java.time getter
+        return Instant.ofEpochMilli(appointmentMillis); // Immutable value built from the stored millis
+    }
+
+    /**
+     * Returns a copy of the appointment date. Changing the returned Date does
+     * not change the appointment; use setAppointmentDate instead.
      * 
-     * @return the appointment date (guaranteed to be non-null and not in the past)
+     * @return a new Date holding the appointment date (never null)
      */
-    public Date getAppointmentDate() { //   Getter for appointmentDate, which can be updated with validation
-        return appointmentDate; // Return the appointmentDate (guaranteed to be non-null and not in the past due to constructor and setter validation)
+    public Date getAppointmentDate() { // Compatibility getter for java.util.Date callers
+        return new Date(appointmentMillis); // Defensive copy: the appointment never shares mutable state
     }
 
     /**
      * Updates the appointment date with strict validation.
+     * If the appointment is stored in an AppointmentService, the service's
+     * time-ordered index is updated to the new date.
      * 
      * @param appointmentDate the new date value
-     * @throws IllegalArgumentException if date is null or in the past
+     * @throws IllegalArgumentException if date is null or in the past, or the
+     *                                  owning service rejects the conflict it would cause
+     */
+    public void setAppointmentDate(Date appointmentDate) { // Compatibility setter for java.util.Date callers
+        throwIfInvalid(AppointmentValidator.checkAppointmentDate(appointmentDate, clock.millis())); // Rejects null and past dates without allocating a Date for "now"
+        moveTo(appointmentDate.getTime()); // Copy the value, so later changes to the caller's Date have no effect
+    }
+
+    /**
+     * Updates the appointment date with strict validation, to the millisecond.
+     * If the appointment is stored in an AppointmentService, the service's
+     * time-ordered index is updated to the new date.
+     * 
+     * @param appointmentInstant the new date value
+     * @throws IllegalArgumentException if the instant is null, in the past, outside the epoch-millisecond range,
+     *                                  or the owning service rejects the conflict it would cause
      */
-    public void setAppointmentDate(Date appointmentDate) { // Setter for appointmentDate with validation to ensure it cannot be set to a past date or null
-        if (appointmentDate == null) { // Check for null value
-            throw new IllegalArgumentException("Appointment date cannot be null"); // Clear message indicating the issue with appointmentDate being null
+    public void setAppointmentInstant(Instant appointmentInstant) { // java.time setter
+        if (appointmentInstant == null) { // Same rule as the Date setter
+            throw AppointmentError.DATE_NULL.toException(); // Missing date
         }
-        if (appointmentDate.before(new Date())) { // Check if the date is in the past (compares to current date and time)
-            throw new IllegalArgumentException("Appointment date cannot be in the past"); // Clear message indicating the issue with appointmentDate being in the past, helps developers understand that the date must be current or future
+        long millis; // The instant in epoch milliseconds
+        try {
+            millis = appointmentInstant.toEpochMilli(); // Truncates sub-millisecond precision
+        } catch (ArithmeticException outOfRange) { // Too far from the epoch for a long of milliseconds
+            throw new IllegalArgumentException(AppointmentError.DATE_OUT_OF_RANGE.getMessage(), outOfRange); // Report it like any other invalid date
+        }
+        throwIfInvalid(AppointmentValidator.checkAppointmentMillis(millis, clock.millis())); // Rejects past dates
+        moveTo(millis); // Store and re-index
+    }
+
+    // Stores a validated date and notifies the owning service
+    private void moveTo(long millis) { // Shared by both date setters
+        sync(); // The duration below must be the stored one
+        reschedule(millis, durationMillis); // Same duration, new start
+    }
+
+    /**
+     * Returns the appointment duration in milliseconds, without allocating.
+     * 
+     * @return the duration in milliseconds (0 if the appointment has no duration)
+     */
+    public long getDurationMillis() { // Primitive getter for the interval index and storage
+        return durationMillis; // Return the stored value
+    }
+
+    /**
+     * Returns the appointment duration.
+     * 
+     * @return the duration (Duration.ZERO if the appointment has no duration)
+     */
+    public Duration getDuration() { // java.time getter
+        return Duration.ofMillis(durationMillis); // Immutable value built from the stored millis
+    }
+
+    /**
+     * Returns the end of the appointment, the first millisecond after it,
+     * in epoch milliseconds. Equal to the date for an appointment without a duration.
+     * 
+     * @return the appointment date plus its duration (capped at Long.MAX_VALUE)
+     */
+    public long getEndMillis() { // Exclusive end of [date, date + duration)
+        long end = appointmentMillis + durationMillis; // Both are epoch-millisecond quantities
+        return end < appointmentMillis ? Long.MAX_VALUE : end; // Saturate instead of wrapping for dates near the end of time
+    }
+
+    /**
+     * Updates the appointment duration, to the millisecond. An appointment with a
+     * duration occupies [date, date + duration); two such appointments conflict
+     * when those intervals overlap. A zero duration removes the appointment from
+     * conflict checks. If the appointment is stored in an AppointmentService that
+     * rejects conflicts, a duration that would overlap another appointment is
+     * rejected and the appointment is left unchanged.
+     * 
+     * @param duration the new duration (Duration.ZERO for none)
+     * @throws IllegalArgumentException if duration is null, negative, too long for
+     *                                  a long of milliseconds, or would cause a conflict
+     */
+    public void setDuration(Duration duration) { // Setter for the optional duration
+        throwIfInvalid(AppointmentValidator.checkDuration(duration)); // Rejects null and negative durations
+        long millis; // The duration in milliseconds
+        try {
+            millis = duration.toMillis(); // Truncates sub-millisecond precision
+        } catch (ArithmeticException outOfRange) { // Too long for a long of milliseconds
+            throw new IllegalArgumentException("Duration is out of range", outOfRange); // Report it like any other invalid duration
+        }
+        sync(); // The date below must be the stored one
+        reschedule(appointmentMillis, millis); // Same start, new duration
+    }
+
+    // Stores a validated date and duration and notifies the owning services
+    private void reschedule(long millis, long duration) { // Shared by the date and duration setters
+        for (AppointmentService owner : owners) { // Only appointments stored in a service can conflict
+            owner.checkConflicts(this, millis, duration); // Throws before anything changes if the new interval is taken
+        }
+        long previous = appointmentMillis; // Remember the old date so the owning services can find the stale index entry
+        long previousDuration = durationMillis; // Remember the old duration so the owning services can tell what changed
+        appointmentMillis = millis; // Set the date after validation (allows updates, but only to valid future or present dates)
+        durationMillis = duration; // Set the duration after validation
+        for (AppointmentService owner : owners) { // Only appointments stored in a service are indexed
+            owner.appointmentDateChanged(this, previous, previousDuration); // Re-key the appointment in the owning service's time and interval indexes
         }
-        this.appointmentDate = appointmentDate; // Set the appointmentDate after validation (allows updates, but only to valid future or present dates)
     }
 
     /**
@@ -97,20 +369,99 @@ public class Appointment {
 
     /**
      * Updates the appointment description with strict validation.
+     * If the appointment is stored in an AppointmentService, the change is
+     * written through to the service's store.
      * 
      * @param description the new description value
      * @throws IllegalArgumentException if description is null, empty, or exceeds 50 characters
      */
     public void setDescription(String description) { // Setter for description with validation to ensure it cannot be null, empty, or exceed 50 characters
-        // Check for null or blank (using trim() to reject "   " as invalid)
-        if (description == null || description.trim().isEmpty()) { // Check for null or blank (using trim() to reject "   " as invalid)
-            throw new IllegalArgumentException("Description cannot be null or empty"); // Clear message indicating the issue with description being null or empty, helps developers understand that a meaningful description is required
-        }
-        // Check length using trimmed value to enforce meaningful content
-        if (description.trim().length() > 50) { // Check length of trimmed description to ensure it does not exceed 50 characters, while still allowing for leading/trailing spaces if needed
-            throw new IllegalArgumentException("Description cannot exceed 50 characters"); // Clear message indicating the issue with description length, helps developers understand that the description must be concise and within the specified limit
-        }
+        throwIfInvalid(AppointmentValidator.checkDescription(description)); // Rejects null, blank, and descriptions longer than 50 characters once trimmed, without a trimmed copy
+        sync(); // Reload a stale copy first (throws if its record was removed)
         // Store original input
         this.description = description; // Set the description after validation (allows updates, but only to valid non-null, non-empty, and ≤50 character strings)
+        for (AppointmentService owner : owners) { // Only appointments stored in a service are tracked
+            owner.appointmentDescriptionChanged(this); // Let the owning service write the change through to its store
+        }
+    }
+
+    /**
+     * Overwrites the date, duration and description with stored values, without
+     * validation or notification. Used by stores that hand out copies.
+     * 
+     * @param appointmentMillis the stored date in epoch milliseconds
+     * @param durationMillis    the stored duration in milliseconds
+     * @param description       the stored description
+     */
+    void reload(long appointmentMillis, long durationMillis, String description) { // Package-private: called by OffHeapAppointmentStore.refresh
+        this.appointmentMillis = appointmentMillis; // Stored date
+        this.durationMillis = durationMillis; // Stored duration
+        this.description = description; // Stored description
+    }
+
+    // Lets the owning services bring a copy up to date before a setter changes it
+    private void sync() { // Called by every setter after validation, before any field changes
+        for (AppointmentService owner : owners) { // Only stored appointments have anything to reload
+            owner.appointmentChanging(this); // May throw IllegalStateException for a copy of a deleted appointment
+        }
+    }
+
+    /**
+     * Subscribes a service to this appointment's changes. Services that no longer
+     * store this appointment's ID are dropped at the same time.
+     * 
+     * @param service the service storing or returning this appointment
+     */
+    void addOwner(AppointmentService service) { // Package-private: called by AppointmentService
+        for (AppointmentService owner : owners) { // Usually a single entry
+            if (owner == service) { // Already subscribed
+                return; // Nothing to change
+            }
+        }
+        AppointmentService[] kept = new AppointmentService[owners.length + 1]; // Room for the new owner
+        int count = 0; // Owners kept so far
+        for (AppointmentService owner : owners) { // Previous owners
+            if (owner.holds(appointmentId)) { // Still stores this ID
+                kept[count++] = owner; // Keep notifying it
+            }
+        }
+        kept[count++] = service; // Notify the new owner too
+        owners = Arrays.copyOf(kept, count); // Exact size
+    }
+
+    /**
+     * Unsubscribes a service from this appointment's changes.
+     * 
+     * @param service the service that no longer stores this appointment
+     */
+    void removeOwner(AppointmentService service) { // Package-private: called by AppointmentService on delete and expiry
+        for (int i = 0; i < owners.length; i++) { // Find the service
+            if (owners[i] == service) { // Subscribed
+                AppointmentService[] kept = Arrays.copyOf(owners, owners.length - 1); // Drops the last entry
+                if (i < kept.length) { // The service was not the last entry
+                    kept[i] = owners[owners.length - 1]; // Move the last entry into its place
+                }
+                owners = kept.length == 0 ? NO_OWNERS : kept; // Share the empty array
+                return; // Each service appears at most once
+            }
+        }
+    }
+
+    // Rejects a null clock before any field is set
+    private static Clock requireClock(Clock clock) { // Used by the Instant constructor
+        if (clock == null) { // Check for a null clock
+            throw new IllegalArgumentException("Clock cannot be null"); // Clear message indicating the issue with the clock
+        }
+        return clock; // Non-null clock
+    }
+
+    // Throws the exception for a failed check; null means the value is valid
+    private void throwIfInvalid(AppointmentError error) { // Shared by the constructor and setters
+        if (error != null) { // A non-null result describes the failure
+            for (AppointmentService owner : owners) { // A stored appointment's services count rejected values
+                owner.appointmentRejected(error); // Per-field validation metrics
+            }
+            throw error.toException(); // Throw with the fixed message for this failure
+        }
     }
 }
\ No newline at end of file
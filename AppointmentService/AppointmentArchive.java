@@ -0,0 +1,246 @@
+package src.main.java; // Package declaration for main application classes
+
+import java.io.IOException; // Importing IOException for file access failures
+import java.nio.ByteBuffer; // Importing ByteBuffer for encoding a batch of records
+import java.nio.channels.FileChannel; // Importing FileChannel for appending to the archive file
+import java.nio.charset.StandardCharsets; // Importing StandardCharsets for UTF-8 encoding of IDs and descriptions
+import java.nio.file.Path; // Importing Path for archive file locations
+import java.nio.file.StandardOpenOption; // Importing StandardOpenOption for opening the file channel
+import java.util.Collection; // Importing Collection for the appointments to append
+import java.util.function.Consumer; // Importing Consumer for visiting every archived appointment
+
+/**
+ * AppointmentArchive Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Append-only file of appointments removed from a service, written by
+ * AppointmentExpiry. Unlike an AppointmentSnapshot, the archive is never
+ * rewritten and has no lookup table: records are only ever added at the end and
+ * read back in order, so each costs just its own bytes (about 30 plus the ID
+ * and description for a typical appointment).
+ *
+ * File layout (big-endian):
+ * - Header:  int magic, int version
+ * - Records: byte ID length, ID (UTF-8), long date (epoch millis),
+ *            long duration (millis), short description length, description (UTF-8)
+ *
+ * A batch is appended with a single write. If the process dies in the middle of
+ * one, the incomplete record at the end of the file is dropped the next time the
+ * archive is opened, so the file always holds whole records. Appending is
+ * thread-safe.
+ */
+public final class AppointmentArchive implements AutoCloseable { // Appender for an archive file
+
+    static final int MAGIC = 0x41415243; // "AARC" marks an appointment archive
+    static final int VERSION = 1; // Format version written by append()
+    static final int HEADER_BYTES = 8; // magic + version
+    private static final int FIXED_RECORD_BYTES = 1 + Long.BYTES + Long.BYTES + Short.BYTES; // Record size before the ID and description bytes
+
+    private final FileChannel channel; // Open for appending
+    private final boolean force; // Whether each append is flushed to the device before it returns
+    private long size; // File length, i.e. the offset of the next record
+    private long count; // Records in the file
+
+    private AppointmentArchive(FileChannel channel, boolean force) { // Built by open()
+        this.channel = channel; // Keep the channel
+        this.force = force; // Keep the durability setting
+    }
+
+    /**
+     * Opens an archive file for appending, creating it if it does not exist.
+     * Appends are flushed to the storage device before they return.
+     *
+     * @param file the archive file
+     * @return the open archive
+     * @throws IOException if the file cannot be opened or is not an archive
+     */
+    public static AppointmentArchive open(Path file) throws IOException { // Durable appends
+        return open(file, true); // Flush every batch
+    }
+
+    /**
+     * Opens an archive file for appending, creating it if it does not exist.
+     *
+     * @param file  the archive file
+     * @param force true to flush every append to the storage device before it
+     *              returns; false to leave flushing to the operating system
+     * @return the open archive
+     * @throws IOException if the file cannot be opened or is not an archive
+     */
+    public static AppointmentArchive open(Path file, boolean force) throws IOException { // Explicit durability
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE); // Created if missing
+        try {
+            AppointmentArchive archive = new AppointmentArchive(channel, force); // Not positioned yet
+            if (channel.size() == 0) { // New file
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION); // Header
+                header.flip(); // Ready to write
+                writeFully(channel, header, 0); // At the start of the file
+                archive.size = HEADER_BYTES; // Records start here
+            } else {
+                archive.recover(); // Count the records and drop a torn tail
+            }
+            return archive; // Ready to append
+        } catch (IOException | RuntimeException failure) { // Do not leak the channel
+            channel.close(); // Release the file
+            throw failure; // Same exception
+        }
+    }
+
+    /**
+     * Reads every appointment in an archive file, oldest record first.
+     * An incomplete record at the end of the file is ignored.
+     *
+     * @param file     the archive file
+     * @param consumer receives each archived appointment
+     * @throws IOException if the file cannot be read or is not an archive
+     */
+    public static void read(Path file, Consumer<Appointment> consumer) throws IOException { // Sequential scan
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) { // Read-only
+            scan(channel, consumer); // Decode every whole record
+        }
+    }
+
+    /**
+     * Appends appointments to the end of the archive in one write.
+     *
+     * @param appointments the appointments to archive, in the order to store them
+     * @return the number of bytes appended
+     * @throws IOException if the write fails; the archive then ends at the last whole batch
+     */
+    public synchronized long append(Collection<Appointment> appointments) throws IOException { // One write per batch
+        byte[][] ids = new byte[appointments.size()][]; // Encoded IDs
+        byte[][] descriptions = new byte[appointments.size()][]; // Encoded descriptions
+        int bytes = 0; // Size of the batch
+        int i = 0; // Position in the arrays
+        for (Appointment appointment : appointments) { // Encode up front to size the buffer
+            ids[i] = appointment.getAppointmentId().getBytes(StandardCharsets.UTF_8); // At most 30 bytes for a valid ID
+            descriptions[i] = appointment.getDescription().getBytes(StandardCharsets.UTF_8); // At most 150 bytes for a valid description
+            bytes += FIXED_RECORD_BYTES + ids[i].length + descriptions[i].length; // Size of this record
+            i++; // Next record
+        }
+        ByteBuffer out = ByteBuffer.allocate(bytes); // Whole batch
+        i = 0; // Back to the first record
+        for (Appointment appointment : appointments) { // Encode every record
+            out.put((byte) ids[i].length).put(ids[i]); // ID
+            out.putLong(appointment.getAppointmentMillis()); // Date
+            out.putLong(appointment.getDurationMillis()); // Duration
+            out.putShort((short) descriptions[i].length).put(descriptions[i]); // Description
+            i++; // Next record
+        }
+        out.flip(); // Ready to write
+        try {
+            writeFully(channel, out, size); // After the last whole record
+            if (force) { // Durable appends
+                channel.force(false); // Data only; the length is recovered from the records
+            }
+        } catch (IOException failure) { // Leave no partial batch behind
+            channel.truncate(size); // Back to the last whole record
+            throw failure; // Same exception
+        }
+        size += bytes; // Next record goes after this batch
+        count += appointments.size(); // Now in the file
+        return bytes; // Bytes appended
+    }
+
+    /**
+     * Returns the number of appointments in the archive.
+     *
+     * @return the record count
+     */
+    public synchronized long size() { // Record count
+        return count; // Including records from earlier runs
+    }
+
+    /**
+     * Returns the length of the archive file.
+     *
+     * @return the file length in bytes
+     */
+    public synchronized long sizeInBytes() { // File length
+        return size; // Header plus every record
+    }
+
+    /**
+     * Closes the archive file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException { // Release the file
+        channel.close(); // Later appends fail with ClosedChannelException
+    }
+
+    // Counts the records of an existing file and cuts off a torn record at its end
+    private void recover() throws IOException { // Called by open()
+        long[] records = {0}; // Counted by the scan
+        size = scan(channel, appointment -> records[0]++); // End of the last whole record
+        count = records[0]; // Whole records only
+        if (channel.size() > size) { // Incomplete record after the last whole one
+            channel.truncate(size); // Dropped
+        }
+    }
+
+    // Decodes every whole record of an archive and returns the offset after the last one
+    private static long scan(FileChannel channel, Consumer<Appointment> consumer) throws IOException { // Shared by read and recover
+        ByteBuffer in = ByteBuffer.allocate(64 * 1024); // Read buffer, much larger than any record
+        in.limit(0); // Empty
+        long position = 0; // File offset of in's first unread byte
+        if (!fill(channel, in, position, HEADER_BYTES) || in.getInt() != MAGIC || in.getInt() != VERSION) { // Check the header
+            throw new IOException("Not an appointment archive"); // Clear message indicating the file is not an archive
+        }
+        position += HEADER_BYTES; // Records start here
+        while (fill(channel, in, position, FIXED_RECORD_BYTES)) { // Room for the fixed fields of another record
+            int start = in.position(); // Start of this record in the buffer
+            int idLength = in.get(start) & 0xFF; // ID length
+            int descriptionOffset = 1 + idLength + Long.BYTES + Long.BYTES; // Description length follows the ID, date and duration
+            if (!fill(channel, in, position, descriptionOffset + Short.BYTES)) { // Cut off inside the fixed fields
+                break; // Torn record
+            }
+            start = in.position(); // fill may have compacted the buffer
+            int recordLength = descriptionOffset + Short.BYTES + (in.getShort(start + descriptionOffset) & 0xFFFF); // Whole record
+            if (!fill(channel, in, position, recordLength)) { // Cut off inside the description
+                break; // Torn record
+            }
+            start = in.position(); // fill may have compacted the buffer
+            byte[] id = new byte[idLength]; // ID bytes
+            in.get(start + 1, id); // Absolute bulk get
+            long millis = in.getLong(start + 1 + idLength); // Date
+            long duration = in.getLong(start + 1 + idLength + Long.BYTES); // Duration
+            byte[] description = new byte[recordLength - descriptionOffset - Short.BYTES]; // Description bytes
+            in.get(start + descriptionOffset + Short.BYTES, description); // Absolute bulk get
+            consumer.accept(Appointment.restore(new String(id, StandardCharsets.UTF_8), millis, duration, // Archived dates are in the past, so skip that check
+                new String(description, StandardCharsets.UTF_8), Appointment.SYSTEM_CLOCK)); // Detached appointment
+            in.position(start + recordLength); // Next record
+            position += recordLength; // File offset of the next record
+        }
+        return position; // End of the last whole record
+    }
+
+    // Makes sure in holds at least needed unread bytes, reading more from the file; false at end of file
+    private static boolean fill(FileChannel channel, ByteBuffer in, long position, int needed) throws IOException { // position is the file offset of in's first unread byte
+        if (in.remaining() >= needed) { // Already buffered
+            return true; // Nothing to read
+        }
+        long fileOffset = position + in.remaining(); // First byte not yet buffered
+        in.compact(); // Move the unread bytes to the front, ready for reading more
+        while (in.position() < needed) { // Read until enough is buffered
+            int read = channel.read(in, fileOffset); // Positional read
+            if (read < 0) { // End of file
+                in.flip(); // Back to reading mode
+                return false; // Not enough bytes left
+            }
+            fileOffset += read; // Advance in the file
+        }
+        in.flip(); // Back to reading mode
+        return true; // Enough buffered
+    }
+
+    // Writes all of buffer at a file offset
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException { // FileChannel.write may write less than asked
+        while (buffer.hasRemaining()) { // Until every byte is written
+            position += channel.write(buffer, position); // Positional write
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package src.main.java; // Package declaration for the main application code
+
+/**
+ * AppointmentError Enum
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * Preallocated descriptors for every way an Appointment field can fail validation.
+ * AppointmentValidator returns one of these constants instead of building a message,
+ * so a failed check allocates nothing until the caller decides to throw.
+ * The messages are the same ones Appointment has always thrown.
+ */
+public enum AppointmentError { // One constant per invalid-field case
+    ID_BLANK("Appointment ID cannot be null or empty"), // appointmentId is null or only whitespace
+    ID_TOO_LONG("Appointment ID cannot exceed 10 characters"), // appointmentId is longer than 10 characters
+    DATE_NULL("Appointment date cannot be null"), // appointmentDate is null
+    DATE_IN_PAST("Appointment date cannot be in the past"), // appointmentDate is before the current time
+    DATE_OUT_OF_RANGE("Appointment date is out of range"), // appointmentInstant is too far from the epoch for a long of milliseconds
+    DESCRIPTION_BLANK("Description cannot be null or empty"), // description is null or only whitespace
+    DESCRIPTION_TOO_LONG("Description cannot exceed 50 characters"), // description is longer than 50 characters once trimmed
+    DURATION_NULL("Duration cannot be null"), // duration is null
+    DURATION_NEGATIVE("Duration cannot be negative"); // duration is below zero
+
+    private final String message; // Fixed message for this failure
+
+    AppointmentError(String message) { // Constructor storing the fixed message
+        this.message = message; // Assign the message
+    }
+
+    /**
+     * Returns the fixed message for this failure.
+     * 
+     * @return the message used by the IllegalArgumentException Appointment throws
+     */
+    public String getMessage() { // Getter for the message
+        return message; // Return the fixed message
+    }
+
+    /**
+     * Creates the exception Appointment throws for this failure.
+     * 
+     * @return a new IllegalArgumentException carrying the fixed message
+     */
+    public IllegalArgumentException toException() { // Build the exception only when the caller needs it
+        return new IllegalArgumentException(message); // Same message the original validation used
+    }
+}
@@ -0,0 +1,142 @@
+package src.main.java; // Package declaration for main application classes
+
+import java.time.Duration; // Importing Duration for the duration carried by an event
+import java.time.Instant; // Importing Instant for the date carried by an event
+
+/**
+ * AppointmentEvent Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * One change published by AppointmentService to an AppointmentEventBus:
+ * - CREATED carries the new appointment's date, duration and description
+ * - UPDATED names the changed field (getField) and carries only its new value;
+ *   a setter that leaves the date or duration as it was publishes nothing
+ * - DELETED and EXPIRED carry only the appointment ID
+ *
+ * Values an event does not carry are null. Events are immutable once published;
+ * getSequence is the event's position on the bus.
+ */
+public final class AppointmentEvent { // Immutable change record
+
+    /**
+     * Kind of change.
+     */
+    public enum Type { // Kind of change
+        CREATED, // addAppointment stored a new appointment
+        UPDATED, // A setter on a stored appointment changed a field
+        DELETED, // deleteAppointment removed an appointment
+        EXPIRED // AppointmentExpiry removed a past appointment
+    }
+
+    /**
+     * Field changed by an UPDATED event.
+     */
+    public enum Field { // Field changed by an UPDATED event
+        DATE, // setAppointmentDate or setAppointmentInstant
+        DURATION, // setDuration
+        DESCRIPTION // setDescription
+    }
+
+    private final Type type; // Kind of change
+    private final Field field; // Changed field (UPDATED only)
+    private final String appointmentId; // Appointment the change applies to
+    private final long appointmentMillis; // New date in epoch milliseconds (only meaningful when carried)
+    private final long durationMillis; // New duration in milliseconds (only meaningful when carried)
+    private final String description; // New description, or null if not carried
+    long sequence; // Position on the bus; set by AppointmentEventBus.publish before the event becomes visible
+
+    private AppointmentEvent(Type type, Field field, String appointmentId, long appointmentMillis, long durationMillis, String description) { // Built only by the factories below
+        this.type = type; // Store the kind
+        this.field = field; // Store the field
+        this.appointmentId = appointmentId; // Store the ID
+        this.appointmentMillis = appointmentMillis; // Store the date
+        this.durationMillis = durationMillis; // Store the duration
+        this.description = description; // Store the description
+    }
+
+    static AppointmentEvent created(Appointment appointment) { // Copies the values, so later changes do not leak into the event
+        return new AppointmentEvent(Type.CREATED, null, appointment.getAppointmentId(), appointment.getAppointmentMillis(), appointment.getDurationMillis(), appointment.getDescription()); // Every field
+    }
+
+    static AppointmentEvent dateChanged(Appointment appointment) { // New date only
+        return new AppointmentEvent(Type.UPDATED, Field.DATE, appointment.getAppointmentId(), appointment.getAppointmentMillis(), 0, null); // Date
+    }
+
+    static AppointmentEvent durationChanged(Appointment appointment) { // New duration only
+        return new AppointmentEvent(Type.UPDATED, Field.DURATION, appointment.getAppointmentId(), 0, appointment.getDurationMillis(), null); // Duration
+    }
+
+    static AppointmentEvent descriptionChanged(Appointment appointment) { // New description only
+        return new AppointmentEvent(Type.UPDATED, Field.DESCRIPTION, appointment.getAppointmentId(), 0, 0, appointment.getDescription()); // Description
+    }
+
+    static AppointmentEvent deleted(String appointmentId) { // ID only
+        return new AppointmentEvent(Type.DELETED, null, appointmentId, 0, 0, null); // No values
+    }
+
+    static AppointmentEvent expired(String appointmentId) { // ID only
+        return new AppointmentEvent(Type.EXPIRED, null, appointmentId, 0, 0, null); // No values
+    }
+
+    public Type getType() { // Kind of change
+        return type; // CREATED, UPDATED, DELETED or EXPIRED
+    }
+
+    /**
+     * Returns the changed field.
+     *
+     * @return the field for UPDATED, null otherwise
+     */
+    public Field getField() { // Changed field
+        return field; // Field enum
+    }
+
+    public String getAppointmentId() { // Appointment the change applies to
+        return appointmentId; // Never null
+    }
+
+    /**
+     * Returns the new date.
+     *
+     * @return the date, or null if this event does not carry it
+     */
+    public Instant getAppointmentInstant() { // java.time getter
+        return carries(Field.DATE) ? Instant.ofEpochMilli(appointmentMillis) : null; // Built on demand
+    }
+
+    /**
+     * Returns the new duration.
+     *
+     * @return the duration, or null if this event does not carry it
+     */
+    public Duration getDuration() { // java.time getter
+        return carries(Field.DURATION) ? Duration.ofMillis(durationMillis) : null; // Built on demand
+    }
+
+    /**
+     * Returns the new description.
+     *
+     * @return the description, or null if this event does not carry it
+     */
+    public String getDescription() { // New description
+        return description; // Null unless CREATED or a DESCRIPTION update
+    }
+
+    /**
+     * Returns the event's position on the bus, starting at 0.
+     */
+    public long getSequence() { // Position on the bus
+        return sequence; // Assigned when published
+    }
+
+    @Override
+    public String toString() { // Readable form for logs and test failures
+        return "#" + sequence + " " + type + (field == null ? "" : " " + field) + " " + appointmentId; // e.g. "#7 UPDATED DATE A1"
+    }
+
+    private boolean carries(Field value) { // Whether this event carries the given field's value
+        return type == Type.CREATED || field == value; // CREATED carries everything
+    }
+}
@@ -0,0 +1,235 @@
+package src.main.java; // Package declaration for main application classes
+
+import java.util.ArrayList; // Importing ArrayList for the reusable delivery batch
+import java.util.Collections; // Importing Collections for the read-only view handed to subscribers
+import java.util.List; // Importing List interface for batches and the subscription registry
+import java.util.concurrent.CopyOnWriteArrayList; // Importing CopyOnWriteArrayList for the subscription registry
+import java.util.concurrent.atomic.AtomicLong; // Importing AtomicLong for claiming sequence numbers
+import java.util.concurrent.atomic.AtomicReferenceArray; // Importing AtomicReferenceArray for the ring slots
+import java.util.concurrent.locks.LockSupport; // Importing LockSupport for parking idle subscriber threads
+
+/**
+ * AppointmentEventBus Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Change-data-capture stream for AppointmentService. A service built with a bus
+ * publishes an AppointmentEvent for every appointment it creates or deletes and
+ * for every change made through the setters of a stored appointment, so
+ * downstream consumers can subscribe instead of polling getAppointment.
+ *
+ * Publishing never blocks and never waits for a subscriber: events go into a
+ * fixed-size ring, where a publisher claims the next sequence number with one
+ * atomic increment and stores the event with one compare-and-set, overwriting
+ * the event one lap older.
+ *
+ * Every subscriber has its own thread and its own position in the ring, and
+ * receives waiting events in batches of up to maxBatch, in sequence order.
+ * A subscriber that falls a full ring behind skips to the oldest event still
+ * in the ring and is told through onLost how many it missed, so it can
+ * resynchronize. A slow or failing subscriber never holds up the service or
+ * the other subscribers. An idle subscriber thread parks with a growing
+ * back-off of up to MAX_PARK_NANOS.
+ */
+public final class AppointmentEventBus implements AutoCloseable { // Lock-free broadcast ring of appointment changes
+    public static final int DEFAULT_CAPACITY = 65_536; // Events a subscriber may fall behind before it loses any
+    public static final int DEFAULT_MAX_BATCH = 1_024; // Most events handed to one onEvents call
+    static final long MIN_PARK_NANOS = 50_000; // First idle back-off step (50 µs)
+    static final long MAX_PARK_NANOS = 5_000_000; // Longest idle back-off step (5 ms)
+
+    /**
+     * Pluggable consumer of appointment changes.
+     */
+    public interface Subscriber { // Pluggable consumer of appointment changes
+        void onEvents(List<AppointmentEvent> events); // A batch in sequence order; the list is only valid during the call
+
+        default void onLost(long count) { // count events were overwritten before this subscriber read them
+        }
+    }
+
+    private final AtomicReferenceArray<AppointmentEvent> slots; // The ring; slot i holds the newest event whose sequence maps to i
+    private final int mask; // capacity - 1, for sequence-to-slot mapping
+    private final int maxBatch; // Most events per onEvents call
+    private final AtomicLong next = new AtomicLong(); // Next sequence number to hand out
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>(); // Open subscriptions, for close()
+    private final AtomicLong threadNumber = new AtomicLong(); // Suffix for subscriber thread names
+
+    /**
+     * Creates a bus with the default ring and batch sizes.
+     */
+    public AppointmentEventBus() { // Bus with the default ring size and batch size
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_BATCH); // 64K events, batches of up to 1K
+    }
+
+    /**
+     * Creates a bus with the given ring and batch sizes.
+     *
+     * @param capacity events a subscriber may fall behind before it loses any (a power of two)
+     * @param maxBatch most events handed to one onEvents call
+     * @throws IllegalArgumentException if capacity is not a power of two of at least 2, or maxBatch is below 1
+     */
+    public AppointmentEventBus(int capacity, int maxBatch) { // Bus with an explicit ring size (a power of two) and batch size
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) { // Validate the ring size
+            throw new IllegalArgumentException("Capacity must be a power of two of at least 2"); // Throw an exception if slots cannot be found by masking
+        }
+        if (maxBatch < 1) { // Validate the batch size
+            throw new IllegalArgumentException("Batch size must be at least 1"); // Throw an exception if nothing could be delivered
+        }
+        this.slots = new AtomicReferenceArray<>(capacity); // Empty ring
+        this.mask = capacity - 1; // Power of two, so masking is a modulo
+        this.maxBatch = maxBatch; // Store the batch size
+    }
+
+    void publish(AppointmentEvent event) { // Called by AppointmentService; lock-free and never waits for subscribers
+        long sequence = next.getAndIncrement(); // Claim a position
+        event.sequence = sequence; // Stamp it before the event becomes visible
+        int index = (int) sequence & mask; // Slot for this position
+        AppointmentEvent current; // Event currently in the slot
+        do {
+            current = slots.get(index); // Older event (one lap back), or newer if this thread stalled for a whole lap
+            if (current != null && current.sequence > sequence) { // Lapped while stalled: a newer event already took the slot
+                return; // Drop this one; readers count it as lost
+            }
+        } while (!slots.compareAndSet(index, current, event)); // Publish (the CAS orders the stamp before the event)
+    }
+
+    /**
+     * Starts delivering events published from now on to the subscriber, on its own thread.
+     *
+     * @param subscriber the consumer
+     * @return the subscription, for its counters and to close it
+     * @throws IllegalArgumentException if subscriber is null
+     */
+    public Subscription subscribe(Subscriber subscriber) { // Starts delivering events published from now on
+        if (subscriber == null) { // Validate that the subscriber is not null
+            throw new IllegalArgumentException("Subscriber cannot be null"); // Throw an exception if there is no one to deliver to
+        }
+        Subscription subscription = new Subscription(subscriber, next.get()); // Starts at the next event to be published
+        subscriptions.add(subscription); // Remembered for close()
+        subscription.thread.start(); // Begin delivering
+        return subscription; // Handle for counters and close()
+    }
+
+    public long getPublishedCount() { // Events published so far
+        return next.get(); // Sequence numbers handed out
+    }
+
+    public int getCapacity() { // Ring size
+        return mask + 1; // Events a subscriber may fall behind before losing any
+    }
+
+    /**
+     * Closes every subscription, delivering what each has not read yet.
+     */
+    @Override
+    public void close() { // Closes every subscription, delivering what each has not read yet
+        for (Subscription subscription : subscriptions) { // Every open subscription
+            subscription.close(); // Drains and stops its thread
+        }
+    }
+
+    /**
+     * One subscriber's position in the ring and its delivery thread.
+     */
+    public final class Subscription implements AutoCloseable { // One subscriber's position in the ring and its delivery thread
+        private final Subscriber subscriber; // Consumer
+        private final Thread thread; // Delivery thread, so a slow subscriber only delays itself
+        private final long start; // Sequence of the first event this subscription receives
+        private long cursor; // Next sequence to read; only touched by the delivery thread
+        private volatile long delivered; // Events handed to onEvents; written only by the delivery thread
+        private volatile long lost; // Events overwritten before they were read; written only by the delivery thread
+        private volatile boolean closed; // Set by close()
+
+        private Subscription(Subscriber subscriber, long cursor) { // Created by subscribe
+            this.subscriber = subscriber; // Store the consumer
+            this.start = cursor; // Remember the start for getLag
+            this.cursor = cursor; // Start position
+            this.thread = new Thread(this::run, "appointment-events-" + threadNumber.incrementAndGet()); // Named for thread dumps
+            this.thread.setDaemon(true); // A forgotten close() does not keep the JVM alive
+        }
+
+        public long getDeliveredCount() { // Events delivered so far
+            return delivered; // Latest count
+        }
+
+        public long getLostCount() { // Events this subscriber missed because it fell a full ring behind
+            return lost; // Latest count
+        }
+
+        public long getLag() { // Events published but not yet delivered (an estimate while events are arriving)
+            return Math.max(0, next.get() - start - delivered - lost); // Published since subscribing, minus handled
+        }
+
+        /**
+         * Delivers every event already published, then stops the delivery thread.
+         */
+        @Override
+        public void close() { // Delivers every event already published, then stops the thread
+            closed = true; // Seen by the delivery loop
+            LockSupport.unpark(thread); // Wake it if it is parked
+            subscriptions.remove(this); // No longer closed by the bus
+            if (Thread.currentThread() == thread) { // Closed from inside onEvents
+                return; // The loop exits after the current batch
+            }
+            try {
+                thread.join(); // Wait for the final delivery
+            } catch (InterruptedException e) { // The caller was interrupted while waiting
+                Thread.currentThread().interrupt(); // Keep the interrupt; the thread finishes on its own
+            }
+        }
+
+        private void run() { // Delivery loop
+            List<AppointmentEvent> batch = new ArrayList<>(Math.min(maxBatch, mask + 1)); // Reused for every delivery
+            List<AppointmentEvent> view = Collections.unmodifiableList(batch); // What the subscriber sees
+            long park = MIN_PARK_NANOS; // Current idle back-off
+            while (true) {
+                boolean stopping = closed; // Read before draining, so everything published before close() is delivered
+                long missed = drain(batch); // Collect waiting events
+                if (missed > 0) { // Fell a full ring behind
+                    lost += missed; // Count them
+                    deliver(() -> subscriber.onLost(missed)); // Let the subscriber resynchronize
+                }
+                if (!batch.isEmpty()) { // Something to deliver
+                    delivered += batch.size(); // Count before the call, so counters are current inside onEvents
+                    deliver(() -> subscriber.onEvents(view)); // One call for the whole batch
+                    batch.clear(); // Reuse the list
+                    park = MIN_PARK_NANOS; // Busy again: reset the back-off
+                    continue; // Look for more right away
+                }
+                if (stopping) { // Closed and fully drained
+                    return; // End the thread
+                }
+                LockSupport.parkNanos(this, park); // Idle: wait a little
+                park = Math.min(park * 2, MAX_PARK_NANOS); // Wait longer the longer the bus stays quiet
+            }
+        }
+
+        private long drain(List<AppointmentEvent> batch) { // Moves published events from the ring into batch; returns how many were lost
+            long missed = 0; // Overwritten events skipped in this pass
+            while (batch.size() < maxBatch) { // Stop at a full batch
+                AppointmentEvent event = slots.get((int) cursor & mask); // Slot of the next sequence
+                if (event == null || event.sequence < cursor) { // Not published yet
+                    break; // Wait for the publisher
+                }
+                if (event.sequence > cursor) { // Overwritten by a later lap
+                    long oldest = event.sequence - mask; // Oldest sequence that can still be in the ring
+                    missed += oldest - cursor; // Everything before it is gone
+                    cursor = oldest; // Resume there
+                    continue; // Read again from the new position
+                }
+                batch.add(event); // Exactly the event expected
+                cursor++; // Advance
+            }
+            return missed; // Lost in this pass
+        }
+
+        private void deliver(Runnable call) { // Runs a subscriber callback, keeping the thread alive if it throws
+            try {
+                call.run(); // Hand over
+            } catch (RuntimeException failure) { // Subscriber bug
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, failure); // Report it like an uncaught exception
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package src.test.java; // Note: The package declaration may need to be adjusted based on your project structure.
+
+import org.junit.jupiter.api.Test; // JUnit 5 import
+
+import src.main.java.Appointment; // Importing the Appointment class to create test instances
+import src.main.java.AppointmentEvent; // Importing AppointmentEvent to inspect published changes
+import src.main.java.AppointmentEventBus; // Importing AppointmentEventBus to subscribe to the service
+import src.main.java.AppointmentService; // Importing the AppointmentService class that publishes the events
+import src.main.java.HeapAppointmentStore; // Importing the default store for services built with a bus
+
+import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for cleaner test code
+
+import java.time.Clock; // Importing Clock to pin "now"
+import java.time.Duration; // Importing Duration for appointment lengths
+import java.time.Instant; // Importing Instant for clock-relative appointment dates
+import java.time.ZoneOffset; // Importing ZoneOffset for building fixed clocks
+import java.util.ArrayList; // Importing ArrayList for collecting delivered events
+import java.util.Collections; // Importing Collections for a list shared with the delivery thread
+import java.util.Date; // Importing Date for the compatibility setter
+import java.util.List; // Importing List for event batches
+import java.util.concurrent.CountDownLatch; // Importing CountDownLatch to stall a subscriber
+import java.util.concurrent.TimeUnit; // Importing TimeUnit for latch timeouts
+
+/**
+ * CS 320 Module Five Milestone
+ * Appointment Event Bus Unit Tests
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * JUnit 5 tests to verify the change-data-capture stream of AppointmentService:
+ * adds, setter changes and deletes are published as typed events in order,
+ * setters that change nothing publish nothing, and a stalled subscriber never
+ * blocks the service.
+ */
+class AppointmentEventBusTest { // Test class for AppointmentEventBus and the events AppointmentService publishes
+
+    private static final Instant NOW = Instant.parse("2026-03-02T09:00:00Z"); // Fixed "now" for every test
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC); // Clock pinned to NOW
+
+    @Test
+    void testServicePublishesTypedEvents() { // Test case to verify the events published for each kind of change
+        List<AppointmentEvent> received = Collections.synchronizedList(new ArrayList<>()); // Everything delivered
+        AppointmentEventBus bus = new AppointmentEventBus(); // Default ring
+        AppointmentEventBus.Subscription subscription = bus.subscribe(received::addAll); // Copy each batch
+        AppointmentService service = new AppointmentService(new HeapAppointmentStore(), CLOCK, true, bus); // Service publishing to the bus
+
+        Instant start = NOW.plus(Duration.ofDays(1)); // Tomorrow
+        Appointment appt = new Appointment("A1", start, "Team meeting", CLOCK); // Stored below
+        service.addAppointment(appt); // CREATED
+        appt.setAppointmentInstant(start.plus(Duration.ofHours(1))); // UPDATED DATE
+        appt.setAppointmentInstant(start.plus(Duration.ofHours(1))); // Same date: no event
+        appt.setDuration(Duration.ofMinutes(30)); // UPDATED DURATION
+        appt.setDescription("Planning"); // UPDATED DESCRIPTION
+        appt.setAppointmentDate(Date.from(start.plus(Duration.ofHours(2)))); // UPDATED DATE through the Date setter
+        assertThrows(IllegalArgumentException.class, () -> appt.setDescription(null)); // Rejected: no event
+        service.deleteAppointment("A1"); // DELETED
+        appt.setDescription("Detached"); // No longer stored: no event
+        subscription.close(); // Delivers everything published so far
+
+        assertEquals(6, received.size()); // One event per applied change
+        for (int i = 0; i < received.size(); i++) { // In publish order
+            assertEquals(i, received.get(i).getSequence()); // Contiguous sequence numbers
+        }
+        AppointmentEvent created = received.get(0); // addAppointment
+        assertEquals(AppointmentEvent.Type.CREATED, created.getType()); // Kind
+        assertEquals(start, created.getAppointmentInstant()); // Date at creation time, not the later ones
+        assertEquals(Duration.ZERO, created.getDuration()); // No duration yet
+        assertEquals("Team meeting", created.getDescription()); // Description at creation time
+        AppointmentEvent moved = received.get(1); // setAppointmentInstant
+        assertEquals(AppointmentEvent.Field.DATE, moved.getField()); // Field
+        assertEquals(start.plus(Duration.ofHours(1)), moved.getAppointmentInstant()); // New date
+        assertNull(moved.getDuration()); // Other fields are not carried
+        assertEquals(Duration.ofMinutes(30), received.get(2).getDuration()); // setDuration
+        assertNull(received.get(2).getAppointmentInstant()); // Date not carried
+        assertEquals("Planning", received.get(3).getDescription()); // setDescription
+        assertEquals(AppointmentEvent.Field.DATE, received.get(4).getField()); // setAppointmentDate
+        assertEquals(AppointmentEvent.Type.DELETED, received.get(5).getType()); // deleteAppointment
+        assertEquals("A1", received.get(5).getAppointmentId()); // ID only
+        assertEquals(0, subscription.getLostCount()); // Nothing was overwritten
+
+        assertThrows(IllegalArgumentException.class, () -> bus.subscribe(null)); // A subscriber is required
+        assertThrows(IllegalArgumentException.class, () -> new AppointmentEventBus(100, 10)); // Capacity must be a power of two
+    }
+
+    @Test
+    void testStalledSubscriberNeverBlocksTheService() throws Exception { // Test case to verify that publishing does not wait for a slow consumer
+        AppointmentEventBus bus = new AppointmentEventBus(16, 4); // Tiny ring, small batches
+        CountDownLatch release = new CountDownLatch(1); // Holds the slow subscriber
+        AppointmentEventBus.Subscription slow = bus.subscribe(events -> { // Stalls on its first batch
+            try {
+                release.await(10, TimeUnit.SECONDS); // Stalled consumer
+            } catch (InterruptedException e) { // Not expected
+                Thread.currentThread().interrupt(); // Keep the interrupt
+            }
+        });
+        AppointmentService service = new AppointmentService(new HeapAppointmentStore(), CLOCK, true, bus); // Service publishing to the bus
+        Appointment appt = new Appointment("A1", NOW.plus(Duration.ofDays(1)), "Team meeting", CLOCK); // Stored below
+        service.addAppointment(appt); // First event
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10); // Generous bound for the slow thread to pick it up
+        while (slow.getDeliveredCount() == 0 && System.nanoTime() < deadline) { // Wait until the subscriber is stuck
+            Thread.sleep(1); // Poll
+        }
+        for (int i = 0; i < 1_000; i++) { // Far more events than the ring holds
+            appt.setDescription("Meeting " + i); // Must not block
+        }
+        release.countDown(); // Let the subscriber go
+        slow.close(); // Deliver what is left
+
+        assertTrue(slow.getLostCount() > 0); // It fell behind and lost events
+        assertEquals(bus.getPublishedCount(), slow.getDeliveredCount() + slow.getLostCount()); // Every event was delivered or reported lost
+    }
+}
@@ -0,0 +1,254 @@
+package src.main.java; // Package declaration for main application classes
+
+import java.io.IOException; // Importing IOException for archive write failures
+import java.io.UncheckedIOException; // Importing UncheckedIOException to pass archive failures through the async facade
+import java.time.Clock; // Importing Clock so "now" can be injected
+import java.time.Duration; // Importing Duration for the grace period and run interval
+import java.util.List; // Importing List interface for the expired batches
+import java.util.concurrent.CompletionException; // Importing CompletionException, which join() wraps failures in
+import java.util.concurrent.ScheduledExecutorService; // Importing ScheduledExecutorService for the background runs
+import java.util.concurrent.ScheduledThreadPoolExecutor; // Importing ScheduledThreadPoolExecutor to build the runner thread
+import java.util.concurrent.TimeUnit; // Importing TimeUnit for the run interval
+import java.util.concurrent.atomic.LongAdder; // Importing LongAdder for counters read from other threads
+
+/**
+ * AppointmentExpiry Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Removes appointments from an AppointmentService once they are over, so the
+ * service only holds current and upcoming appointments. An appointment expires
+ * when its end (its date plus its duration) is more than the grace period in
+ * the past. Expired appointments are found by walking the service's time index
+ * from the earliest appointment, never by scanning them all, and removed in
+ * batches of BATCH_SIZE, oldest first. With an AppointmentArchive, each batch is
+ * appended to the archive before it is removed, so a failed write loses nothing:
+ * the batch stays in the service and is retried on the next run.
+ *
+ * A removed appointment's reminder is cancelled and an EXPIRED event is
+ * published. The stats getters can be read from any thread.
+ *
+ * AppointmentService is not thread-safe, so expiry either runs on the caller's
+ * thread through expire(service), or in the background through start(...),
+ * which hands each batch to an AsyncAppointmentService so it runs on the
+ * service's own worker, between other calls, never alongside them.
+ */
+public final class AppointmentExpiry implements AutoCloseable { // Background eviction and archival of past appointments
+
+    static final int BATCH_SIZE = 1_024; // Appointments archived and removed per step
+
+    private final long graceMillis; // How long after its end an appointment is kept
+    private final Clock clock; // Source of "now"
+    private final AppointmentArchive archive; // Destination of removed appointments, or null
+    private final LongAdder evicted = new LongAdder(); // Appointments removed
+    private final LongAdder archived = new LongAdder(); // Appointments written to the archive
+    private final LongAdder archivedBytes = new LongAdder(); // Bytes written to the archive
+    private final LongAdder runs = new LongAdder(); // Completed runs
+    private final LongAdder failures = new LongAdder(); // Failed runs
+    private volatile Exception lastFailure; // Most recent failure, or null
+    private ScheduledExecutorService runner; // Background thread, or null
+
+    /**
+     * Creates an expiry pipeline.
+     *
+     * @param grace   how long an appointment is kept after it ends
+     * @param clock   the source of the current time
+     * @param archive the archive to move removed appointments to (null to discard them)
+     * @throws IllegalArgumentException if grace is null or negative, or clock is null
+     */
+    public AppointmentExpiry(Duration grace, Clock clock, AppointmentArchive archive) { // Constructor with every setting
+        if (grace == null || grace.isNegative()) { // Check the grace period
+            throw new IllegalArgumentException("Grace period cannot be null or negative"); // Clear message indicating the issue with the grace period
+        }
+        if (clock == null) { // Check for a null clock
+            throw new IllegalArgumentException("Clock cannot be null"); // Clear message indicating the issue with the clock
+        }
+        this.graceMillis = grace.toMillis(); // Millisecond precision is enough
+        this.clock = clock; // Use the given clock
+        this.archive = archive; // Use the given archive (may be null)
+    }
+
+    /**
+     * Archives and removes every expired appointment of a service, on the calling thread.
+     *
+     * @param service the service to expire appointments from
+     * @return the number of appointments removed
+     * @throws IOException if the archive cannot be written; batches before the failing one stay removed
+     * @throws IllegalArgumentException if service is null
+     */
+    public long expire(AppointmentService service) throws IOException { // One complete run
+        if (service == null) { // Check for a null service
+            throw new IllegalArgumentException("Appointment service cannot be null"); // Clear message indicating the issue with the service
+        }
+        long removed = 0; // Total for this run
+        try {
+            int batch; // Size of the last batch
+            do {
+                batch = expireBatch(service); // Up to BATCH_SIZE
+                removed += batch; // Count them
+            } while (batch == BATCH_SIZE); // A full batch may have more behind it
+        } catch (IOException | RuntimeException failure) { // Record it, then let it propagate
+            failed(failure); // Count the failure
+            throw failure; // Same exception
+        }
+        runs.increment(); // Completed
+        return removed; // Appointments removed by this run
+    }
+
+    /**
+     * Starts a daemon thread that expires the service's appointments every
+     * interval. Each batch is a separate call on the facade, so requests queued
+     * meanwhile are not held up for a whole run. A run that fails (the archive
+     * cannot be written, or the facade's queue is full) is counted and retried
+     * at the next interval.
+     *
+     * @param service  the facade whose worker runs the batches
+     * @param interval the time between the end of one run and the start of the next
+     * @throws IllegalArgumentException if service is null or interval is not positive
+     * @throws IllegalStateException    if the pipeline is already running
+     */
+    public synchronized void start(AsyncAppointmentService service, Duration interval) { // Optional background runs
+        if (service == null) { // Check for a null service
+            throw new IllegalArgumentException("Appointment service cannot be null"); // Clear message indicating the issue with the service
+        }
+        if (interval == null || interval.toMillis() < 1) { // Check the interval
+            throw new IllegalArgumentException("Expiry interval must be at least one millisecond"); // Clear message indicating the issue with the interval
+        }
+        if (runner != null) { // Only one runner
+            throw new IllegalStateException("Appointment expiry is already running"); // Clear message indicating the issue with the runner
+        }
+        runner = new ScheduledThreadPoolExecutor(1, runnable -> { // One thread
+            Thread thread = new Thread(runnable, "appointment-expiry"); // Named for thread dumps
+            thread.setDaemon(true); // A forgotten close() does not keep the JVM alive
+            return thread; // The runner
+        });
+        runner.scheduleWithFixedDelay(() -> runInBackground(service), 0, interval.toMillis(), TimeUnit.MILLISECONDS); // Runs never overlap
+    }
+
+    /**
+     * Stops the background thread, if one was started. A batch already handed
+     * to the facade still completes. The archive is not closed.
+     */
+    @Override
+    public void close() { // Stop background runs
+        ScheduledExecutorService running; // Runner to stop
+        synchronized (this) {
+            running = runner; // Take it
+            runner = null; // Allow start() again
+        }
+        if (running != null) { // Was started
+            running.shutdownNow(); // No further runs
+        }
+    }
+
+    /**
+     * Returns the number of appointments removed so far.
+     *
+     * @return the evicted count
+     */
+    public long getEvictedCount() { // Stats surface
+        return evicted.sum(); // Across every run
+    }
+
+    /**
+     * Returns the number of appointments written to the archive so far.
+     *
+     * @return the archived count (0 without an archive)
+     */
+    public long getArchivedCount() { // Stats surface
+        return archived.sum(); // Across every run
+    }
+
+    /**
+     * Returns the number of bytes written to the archive so far.
+     *
+     * @return the archived byte count (0 without an archive)
+     */
+    public long getArchivedBytes() { // Stats surface
+        return archivedBytes.sum(); // Across every run
+    }
+
+    /**
+     * Returns the number of runs that completed.
+     *
+     * @return the completed run count
+     */
+    public long getRunCount() { // Stats surface
+        return runs.sum(); // Background and direct runs
+    }
+
+    /**
+     * Returns the number of runs that failed.
+     *
+     * @return the failed run count
+     */
+    public long getFailureCount() { // Stats surface
+        return failures.sum(); // Background and direct runs
+    }
+
+    /**
+     * Returns the exception that ended the most recent failed run.
+     *
+     * @return the last failure, or null if no run has failed
+     */
+    public Exception getLastFailure() { // Stats surface
+        return lastFailure; // Kept until the next failure
+    }
+
+    @Override
+    public String toString() { // Readable form for logs
+        return "AppointmentExpiry[evicted=" + getEvictedCount() + ", archived=" + getArchivedCount() + ", archivedBytes=" + getArchivedBytes() // Counts
+            + ", runs=" + getRunCount() + ", failures=" + getFailureCount() + "]"; // Run outcomes
+    }
+
+    // One background run: batches on the facade's worker until one comes back short
+    private void runInBackground(AsyncAppointmentService service) { // Called on the runner thread
+        try {
+            int batch; // Size of the last batch
+            do {
+                batch = service.call(this::expireBatchUnchecked).join(); // Runs on the service's worker; waits here, not there
+            } while (batch == BATCH_SIZE); // A full batch may have more behind it
+            runs.increment(); // Completed
+        } catch (CompletionException failure) { // Archive failure, or the facade rejected the call
+            failed(failure.getCause() instanceof UncheckedIOException ? ((UncheckedIOException) failure.getCause()).getCause() // The IOException itself
+                : failure.getCause() instanceof Exception ? (Exception) failure.getCause() : failure); // Whatever ended the run
+        } catch (RuntimeException failure) { // Never let an exception cancel the schedule
+            failed(failure); // Counted like any failure
+        }
+    }
+
+    // expireBatch for Function-based callers
+    private int expireBatchUnchecked(AppointmentService service) { // Passed to AsyncAppointmentService.call
+        try {
+            return expireBatch(service); // Up to BATCH_SIZE
+        } catch (IOException failure) { // Archive write failed
+            throw new UncheckedIOException(failure); // Unwrapped again by runInBackground
+        }
+    }
+
+    // Archives, then removes, the oldest batch of expired appointments
+    private int expireBatch(AppointmentService service) throws IOException { // Runs on the service's thread
+        long now = clock.millis(); // Current time
+        long cutoff = now - graceMillis; // Appointments ending at or before this are expired
+        if (cutoff > now) { // Wrapped around for a huge grace period
+            cutoff = Long.MIN_VALUE; // Nothing is that old
+        }
+        List<Appointment> expired = service.expired(cutoff, BATCH_SIZE); // Oldest first, from the time index
+        if (expired.isEmpty()) { // Nothing to do
+            return 0; // Short batch ends the run
+        }
+        if (archive != null) { // Keep a copy first
+            archivedBytes.add(archive.append(expired)); // One write; throws before anything is removed
+            archived.add(expired.size()); // Safely on disk
+        }
+        evicted.add(service.evict(expired)); // Remove them from the service
+        return expired.size(); // Full batch means there may be more
+    }
+
+    // Records a failed run
+    private void failed(Exception failure) { // Shared by direct and background runs
+        failures.increment(); // Count it
+        lastFailure = failure; // Keep it for inspection
+    }
+}
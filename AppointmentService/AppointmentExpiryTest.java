@@ -0,0 +1,230 @@
+package src.test.java; // Note: The package declaration may need to be adjusted based on your project structure.
+
+import org.junit.jupiter.api.Test; // JUnit 5 import
+import org.junit.jupiter.api.io.TempDir; // JUnit 5 temporary directory for archive files
+
+import src.main.java.Appointment; // Importing the Appointment class to create test instances
+import src.main.java.AppointmentArchive; // Importing AppointmentArchive to read back removed appointments
+import src.main.java.AppointmentEvent; // Importing AppointmentEvent to check the EXPIRED events
+import src.main.java.AppointmentEventBus; // Importing AppointmentEventBus to subscribe to the service
+import src.main.java.AppointmentExpiry; // Importing AppointmentExpiry, the class under test
+import src.main.java.AppointmentService; // Importing the AppointmentService class appointments expire from
+import src.main.java.AsyncAppointmentService; // Importing AsyncAppointmentService for background runs
+import src.main.java.HeapAppointmentStore; // Importing the default store for services built with a bus
+
+import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for cleaner test code
+
+import java.io.IOException; // Importing IOException for archive file access
+import java.nio.ByteBuffer; // Importing ByteBuffer to append a torn record
+import java.nio.channels.FileChannel; // Importing FileChannel to append a torn record
+import java.nio.file.Files; // Importing Files to check file sizes
+import java.nio.file.Path; // Importing Path for archive file locations
+import java.nio.file.StandardOpenOption; // Importing StandardOpenOption for appending to the archive
+import java.time.Clock; // Importing Clock to move "now" by hand
+import java.time.Duration; // Importing Duration for grace periods and appointment lengths
+import java.time.Instant; // Importing Instant for the test clock
+import java.time.ZoneId; // Importing ZoneId for the Clock contract
+import java.time.ZoneOffset; // Importing ZoneOffset for the test clock's zone
+import java.util.ArrayList; // Importing ArrayList for collecting archived appointments and events
+import java.util.Collections; // Importing Collections for a list shared with the delivery thread
+import java.util.List; // Importing List for archived appointments and events
+
+/**
+ * CS 320 Module Five Milestone
+ * Appointment Expiry Unit Tests
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * JUnit 5 tests to verify that past appointments leave the service oldest
+ * first once their grace period is over, land in the archive before they are
+ * removed, and that the archive survives reopening and a torn final write.
+ */
+class AppointmentExpiryTest { // Test class for AppointmentExpiry and AppointmentArchive
+
+    private static final Duration GRACE = Duration.ofHours(1); // Appointments are kept an hour after they end
+
+    @TempDir
+    Path dir; // Fresh directory per test
+
+    // Clock the test moves by hand; volatile because background runs read it on another thread
+    private static final class MutableClock extends Clock { // Deterministic time source
+        private volatile Instant now = Instant.parse("2026-03-02T09:00:00Z"); // Current time
+
+        void advance(Duration step) { // Move time forward
+            now = now.plus(step); // New current time
+        }
+
+        @Override
+        public Instant instant() { // Current time
+            return now; // As set by the test
+        }
+
+        @Override
+        public ZoneId getZone() { // Zone of the clock
+            return ZoneOffset.UTC; // Appointments are in UTC
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) { // Zone changes do not matter here
+            return this; // Same clock
+        }
+    }
+
+    private final MutableClock clock = new MutableClock(); // Shared by the service, its appointments and the expiry
+
+    // Adds an appointment starting the given time after the current clock
+    private Appointment book(AppointmentService service, String id, Duration fromNow) { // Shortcut for the tests
+        Appointment appointment = new Appointment(id, clock.instant().plus(fromNow), "Checkup " + id, clock); // Future appointment
+        service.addAppointment(appointment); // Stored
+        return appointment; // For setter calls
+    }
+
+    /**
+     * Test that only appointments past their grace period are removed, oldest first, and archived with every field.
+     */
+    @Test
+    void testExpiresPastAppointmentsIntoTheArchive() throws IOException { // Test method to verify the basic run
+        AppointmentEventBus bus = new AppointmentEventBus(); // Capture the events
+        List<AppointmentEvent> events = Collections.synchronizedList(new ArrayList<>()); // Filled on the delivery thread
+        bus.subscribe(events::addAll); // Every batch
+        AppointmentService service = new AppointmentService(new HeapAppointmentStore(), clock, true, bus); // Publishes its changes
+        book(service, "A2", Duration.ofHours(2)); // Ends at +2h
+        book(service, "A1", Duration.ofHours(1)); // Ends at +1h, added second to check the order
+        Appointment long3 = book(service, "A3", Duration.ofHours(3)); // Runs until +8h
+        long3.setDuration(Duration.ofHours(5)); // Still in progress at the cutoff below
+        book(service, "A4", Duration.ofHours(4)); // Starts at the cutoff below
+        book(service, "A5", Duration.ofDays(1)); // Far in the future
+
+        Path file = dir.resolve("appointments.arc"); // Archive file
+        try (AppointmentArchive archive = AppointmentArchive.open(file)) { // New archive
+            AppointmentExpiry expiry = new AppointmentExpiry(GRACE, clock, archive); // Keep an hour after the end
+            assertEquals(0, expiry.expire(service)); // Nothing has ended yet
+
+            clock.advance(Duration.ofHours(5)); // Cutoff is now +4h
+            assertEquals(2, expiry.expire(service)); // A1 and A2 are over, A3 is still in progress
+            assertNull(service.getAppointment("A1")); // Removed
+            assertNull(service.getAppointment("A2")); // Removed
+            assertNotNull(service.getAppointment("A3")); // Started before the cutoff but still running
+            assertNotNull(service.getAppointment("A4")); // Not over either
+            assertEquals(2, expiry.getEvictedCount()); // Stats
+            assertEquals(2, expiry.getArchivedCount()); // Stats
+            assertEquals(Files.size(file), 8 + expiry.getArchivedBytes()); // Header plus the records
+            assertEquals(2, expiry.getRunCount()); // An empty run completes too
+        }
+
+        List<Appointment> archived = new ArrayList<>(); // Read back
+        AppointmentArchive.read(file, archived::add); // Oldest first
+        assertEquals(2, archived.size()); // Both records
+        assertEquals("A1", archived.get(0).getAppointmentId()); // Earliest first
+        assertEquals("A2", archived.get(1).getAppointmentId()); // Then the next
+        assertEquals("Checkup A1", archived.get(0).getDescription()); // Description kept
+        assertEquals(Instant.parse("2026-03-02T10:00:00Z"), archived.get(0).getAppointmentInstant()); // Date kept, though it is in the past
+
+        bus.close(); // Flush the events
+        assertEquals(AppointmentEvent.Type.EXPIRED, events.get(events.size() - 1).getType()); // Removal published as expiry, not delete
+        assertEquals("A2", events.get(events.size() - 1).getAppointmentId()); // In removal order
+    }
+
+    /**
+     * Test that a backlog larger than one batch is removed completely, oldest first, and that reopening the archive appends after it.
+     */
+    @Test
+    void testBacklogAcrossBatchesAndReopening() throws IOException { // Test method to verify batching and reopening
+        AppointmentService service = new AppointmentService(new HeapAppointmentStore(), clock); // No bus
+        for (int i = 0; i < 2_500; i++) { // More than two batches
+            book(service, "P" + i, Duration.ofMinutes(2_500 - i)); // Later IDs are earlier appointments
+        }
+        book(service, "F1", Duration.ofDays(30)); // Stays
+        clock.advance(Duration.ofDays(2)); // Every "P" appointment is past its grace period
+
+        Path file = dir.resolve("appointments.arc"); // Archive file
+        try (AppointmentArchive archive = AppointmentArchive.open(file, false)) { // Flushing left to the OS
+            assertEquals(2_500, new AppointmentExpiry(GRACE, clock, archive).expire(service)); // Whole backlog in one run
+            assertEquals(2_500, archive.size()); // Every record
+        }
+        assertNotNull(service.getAppointment("F1")); // Future appointment kept
+        assertEquals(1, service.next(10).size()); // Nothing else left
+
+        book(service, "L1", Duration.ofMinutes(1)); // One more, after reopening
+        clock.advance(Duration.ofHours(2)); // Past its grace period
+        try (AppointmentArchive archive = AppointmentArchive.open(file)) { // Existing archive
+            assertEquals(2_500, archive.size()); // Records from the first run counted
+            assertEquals(1, new AppointmentExpiry(GRACE, clock, archive).expire(service)); // Appended
+            assertEquals(2_501, archive.size()); // After the old records
+        }
+        List<String> ids = new ArrayList<>(); // Read back
+        AppointmentArchive.read(file, appointment -> ids.add(appointment.getAppointmentId())); // File order
+        assertEquals(2_501, ids.size()); // Every record once
+        assertEquals("P2499", ids.get(0)); // Earliest appointment first
+        assertEquals("P0", ids.get(2_499)); // Latest of the backlog last
+        assertEquals("L1", ids.get(2_500)); // Then the second run
+    }
+
+    /**
+     * Test that a torn final record is dropped on reopen, and that a failed archive write removes nothing.
+     */
+    @Test
+    void testTornTailAndFailedWrites() throws IOException { // Test method to verify crash and failure handling
+        AppointmentService service = new AppointmentService(new HeapAppointmentStore(), clock); // No bus
+        book(service, "A1", Duration.ofMinutes(10)); // Expires below
+        clock.advance(Duration.ofHours(2)); // Past its grace period
+        Path file = dir.resolve("appointments.arc"); // Archive file
+        try (AppointmentArchive archive = AppointmentArchive.open(file)) { // New archive
+            new AppointmentExpiry(GRACE, clock, archive).expire(service); // One record
+        }
+        long whole = Files.size(file); // Length with one whole record
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) { // Simulate a crash mid-write
+            channel.write(ByteBuffer.wrap(new byte[] {2, 'A', '2', 0, 0, 0})); // ID of a second record, then nothing
+        }
+        List<Appointment> read = new ArrayList<>(); // Read back
+        AppointmentArchive.read(file, read::add); // Torn record skipped
+        assertEquals(1, read.size()); // Only the whole record
+        try (AppointmentArchive archive = AppointmentArchive.open(file)) { // Reopen
+            assertEquals(1, archive.size()); // Torn record not counted
+            assertEquals(whole, archive.sizeInBytes()); // And cut off
+        }
+        assertEquals(whole, Files.size(file)); // On disk too
+
+        book(service, "A2", Duration.ofMinutes(10)); // Expires below
+        clock.advance(Duration.ofHours(2)); // Past its grace period
+        AppointmentArchive closed = AppointmentArchive.open(file); // Closed before use
+        closed.close(); // Every append now fails
+        AppointmentExpiry expiry = new AppointmentExpiry(GRACE, clock, closed); // Cannot archive
+        assertThrows(IOException.class, () -> expiry.expire(service)); // Write failure propagates
+        assertNotNull(service.getAppointment("A2")); // Nothing removed without its archive copy
+        assertEquals(1, expiry.getFailureCount()); // Counted
+        assertTrue(expiry.getLastFailure() instanceof IOException); // Kept for inspection
+        assertEquals(0, expiry.getEvictedCount()); // Nothing evicted
+
+        Files.write(dir.resolve("other.bin"), new byte[] {1, 2, 3, 4, 5, 6, 7, 8}); // Not an archive
+        assertThrows(IOException.class, () -> AppointmentArchive.open(dir.resolve("other.bin"))); // Rejected
+    }
+
+    /**
+     * Test that background runs expire appointments on the facade's worker, and that expiry can run without an archive.
+     */
+    @Test
+    void testBackgroundRuns() throws Exception { // Test method to verify start and close
+        AppointmentService service = new AppointmentService(new HeapAppointmentStore(), clock); // No bus
+        book(service, "A1", Duration.ofMinutes(10)); // Expires below
+        book(service, "A2", Duration.ofDays(1)); // Stays
+        try (AsyncAppointmentService async = new AsyncAppointmentService(service); // Owns the service from here
+             AppointmentExpiry expiry = new AppointmentExpiry(Duration.ZERO, clock, null)) { // No grace, no archive
+            expiry.start(async, Duration.ofMillis(5)); // Every 5 ms
+            assertThrows(IllegalStateException.class, () -> expiry.start(async, Duration.ofMillis(5))); // Only one runner
+            clock.advance(Duration.ofMinutes(11)); // A1 has ended
+            long deadline = System.nanoTime() + 5_000_000_000L; // Give the runner five seconds
+            while (expiry.getEvictedCount() == 0 && System.nanoTime() < deadline) { // Wait for a run to pick it up
+                Thread.sleep(5); // Poll
+            }
+            assertEquals(1, expiry.getEvictedCount()); // A1 removed
+            assertEquals(0, expiry.getArchivedCount()); // Without an archive, nothing is archived
+            assertNull(async.getAppointment("A1").join()); // Gone from the service
+            assertNotNull(async.getAppointment("A2").join()); // Future appointment kept
+        }
+        assertThrows(IllegalArgumentException.class, () -> new AppointmentExpiry(Duration.ofMinutes(-1), clock, null)); // Grace cannot be negative
+        assertThrows(IllegalArgumentException.class, () -> new AppointmentExpiry(GRACE, null, null)); // Clock required
+        assertThrows(IllegalArgumentException.class, () -> new AppointmentExpiry(GRACE, clock, null).expire(null)); // Service required
+    }
+}
@@ -0,0 +1,258 @@
+package src.main.java; // Package declaration for main application classes
+
+import java.util.ArrayList; // Importing ArrayList to collect overlap query results
+import java.util.HashMap; // Importing HashMap to find an appointment's node by ID
+import java.util.List; // Importing List interface for overlap query return types
+import java.util.Map; // Importing Map interface for type declaration of the ID lookup
+
+/**
+ * AppointmentIntervalTree Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Interval index used by AppointmentService for conflict detection. Each entry is
+ * an appointment's [date, date + duration) in epoch milliseconds, keyed by its ID.
+ *
+ * The entries form an AVL tree ordered by (start, ID), where every node also
+ * records the largest end in its subtree. A query for the entries overlapping
+ * [from, to) skips every subtree that ends at or before from and every right
+ * subtree that starts at or after to, so it visits O(log n + k) nodes for
+ * k results, and checking one booking against the calendar is O(log n).
+ * A side map from ID to node lets put and remove find an entry without knowing
+ * the interval it was stored under.
+ *
+ * Empty intervals (appointments without a duration) are never stored.
+ * Not thread-safe, like AppointmentService.
+ */
+final class AppointmentIntervalTree { // Package-private: owned by AppointmentService
+
+    private Node root; // Root of the AVL tree, null when empty
+    private final Map<String, Node> byId = new HashMap<>(); // appointmentId → its node
+
+    /**
+     * Stores or replaces the interval for an appointment ID.
+     * An empty interval (end not after start) just removes the ID.
+     *
+     * @param appointmentId the appointment's ID
+     * @param start         the appointment date in epoch milliseconds
+     * @param end           the first millisecond after the appointment
+     */
+    void put(String appointmentId, long start, long end) { // Insert or move an entry
+        remove(appointmentId); // Drop the previous interval, if any
+        if (end > start) { // Only non-empty intervals can overlap anything
+            Node node = new Node(appointmentId, start, end); // New leaf
+            root = insert(root, node); // O(log n) insert with rebalancing
+            byId.put(appointmentId, node); // Remember where the ID lives
+        }
+    }
+
+    /**
+     * Removes the interval stored for an appointment ID.
+     *
+     * @param appointmentId the appointment's ID
+     * @return true if the ID had an interval
+     */
+    boolean remove(String appointmentId) { // Delete an entry by ID
+        Node node = byId.remove(appointmentId); // Stored node, if any
+        if (node == null) { // No interval for this ID
+            return false; // Nothing to remove
+        }
+        root = delete(root, node.start, node.id); // O(log n) delete with rebalancing
+        return true; // Removed
+    }
+
+    /**
+     * Returns true if an interval is stored for the ID.
+     *
+     * @param appointmentId the appointment's ID
+     * @return true if stored
+     */
+    boolean contains(String appointmentId) { // Existence check
+        return byId.containsKey(appointmentId); // Hash lookup
+    }
+
+    /**
+     * Returns the number of stored intervals.
+     *
+     * @return the number of appointments with a duration
+     */
+    int size() { // Entry count
+        return byId.size(); // One node per ID
+    }
+
+    /**
+     * Returns the ID of some stored interval overlapping [from, to), other than
+     * the excluded ID. Visits O(log n) nodes.
+     *
+     * @param from       start of the interval (inclusive)
+     * @param to         end of the interval (exclusive)
+     * @param excludedId an ID to ignore, e.g. the appointment being moved (may be null)
+     * @return an overlapping ID, or null if there is none
+     */
+    String firstOverlap(long from, long to, String excludedId) { // Conflict check for one booking
+        for (String id : overlapping(from, to, 2)) { // At most one of the first two can be the excluded ID
+            if (!id.equals(excludedId)) { // A different appointment
+                return id; // Conflict found
+            }
+        }
+        return null; // No conflict
+    }
+
+    /**
+     * Returns up to limit IDs whose intervals overlap [from, to), ordered by start, then ID.
+     *
+     * @param from  start of the interval (inclusive)
+     * @param to    end of the interval (exclusive)
+     * @param limit maximum number of IDs to return
+     * @return the overlapping IDs (empty if none, or if the interval is empty)
+     */
+    List<String> overlapping(long from, long to, int limit) { // O(log n + k) range query
+        List<String> found = new ArrayList<>(); // Results in (start, ID) order
+        if (from < to && limit > 0) { // An empty query interval overlaps nothing
+            collect(root, from, to, limit, found); // In-order walk with pruning
+        }
+        return found; // Return the overlapping IDs
+    }
+
+    // In-order walk of the subtrees that can hold an overlap; returns false once the limit is reached
+    private static boolean collect(Node node, long from, long to, int limit, List<String> found) { // Recursive overlap search
+        if (node == null || node.maxEnd <= from) { // Everything in this subtree ends at or before from
+            return true; // Nothing here, keep going elsewhere
+        }
+        if (!collect(node.left, from, to, limit, found)) { // Earlier starts first
+            return false; // Limit reached
+        }
+        if (node.start >= to) { // This node and its right subtree start at or after to
+            return true; // Nothing more on this side
+        }
+        if (node.end > from) { // start < to and end > from: the intervals overlap
+            found.add(node.id); // Collect the ID
+            if (found.size() == limit) { // Enough results
+                return false; // Stop the walk
+            }
+        }
+        return collect(node.right, from, to, limit, found); // Later starts
+    }
+
+    private static Node insert(Node node, Node added) { // Standard AVL insert
+        if (node == null) { // Empty spot found
+            return added; // New leaf
+        }
+        if (compare(added.start, added.id, node) < 0) { // Sorts before this node
+            node.left = insert(node.left, added); // Go left
+        } else { // Sorts after (IDs are unique, so never equal)
+            node.right = insert(node.right, added); // Go right
+        }
+        return balance(node); // Restore the height and maxEnd invariants on the way up
+    }
+
+    private static Node delete(Node node, long start, String id) { // Standard AVL delete, keeping node identity for byId
+        int order = compare(start, id, node); // Where the key lies relative to this node
+        if (order < 0) { // In the left subtree
+            node.left = delete(node.left, start, id); // Go left
+        } else if (order > 0) { // In the right subtree
+            node.right = delete(node.right, start, id); // Go right
+        } else { // This node
+            if (node.left == null) { // At most one child
+                return node.right; // Splice the node out
+            }
+            if (node.right == null) { // Only a left child
+                return node.left; // Splice the node out
+            }
+            Node successor = node.right; // Smallest node of the right subtree replaces this one
+            while (successor.left != null) { // Walk to the leftmost node
+                successor = successor.left; // Go left
+            }
+            successor.right = deleteMin(node.right); // Detach the successor and rebalance that subtree
+            successor.left = node.left; // Take over the left subtree
+            node = successor; // The successor node moves up, so byId stays valid
+        }
+        return balance(node); // Restore the invariants on the way up
+    }
+
+    private static Node deleteMin(Node node) { // Removes the leftmost node of a subtree
+        if (node.left == null) { // This is the leftmost node
+            return node.right; // Splice it out
+        }
+        node.left = deleteMin(node.left); // Go left
+        return balance(node); // Restore the invariants on the way up
+    }
+
+    private static Node balance(Node node) { // Rotates an unbalanced node and refreshes its summary fields
+        update(node); // Height and maxEnd from the children
+        int skew = height(node.left) - height(node.right); // AVL balance factor
+        if (skew > 1) { // Left-heavy
+            if (height(node.left.left) < height(node.left.right)) { // Left-right case
+                node.left = rotateLeft(node.left); // Turn it into the left-left case
+            }
+            return rotateRight(node); // Left-left case
+        }
+        if (skew < -1) { // Right-heavy
+            if (height(node.right.right) < height(node.right.left)) { // Right-left case
+                node.right = rotateRight(node.right); // Turn it into the right-right case
+            }
+            return rotateLeft(node); // Right-right case
+        }
+        return node; // Already balanced
+    }
+
+    private static Node rotateLeft(Node node) { // Right child moves up
+        Node pivot = node.right; // New subtree root
+        node.right = pivot.left; // Middle subtree changes parent
+        pivot.left = node; // Old root becomes the left child
+        update(node); // Lower node first
+        update(pivot); // Then the new root
+        return pivot; // New subtree root
+    }
+
+    private static Node rotateRight(Node node) { // Left child moves up
+        Node pivot = node.left; // New subtree root
+        node.left = pivot.right; // Middle subtree changes parent
+        pivot.right = node; // Old root becomes the right child
+        update(node); // Lower node first
+        update(pivot); // Then the new root
+        return pivot; // New subtree root
+    }
+
+    private static void update(Node node) { // Recomputes a node's summary fields from its children
+        node.height = 1 + Math.max(height(node.left), height(node.right)); // Tallest child plus this node
+        long maxEnd = node.end; // This node's own end
+        if (node.left != null && node.left.maxEnd > maxEnd) { // Left subtree ends later
+            maxEnd = node.left.maxEnd; // Take it
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) { // Right subtree ends later
+            maxEnd = node.right.maxEnd; // Take it
+        }
+        node.maxEnd = maxEnd; // Latest end in this subtree
+    }
+
+    private static int height(Node node) { // Height of a possibly empty subtree
+        return node == null ? 0 : node.height; // Empty subtrees have height 0
+    }
+
+    private static int compare(long start, String id, Node node) { // Orders keys by start, then ID
+        int byStart = Long.compare(start, node.start); // Compare starts first
+        return byStart != 0 ? byStart : id.compareTo(node.id); // Fall back to the ID for equal starts
+    }
+
+    /**
+     * One stored interval plus the AVL and interval-tree bookkeeping.
+     */
+    private static final class Node { // Tree node
+        final String id; // Appointment ID (tie-breaker in the ordering)
+        final long start; // Appointment date in epoch milliseconds
+        final long end; // First millisecond after the appointment
+        long maxEnd; // Latest end anywhere in this subtree
+        int height = 1; // AVL height of this subtree
+        Node left; // Entries ordered before this one
+        Node right; // Entries ordered after this one
+
+        Node(String id, long start, long end) { // Constructor for a leaf
+            this.id = id; // Store the ID
+            this.start = start; // Store the start
+            this.end = end; // Store the end
+            this.maxEnd = end; // A leaf's subtree is just itself
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package src.main.java; // Package declaration for the main application code
+
+import java.util.HashMap; // Importing HashMap for mapping exception messages back to AppointmentError
+import java.util.Map; // Importing Map interface for type declaration
+import java.util.concurrent.ThreadLocalRandom; // Importing ThreadLocalRandom for choosing which calls to time
+import java.util.concurrent.atomic.LongAdder; // Importing LongAdder for striped, contention-free counters
+
+/**
+ * AppointmentMetrics Class
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * Low-overhead operation metrics for AppointmentService. A service built with an
+ * AppointmentMetrics counts the calls to each public operation and how many threw,
+ * keeps a latency histogram per operation, and counts how often each Appointment
+ * field failed validation, by AppointmentError. Field failures are counted when a
+ * service method rejects a value and when a setter of an appointment stored in the
+ * service rejects one; the setters themselves are not timed.
+ * 
+ * The histogram is HDR-style: exact buckets up to 15 ns, then 16 log-linear buckets
+ * per power of two, so a reported percentile is at most 1/16 above the true value;
+ * latencies beyond about 18 minutes count as the largest bucket.
+ * 
+ * Every counter is a LongAdder. Calls are counted exactly, but only one call in
+ * sampleInterval (chosen at random) is timed, because two System.nanoTime reads cost
+ * more than a getAppointment; with the default interval of 16 recording adds about
+ * 20 ns to a call. The reads and exports sum the adders and are meant for scraping,
+ * not for the hot path.
+ */
+public final class AppointmentMetrics { // Counters and latency histograms for AppointmentService
+    static final int SUB_BUCKET_BITS = 4; // 16 buckets per power of two
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // Buckets per power of two (and the exact buckets 0-15)
+    static final long MAX_TRACKED_NANOS = (1L << 40) - 1; // About 18 minutes; longer latencies land in the last bucket
+    static final int BUCKETS = (40 - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS; // Buckets needed to reach MAX_TRACKED_NANOS
+    static final long NOT_TIMED = Long.MIN_VALUE; // Start time of a call that was not chosen for timing
+
+    public static final int DEFAULT_SAMPLE_INTERVAL = 16; // One call in 16 is timed unless the caller chooses otherwise
+
+    private static final double[] EXPORTED_PERCENTILES = {50, 90, 99, 99.9}; // Percentiles written by toJson and toPrometheus
+    private static final String[] JSON_KEYS = {"p50", "p90", "p99", "p999"}; // JSON key of each exported percentile
+    private static final String[] QUANTILES = {"0.5", "0.9", "0.99", "0.999"}; // Prometheus quantile label of each exported percentile
+
+    private static final Map<String, AppointmentError> ERRORS_BY_MESSAGE = new HashMap<>(); // Each AppointmentError's message, mapped back to the error
+    static {
+        for (AppointmentError error : AppointmentError.values()) { // Every field failure
+            ERRORS_BY_MESSAGE.put(error.getMessage(), error); // Messages are distinct per error
+        }
+    }
+
+    public enum Operation { // The AppointmentService methods that are measured
+        ADD_APPOINTMENT("addAppointment"), // addAppointment
+        DELETE_APPOINTMENT("deleteAppointment"), // deleteAppointment
+        GET_APPOINTMENT("getAppointment"), // getAppointment
+        FIND_BETWEEN("findBetween"), // findBetween
+        COUNT_IN_WINDOW("countInWindow"), // countInWindow
+        FIND_CONFLICTS("findConflicts"), // findConflicts
+        NEXT("next"); // next
+
+        private final String methodName; // Label used in the exported metrics
+
+        Operation(String methodName) { // Constructor storing the label
+            this.methodName = methodName; // Assign the label
+        }
+
+        public String getMethodName() { // Getter for the label
+            return methodName; // The AppointmentService method name
+        }
+    }
+
+    private final Stats[] stats = new Stats[Operation.values().length]; // One set of counters per operation
+    private final LongAdder[] validationFailures = new LongAdder[AppointmentError.values().length]; // One counter per AppointmentError
+    private final int sampleInterval; // One call in this many is timed
+
+    public AppointmentMetrics() { // Constructor for an empty set of metrics with the default sample interval
+        this(DEFAULT_SAMPLE_INTERVAL); // One call in 16 is timed
+    }
+
+    /**
+     * Creates empty metrics that time one call in sampleInterval.
+     * 
+     * @param sampleInterval 1 to time every call
+     * @throws IllegalArgumentException if sampleInterval is below 1
+     */
+    public AppointmentMetrics(int sampleInterval) { // Constructor for an empty set of metrics that times one call in sampleInterval
+        if (sampleInterval < 1) { // Validate that the interval is positive
+            throw new IllegalArgumentException("Sample interval must be at least 1"); // Throw an exception if the interval is not positive
+        }
+        this.sampleInterval = sampleInterval; // Use the given interval
+        for (int i = 0; i < stats.length; i++) { // Every operation
+            stats[i] = new Stats(); // Zeroed counters
+        }
+        for (int i = 0; i < validationFailures.length; i++) { // Every field failure
+            validationFailures[i] = new LongAdder(); // Zeroed counter
+        }
+    }
+
+    long start() { // Start time to pass to record: System.nanoTime for a call chosen for timing, NOT_TIMED otherwise
+        if (sampleInterval == 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0) { // Cheap per-thread choice, no shared state
+            return System.nanoTime(); // Timed call
+        }
+        return NOT_TIMED; // Counted only
+    }
+
+    void record(Operation operation, long startNanos) { // Records one call; startNanos comes from start()
+        Stats target = stats[operation.ordinal()]; // Counters for the operation
+        target.calls.increment(); // Every call is counted
+        if (startNanos != NOT_TIMED) { // Chosen for timing
+            long elapsed = System.nanoTime() - startNanos; // Latency of the call
+            target.buckets[bucket(elapsed)].increment(); // Histogram (the bucket counts add up to the timed calls)
+            target.totalNanos.add(elapsed); // For the mean
+        }
+    }
+
+    void recordFailure(Operation operation, RuntimeException failure) { // Records that a call threw; record is still called for its latency
+        stats[operation.ordinal()].failures.increment(); // Failed call
+        if (failure instanceof IllegalArgumentException && failure.getMessage() != null) { // Only validation failures carry a AppointmentError message
+            AppointmentError error = ERRORS_BY_MESSAGE.get(failure.getMessage()); // null for "Appointment ID not found" and the like
+            if (error != null) { // A field failed validation
+                recordValidationFailure(error); // Count it by field
+            }
+        }
+    }
+
+    void recordValidationFailure(AppointmentError error) { // Counts one field that failed validation
+        validationFailures[error.ordinal()].increment(); // Per-field counter
+    }
+
+    public int getSampleInterval() { // Getter for the sample interval
+        return sampleInterval; // One call in this many is timed
+    }
+
+    public long getCallCount(Operation operation) { // Number of calls made to the operation, including failed ones
+        return stats[operation.ordinal()].calls.sum(); // Sum of the striped counter
+    }
+
+    public long getTimedCount(Operation operation) { // Number of calls to the operation whose latency was recorded
+        return new Snapshot(stats[operation.ordinal()]).count; // Every timed call is in exactly one bucket
+    }
+
+    public long getFailureCount(Operation operation) { // Number of calls to the operation that threw
+        return stats[operation.ordinal()].failures.sum(); // Sum of the striped counter
+    }
+
+    public long getValidationFailureCount(AppointmentError error) { // Number of times the given field failed validation
+        return validationFailures[error.ordinal()].sum(); // Sum of the striped counter
+    }
+
+    public double getMeanLatencyNanos(Operation operation) { // Average latency of the operation in nanoseconds, or 0 before the first call
+        return new Snapshot(stats[operation.ordinal()]).mean(); // Consistent count and total
+    }
+
+    /**
+     * Returns the latency that the given percentage of timed calls did not exceed,
+     * rounded up to the top of its histogram bucket (at most 1/16 high).
+     * 
+     * @param operation  the operation
+     * @param percentile 0 to 100 (100 is the largest recorded latency)
+     * @return the latency in nanoseconds, or 0 before the first timed call
+     * @throws IllegalArgumentException if percentile is outside 0 to 100
+     */
+    public long getLatencyPercentile(Operation operation, double percentile) { // Latency in nanoseconds that the given percentage of calls did not exceed
+        if (!(percentile >= 0 && percentile <= 100)) { // Also rejects NaN
+            throw new IllegalArgumentException("Percentile must be between 0 and 100"); // Throw an exception if the percentile is out of range
+        }
+        return new Snapshot(stats[operation.ordinal()]).percentile(percentile); // 0 before the first call
+    }
+
+    /**
+     * Exports every metric as one JSON object: per operation its count, failures and
+     * latencyNanos (timed, mean, p50, p90, p99, p999, max), then validationFailures
+     * by AppointmentError.
+     * 
+     * @return the JSON text
+     */
+    public String toJson() { // Exports every metric as one JSON object
+        StringBuilder json = new StringBuilder("{\"operations\":{"); // Operations first
+        for (Operation operation : Operation.values()) { // Every operation, in declaration order
+            Snapshot snapshot = new Snapshot(stats[operation.ordinal()]); // Consistent view of its counters
+            json.append(operation.ordinal() == 0 ? "" : ",").append('"').append(operation.methodName).append("\":{"); // Operation key
+            json.append("\"count\":").append(stats[operation.ordinal()].calls.sum()); // Calls
+            json.append(",\"failures\":").append(stats[operation.ordinal()].failures.sum()); // Failed calls
+            json.append(",\"latencyNanos\":{\"timed\":").append(snapshot.count); // Calls the latency figures describe
+            json.append(",\"mean\":").append(snapshot.mean()); // Mean latency
+            for (int p = 0; p < EXPORTED_PERCENTILES.length; p++) { // p50, p90, p99, p99.9
+                json.append(",\"").append(JSON_KEYS[p]).append("\":").append(snapshot.percentile(EXPORTED_PERCENTILES[p])); // e.g. "p999":1023
+            }
+            json.append(",\"max\":").append(snapshot.percentile(100)).append("}}"); // Largest recorded latency
+        }
+        json.append("},\"validationFailures\":{"); // Then field failures
+        for (AppointmentError error : AppointmentError.values()) { // Every field failure
+            json.append(error.ordinal() == 0 ? "" : ",").append('"').append(error.name()).append("\":").append(getValidationFailureCount(error)); // e.g. "DATE_IN_PAST":3
+        }
+        return json.append("}}").toString(); // Close both objects
+    }
+
+    /**
+     * Exports every metric in the Prometheus text exposition format: call and failure
+     * counters and a latency summary labelled by operation, and validation failures
+     * labelled by field.
+     * 
+     * @return the exposition text
+     */
+    public String toPrometheus() { // Exports every metric in the Prometheus text exposition format
+        StringBuilder text = new StringBuilder(); // Lines of the exposition
+        text.append("# HELP appointment_service_calls_total Calls made to each AppointmentService operation.\n"); // Metric description
+        text.append("# TYPE appointment_service_calls_total counter\n"); // Metric type
+        StringBuilder failures = new StringBuilder("# HELP appointment_service_failures_total Calls that threw an exception.\n# TYPE appointment_service_failures_total counter\n"); // Written after the call counts
+        StringBuilder latency = new StringBuilder("# HELP appointment_service_latency_seconds Latency of the timed calls to each AppointmentService operation.\n# TYPE appointment_service_latency_seconds summary\n"); // Written last
+        for (Operation operation : Operation.values()) { // Every operation
+            Snapshot snapshot = new Snapshot(stats[operation.ordinal()]); // Consistent view of its counters
+            String labels = "operation=\"" + operation.methodName + "\""; // Label shared by every line of the operation
+            text.append("appointment_service_calls_total{").append(labels).append("} ").append(stats[operation.ordinal()].calls.sum()).append('\n'); // Calls
+            failures.append("appointment_service_failures_total{").append(labels).append("} ").append(stats[operation.ordinal()].failures.sum()).append('\n'); // Failed calls
+            for (int p = 0; p < EXPORTED_PERCENTILES.length; p++) { // Quantile lines
+                latency.append("appointment_service_latency_seconds{").append(labels).append(",quantile=\"").append(QUANTILES[p]).append("\"} ").append(snapshot.percentile(EXPORTED_PERCENTILES[p]) / 1e9).append('\n'); // e.g. quantile="0.99"
+            }
+            latency.append("appointment_service_latency_seconds_sum{").append(labels).append("} ").append(snapshot.totalNanos / 1e9).append('\n'); // Total time
+            latency.append("appointment_service_latency_seconds_count{").append(labels).append("} ").append(snapshot.count).append('\n'); // Timed calls
+        }
+        text.append(failures).append(latency); // One block per metric family
+        text.append("# HELP appointment_service_validation_failures_total Appointment fields that failed validation.\n"); // Metric description
+        text.append("# TYPE appointment_service_validation_failures_total counter\n"); // Metric type
+        for (AppointmentError error : AppointmentError.values()) { // Every field failure
+            text.append("appointment_service_validation_failures_total{field=\"").append(error.name()).append("\"} ").append(getValidationFailureCount(error)).append('\n'); // e.g. field="DATE_IN_PAST"
+        }
+        return text.toString(); // The whole exposition
+    }
+
+    static int bucket(long nanos) { // Histogram bucket of a latency: exact below 16, then 16 buckets per power of two
+        if (nanos < SUB_BUCKETS) { // Small values get a bucket each
+            return (int) Math.max(nanos, 0); // A clock step backwards counts as 0
+        }
+        long value = Math.min(nanos, MAX_TRACKED_NANOS); // Clamp very long calls into the last bucket
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS; // Low bits dropped for this power of two
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1)); // Power of two, then the next 4 bits
+    }
+
+    static long highestValue(int bucket) { // Largest latency that falls into a bucket
+        if (bucket < SUB_BUCKETS) { // Exact buckets
+            return bucket; // The value itself
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1; // Low bits dropped for this power of two
+        long lowest = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift; // Smallest latency in the bucket
+        return lowest + (1L << shift) - 1; // Bucket width is 2^shift
+    }
+
+    private static final class Stats { // Counters for one operation
+        final LongAdder calls = new LongAdder(); // Every call
+        final LongAdder[] buckets = new LongAdder[BUCKETS]; // Latency histogram of the timed calls
+        final LongAdder totalNanos = new LongAdder(); // Sum of every latency
+        final LongAdder failures = new LongAdder(); // Calls that threw
+
+        Stats() { // Constructor creating the buckets
+            for (int i = 0; i < buckets.length; i++) { // Every bucket
+                buckets[i] = new LongAdder(); // Zeroed counter
+            }
+        }
+    }
+
+    private static final class Snapshot { // Point-in-time copy of one operation's histogram, so every derived value agrees
+        final long[] counts = new long[BUCKETS]; // Calls per bucket
+        final long count; // Timed calls
+        final long totalNanos; // Total latency of the timed calls
+
+        Snapshot(Stats stats) { // Copies the counters
+            long sum = 0; // Running total
+            for (int i = 0; i < counts.length; i++) { // Every bucket
+                counts[i] = stats.buckets[i].sum(); // Copy the bucket
+                sum += counts[i]; // Add it up
+            }
+            this.count = sum; // Total calls
+            this.totalNanos = stats.totalNanos.sum(); // Total latency
+        }
+
+        double mean() { // Average latency, or 0 with no calls
+            return count == 0 ? 0 : (double) totalNanos / count; // Mean in nanoseconds
+        }
+
+        long percentile(double percentile) { // Highest latency in the bucket that holds the given rank
+            if (count == 0) { // No calls yet
+                return 0; // Nothing to report
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count)); // 1-based rank of the call to report
+            long seen = 0; // Calls in the buckets walked so far
+            for (int i = 0; i < counts.length; i++) { // Lowest buckets first
+                seen += counts[i]; // Add the bucket
+                if (seen >= rank) { // The rank falls in this bucket
+                    return highestValue(i); // Report its upper bound
+                }
+            }
+            return highestValue(counts.length - 1); // Unreachable unless the counts moved mid-copy
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package src.test.java; // Note: The package declaration may need to be adjusted based on your project structure.
+
+import org.junit.jupiter.api.Test; // JUnit 5 import
+
+import src.main.java.Appointment; // Importing the Appointment class to create test instances
+import src.main.java.AppointmentError; // Importing AppointmentError to read per-field failure counts
+import src.main.java.AppointmentMetrics; // Importing AppointmentMetrics to inspect recorded calls
+import src.main.java.AppointmentService; // Importing the AppointmentService class that records the calls
+import src.main.java.HeapAppointmentStore; // Importing the default store for measured services
+
+import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for cleaner test code
+
+import java.time.Clock; // Importing Clock to pin "now"
+import java.time.Duration; // Importing Duration for appointment lengths
+import java.time.Instant; // Importing Instant for clock-relative appointment dates
+import java.time.ZoneOffset; // Importing ZoneOffset for building fixed clocks
+import java.util.Date; // Importing Date for the time window queries
+
+/**
+ * CS 320 Module Five Milestone
+ * Appointment Metrics Unit Tests
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * JUnit 5 tests to verify the operation metrics of AppointmentService:
+ * calls, failures and per-field validation failures are counted (including
+ * values rejected by the setters of stored appointments), and the JSON and
+ * Prometheus exports carry them.
+ */
+class AppointmentMetricsTest { // Test class for AppointmentMetrics and the calls AppointmentService records
+
+    private static final Instant NOW = Instant.parse("2026-03-02T09:00:00Z"); // Fixed "now" for every test
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC); // Clock pinned to NOW
+
+    @Test
+    void testCallsFailuresAndFieldsAreCounted() { // Test case to verify the counters recorded by a measured service
+        AppointmentMetrics metrics = new AppointmentMetrics(1); // Time every call
+        AppointmentService service = new AppointmentService(new HeapAppointmentStore(), CLOCK, true, null, metrics); // Measured service without events
+        Instant start = NOW.plus(Duration.ofDays(1)); // Tomorrow
+
+        Appointment appt = new Appointment("A1", start, "Team meeting", CLOCK); // Stored below
+        service.addAppointment(appt); // Succeeds
+        assertThrows(IllegalArgumentException.class, () -> service.addAppointment(new Appointment("A1", start, "Other", CLOCK))); // Duplicate ID
+        assertThrows(IllegalArgumentException.class, () -> appt.setDescription("   ")); // Rejected by the setter of a stored appointment
+        assertThrows(IllegalArgumentException.class, () -> appt.setAppointmentInstant(NOW.minusSeconds(60))); // Past date
+        assertThrows(IllegalArgumentException.class, () -> service.deleteAppointment("")); // Blank ID
+        service.getAppointment("A1"); // Read
+        service.countInWindow(Date.from(NOW), Date.from(start.plus(Duration.ofDays(1)))); // Window query
+        assertThrows(IllegalArgumentException.class, () -> service.next(-1)); // Negative limit, not a field failure
+        service.deleteAppointment("A1"); // Succeeds
+
+        assertEquals(2, metrics.getCallCount(AppointmentMetrics.Operation.ADD_APPOINTMENT)); // Both adds
+        assertEquals(1, metrics.getFailureCount(AppointmentMetrics.Operation.ADD_APPOINTMENT)); // The duplicate
+        assertEquals(2, metrics.getCallCount(AppointmentMetrics.Operation.DELETE_APPOINTMENT)); // Both deletes
+        assertEquals(1, metrics.getFailureCount(AppointmentMetrics.Operation.DELETE_APPOINTMENT)); // The blank ID
+        assertEquals(1, metrics.getCallCount(AppointmentMetrics.Operation.GET_APPOINTMENT)); // One read
+        assertEquals(1, metrics.getCallCount(AppointmentMetrics.Operation.COUNT_IN_WINDOW)); // One window query
+        assertEquals(1, metrics.getFailureCount(AppointmentMetrics.Operation.NEXT)); // Negative limit
+        assertEquals(0, metrics.getCallCount(AppointmentMetrics.Operation.FIND_CONFLICTS)); // Never called
+
+        assertEquals(1, metrics.getValidationFailureCount(AppointmentError.DESCRIPTION_BLANK)); // Setter of a stored appointment
+        assertEquals(1, metrics.getValidationFailureCount(AppointmentError.DATE_IN_PAST)); // Setter of a stored appointment
+        assertEquals(1, metrics.getValidationFailureCount(AppointmentError.ID_BLANK)); // deleteAppointment
+        assertThrows(IllegalArgumentException.class, () -> appt.setDescription("")); // Deleted, so no longer counted
+        assertEquals(1, metrics.getValidationFailureCount(AppointmentError.DESCRIPTION_BLANK)); // Unchanged
+
+        assertEquals(2, metrics.getTimedCount(AppointmentMetrics.Operation.ADD_APPOINTMENT)); // Every call was timed
+        assertTrue(metrics.getLatencyPercentile(AppointmentMetrics.Operation.ADD_APPOINTMENT, 99) > 0); // Latency was recorded
+        assertThrows(IllegalArgumentException.class, () -> metrics.getLatencyPercentile(AppointmentMetrics.Operation.NEXT, Double.NaN)); // Not a percentile
+    }
+
+    @Test
+    void testExports() { // Test case to verify the JSON and Prometheus exports
+        AppointmentMetrics metrics = new AppointmentMetrics(1); // Time every call
+        AppointmentService service = new AppointmentService(new HeapAppointmentStore(), CLOCK, true, null, metrics); // Measured service
+        Appointment appt = new Appointment("A1", NOW.plus(Duration.ofDays(1)), "Team meeting", CLOCK); // Stored below
+        service.addAppointment(appt); // One add
+        assertThrows(IllegalArgumentException.class, () -> appt.setDuration(Duration.ofMinutes(-5))); // One bad duration
+
+        String json = metrics.toJson(); // JSON export
+        assertTrue(json.startsWith("{\"operations\":{\"addAppointment\":{\"count\":1,\"failures\":0,\"latencyNanos\":{\"timed\":1,\"mean\":")); // First operation
+        assertTrue(json.contains("\"DURATION_NEGATIVE\":1")); // Field failure
+
+        String text = metrics.toPrometheus(); // Prometheus export
+        assertTrue(text.contains("appointment_service_calls_total{operation=\"addAppointment\"} 1\n")); // One add
+        assertTrue(text.contains("appointment_service_latency_seconds_count{operation=\"addAppointment\"} 1\n")); // Summary count
+        assertTrue(text.contains("appointment_service_validation_failures_total{field=\"DURATION_NEGATIVE\"} 1\n")); // Field failure
+    }
+}
@@ -0,0 +1,338 @@
+package src.main.java; // Package declaration for the main application code
+
+import java.time.Clock; // Importing Clock so "now" can be injected
+import java.time.Duration; // Importing Duration for the lead time and tick length
+import java.util.ArrayList; // Importing ArrayList for the reminders fired by one advance
+import java.util.HashMap; // Importing HashMap for finding a pending reminder by appointment ID
+import java.util.List; // Importing List interface for type declaration
+import java.util.Map; // Importing Map interface for type declaration
+import java.util.concurrent.ScheduledExecutorService; // Importing ScheduledExecutorService for the optional ticker thread
+import java.util.concurrent.ScheduledThreadPoolExecutor; // Importing ScheduledThreadPoolExecutor to build the ticker
+import java.util.concurrent.TimeUnit; // Importing TimeUnit for the tick period
+
+/**
+ * AppointmentReminders Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Fires an "appointment coming up" callback a fixed lead time (for example 15
+ * minutes) before each appointment of an AppointmentService, without polling
+ * the appointments. A service built with reminders schedules one for every
+ * appointment it stores, moves it when setAppointmentDate changes the date, and
+ * cancels it when the appointment is deleted. Appointments that have already
+ * started get no reminder; those starting within the lead time are reminded at
+ * the next tick.
+ *
+ * Reminders live in a hierarchical timing wheel: 11 levels of 64 slots, where a
+ * slot of level L spans 64^L ticks, so any deadline fits without an overflow
+ * list. Scheduling and cancelling are O(1); a reminder moves down at most once
+ * per level before it fires, so firing is O(1) amortized per reminder however
+ * many are pending, and an advance that crosses an empty tick costs O(1).
+ *
+ * Time only moves when advance() is called: by start()'s ticker thread once per
+ * tick, or by the caller (tests use a hand-moved clock for deterministic
+ * results). A reminder never fires before its time and at most one tick after
+ * it, given a ticker. Clock jumps are tolerated:
+ * - forward by more than MAX_STEP_TICKS: the wheel is rebuilt around the new
+ *   time in O(n), and every reminder that came due in the gap fires once
+ * - backward by more than MAX_STEP_TICKS: the wheel is rebuilt the same way, so
+ *   reminders are not held back until the clock catches up; smaller steps back
+ *   are ignored, which can only make a reminder due meanwhile fire that much early
+ *
+ * Methods are thread-safe: the service's thread schedules while the ticker
+ * fires. Callbacks run on the thread calling advance, outside the wheel's lock;
+ * a callback may call back into the service through its own queue (for example
+ * AsyncAppointmentService), and a reminder cancelled while its batch is being
+ * delivered may still be delivered. A callback that throws is reported to the
+ * thread's uncaught-exception handler and the other reminders still fire.
+ */
+public final class AppointmentReminders implements AutoCloseable { // Timing-wheel scheduler for appointment reminders
+
+    /**
+     * Receives the reminders.
+     */
+    @FunctionalInterface
+    public interface Listener { // Pluggable reminder sink, e.g. a notification sender
+        /**
+         * Called once per appointment, lead time before it starts.
+         *
+         * @param appointmentId     the appointment's ID
+         * @param appointmentMillis the appointment's date in epoch milliseconds
+         */
+        void onReminder(String appointmentId, long appointmentMillis); // The appointment starts at appointmentMillis
+    }
+
+    public static final Duration DEFAULT_TICK = Duration.ofSeconds(1); // Reminder precision unless another tick is given
+    static final int SLOT_BITS = 6; // Bits of the tick number per level
+    static final int SLOTS = 1 << SLOT_BITS; // Slots per level
+    static final int LEVELS = 11; // 11 x 6 = 66 bits, more than any tick number needs
+    static final long MAX_STEP_TICKS = 4_096; // Longest jump walked tick by tick; longer jumps rebuild the wheel
+    private static final int DUE = LEVELS * SLOTS; // Extra list for reminders due at the next advance
+    private static final int UNLINKED = -1; // Bucket of a reminder that is in no list
+
+    // One pending reminder; an intrusive list node so cancelling needs no search
+    private static final class Reminder { // Linked into exactly one bucket while pending
+        final String appointmentId; // Key in byId
+        final long appointmentMillis; // Passed to the listener
+        final long deadline; // Tick at which it fires: the first tick at or after appointment - lead
+        Reminder previous; // Neighbor toward the bucket head
+        Reminder next; // Neighbor away from the bucket head
+        int bucket = UNLINKED; // Index into buckets
+
+        Reminder(String appointmentId, long appointmentMillis, long deadline) { // Constructor for a new reminder
+            this.appointmentId = appointmentId; // Set the ID
+            this.appointmentMillis = appointmentMillis; // Set the date
+            this.deadline = deadline; // Set the deadline tick
+        }
+    }
+
+    private final Reminder[] buckets = new Reminder[DUE + 1]; // Heads of the level-major slot lists, then the due list
+    private final Map<String, Reminder> byId = new HashMap<>(); // Pending reminder per appointment
+    private final long leadMillis; // How long before the appointment a reminder fires
+    private final long tickMillis; // Length of one tick
+    private final Clock clock; // Source of "now"
+    private final Listener listener; // Receives the reminders
+    private long currentTick; // Last tick processed
+    private ScheduledExecutorService ticker; // Running ticker, or null
+
+    /**
+     * Creates a scheduler with one-second ticks.
+     *
+     * @param lead     how long before each appointment its reminder fires
+     * @param clock    the source of the current time
+     * @param listener receives the reminders
+     * @throws IllegalArgumentException if an argument is null or lead is negative
+     */
+    public AppointmentReminders(Duration lead, Clock clock, Listener listener) { // Constructor with the default tick
+        this(lead, DEFAULT_TICK, clock, listener); // One-second precision
+    }
+
+    /**
+     * Creates a scheduler whose reminders fire within one tick of their time.
+     *
+     * @param lead     how long before each appointment its reminder fires
+     * @param tick     the wheel's precision (at least one millisecond)
+     * @param clock    the source of the current time
+     * @param listener receives the reminders
+     * @throws IllegalArgumentException if an argument is null, lead is negative or tick is under a millisecond
+     */
+    public AppointmentReminders(Duration lead, Duration tick, Clock clock, Listener listener) { // Constructor with an explicit tick
+        if (lead == null || lead.isNegative()) { // Check the lead time
+            throw new IllegalArgumentException("Reminder lead time cannot be null or negative"); // Clear message indicating the issue with the lead time
+        }
+        if (tick == null || tick.toMillis() < 1) { // Check the tick
+            throw new IllegalArgumentException("Reminder tick must be at least one millisecond"); // Clear message indicating the issue with the tick
+        }
+        if (clock == null) { // Check for a null clock
+            throw new IllegalArgumentException("Clock cannot be null"); // Clear message indicating the issue with the clock
+        }
+        if (listener == null) { // Check for a null listener
+            throw new IllegalArgumentException("Reminder listener cannot be null"); // Clear message indicating the issue with the listener
+        }
+        this.leadMillis = lead.toMillis(); // Millisecond precision is enough
+        this.tickMillis = tick.toMillis(); // Whole milliseconds
+        this.clock = clock; // Use the given clock
+        this.listener = listener; // Use the given listener
+        this.currentTick = Math.floorDiv(clock.millis(), tickMillis); // Start at the current tick
+    }
+
+    /**
+     * Schedules (or moves) the reminder for an appointment.
+     * Called by AppointmentService when an appointment is stored or its date changes.
+     *
+     * @param appointmentId     the appointment's ID
+     * @param appointmentMillis the appointment's date in epoch milliseconds
+     */
+    synchronized void schedule(String appointmentId, long appointmentMillis) { // Package-private: fed by AppointmentService
+        cancel(appointmentId); // At most one reminder per appointment
+        if (appointmentMillis <= clock.millis()) { // Already started: too late to remind
+            return; // Nothing to schedule
+        }
+        long fireAt = appointmentMillis - leadMillis; // When the reminder is due (cannot overflow: the date is after now)
+        long deadline = -Math.floorDiv(-fireAt, tickMillis); // First tick at or after fireAt, so it never fires early
+        Reminder reminder = new Reminder(appointmentId, appointmentMillis, deadline); // New node
+        byId.put(appointmentId, reminder); // Findable for cancel
+        link(reminder); // Into its slot, or the due list
+    }
+
+    /**
+     * Cancels the reminder for an appointment, if one is pending.
+     * Called by AppointmentService when an appointment is deleted.
+     *
+     * @param appointmentId the appointment's ID
+     */
+    synchronized void cancel(String appointmentId) { // Package-private: fed by AppointmentService
+        Reminder reminder = byId.remove(appointmentId); // Pending reminder, if any
+        if (reminder != null) { // Something to cancel
+            unlink(reminder); // O(1) removal from its bucket
+        }
+    }
+
+    /**
+     * Returns the number of reminders that have not fired yet.
+     *
+     * @return the pending reminder count
+     */
+    public synchronized int size() { // Pending reminders
+        return byId.size(); // One per scheduled appointment
+    }
+
+    /**
+     * Returns whether a reminder is pending for the appointment.
+     *
+     * @param appointmentId the appointment's ID
+     * @return true if its reminder has not fired or been cancelled
+     */
+    public synchronized boolean isPending(String appointmentId) { // Lookup by appointment
+        return byId.containsKey(appointmentId); // Present until fired or cancelled
+    }
+
+    /**
+     * Moves the wheel to the clock's current time and fires every reminder that
+     * has come due. Walking tick by tick, earlier ticks fire first; reminders
+     * caught up by a rebuild after a large jump fire in no particular order.
+     *
+     * @return the number of reminders fired
+     */
+    public int advance() { // Called by the ticker, or by the caller when there is none
+        List<Reminder> fired = new ArrayList<>(); // Collected under the lock, delivered outside it
+        synchronized (this) {
+            long target = Math.floorDiv(clock.millis(), tickMillis); // Tick the clock is in now
+            if (target - currentTick > MAX_STEP_TICKS || currentTick - target > MAX_STEP_TICKS) { // Large jump either way
+                rebuild(target); // O(n) once, instead of walking the gap tick by tick
+            }
+            drain(DUE, fired); // Reminders already due when scheduled, or caught up by the rebuild
+            while (currentTick < target) { // Walk the remaining ticks
+                step(fired); // One tick
+            }
+        }
+        for (Reminder reminder : fired) { // Deliver outside the lock
+            try {
+                listener.onReminder(reminder.appointmentId, reminder.appointmentMillis); // Hand over
+            } catch (RuntimeException failure) { // Listener bug
+                Thread thread = Thread.currentThread(); // The delivering thread
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, failure); // Report it like an uncaught exception, then go on
+            }
+        }
+        return fired.size(); // Reminders delivered (or attempted)
+    }
+
+    /**
+     * Starts a daemon thread that calls advance once per tick. Without it, the
+     * owner must call advance itself.
+     *
+     * @throws IllegalStateException if the ticker is already running
+     */
+    public synchronized void start() { // Optional background ticking
+        if (ticker != null) { // Only one ticker
+            throw new IllegalStateException("Reminder ticker is already running"); // Clear message indicating the issue with the ticker
+        }
+        ticker = new ScheduledThreadPoolExecutor(1, runnable -> { // One thread
+            Thread thread = new Thread(runnable, "appointment-reminders"); // Named for thread dumps
+            thread.setDaemon(true); // A forgotten close() does not keep the JVM alive
+            return thread; // The ticker
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS); // advance never throws, so the schedule is never cancelled
+    }
+
+    /**
+     * Stops the ticker thread, if one was started. Pending reminders stay
+     * scheduled and fire on the next advance.
+     */
+    @Override
+    public void close() { // Stop background ticking
+        ScheduledExecutorService running; // Ticker to stop
+        synchronized (this) {
+            running = ticker; // Take it
+            ticker = null; // Allow start() again
+        }
+        if (running != null) { // Was started
+            running.shutdownNow(); // No further ticks
+        }
+    }
+
+    // Moves time forward by one tick: cascades the higher levels whose boundary it crosses, then fires level 0
+    private void step(List<Reminder> fired) { // Called with the lock held
+        long tick = ++currentTick; // The tick being entered
+        for (int level = LEVELS - 1; level > 0; level--) { // Top down, so a cascaded reminder can cascade again this tick
+            int shift = level * SLOT_BITS; // Bits below this level's digit
+            if ((tick & ((1L << shift) - 1)) == 0) { // tick starts a new slot of this level
+                int bucket = level * SLOTS + (int) ((tick >>> shift) & (SLOTS - 1)); // The slot now current
+                Reminder reminder = buckets[bucket]; // Take the whole list
+                buckets[bucket] = null; // Empty the slot
+                while (reminder != null) { // Re-file every reminder relative to the new tick
+                    Reminder next = reminder.next; // Saved before relinking
+                    reminder.bucket = UNLINKED; // No longer in the old list
+                    link(reminder); // Lands in a lower level, or the due list if its deadline is this tick
+                    reminder = next; // Next in the old list
+                }
+            }
+        }
+        drain(DUE, fired); // Cascaded reminders due exactly now
+        drain((int) (tick & (SLOTS - 1)), fired); // Level 0: every reminder here is due exactly now
+    }
+
+    // Rebuilds the wheel around a tick far from the current one
+    private void rebuild(long target) { // Called with the lock held
+        currentTick = target; // New reference point
+        for (int bucket = 0; bucket <= DUE; bucket++) { // Detach every list
+            buckets[bucket] = null; // The reminders are still in byId
+        }
+        for (Reminder reminder : byId.values()) { // Re-file every pending reminder
+            reminder.previous = null; // Clear the old links
+            reminder.next = null; // Clear the old links
+            reminder.bucket = UNLINKED; // In no list
+            link(reminder); // Due ones go to the due list
+        }
+    }
+
+    // Moves every reminder of a bucket to fired
+    private void drain(int bucket, List<Reminder> fired) { // Called with the lock held
+        Reminder reminder = buckets[bucket]; // Whole list
+        buckets[bucket] = null; // Empty it
+        while (reminder != null) { // Fire each
+            byId.remove(reminder.appointmentId); // No longer pending
+            reminder.bucket = UNLINKED; // In no list
+            fired.add(reminder); // Deliver after the lock is released
+            reminder = reminder.next; // Next in the list
+        }
+    }
+
+    // Files a reminder under the highest tick digit where its deadline differs from the current tick
+    private void link(Reminder reminder) { // Called with the lock held
+        int bucket; // Destination list
+        if (reminder.deadline <= currentTick) { // Due (or overdue)
+            bucket = DUE; // Fires at the next advance
+        } else {
+            int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(reminder.deadline ^ currentTick)) / SLOT_BITS; // Highest differing digit
+            int slot = (int) ((reminder.deadline >>> (level * SLOT_BITS)) & (SLOTS - 1)); // The deadline's digit at that level
+            bucket = level * SLOTS + slot; // Level-major index
+        }
+        reminder.bucket = bucket; // Remember the list for unlink
+        reminder.previous = null; // New head
+        reminder.next = buckets[bucket]; // Old head follows
+        if (reminder.next != null) { // List was not empty
+            reminder.next.previous = reminder; // Back link
+        }
+        buckets[bucket] = reminder; // Push at the head
+    }
+
+    // Removes a reminder from its list in O(1)
+    private void unlink(Reminder reminder) { // Called with the lock held
+        if (reminder.bucket == UNLINKED) { // Already fired
+            return; // Nothing to remove
+        }
+        if (reminder.previous == null) { // Head of its list
+            buckets[reminder.bucket] = reminder.next; // Next becomes the head
+        } else {
+            reminder.previous.next = reminder.next; // Skip over it
+        }
+        if (reminder.next != null) { // Not the tail
+            reminder.next.previous = reminder.previous; // Back link skips over it
+        }
+        reminder.previous = null; // Drop the links
+        reminder.next = null; // Drop the links
+        reminder.bucket = UNLINKED; // In no list
+    }
+}
@@ -0,0 +1,234 @@
+package src.test.java; // Note: The package declaration may need to be adjusted based on your project structure.
+
+import org.junit.jupiter.api.Test; // JUnit 5 import
+import org.junit.jupiter.api.io.TempDir; // JUnit 5 temporary directory for snapshot files
+
+import src.main.java.Appointment; // Importing the Appointment class to create test instances
+import src.main.java.AppointmentReminders; // Importing AppointmentReminders, the class under test
+import src.main.java.AppointmentService; // Importing the AppointmentService class that feeds the reminders
+import src.main.java.HeapAppointmentStore; // Importing the default store for services built with reminders
+
+import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for cleaner test code
+
+import java.io.IOException; // Importing IOException for snapshot file access
+import java.nio.file.Path; // Importing Path for the snapshot file location
+import java.time.Clock; // Importing Clock to move "now" by hand
+import java.time.Duration; // Importing Duration for lead times and clock steps
+import java.time.Instant; // Importing Instant for the test clock
+import java.time.ZoneId; // Importing ZoneId for the Clock contract
+import java.time.ZoneOffset; // Importing ZoneOffset for the test clock's zone
+import java.util.ArrayList; // Importing ArrayList for collecting fired reminders
+import java.util.HashMap; // Importing HashMap for checking each reminder's firing time
+import java.util.List; // Importing List for fired reminders
+import java.util.Map; // Importing Map for checking each reminder's firing time
+import java.util.Random; // Importing Random for spreading appointments over days
+
+/**
+ * CS 320 Module Five Milestone
+ * Appointment Reminders Unit Tests
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * JUnit 5 tests to verify the timing-wheel reminders of AppointmentService:
+ * reminders fire once, lead time before the appointment and never early,
+ * follow date changes and deletes, survive the clock jumping forward or back,
+ * and are scheduled again for a service restarted from a snapshot.
+ */
+class AppointmentRemindersTest { // Test class for AppointmentReminders and how AppointmentService feeds it
+
+    private static final Instant START = Instant.parse("2026-03-02T09:00:00Z"); // Initial "now" for every test
+    private static final Duration LEAD = Duration.ofMinutes(15); // Reminders fire 15 minutes ahead
+
+    // Clock the test moves by hand
+    private static final class MutableClock extends Clock { // Deterministic time source
+        private Instant now = START; // Current time
+
+        void advance(Duration step) { // Move time forward (or back, with a negative step)
+            now = now.plus(step); // New current time
+        }
+
+        @Override
+        public Instant instant() { // Current time
+            return now; // As set by the test
+        }
+
+        @Override
+        public ZoneId getZone() { // Zone of the clock
+            return ZoneOffset.UTC; // Appointments are in UTC
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) { // Zone changes do not matter here
+            return this; // Same clock
+        }
+    }
+
+    private final MutableClock clock = new MutableClock(); // Shared by the service, its appointments and the reminders
+    private final List<String> fired = new ArrayList<>(); // Appointment IDs in firing order
+    private final AppointmentReminders reminders = new AppointmentReminders(LEAD, clock, (id, millis) -> fired.add(id)); // Records every reminder
+    private final AppointmentService service = new AppointmentService(new HeapAppointmentStore(), clock, true, null, null, reminders); // Feeds the reminders
+
+    @TempDir
+    Path directory; // Fresh directory for the restart test's snapshot file
+
+    // Adds an appointment starting the given time after the current clock
+    private Appointment book(String id, Duration fromNow) { // Shortcut for the tests
+        Appointment appointment = new Appointment(id, clock.instant().plus(fromNow), "Checkup", clock); // Future appointment
+        service.addAppointment(appointment); // Schedules its reminder
+        return appointment; // For setter calls
+    }
+
+    /**
+     * Test that a reminder fires once, at lead time before its appointment and not earlier.
+     */
+    @Test
+    void testFiresAtLeadTime() { // Test method to verify the firing time
+        book("A1", Duration.ofHours(1)); // Reminder due in 45 minutes
+        book("A2", Duration.ofHours(2)); // Reminder due in 1 hour 45 minutes
+        assertEquals(2, reminders.size()); // Both pending
+
+        clock.advance(Duration.ofMinutes(45).minusSeconds(1)); // One second early
+        assertEquals(0, reminders.advance()); // Nothing due yet
+        clock.advance(Duration.ofSeconds(1)); // Exactly lead time before A1
+        assertEquals(1, reminders.advance()); // A1 fires
+        assertEquals(List.of("A1"), fired); // Only A1
+        assertFalse(reminders.isPending("A1")); // No longer pending
+        assertEquals(0, reminders.advance()); // Fires only once
+
+        clock.advance(Duration.ofHours(1)); // Past A2's reminder time
+        assertEquals(1, reminders.advance()); // A2 fires
+        assertEquals(List.of("A1", "A2"), fired); // In order
+        assertEquals(0, reminders.size()); // Nothing left
+    }
+
+    /**
+     * Test that a service restarted from a snapshot with reminders schedules one for
+     * every future appointment in the file, and none for those already past.
+     */
+    @Test
+    void testRemindersAfterRestartFromSnapshot() throws IOException { // Test method to verify snapshot loading feeds the reminders
+        book("A1", Duration.ofHours(1)); // Reminder due in 45 minutes
+        book("A2", Duration.ofMinutes(5)); // Will have started by the restart
+        Path file = directory.resolve("appointments.snap"); // Snapshot location
+        service.saveSnapshot(file); // Persist both appointments
+        clock.advance(Duration.ofMinutes(10)); // A2 starts while the service is down
+
+        List<String> restartedFired = new ArrayList<>(); // Reminders of the restarted service
+        AppointmentReminders restartedReminders = new AppointmentReminders(LEAD, clock, (id, millis) -> restartedFired.add(id)); // Fresh wheel, as after a process restart
+        AppointmentService restarted = AppointmentService.fromSnapshot(file, new HeapAppointmentStore(), clock, true, null, null, restartedReminders); // Restart from the file
+        assertTrue(restartedReminders.isPending("A1")); // Scheduled without A1 being requested
+        assertFalse(restartedReminders.isPending("A2")); // Too late to remind
+        assertEquals(1, restartedReminders.size()); // Only A1
+
+        clock.advance(Duration.ofMinutes(35)); // Lead time before A1
+        assertEquals(1, restartedReminders.advance()); // A1 fires
+        assertEquals(List.of("A1"), restartedFired); // Once
+        assertNotNull(restarted.getAppointment("A1")); // Still stored
+    }
+
+    /**
+     * Test that moving an appointment moves its reminder, and deleting it cancels it.
+     */
+    @Test
+    void testFollowsDateChangesAndDeletes() { // Test method to verify the service hooks
+        Appointment moved = book("A1", Duration.ofHours(1)); // Reminder due in 45 minutes
+        book("A2", Duration.ofHours(1)); // Same time, deleted below
+        moved.setAppointmentInstant(clock.instant().plus(Duration.ofDays(2))); // Postponed by two days
+        service.deleteAppointment("A2"); // Cancelled
+        assertEquals(1, reminders.size()); // Only A1 left
+
+        clock.advance(Duration.ofHours(1)); // Past the original reminder time
+        assertEquals(0, reminders.advance()); // Neither fires
+        clock.advance(Duration.ofDays(2).minus(LEAD).minusHours(1)); // Lead time before the new date
+        assertEquals(1, reminders.advance()); // A1 fires at its new time
+        assertEquals(List.of("A1"), fired); // A2 never fired
+
+        book("A3", Duration.ofMinutes(10)); // Inside the lead time already
+        assertEquals(1, reminders.advance()); // Reminded at the next advance
+        book("A4", Duration.ofDays(365)); // Far future: lands in a high level of the wheel
+        clock.advance(Duration.ofDays(365).minus(LEAD)); // Jump straight to its reminder time
+        assertEquals(1, reminders.advance()); // Rebuilt and fired
+        assertEquals(List.of("A1", "A3", "A4"), fired); // Every reminder once
+    }
+
+    /**
+     * Test that every reminder of many fires exactly once and within one tick of its time while time moves in steps.
+     */
+    @Test
+    void testManyRemindersCascadeCorrectly() { // Test method to verify the cascading between levels
+        Random random = new Random(320); // Fixed seed for reproducible dates
+        Map<String, Long> due = new HashMap<>(); // Reminder time per appointment
+        for (int i = 0; i < 10_000; i++) { // Spread over three days, to the millisecond
+            long offset = Duration.ofMinutes(16).toMillis() + random.nextInt((int) Duration.ofDays(3).toMillis()); // After the lead time
+            String id = "A" + i; // Unique ID
+            service.addAppointment(new Appointment(id, clock.instant().plusMillis(offset), "Checkup", clock)); // No duration, so no conflicts
+            due.put(id, clock.millis() + offset - LEAD.toMillis()); // When its reminder is due
+        }
+        int total = 0; // Reminders seen
+        while (reminders.size() > 0) { // Walk three days in 7-second steps (not a divisor of any level's span)
+            clock.advance(Duration.ofSeconds(7)); // Next step
+            reminders.advance(); // Fire what came due
+            for (String id : fired) { // Every reminder of this step
+                long late = clock.millis() - due.get(id); // How late it fired
+                assertTrue(late >= 0 && late < Duration.ofSeconds(8).toMillis(), id + " fired " + late + " ms late"); // Never early, at most one step and one tick late
+            }
+            total += fired.size(); // Count them
+            fired.clear(); // Next step
+        }
+        assertEquals(10_000, total); // Every reminder fired exactly once
+    }
+
+    /**
+     * Test that the clock jumping back and forth neither loses nor repeats reminders.
+     */
+    @Test
+    void testClockJumps() { // Test method to verify clock-jump tolerance
+        book("A1", Duration.ofHours(1)); // Reminder due in 45 minutes
+        book("A2", Duration.ofHours(3)); // Reminder due in 2 hours 45 minutes
+        clock.advance(Duration.ofSeconds(-30)); // Small step back (e.g. an NTP correction)
+        assertEquals(0, reminders.advance()); // Ignored
+        clock.advance(Duration.ofHours(-5)); // Large step back
+        assertEquals(0, reminders.advance()); // Rebuilt around the earlier time, nothing lost
+        assertEquals(2, reminders.size()); // Both still pending
+        clock.advance(Duration.ofHours(5).plusSeconds(30).plus(Duration.ofMinutes(45))); // Back to A1's reminder time
+        assertEquals(1, reminders.advance()); // A1 fires on time
+        clock.advance(Duration.ofDays(1)); // Large jump forward past A2
+        assertEquals(1, reminders.advance()); // A2 fires once, late
+        assertEquals(List.of("A1", "A2"), fired); // Nothing repeated
+    }
+
+    /**
+     * Test the argument checks and that a throwing listener does not stop other reminders.
+     */
+    @Test
+    void testValidationAndListenerFailures() { // Test method to verify the error handling
+        assertThrows(IllegalArgumentException.class, () -> new AppointmentReminders(null, clock, (id, millis) -> { })); // Lead required
+        assertThrows(IllegalArgumentException.class, () -> new AppointmentReminders(Duration.ofMinutes(-1), clock, (id, millis) -> { })); // Lead cannot be negative
+        assertThrows(IllegalArgumentException.class, () -> new AppointmentReminders(LEAD, Duration.ZERO, clock, (id, millis) -> { })); // Tick of at least a millisecond
+        assertThrows(IllegalArgumentException.class, () -> new AppointmentReminders(LEAD, null, (id, millis) -> { })); // Clock required
+        assertThrows(IllegalArgumentException.class, () -> new AppointmentReminders(LEAD, clock, null)); // Listener required
+
+        List<Throwable> reported = new ArrayList<>(); // Failures sent to the uncaught-exception handler
+        Thread thread = Thread.currentThread(); // Test thread delivers the reminders
+        Thread.UncaughtExceptionHandler previous = thread.getUncaughtExceptionHandler(); // Restored below
+        thread.setUncaughtExceptionHandler((t, failure) -> reported.add(failure)); // Capture instead of printing
+        try {
+            AppointmentReminders failing = new AppointmentReminders(Duration.ZERO, clock, (id, millis) -> { // Fails for A1 only
+                if (id.equals("A1")) { // Listener bug
+                    throw new IllegalStateException("boom"); // Thrown during delivery
+                }
+                fired.add(id); // Others are recorded
+            });
+            AppointmentService failingService = new AppointmentService(new HeapAppointmentStore(), clock, true, null, null, failing); // Feeds the failing listener
+            failingService.addAppointment(new Appointment("A1", clock.instant().plusSeconds(5), "Checkup", clock)); // Fails on delivery
+            failingService.addAppointment(new Appointment("A2", clock.instant().plusSeconds(5), "Checkup", clock)); // Delivered anyway
+            clock.advance(Duration.ofSeconds(5)); // Both due
+            assertEquals(2, failing.advance()); // Both attempted
+            assertEquals(List.of("A2"), fired); // A2 delivered
+            assertEquals(1, reported.size()); // A1's failure was reported
+        } finally {
+            thread.setUncaughtExceptionHandler(previous); // Restore the handler
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package src.main.java; // Package declaration for main application classes
 
-import java.util.HashMap; // Importing HashMap for in-memory storage of appointments
-import java.util.Map; // Importing Map interface for type declaration of appointments storage
+import java.io.IOException; // Importing IOException for snapshot file failures
+import java.nio.file.Path; // Importing Path for snapshot file locations
+import java.time.Clock; // Importing Clock so "now" can be injected for next()
+import java.util.ArrayList; // Importing ArrayList to collect appointments for a snapshot
+import java.util.Date; // Importing Date for the time-based query parameters
+import java.util.HashSet; // Importing HashSet for IDs deleted while a snapshot is still mapped
+import java.util.List; // Importing List interface for range query return types
+import java.util.Set; // Importing Set interface for type declaration of deleted snapshot IDs
 
 /**
  * CS 320 Module Five Milestone
@@ -15,33 +21,267 @@ import java.util.Map; // Importing Map interface for type declaration of appoint
  * - Add appointments with a unique appointment ID
  * - Delete appointments by appointment ID
  * 
- * Uses a HashMap for storage (no database required).
+ * Storage is a pluggable AppointmentStore (no database required): by default a
+ * HeapAppointmentStore holding the Appointment objects themselves, or an
+ * OffHeapAppointmentStore that keeps appointment data out of the Java heap.
+ * Either store keeps an index ordered by (appointment date, appointment ID) that
+ * answers time-window queries in O(log n + k) without scanning every appointment.
+ * The index follows setAppointmentDate on stored appointments automatically.
+ * 
+ * Appointments with a duration also go into an interval tree over
+ * [date, date + duration), so a booking is checked for conflicts in O(log n)
+ * instead of against every appointment, and findConflicts lists the appointments
+ * overlapping any window. By default the service rejects a conflicting add, move
+ * or duration change; a service built with rejectConflicts = false accepts them
+ * and only reports them through findConflicts. Appointments without a duration
+ * never conflict.
+ * 
+ * A service can start from an AppointmentSnapshot file: the file is mapped, and
+ * appointments are decoded one at a time on first access by ID. Time-window
+ * queries and saving a new snapshot load the remaining appointments first.
+ * The first conflict check reads only the ID, date and duration of the records
+ * still in the file into the interval index, so adds and moves stay lazy.
+ * A service built with an AppointmentEventBus publishes an AppointmentEvent for
+ * every appointment it creates or deletes and for every change made through the
+ * setters of a stored appointment. Appointments loaded from a snapshot are not
+ * published. Publishing never blocks on a subscriber.
+ * 
+ * The same Appointment object may be stored in several services; its setters
+ * check and update every one of them.
+ * 
+ * A service built with an AppointmentMetrics counts the calls and failures of every
+ * public query and update, times a sample of them, and counts validation failures by
+ * field, including those rejected by the setters of its stored appointments.
+ * 
+ * A service built with AppointmentReminders schedules a reminder for every
+ * appointment it adds, moves it when the appointment's date changes and cancels
+ * it when the appointment is deleted. A snapshot-backed service built with
+ * reminders loads the whole snapshot when it is created, so every future
+ * appointment in the file is reminded after a restart.
+ * 
+ * Appointments stay stored after their date passes until an AppointmentExpiry
+ * removes them, optionally moving them to an AppointmentArchive file first.
+ * 
  * All operations throw IllegalArgumentException with descriptive messages
  * on invalid input or violations.
  */
 public class AppointmentService { // Class declaration
     
-    // In-memory storage: appointmentId → Appointment
-    private final Map<String, Appointment> appointments = new HashMap<>(); // HashMap to store appointments by their unique ID
+    // Storage backend: appointmentId → Appointment, plus the (date, appointmentId) time index
+    private final AppointmentStore store; // Set once by the constructor
+
+    // Source of "now" for next()
+    private final Clock clock; // System UTC clock unless one is injected
+
+    // Interval index: appointmentId → [date, date + duration), for appointments with a duration
+    private final AppointmentIntervalTree intervals = new AppointmentIntervalTree(); // O(log n) conflict checks
+
+    // Whether a conflicting booking is rejected (true) or accepted and left for findConflicts to report (false)
+    private final boolean rejectConflicts; // Set once by the constructor
+
+    // Mapped snapshot still holding appointments that have not been loaded yet (null once everything is in memory)
+    private AppointmentSnapshot snapshot; // Set only by fromSnapshot
+
+    // Snapshot IDs deleted before they were ever loaded, so they are not decoded again later
+    private final Set<String> deletedFromSnapshot = new HashSet<>(); // Only used while snapshot is non-null
+
+    // Whether the snapshot's timed records have been added to the interval index without being loaded
+    private boolean snapshotIntervalsIndexed; // Set by the first conflict check on a snapshot-backed service
+
+    // Change-data-capture stream for downstream consumers
+    private final AppointmentEventBus events; // null when no bus is attached
+
+    // Call counts and latencies
+    private final AppointmentMetrics metrics; // null when not measured
+
+    // Timing wheel firing a callback ahead of each appointment
+    private final AppointmentReminders reminders; // null when no reminders are scheduled
+
+    /**
+     * Creates an empty service that stores appointments on the heap.
+     */
+    public AppointmentService() { // Default constructor
+        this(new HeapAppointmentStore()); // Appointment objects in a HashMap plus a skip-list time index
+    }
+
+    /**
+     * Creates an empty service on the given storage backend,
+     * for example new AppointmentService(new OffHeapAppointmentStore()).
+     * 
+     * @param store the backend to store appointments in (must be empty)
+     * @throws IllegalArgumentException if store is null
+     */
+    public AppointmentService(AppointmentStore store) { // Constructor for a specific backend
+        this(store, Appointment.SYSTEM_CLOCK); // "Now" is the system time
+    }
+
+    /**
+     * Creates an empty service on the given storage backend that takes "now"
+     * (for next) from the given clock.
+     * 
+     * @param store the backend to store appointments in (must be empty)
+     * @param clock the source of the current time
+     * @throws IllegalArgumentException if store or clock is null
+     */
+    public AppointmentService(AppointmentStore store, Clock clock) { // Constructor for a specific backend and clock
+        this(store, clock, true); // Conflicting bookings are rejected
+    }
+
+    /**
+     * Creates an empty service on the given storage backend and clock that either
+     * rejects conflicting bookings or accepts them for findConflicts to report.
+     * 
+     * @param store           the backend to store appointments in (must be empty)
+     * @param clock           the source of the current time
+     * @param rejectConflicts true to reject an add, move or duration change that overlaps
+     *                        another appointment; false to allow double-booking
+     * @throws IllegalArgumentException if store or clock is null
+     */
+    public AppointmentService(AppointmentStore store, Clock clock, boolean rejectConflicts) { // Constructor for a specific backend, clock and conflict policy
+        this(store, clock, rejectConflicts, null); // No change events
+    }
+
+    /**
+     * Creates an empty service on the given storage backend, clock and conflict
+     * policy that publishes every change to the given bus.
+     * 
+     * @param store           the backend to store appointments in (must be empty)
+     * @param clock           the source of the current time
+     * @param rejectConflicts true to reject overlapping bookings; false to allow double-booking
+     * @param events          the bus to publish change events to (null for none)
+     * @throws IllegalArgumentException if store or clock is null
+     */
+    public AppointmentService(AppointmentStore store, Clock clock, boolean rejectConflicts, AppointmentEventBus events) { // Constructor for a service that publishes its changes
+        this(store, clock, rejectConflicts, events, null); // Not measured
+    }
+
+    /**
+     * Creates an empty service on the given storage backend, clock and conflict
+     * policy that publishes every change to the given bus and records its calls.
+     * 
+     * @param store           the backend to store appointments in (must be empty)
+     * @param clock           the source of the current time
+     * @param rejectConflicts true to reject overlapping bookings; false to allow double-booking
+     * @param events          the bus to publish change events to (null for none)
+     * @param metrics         the metrics to record calls in (null for none)
+     * @throws IllegalArgumentException if store or clock is null
+     */
+    public AppointmentService(AppointmentStore store, Clock clock, boolean rejectConflicts, AppointmentEventBus events, AppointmentMetrics metrics) { // Constructor for a service that also records its calls
+        this(store, clock, rejectConflicts, events, metrics, null); // No reminders
+    }
+
+    /**
+     * Creates an empty service on the given storage backend, clock and conflict
+     * policy that publishes every change to the given bus, records its calls and
+     * keeps a reminder scheduled for every appointment.
+     * 
+     * @param store           the backend to store appointments in (must be empty)
+     * @param clock           the source of the current time
+     * @param rejectConflicts true to reject overlapping bookings; false to allow double-booking
+     * @param events          the bus to publish change events to (null for none)
+     * @param metrics         the metrics to record calls in (null for none)
+     * @param reminders       the scheduler to keep reminders in (null for none)
+     * @throws IllegalArgumentException if store or clock is null
+     */
+    public AppointmentService(AppointmentStore store, Clock clock, boolean rejectConflicts, AppointmentEventBus events, AppointmentMetrics metrics, AppointmentReminders reminders) { // Constructor for a service that also schedules reminders
+        if (store == null) { // Check for a null store
+            throw new IllegalArgumentException("Appointment store cannot be null"); // Clear message indicating the issue with the store
+        }
+        if (clock == null) { // Check for a null clock
+            throw new IllegalArgumentException("Clock cannot be null"); // Clear message indicating the issue with the clock
+        }
+        this.store = store; // Use the given backend
+        this.clock = clock; // Use the given clock
+        this.rejectConflicts = rejectConflicts; // Use the given conflict policy
+        this.events = events; // Use the given bus (may be null)
+        this.metrics = metrics; // Use the given metrics (may be null)
+        this.reminders = reminders; // Use the given scheduler (may be null)
+    }
+
+    /**
+     * Creates a service backed by a snapshot file written by saveSnapshot.
+     * The file is mapped but no appointment is decoded until it is requested,
+     * so startup time does not grow with the number of appointments.
+     * 
+     * @param file the snapshot file
+     * @return a service containing the snapshot's appointments
+     * @throws IOException if the file cannot be mapped or is not a snapshot
+     */
+    public static AppointmentService fromSnapshot(Path file) throws IOException { // Factory for snapshot-backed services
+        return fromSnapshot(file, new HeapAppointmentStore(), Appointment.SYSTEM_CLOCK, true, null, null, null); // Defaults of the no-argument constructor
+    }
+
+    /**
+     * Creates a service backed by a snapshot file written by saveSnapshot, with
+     * the same options as the full constructor. Without reminders, appointments
+     * are decoded only when requested. With reminders, every appointment is loaded
+     * now and a reminder scheduled for each one still in the future, since a
+     * reminder cannot fire for an appointment still only in the file.
+     * 
+     * @param file            the snapshot file
+     * @param store           the backend to store appointments in (must be empty)
+     * @param clock           the source of the current time
+     * @param rejectConflicts true to reject overlapping bookings; false to allow double-booking
+     * @param events          the bus to publish change events to (null for none)
+     * @param metrics         the metrics to record calls in (null for none)
+     * @param reminders       the scheduler to keep reminders in (null for none)
+     * @return a service containing the snapshot's appointments
+     * @throws IOException if the file cannot be mapped or is not a snapshot
+     * @throws IllegalArgumentException if store or clock is null
+     */
+    public static AppointmentService fromSnapshot(Path file, AppointmentStore store, Clock clock, boolean rejectConflicts, AppointmentEventBus events, AppointmentMetrics metrics, AppointmentReminders reminders) throws IOException { // Factory for snapshot-backed services with every option
+        AppointmentService service = new AppointmentService(store, clock, rejectConflicts, events, metrics, reminders); // Empty in-memory state
+        service.snapshot = AppointmentSnapshot.open(file); // Map the file; records stay on disk until needed
+        if (reminders != null) { // Every future appointment needs its reminder now
+            service.hydrate(); // Loads and schedules every record
+        }
+        return service; // Return the snapshot-backed service
+    }
+
+    /**
+     * Writes every appointment in the service to a snapshot file, replacing any existing file.
+     * 
+     * @param file the snapshot file to create or replace
+     * @throws IOException if the file cannot be written
+     */
+    public void saveSnapshot(Path file) throws IOException { // Persist the current appointments
+        hydrate(); // Load anything still only in the old snapshot (which may be the same file)
+        List<Appointment> appointments = new ArrayList<>(store.size()); // Every stored appointment
+        store.forEach(appointments::add); // Collect them (decoding copies for an off-heap store)
+        AppointmentSnapshot.write(file, appointments); // Write through a mapped buffer
+    }
 
     /**
      * Adds a new appointment to the service.
      * The appointment's ID must be unique (not already in the service).
      * 
      * @param appointment the Appointment object to add
-     * @throws IllegalArgumentException if appointment is null or ID already exists
+     * @throws IllegalArgumentException if appointment is null, ID already exists,
+     *                                  or it conflicts with a stored appointment and
+     *                                  this service rejects conflicts
      */
     public void addAppointment(Appointment appointment) { // Method to add a new appointment
-        if (appointment == null) {
-            throw new IllegalArgumentException("Appointment cannot be null"); // Check for null appointment and throw exception if invalid
-        }
+        long start = metrics == null ? 0 : metrics.start(); // Only measured when metrics are attached
+        try {
+            if (appointment == null) {
+                throw new IllegalArgumentException("Appointment cannot be null"); // Check for null appointment and throw exception if invalid
+            }
         
-        String id = appointment.getAppointmentId(); // Get the appointment ID from the Appointment object
-        if (appointments.containsKey(id)) { // Check if the appointment ID already exists in the service
-            throw new IllegalArgumentException("Appointment ID already exists: " + id); //  Throw exception if the ID is not unique
-        }
+            String id = appointment.getAppointmentId(); // Get the appointment ID from the Appointment object
+            if (resolve(id) != null) { // Check if the appointment ID already exists in the service (including the snapshot)
+                throw new IllegalArgumentException("Appointment ID already exists: " + id); //  Throw exception if the ID is not unique
+            }
+            rejectConflict(id, appointment.getAppointmentMillis(), appointment.getDurationMillis()); // O(log n) overlap check
         
-        appointments.put(id, appointment); // Add the appointment to the HashMap using its ID as the key
+            attach(appointment); // Add the appointment to the HashMap, the time index and the reminder wheel
+            if (events != null) { // Publish only when a bus is attached
+                events.publish(AppointmentEvent.created(appointment)); // Never blocks
+            }
+        } catch (RuntimeException failure) { // Count the failure, then let it propagate
+            throw failed(AppointmentMetrics.Operation.ADD_APPOINTMENT, failure); // Same exception
+        } finally {
+            recorded(AppointmentMetrics.Operation.ADD_APPOINTMENT, start); // Every call, failed or not
+        }
     }
 
     /**
@@ -51,15 +291,34 @@ public class AppointmentService { // Class declaration
      * @throws IllegalArgumentException if ID is null or does not exist
      */
     public void deleteAppointment(String appointmentId) { // Method to delete an appointment by its ID
-        if (appointmentId == null || appointmentId.trim().isEmpty()) { // Check if the appointment ID is null or empty and throw exception if invalid
-            throw new IllegalArgumentException("Appointment ID cannot be null or empty"); // Validate that the appointment ID is not null or empty
-        }
+        long start = metrics == null ? 0 : metrics.start(); // Only measured when metrics are attached
+        try {
+            if (appointmentId == null || appointmentId.trim().isEmpty()) { // Check if the appointment ID is null or empty and throw exception if invalid
+                throw new IllegalArgumentException("Appointment ID cannot be null or empty"); // Validate that the appointment ID is not null or empty
+            }
         
-        if (!appointments.containsKey(appointmentId)) { // Check if the appointment ID exists in the service
-            throw new IllegalArgumentException("Appointment ID not found: " + appointmentId); // Throw exception if the appointment ID does not exist in the service
-        }
+            if (resolve(appointmentId) == null) { // Check if the appointment ID exists in the service (including the snapshot)
+                throw new IllegalArgumentException("Appointment ID not found: " + appointmentId); // Throw exception if the appointment ID does not exist in the service
+            }
         
-        appointments.remove(appointmentId); // Remove the appointment from the HashMap using its ID as the key
+            Appointment removed = store.get(appointmentId); // The stored appointment (or a copy of it)
+            store.remove(appointmentId); // Remove the appointment and its time index entry
+            intervals.remove(appointmentId); // Remove its interval, if it has a duration
+            if (snapshot != null) { // The snapshot still holds a copy of this record
+                deletedFromSnapshot.add(appointmentId); // Make sure it is not loaded again
+            }
+            removed.removeOwner(this); // Stop receiving date changes for the removed appointment
+            if (reminders != null) { // Cancel only when reminders are attached
+                reminders.cancel(appointmentId); // O(1) removal from the timing wheel
+            }
+            if (events != null) { // Publish only when a bus is attached
+                events.publish(AppointmentEvent.deleted(appointmentId)); // Never blocks
+            }
+        } catch (RuntimeException failure) { // Count the failure, then let it propagate
+            throw failed(AppointmentMetrics.Operation.DELETE_APPOINTMENT, failure); // Same exception
+        } finally {
+            recorded(AppointmentMetrics.Operation.DELETE_APPOINTMENT, start); // Every call, failed or not
+        }
     }
 
     /**
@@ -69,6 +328,361 @@ public class AppointmentService { // Class declaration
      * @return the Appointment object, or null if not found
      */
     public Appointment getAppointment(String appointmentId) { // Method to retrieve an appointment by its ID, primarily for testing and verification
-        return appointments.get(appointmentId); // Return the appointment from the HashMap using its ID as the key, or null if not found
+        long start = metrics == null ? 0 : metrics.start(); // Only measured when metrics are attached
+        try {
+            return resolve(appointmentId); // Return the stored appointment, loading it from the snapshot on first access, or null if not found
+        } catch (RuntimeException failure) { // Count the failure, then let it propagate
+            throw failed(AppointmentMetrics.Operation.GET_APPOINTMENT, failure); // Same exception
+        } finally {
+            recorded(AppointmentMetrics.Operation.GET_APPOINTMENT, start); // Every call, failed or not
+        }
+    }
+
+    /**
+     * Returns all appointments whose date falls in the window [from, to), in time order.
+     * Runs in O(log n + k) where k is the number of appointments returned.
+     * 
+     * @param from start of the window (inclusive)
+     * @param to   end of the window (exclusive)
+     * @return appointments in the window, earliest first (empty if none)
+     * @throws IllegalArgumentException if either bound is null or from is after to
+     */
+    public List<Appointment> findBetween(Date from, Date to) { // Method to list appointments in a time window
+        long start = metrics == null ? 0 : metrics.start(); // Only measured when metrics are attached
+        try {
+            checkWindow(from, to); // Validate the bounds before loading anything
+            hydrate(); // The time index must cover every appointment
+            return owned(store.between(from.getTime(), to.getTime(), Integer.MAX_VALUE)); // Every appointment in the window, earliest first
+        } catch (RuntimeException failure) { // Count the failure, then let it propagate
+            throw failed(AppointmentMetrics.Operation.FIND_BETWEEN, failure); // Same exception
+        } finally {
+            recorded(AppointmentMetrics.Operation.FIND_BETWEEN, start); // Every call, failed or not
+        }
+    }
+
+    /**
+     * Counts the appointments whose date falls in the window [from, to).
+     * Runs in O(log n + k) where k is the number of appointments counted.
+     * 
+     * @param from start of the window (inclusive)
+     * @param to   end of the window (exclusive)
+     * @return number of appointments in the window
+     * @throws IllegalArgumentException if either bound is null or from is after to
+     */
+    public int countInWindow(Date from, Date to) { // Method to count appointments in a time window
+        long start = metrics == null ? 0 : metrics.start(); // Only measured when metrics are attached
+        try {
+            checkWindow(from, to); // Validate the bounds before loading anything
+            hydrate(); // The time index must cover every appointment
+            return store.count(from.getTime(), to.getTime()); // Count index entries in the window
+        } catch (RuntimeException failure) { // Count the failure, then let it propagate
+            throw failed(AppointmentMetrics.Operation.COUNT_IN_WINDOW, failure); // Same exception
+        } finally {
+            recorded(AppointmentMetrics.Operation.COUNT_IN_WINDOW, start); // Every call, failed or not
+        }
+    }
+
+    /**
+     * Returns the appointments with a duration whose [date, date + duration)
+     * overlaps the window [from, to), ordered by date, then ID. These are the
+     * appointments a booking of that window would conflict with.
+     * Runs in O(log n + k) where k is the number of appointments returned.
+     * 
+     * @param from start of the window (inclusive)
+     * @param to   end of the window (exclusive)
+     * @return overlapping appointments, earliest first (empty if none, or if from equals to)
+     * @throws IllegalArgumentException if either bound is null or from is after to
+     */
+    public List<Appointment> findConflicts(Date from, Date to) { // Method to list appointments overlapping a time window
+        long start = metrics == null ? 0 : metrics.start(); // Only measured when metrics are attached
+        try {
+            checkWindow(from, to); // Validate the bounds before loading anything
+            hydrate(); // The interval index must cover every appointment
+            List<String> ids = intervals.overlapping(from.getTime(), to.getTime(), Integer.MAX_VALUE); // Interval tree query
+            List<Appointment> found = new ArrayList<>(ids.size()); // Appointments in the same order
+            for (String id : ids) { // Every overlapping ID
+                found.add(store.get(id)); // The stored appointment (or a copy of it)
+            }
+            return owned(found); // Subscribe copies to changes
+        } catch (RuntimeException failure) { // Count the failure, then let it propagate
+            throw failed(AppointmentMetrics.Operation.FIND_CONFLICTS, failure); // Same exception
+        } finally {
+            recorded(AppointmentMetrics.Operation.FIND_CONFLICTS, start); // Every call, failed or not
+        }
+    }
+
+    /**
+     * Returns the next n appointments that are not yet in the past, earliest first.
+     * Runs in O(log n + k) where k is the number of appointments returned.
+     * 
+     * @param n maximum number of appointments to return
+     * @return up to n upcoming appointments, earliest first
+     * @throws IllegalArgumentException if n is negative
+     */
+    public List<Appointment> next(int n) { // Method to list the next upcoming appointments
+        long start = metrics == null ? 0 : metrics.start(); // Only measured when metrics are attached
+        try {
+            if (n < 0) { // Reject negative limits
+                throw new IllegalArgumentException("Appointment count cannot be negative"); // Clear message indicating the issue with the limit
+            }
+            hydrate(); // The time index must cover every appointment
+            return owned(store.between(clock.millis(), Long.MAX_VALUE, n)); // Seek to now, then walk forward in time order
+        } catch (RuntimeException failure) { // Count the failure, then let it propagate
+            throw failed(AppointmentMetrics.Operation.NEXT, failure); // Same exception
+        } finally {
+            recorded(AppointmentMetrics.Operation.NEXT, start); // Every call, failed or not
+        }
+    }
+
+    /**
+     * Returns up to limit stored appointments that ended at or before cutoffMillis, earliest first.
+     * Walks the time index from its start, so the cost is O(log n + k) in the
+     * appointments dated before the cutoff; one that started before the cutoff
+     * but is still in progress at it is skipped.
+     * 
+     * @param cutoffMillis the cutoff in epoch milliseconds
+     * @param limit        maximum number of appointments to return (at least 1)
+     * @return the expired appointments, earliest first (empty if none)
+     */
+    List<Appointment> expired(long cutoffMillis, int limit) { // Package-private: used by AppointmentExpiry
+        hydrate(); // The time index must cover every appointment
+        List<Appointment> expired = new ArrayList<>(); // Appointments that have ended
+        for (int window = limit; ; window = window > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : window * 2) { // Widen only past appointments still in progress
+            List<Appointment> candidates = store.between(Long.MIN_VALUE, cutoffMillis, window); // Earliest first
+            expired.clear(); // Rebuilt from the wider window
+            for (Appointment appointment : candidates) { // Started before the cutoff
+                if (appointment.getEndMillis() <= cutoffMillis) { // Also ended by then
+                    expired.add(appointment); // Expired
+                    if (expired.size() == limit) { // Enough
+                        return owned(expired); // Same contract as the queries
+                    }
+                }
+            }
+            if (candidates.size() < window) { // No more appointments before the cutoff
+                return owned(expired); // Fewer than limit
+            }
+        }
+    }
+
+    /**
+     * Removes appointments returned by expired, cancelling their reminders and
+     * publishing an EXPIRED event for each. Appointments no longer stored are skipped.
+     * 
+     * @param appointments the appointments to remove
+     * @return the number of appointments removed
+     */
+    int evict(List<Appointment> appointments) { // Package-private: used by AppointmentExpiry once the appointments are archived
+        int removed = 0; // Appointments still stored
+        for (Appointment appointment : appointments) { // Earliest first
+            String id = appointment.getAppointmentId(); // Key in every index
+            Appointment stored = store.get(id); // The stored appointment (or a copy of it)
+            if (stored == null) { // Deleted since expired() returned it
+                continue; // Nothing to remove
+            }
+            store.remove(id); // Remove the appointment and its time index entry
+            intervals.remove(id); // Remove its interval, if it has a duration
+            stored.removeOwner(this); // Stop receiving changes for the removed appointment
+            appointment.removeOwner(this); // Including through the copy expired() returned
+            if (reminders != null) { // Cancel only when reminders are attached
+                reminders.cancel(id); // Normally fired long ago
+            }
+            if (events != null) { // Publish only when a bus is attached
+                events.publish(AppointmentEvent.expired(id)); // Never blocks
+            }
+            removed++; // Count it
+        }
+        return removed; // Appointments removed
+    }
+
+    /**
+     * Counts a value rejected by a setter of a stored appointment.
+     * 
+     * @param error the validation failure
+     */
+    void appointmentRejected(AppointmentError error) { // Package-private callback from Appointment
+        if (metrics != null) { // Not measured otherwise
+            metrics.recordValidationFailure(error); // Count it by field
+        }
+    }
+
+    private void recorded(AppointmentMetrics.Operation operation, long start) { // Counts a call, and records its latency if it was timed, when metrics are attached
+        if (metrics != null) { // Not measured otherwise
+            metrics.record(operation, start); // Call count and, for a timed call, the histogram
+        }
+    }
+
+    private RuntimeException failed(AppointmentMetrics.Operation operation, RuntimeException failure) { // Counts a failed call when metrics are attached; returns the failure to rethrow
+        if (metrics != null) { // Not measured otherwise
+            metrics.recordFailure(operation, failure); // Failure and, for a bad field, its validation counter
+        }
+        return failure; // Rethrown unchanged
+    }
+
+    /**
+     * Rejects a date or duration for an appointment that would overlap another
+     * stored appointment, if this service rejects conflicts. Called before the
+     * appointment changes, so a rejected change leaves it untouched.
+     * 
+     * @param appointment    the stored appointment being rescheduled
+     * @param startMillis    the proposed date in epoch milliseconds
+     * @param durationMillis the proposed duration in milliseconds
+     * @throws IllegalArgumentException if the proposed interval overlaps another appointment
+     */
+    void checkConflicts(Appointment appointment, long startMillis, long durationMillis) { // Package-private callback from Appointment
+        String id = appointment.getAppointmentId(); // ID of the stored appointment
+        if (durationMillis > 0 && store.contains(id)) { // Untimed appointments never conflict, and a detached copy whose ID was deleted cannot change the store
+            rejectConflict(id, startMillis, durationMillis); // Same check as a new booking
+        }
+    }
+
+    /**
+     * Moves an appointment to its new position in the time and interval indexes and the reminder wheel.
+     * Called by the Appointment date and duration setters for appointments stored in this service.
+     * 
+     * @param appointment      the appointment whose date or duration changed
+     * @param previousMillis   the date the appointment was indexed under, in epoch milliseconds
+     * @param previousDuration the duration before the change, in milliseconds
+     */
+    void appointmentDateChanged(Appointment appointment, long previousMillis, long previousDuration) { // Package-private callback from Appointment
+        store.update(appointment, previousMillis); // Re-key the time index (and write through for an off-heap store)
+        String id = appointment.getAppointmentId(); // Key of the interval index
+        if ((appointment.getDurationMillis() > 0 || intervals.contains(id)) && store.contains(id)) { // Timed now or before, and still stored
+            intervals.put(id, appointment.getAppointmentMillis(), appointment.getEndMillis()); // Move, add or drop its interval
+        }
+        if (reminders != null && appointment.getAppointmentMillis() != previousMillis && store.contains(id)) { // Moved while still stored
+            reminders.schedule(id, appointment.getAppointmentMillis()); // Replaces the old reminder
+        }
+        if (events != null && store.contains(id)) { // A detached copy whose ID was deleted is not news
+            if (appointment.getAppointmentMillis() != previousMillis) { // Moved
+                events.publish(AppointmentEvent.dateChanged(appointment)); // Never blocks
+            }
+            if (appointment.getDurationMillis() != previousDuration) { // Lengthened or shortened
+                events.publish(AppointmentEvent.durationChanged(appointment)); // Never blocks
+            }
+        }
+    }
+
+    /**
+     * Brings a stored appointment (or a copy of one) up to date before a setter changes it.
+     * Called by every Appointment setter for appointments stored in this service.
+     * 
+     * @param appointment the appointment about to change
+     * @throws IllegalStateException if the appointment is a copy of one deleted since
+     */
+    void appointmentChanging(Appointment appointment) { // Package-private callback from Appointment
+        store.refresh(appointment); // Reloads off-heap copies
+    }
+
+    /**
+     * Writes a changed description through to the store.
+     * Called by Appointment.setDescription for appointments stored in this service.
+     * 
+     * @param appointment the appointment whose description changed
+     */
+    void appointmentDescriptionChanged(Appointment appointment) { // Package-private callback from Appointment
+        store.updateDescription(appointment); // Only the description is written
+        if (events != null && store.contains(appointment.getAppointmentId())) { // A detached copy whose ID was deleted is not news
+            events.publish(AppointmentEvent.descriptionChanged(appointment)); // Never blocks
+        }
+    }
+
+    /**
+     * Reports whether an appointment with the given ID is stored here, without
+     * loading anything from a snapshot. Used by Appointment to drop services
+     * that deleted it.
+     * 
+     * @param appointmentId the ID to look up
+     * @return true if the store holds the ID
+     */
+    boolean holds(String appointmentId) { // Package-private callback from Appointment
+        return store.contains(appointmentId); // Existence check without decoding
+    }
+
+    // Returns the stored appointment for an ID, decoding it from the snapshot on first access
+    private Appointment resolve(String appointmentId) { // Single lookup path for get, add and delete
+        Appointment appointment = store.get(appointmentId); // Already in the store?
+        if (appointment != null) { // Stored
+            appointment.addOwner(this); // A copy decoded by an off-heap store must write its changes back too
+            return appointment; // Stored appointment
+        }
+        if (snapshot == null || deletedFromSnapshot.contains(appointmentId)) { // Nothing more to look at
+            return null; // Not found
+        }
+        appointment = snapshot.get(appointmentId); // Hash lookup in the mapped file, decoding only this record
+        if (appointment != null) { // Present in the snapshot
+            attach(appointment); // From now on it lives in memory like any added appointment
+        }
+        return appointment; // Loaded appointment or null
+    }
+
+    // Loads every appointment still only in the snapshot, then releases the snapshot
+    private void hydrate() { // Needed before anything that walks the time index
+        if (snapshot == null) { // Already fully in memory
+            return; // Nothing to do
+        }
+        snapshot.forEach(appointment -> { // Sequential scan of the mapped records
+            String id = appointment.getAppointmentId(); // ID of the stored record
+            if (!store.contains(id) && !deletedFromSnapshot.contains(id)) { // Skip loaded and deleted records
+                attach(appointment); // Add to the map and time index
+            }
+        });
+        snapshot = null; // Everything is in memory now
+        deletedFromSnapshot.clear(); // No longer needed
+    }
+
+    // Adds the interval of every timed record still only in the snapshot, reading just its ID, date and duration
+    private void indexSnapshotIntervals() { // Lets conflict checks run without loading the snapshot
+        if (snapshot == null || snapshotIntervalsIndexed) { // Fully in memory, or already indexed
+            return; // Nothing to do
+        }
+        snapshot.forEachInterval((id, startMillis, endMillis) -> { // Sequential scan of the mapped records
+            if (!store.contains(id) && !deletedFromSnapshot.contains(id)) { // Loaded records are indexed already; deleted ones are gone
+                intervals.put(id, startMillis, endMillis); // Loading the record later puts the same interval again
+            }
+        });
+        snapshotIntervalsIndexed = true; // Records stay on disk; loading them keeps their intervals
+    }
+
+    // Throws if [startMillis, startMillis + durationMillis) overlaps an appointment other than id and conflicts are rejected
+    private void rejectConflict(String id, long startMillis, long durationMillis) { // Shared by addAppointment and checkConflicts
+        if (!rejectConflicts || durationMillis == 0) { // Double-booking allowed, or nothing to overlap
+            return; // No check needed
+        }
+        indexSnapshotIntervals(); // The interval index must cover every appointment, loaded or not
+        long end = startMillis + durationMillis; // First millisecond after the proposed interval
+        String other = intervals.firstOverlap(startMillis, end < startMillis ? Long.MAX_VALUE : end, id); // O(log n) search, capped like Appointment.getEndMillis
+        if (other != null) { // Another appointment holds part of the interval
+            throw new IllegalArgumentException("Appointment conflicts with: " + other); // Name the appointment already booked
+        }
+    }
+
+    // Stores an appointment in the store, schedules its reminder and subscribes to its changes
+    private void attach(Appointment appointment) { // Shared by addAppointment and snapshot loading
+        store.add(appointment); // Add to the store and its time index
+        if (appointment.getDurationMillis() > 0) { // Only appointments with a duration can conflict
+            intervals.put(appointment.getAppointmentId(), appointment.getAppointmentMillis(), appointment.getEndMillis()); // Add to the interval index
+        }
+        if (reminders != null) { // Schedule only when reminders are attached
+            reminders.schedule(appointment.getAppointmentId(), appointment.getAppointmentMillis()); // O(1) insert into the timing wheel; past appointments are skipped
+        }
+        appointment.addOwner(this); // Report future changes to this service (and any other service storing it)
+    }
+
+    // Subscribes query results to changes, so copies from an off-heap store write through
+    private List<Appointment> owned(List<Appointment> appointments) { // Shared by the list queries
+        for (Appointment appointment : appointments) { // Every returned appointment
+            appointment.addOwner(this); // Already subscribed for heap-stored appointments
+        }
+        return appointments; // Same list
+    }
+
+    // Validates the bounds of a time window
+    private static void checkWindow(Date from, Date to) { // Shared bound checks for the range queries
+        if (from == null || to == null) { // Check for null bounds
+            throw new IllegalArgumentException("Time window bounds cannot be null"); // Clear message indicating the issue with the window
+        }
+        if (from.after(to)) { // Check the bounds are in order
+            throw new IllegalArgumentException("Time window start cannot be after its end"); // Clear message indicating the issue with the window
+        }
     }
-}
\ No newline at end of file
+}
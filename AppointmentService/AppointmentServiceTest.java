@@ -4,11 +4,19 @@ import org.junit.jupiter.api.Test; // JUnit 5 import
 
 import src.main.java.Appointment; // Importing the Appointment class to create test instances
 import src.main.java.AppointmentService; // Importing the AppointmentService class to test its functionality
+import src.main.java.HeapAppointmentStore; // Importing the default store for the injected-clock test
 
 import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for cleaner test code
 
+import java.time.Clock; // Importing Clock to pin "now" in the injected-clock test
+import java.time.Duration; // Importing Duration to move a fixed clock forward
+import java.time.Instant; // Importing Instant for clock-relative appointment dates
+import java.time.ZoneOffset; // Importing ZoneOffset for building fixed clocks
+import java.util.ArrayList; // Importing ArrayList for the full-scan answer in the interval index check
 import java.util.Date; // Importing Date class for handling appointment dates
 import java.util.Calendar; // Importing Calendar class to manipulate dates for testing purposes
+import java.util.List; // Importing List to hold time-ordered query results
+import java.util.Random; // Importing Random for the randomized interval index check
 
 /**
  * CS 320 Module Five Milestone
@@ -17,7 +25,9 @@ import java.util.Calendar; // Importing Calendar class to manipulate dates for t
  * Author: Rimon Hamo
  * Date: February 6, 2026
  * 
- * JUnit 5 tests to verify AppointmentService add and delete functionality.
+ * JUnit 5 tests to verify AppointmentService add and delete functionality
+ * and the time-ordered queries (findBetween, countInWindow, next),
+ * plus conflict detection for appointments with a duration.
  */
 class AppointmentServiceTest { // Test class for AppointmentService, containing unit tests for adding and deleting appointments.
 
@@ -91,4 +101,181 @@ class AppointmentServiceTest { // Test class for AppointmentService, containing
             service.deleteAppointment("   ")); // Capture the exception thrown when trying to delete an appointment with an empty ID (consisting of whitespace).
         assertEquals("Appointment ID cannot be null or empty", ex.getMessage()); // Assert that the exception message matches the expected message, confirming that the service correctly identifies and handles empty appointment ID inputs during deletion.
     }
-}
\ No newline at end of file
+
+    // Helper method to create a date a given number of hours in the future
+    private Date getFutureDate(int hours) { // This method generates a Date object a fixed number of hours ahead, so tests can control the relative order of appointments.
+        Calendar cal = Calendar.getInstance(); // Get the current date and time
+        cal.add(Calendar.HOUR_OF_DAY, hours); // Move the calendar forward by the requested number of hours
+        return cal.getTime(); // Return the future date as a Date object
+    }
+
+    @Test
+    void testFindBetweenReturnsWindowInTimeOrder() { // Test case to verify that findBetween returns only appointments inside the window, earliest first.
+        AppointmentService service = new AppointmentService(); // Create a new instance of AppointmentService to test its functionality.
+        service.addAppointment(new Appointment("A3", getFutureDate(30), "Late")); // Appointment after the window
+        service.addAppointment(new Appointment("A2", getFutureDate(20), "Second")); // Appointment inside the window
+        service.addAppointment(new Appointment("A1", getFutureDate(10), "First")); // Appointment inside the window
+
+        List<Appointment> found = service.findBetween(getFutureDate(5), getFutureDate(25)); // Query a window that covers A1 and A2 only
+        assertEquals(2, found.size()); // Only the two appointments in the window should be returned
+        assertEquals("A1", found.get(0).getAppointmentId()); // Earliest appointment comes first
+        assertEquals("A2", found.get(1).getAppointmentId()); // Later appointment comes second
+        assertEquals(2, service.countInWindow(getFutureDate(5), getFutureDate(25))); // The count must agree with the list
+        assertEquals(0, service.countInWindow(getFutureDate(40), getFutureDate(50))); // An empty window counts zero
+    }
+
+    @Test
+    void testNextReturnsEarliestUpcomingAppointments() { // Test case to verify that next(n) returns the n earliest upcoming appointments.
+        AppointmentService service = new AppointmentService(); // Create a new instance of AppointmentService to test its functionality.
+        service.addAppointment(new Appointment("B2", getFutureDate(2), "Second")); // Second upcoming appointment
+        service.addAppointment(new Appointment("B3", getFutureDate(3), "Third")); // Third upcoming appointment
+        service.addAppointment(new Appointment("B1", getFutureDate(1), "First")); // First upcoming appointment
+
+        List<Appointment> next = service.next(2); // Ask for the next two appointments
+        assertEquals(2, next.size()); // Exactly two appointments should be returned
+        assertEquals("B1", next.get(0).getAppointmentId()); // Earliest appointment comes first
+        assertEquals("B2", next.get(1).getAppointmentId()); // Second earliest appointment comes next
+        assertEquals(3, service.next(10).size()); // Asking for more than exist returns all of them
+        assertThrows(IllegalArgumentException.class, () -> service.next(-1)); // Negative limits are rejected
+    }
+
+    @Test
+    void testTimeIndexFollowsDateChanges() { // Test case to verify that the time index stays consistent when a stored appointment is moved.
+        AppointmentService service = new AppointmentService(); // Create a new instance of AppointmentService to test its functionality.
+        Appointment appt = new Appointment("C1", getFutureDate(10), "Movable"); // Appointment that will be moved
+        service.addAppointment(appt); // Store the appointment so it is indexed
+
+        appt.setAppointmentDate(getFutureDate(100)); // Move the appointment far into the future
+        assertEquals(0, service.countInWindow(getFutureDate(5), getFutureDate(15))); // The old slot must no longer contain it
+        assertEquals(1, service.countInWindow(getFutureDate(95), getFutureDate(105))); // The new slot must contain it exactly once
+
+        service.deleteAppointment("C1"); // Remove the appointment from the service
+        assertEquals(0, service.countInWindow(getFutureDate(95), getFutureDate(105))); // Deleted appointments leave the index
+        appt.setAppointmentDate(getFutureDate(10)); // Moving a deleted appointment must not touch the service
+        assertEquals(0, service.countInWindow(getFutureDate(5), getFutureDate(15))); // The index stays empty
+    }
+
+    @Test
+    void testTimeWindowValidation() { // Test case to verify that invalid time windows are rejected.
+        AppointmentService service = new AppointmentService(); // Create a new instance of AppointmentService to test its functionality.
+        assertThrows(IllegalArgumentException.class, () -> service.findBetween(null, getFutureDate(1))); // Null start is rejected
+        assertThrows(IllegalArgumentException.class, () -> service.countInWindow(getFutureDate(1), null)); // Null end is rejected
+        assertThrows(IllegalArgumentException.class, () -> service.findBetween(getFutureDate(2), getFutureDate(1))); // Reversed bounds are rejected
+    }
+
+    @Test
+    void testAppointmentCanBelongToTwoServices() { // Test case to verify that one appointment object can be stored in two services and keeps both current.
+        AppointmentService first = new AppointmentService(); // Service that stores the appointment first
+        AppointmentService second = new AppointmentService(); // Service that stores the same object too
+        Appointment appt = new Appointment("D1", getFutureDate(1), "Shared"); // Appointment to share
+        first.addAppointment(appt); // Stored in the first service
+        second.addAppointment(appt); // And in the second
+        second.addAppointment(new Appointment("D2", getFutureDate(5), "Busy")); // Only in the second service
+        second.getAppointment("D2").setDuration(Duration.ofHours(1)); // Occupies an hour there
+        appt.setDuration(Duration.ofMinutes(30)); // Timed in both services
+
+        appt.setAppointmentDate(getFutureDate(3)); // Move it through the shared object
+        assertEquals(1, first.countInWindow(getFutureDate(2), getFutureDate(4))); // The first service re-indexed it
+        assertEquals(1, second.countInWindow(getFutureDate(2), getFutureDate(4))); // So did the second
+        Date moved = appt.getAppointmentDate(); // Date in both services
+        assertThrows(IllegalArgumentException.class, () -> appt.setAppointmentDate(getFutureDate(5))); // The second service's booking blocks the move
+        assertEquals(moved, appt.getAppointmentDate()); // Unchanged in both
+        assertEquals(1, first.countInWindow(getFutureDate(2), getFutureDate(4))); // Still indexed at the old date
+
+        first.deleteAppointment("D1"); // Released by the first service only
+        appt.setAppointmentDate(getFutureDate(7)); // Still tracked by the second
+        assertEquals(0, first.countInWindow(getFutureDate(6), getFutureDate(8))); // No longer indexed by the first
+        assertEquals(1, second.countInWindow(getFutureDate(6), getFutureDate(8))); // Moved in the second
+    }
+
+    @Test
+    void testNextUsesInjectedClock() { // Test case to verify that next(n) measures "upcoming" against the service's clock.
+        Instant now = Instant.parse("2020-01-01T00:00:00Z"); // A fixed "now" in the real past
+        Clock clock = Clock.fixed(now, ZoneOffset.UTC); // Clock pinned to that instant
+        Clock later = Clock.offset(clock, Duration.ofMinutes(90)); // Same clock, 90 minutes on
+        AppointmentService service = new AppointmentService(new HeapAppointmentStore(), later); // Service that thinks it is 01:30
+        service.addAppointment(new Appointment("E1", now.plusSeconds(3_600), "At 01:00", clock)); // Already passed for the service
+        service.addAppointment(new Appointment("E2", now.plusSeconds(7_200), "At 02:00", clock)); // Still upcoming
+
+        List<Appointment> upcoming = service.next(5); // Everything from 01:30 on
+        assertEquals(1, upcoming.size()); // Only the 02:00 appointment
+        assertEquals("E2", upcoming.get(0).getAppointmentId()); // The right one
+        assertThrows(IllegalArgumentException.class, () -> new AppointmentService(new HeapAppointmentStore(), null)); // A clock is required
+    }
+
+    // Helper method to create an appointment lasting the given number of minutes
+    private Appointment timed(String id, Instant start, int minutes, Clock clock) { // Appointment with a duration
+        Appointment appt = new Appointment(id, start, "Room booking", clock); // Validated against the fixed clock
+        appt.setDuration(Duration.ofMinutes(minutes)); // Occupies [start, start + minutes)
+        return appt; // Return the timed appointment
+    }
+
+    @Test
+    void testConflictingBookingsAreRejected() { // Test case to verify that overlapping appointments with a duration are rejected on add, move and resize.
+        Instant nine = Instant.parse("2030-01-01T09:00:00Z"); // Reference time for the bookings
+        Clock clock = Clock.fixed(nine.minusSeconds(86_400), ZoneOffset.UTC); // "Now" is the day before
+        AppointmentService service = new AppointmentService(new HeapAppointmentStore(), clock); // Rejects conflicts by default
+        service.addAppointment(timed("A", nine.plusSeconds(3_600), 60, clock)); // 10:00-11:00
+        Appointment b = timed("B", nine.plusSeconds(7_200), 60, clock); // 11:00-12:00
+        service.addAppointment(b); // Touching A's end is not an overlap
+
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> // 10:30-10:45 overlaps A
+            service.addAppointment(timed("C", nine.plusSeconds(5_400), 15, clock)));
+        assertEquals("Appointment conflicts with: A", ex.getMessage()); // Names the booked appointment
+        assertNull(service.getAppointment("C")); // Not stored
+        service.addAppointment(new Appointment("D", nine.plusSeconds(5_400), "Reminder", clock)); // No duration, so no conflict
+
+        List<Appointment> conflicts = service.findConflicts(Date.from(nine.plusSeconds(6_300)), Date.from(nine.plusSeconds(8_100))); // 10:45-11:15
+        assertEquals(2, conflicts.size()); // A and B, not the untimed D
+        assertEquals("A", conflicts.get(0).getAppointmentId()); // Earliest first
+        assertEquals("B", conflicts.get(1).getAppointmentId()); // Then B
+        assertTrue(service.findConflicts(Date.from(nine), Date.from(nine)).isEmpty()); // An empty window overlaps nothing
+
+        assertThrows(IllegalArgumentException.class, () -> b.setAppointmentDate(Date.from(nine.plusSeconds(5_400)))); // Moving B onto A is rejected
+        assertEquals(nine.plusSeconds(7_200), b.getAppointmentInstant()); // and leaves B where it was
+        assertThrows(IllegalArgumentException.class, () -> service.getAppointment("A").setDuration(Duration.ofMinutes(90))); // Stretching A into B is rejected
+        assertEquals(Duration.ofMinutes(60), service.getAppointment("A").getDuration()); // and leaves A unchanged
+
+        b.setAppointmentDate(Date.from(nine.plusSeconds(10_800))); // Move B to 12:00-13:00
+        assertEquals(1, service.findConflicts(Date.from(nine.plusSeconds(10_800)), Date.from(nine.plusSeconds(10_801))).size()); // Found at its new time
+        service.getAppointment("A").setDuration(Duration.ofMinutes(90)); // The gap is free now
+        service.deleteAppointment("A"); // Releasing A
+        service.addAppointment(timed("C", nine.plusSeconds(5_400), 15, clock)); // frees its interval
+        b.setDuration(Duration.ZERO); // Without a duration B leaves the interval index
+        assertEquals(1, service.findConflicts(Date.from(nine), Date.from(nine.plusSeconds(86_400))).size()); // Only C remains
+    }
+
+    @Test
+    void testReportModeMatchesFullScan() { // Test case to verify that double-booking is allowed on request, and findConflicts matches a scan of every appointment.
+        Instant base = Instant.parse("2030-01-01T00:00:00Z"); // Start of the booking range
+        Clock clock = Clock.fixed(base.minusSeconds(86_400), ZoneOffset.UTC); // "Now" is the day before
+        AppointmentService service = new AppointmentService(new HeapAppointmentStore(), clock, false); // Accepts conflicts
+        Random random = new Random(7); // Fixed seed so failures reproduce
+        for (int step = 0; step < 5_000; step++) { // Adds, moves, resizes and deletes
+            String id = "i" + random.nextInt(500); // IDs repeat so every operation happens often
+            Appointment stored = service.getAppointment(id); // Current appointment for the ID, if any
+            Instant start = base.plusSeconds(60L * random.nextInt(2_000)); // Start on a minute boundary
+            if (stored == null) { // Not stored yet
+                service.addAppointment(timed(id, start, random.nextInt(120), clock)); // Overlaps are accepted (0 minutes = untimed)
+            } else if (random.nextInt(3) == 0) { // Stored: delete it
+                service.deleteAppointment(id); // Drops its interval
+            } else if (random.nextBoolean()) { // Stored: move it
+                stored.setAppointmentDate(Date.from(start)); // Re-keys its interval
+            } else { // Stored: resize it
+                stored.setDuration(Duration.ofMinutes(random.nextInt(120))); // Grows, shrinks or clears its interval
+            }
+        }
+
+        for (int query = 0; query < 200; query++) { // Random windows
+            long from = base.toEpochMilli() + 60_000L * random.nextInt(2_100); // Window start
+            long to = from + 60_000L * random.nextInt(180); // Window end (possibly empty)
+            List<Appointment> expected = new ArrayList<>(); // Full scan answer
+            for (Appointment appt : service.findBetween(new Date(0), new Date(Long.MAX_VALUE))) { // Every appointment in (date, ID) order
+                if (appt.getDurationMillis() > 0 && appt.getAppointmentMillis() < to && appt.getEndMillis() > from) { // Half-open overlap
+                    expected.add(appt); // Same order as findConflicts
+                }
+            }
+            assertEquals(expected, service.findConflicts(new Date(from), new Date(to))); // Same appointments in the same order
+        }
+    }
+}
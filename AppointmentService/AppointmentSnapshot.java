@@ -0,0 +1,259 @@
+package src.main.java; // Package declaration for main application classes
+
+import java.io.IOException; // Importing IOException for file access failures
+import java.nio.MappedByteBuffer; // Importing MappedByteBuffer for zero-copy access to the snapshot file
+import java.nio.channels.FileChannel; // Importing FileChannel to map the snapshot file
+import java.nio.charset.StandardCharsets; // Importing StandardCharsets for UTF-8 encoding of IDs and descriptions
+import java.nio.file.Files; // Importing Files for atomic replacement of the snapshot file
+import java.nio.file.Path; // Importing Path for snapshot file locations
+import java.nio.file.StandardCopyOption; // Importing StandardCopyOption for the atomic rename
+import java.nio.file.StandardOpenOption; // Importing StandardOpenOption for opening the file channel
+import java.util.Arrays; // Importing Arrays to compare encoded IDs
+import java.util.Collection; // Importing Collection for the appointments to write
+import java.util.function.Consumer; // Importing Consumer for visiting every stored appointment
+
+/**
+ * AppointmentSnapshot Class
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * Compact on-disk snapshot of a set of appointments, written and read through
+ * a MappedByteBuffer so opening it costs one mmap call regardless of size.
+ * 
+ * File layout (big-endian):
+ * - Header:  int magic, int version, int count, int table slots, long table offset
+ * - Records: byte ID length, 30-byte ID slot (UTF-8, zero padded),
+ *            long date (epoch millis), long duration (millis),
+ *            int description length, description (UTF-8)
+ * - Table:   open-addressing hash table of long record offsets (0 = empty slot),
+ *            so get(id) finds a record with a few probes and decodes only that record
+ * 
+ * Version 1 files, written before appointments had a duration, have no duration
+ * field; they are still read, and their appointments load without a duration.
+ * 
+ * A snapshot file is limited to 2 GB, the largest region a single MappedByteBuffer can map.
+ */
+public final class AppointmentSnapshot { // Read-only view of a snapshot file
+
+    static final int MAGIC = 0x41534E50; // "ASNP" marks an appointment snapshot
+    static final int VERSION = 2; // Format version written by write()
+    static final int VERSION_WITHOUT_DURATION = 1; // Older format, still readable
+    static final int HEADER_BYTES = 24; // magic + version + count + slots + table offset
+    static final int ID_SLOT_BYTES = 30; // 10 UTF-16 chars never need more than 30 UTF-8 bytes
+    private static final int FIXED_RECORD_BYTES = 1 + ID_SLOT_BYTES + Long.BYTES + Long.BYTES + Integer.BYTES; // Record size before the description bytes
+
+    private final MappedByteBuffer buffer; // Mapped file contents, read with absolute gets only (safe for concurrent readers)
+    private final int count; // Number of records
+    private final int slots; // Hash table size (power of two)
+    private final int tableOffset; // File offset of the hash table
+    private final int durationBytes; // Size of the duration field: Long.BYTES, or 0 in a version 1 file
+
+    private AppointmentSnapshot(MappedByteBuffer buffer) throws IOException { // Validates the header of a mapped file
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC // Reject files that are not snapshots
+                || (buffer.getInt(4) != VERSION && buffer.getInt(4) != VERSION_WITHOUT_DURATION)) { // or use an unknown format
+            throw new IOException("Not an appointment snapshot"); // Clear message indicating the file is not a snapshot
+        }
+        this.durationBytes = buffer.getInt(4) == VERSION ? Long.BYTES : 0; // Version 1 records have no duration field
+        this.buffer = buffer; // Keep the mapping
+        this.count = buffer.getInt(8); // Read the record count
+        this.slots = buffer.getInt(12); // Read the hash table size
+        long table = buffer.getLong(16); // Read the hash table offset
+        if (table < HEADER_BYTES || table + (long) slots * Long.BYTES != buffer.capacity()) { // The table must end exactly at the end of the file
+            throw new IOException("Corrupt appointment snapshot header"); // Clear message indicating a damaged file
+        }
+        this.tableOffset = (int) table; // Fits: the whole file is under 2 GB
+    }
+
+    /**
+     * Maps an existing snapshot file. No records are decoded until they are requested.
+     * 
+     * @param file the snapshot file
+     * @return a read-only view of the file
+     * @throws IOException if the file cannot be mapped or is not a snapshot
+     */
+    public static AppointmentSnapshot open(Path file) throws IOException { // Map the file read-only
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) { // The mapping stays valid after the channel is closed
+            if (channel.size() > Integer.MAX_VALUE) { // A single MappedByteBuffer cannot address more
+                throw new IOException("Appointment snapshot exceeds 2 GB: " + file); // Clear message indicating the size limit
+            }
+            return new AppointmentSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())); // Validate the header and wrap the mapping
+        }
+    }
+
+    /**
+     * Writes the given appointments to a snapshot file, replacing any existing file atomically.
+     * 
+     * @param file         the snapshot file to create or replace
+     * @param appointments the appointments to store
+     * @throws IOException if the file cannot be written or would exceed 2 GB
+     */
+    public static void write(Path file, Collection<Appointment> appointments) throws IOException { // Serialize through a writable mapping
+        int count = appointments.size(); // Number of records
+        byte[][] ids = new byte[count][]; // Encoded IDs, kept so every string is encoded once
+        byte[][] descriptions = new byte[count][]; // Encoded descriptions
+        long[] dates = new long[count]; // Dates in epoch millis
+        long[] durations = new long[count]; // Durations in millis
+        long recordBytes = 0; // Total size of the records section
+        int i = 0; // Position in the arrays
+        for (Appointment appointment : appointments) { // Encode every appointment up front to size the file
+            ids[i] = appointment.getAppointmentId().getBytes(StandardCharsets.UTF_8); // At most 30 bytes for a valid ID
+            descriptions[i] = appointment.getDescription().getBytes(StandardCharsets.UTF_8); // Variable length
+            dates[i] = appointment.getAppointmentMillis(); // Epoch millis
+            durations[i] = appointment.getDurationMillis(); // Millis, 0 if none
+            recordBytes += FIXED_RECORD_BYTES + descriptions[i].length; // Size of this record
+            i++; // Next slot
+        }
+        int slots = tableSize(count); // Hash table at most half full
+        long tableOffset = HEADER_BYTES + recordBytes; // Table follows the records
+        long size = tableOffset + (long) slots * Long.BYTES; // Total file size
+        if (size > Integer.MAX_VALUE) { // A single MappedByteBuffer cannot address more
+            throw new IOException("Appointment snapshot would exceed 2 GB: " + file); // Clear message indicating the size limit
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp"); // Write next to the target so the rename is atomic
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) { // READ is required for a READ_WRITE mapping
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size); // Map the whole file
+            out.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(slots).putLong(tableOffset); // Header
+            int mask = slots - 1; // Slots is a power of two
+            for (int r = 0; r < count; r++) { // Records section
+                int offset = out.position(); // Where this record starts
+                out.put((byte) ids[r].length); // ID length
+                out.put(ids[r]); // ID bytes
+                out.position(offset + 1 + ID_SLOT_BYTES); // Skip the zero padding of the fixed-width slot
+                out.putLong(dates[r]); // Date
+                out.putLong(durations[r]); // Duration
+                out.putInt(descriptions[r].length); // Description length prefix
+                out.put(descriptions[r]); // Description bytes
+                int slot = spread(ids[r]) & mask; // Home slot for this ID
+                while (out.getLong((int) tableOffset + slot * Long.BYTES) != 0) { // Linear probing past occupied slots
+                    slot = (slot + 1) & mask; // Next slot
+                }
+                out.putLong((int) tableOffset + slot * Long.BYTES, offset); // Point the slot at the record
+            }
+            out.force(); // Flush the mapping to disk before the rename makes it visible
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING); // Replace the old snapshot in one step
+    }
+
+    /**
+     * Returns the number of appointments in the snapshot.
+     * 
+     * @return the record count
+     */
+    public int size() { // Record count from the header
+        return count; // Return the count
+    }
+
+    /**
+     * Decodes the appointment with the given ID, if the snapshot contains it.
+     * Only the matching record is read; nothing else is materialized.
+     * 
+     * @param appointmentId the ID to look up
+     * @return a new Appointment built from the record, or null if absent
+     */
+    public Appointment get(String appointmentId) { // Hash lookup straight into the mapped file
+        if (appointmentId == null) { // Null IDs are never stored
+            return null; // Not found
+        }
+        byte[] id = appointmentId.getBytes(StandardCharsets.UTF_8); // Encode the key once for byte comparison
+        if (id.length > ID_SLOT_BYTES) { // Too long to be a stored ID
+            return null; // Not found
+        }
+        int mask = slots - 1; // Slots is a power of two
+        for (int slot = spread(id) & mask; ; slot = (slot + 1) & mask) { // Linear probing, same order as write()
+            long offset = buffer.getLong(tableOffset + slot * Long.BYTES); // Record offset or 0
+            if (offset == 0) { // Empty slot ends the probe sequence
+                return null; // Not found
+            }
+            if (idMatches((int) offset, id)) { // Compare the stored ID bytes in place
+                return decode((int) offset); // Materialize only this record
+            }
+        }
+    }
+
+    /**
+     * Decodes every appointment in file order and passes it to the consumer.
+     * 
+     * @param consumer receives each decoded appointment
+     */
+    public void forEach(Consumer<Appointment> consumer) { // Sequential scan of the records section
+        int offset = HEADER_BYTES; // First record
+        for (int r = 0; r < count; r++) { // Visit every record
+            consumer.accept(decode(offset)); // Materialize and hand over
+            int fixedBytes = FIXED_RECORD_BYTES - Long.BYTES + durationBytes; // Fixed part of this file's records
+            offset += fixedBytes + buffer.getInt(offset + fixedBytes - Integer.BYTES); // Skip to the next record
+        }
+    }
+
+    /**
+     * Passes the ID and [date, date + duration) of every record with a duration to
+     * the consumer, in file order. Descriptions are skipped and no Appointment is built.
+     * 
+     * @param consumer receives each timed record's ID, start and exclusive end
+     */
+    void forEachInterval(IntervalConsumer consumer) { // Package-private: lets a service check conflicts without loading records
+        if (durationBytes == 0) { // Version 1 records have no duration, so none can conflict
+            return; // Nothing to visit
+        }
+        int offset = HEADER_BYTES; // First record
+        for (int r = 0; r < count; r++) { // Visit every record
+            int dateOffset = offset + 1 + ID_SLOT_BYTES; // Date follows the fixed-width ID slot
+            long duration = buffer.getLong(dateOffset + Long.BYTES); // Duration in millis
+            if (duration > 0) { // Only timed records occupy an interval
+                byte[] id = new byte[buffer.get(offset) & 0xFF]; // ID length
+                buffer.get(offset + 1, id); // Absolute bulk get leaves the shared position untouched
+                long start = buffer.getLong(dateOffset); // Date in epoch millis
+                long end = start + duration; // First millisecond after the appointment
+                consumer.accept(new String(id, StandardCharsets.UTF_8), start, end < start ? Long.MAX_VALUE : end); // Saturated like Appointment.getEndMillis
+            }
+            offset += FIXED_RECORD_BYTES + buffer.getInt(offset + FIXED_RECORD_BYTES - Integer.BYTES); // Skip to the next record
+        }
+    }
+
+    private boolean idMatches(int offset, byte[] id) { // Compare a stored ID slot with the encoded key
+        if ((buffer.get(offset) & 0xFF) != id.length) { // Different lengths never match
+            return false; // Mismatch
+        }
+        for (int i = 0; i < id.length; i++) { // Byte-by-byte comparison without copying
+            if (buffer.get(offset + 1 + i) != id[i]) { // Any differing byte
+                return false; // Mismatch
+            }
+        }
+        return true; // Same ID
+    }
+
+    private Appointment decode(int offset) { // Build an Appointment from the record at offset
+        byte[] id = new byte[buffer.get(offset) & 0xFF]; // ID length
+        buffer.get(offset + 1, id); // Absolute bulk get leaves the shared position untouched
+        int dateOffset = offset + 1 + ID_SLOT_BYTES; // Date follows the fixed-width ID slot
+        long millis = buffer.getLong(dateOffset); // Date in epoch millis
+        long duration = durationBytes == 0 ? 0 : buffer.getLong(dateOffset + Long.BYTES); // Duration in millis (none in version 1)
+        int lengthOffset = dateOffset + Long.BYTES + durationBytes; // Description length follows the date and duration
+        byte[] description = new byte[buffer.getInt(lengthOffset)]; // Description length
+        buffer.get(lengthOffset + Integer.BYTES, description); // Description bytes
+        return Appointment.restore(new String(id, StandardCharsets.UTF_8), millis, duration, // Skip the "not in the past" check for stored data
+            new String(description, StandardCharsets.UTF_8), Appointment.SYSTEM_CLOCK); // Decode the description
+    }
+
+    private static int spread(byte[] id) { // Hash of the encoded ID, spread so low bits are usable as a slot index
+        int h = Arrays.hashCode(id); // Content hash of the bytes
+        return h ^ (h >>> 16); // Mix high bits into the low bits
+    }
+
+    private static int tableSize(int count) { // Smallest power of two at least twice the count (and at least 2)
+        int slots = 2; // Minimum table size
+        while (slots < count * 2L) { // Keep the load factor at or below 0.5
+            slots <<= 1; // Double
+        }
+        return slots; // Power of two
+    }
+
+    /**
+     * Receives the interval of one timed snapshot record.
+     */
+    interface IntervalConsumer { // Package-private callback for forEachInterval
+        void accept(String appointmentId, long start, long end); // One record's ID and [start, end)
+    }
+}
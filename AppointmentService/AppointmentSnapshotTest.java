@@ -0,0 +1,195 @@
+package src.test.java; // Package declaration for test classes
+
+import org.junit.jupiter.api.Test; // JUnit 5 import
+import org.junit.jupiter.api.io.TempDir; // JUnit 5 temporary directory for snapshot files
+
+import src.main.java.Appointment; // Importing the Appointment class to create test instances
+import src.main.java.AppointmentService; // Importing the AppointmentService class to save and load snapshots
+import src.main.java.AppointmentSnapshot; // Importing the AppointmentSnapshot class to read files directly
+import src.main.java.HeapAppointmentStore; // Importing the HeapAppointmentStore class to see how much of a snapshot was loaded
+
+import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for cleaner test code
+
+import java.io.IOException; // Importing IOException for snapshot file access
+import java.nio.file.Files; // Importing Files to create a non-snapshot file
+import java.nio.file.Path; // Importing Path for snapshot file locations
+import java.time.Clock; // Importing Clock for the full snapshot factory
+import java.time.Duration; // Importing Duration for appointment durations
+import java.util.Date; // Importing Date class for appointment dates
+
+/**
+ * AppointmentSnapshotTest
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * JUnit 5 tests for the memory-mapped snapshot format.
+ * This test suite verifies:
+ * - Every appointment survives a save and reload with the same ID, date and description
+ * - A reloaded service behaves like any other service for add, delete and time queries
+ * - Range queries with invalid bounds fail without loading the snapshot
+ * - Conflict checks see records still in the snapshot without loading them
+ * - Appointments whose date passed after saving can still be loaded
+ * - Files that are not snapshots are rejected
+ */
+class AppointmentSnapshotTest { // Test class for AppointmentSnapshot and the snapshot-backed AppointmentService
+
+    @TempDir
+    Path directory; // Fresh directory for each test's snapshot files
+
+    // Helper method to create a date the given number of hours in the future
+    private Date hoursFromNow(int hours) { // Future dates always pass the constructor's validation
+        return new Date(System.currentTimeMillis() + hours * 3_600_000L); // Now plus the offset
+    }
+
+    @Test
+    void testRoundTripKeepsEveryField() throws IOException { // Test that all fields survive a save and reload
+        AppointmentService service = new AppointmentService(); // Service to save
+        Date date = hoursFromNow(5); // Date to compare after reload
+        Appointment dentist = new Appointment("A001", date, "Dentist"); // ASCII appointment
+        dentist.setDuration(Duration.ofMinutes(45)); // with a duration
+        service.addAppointment(dentist); // Store it
+        service.addAppointment(new Appointment("Ä002", hoursFromNow(1), "Café ☕ meeting")); // Multi-byte UTF-8 in ID and description
+        Path file = directory.resolve("appointments.snap"); // Snapshot location
+        service.saveSnapshot(file); // Write the snapshot
+
+        AppointmentService loaded = AppointmentService.fromSnapshot(file); // Map the snapshot
+        Appointment first = loaded.getAppointment("A001"); // Decoded on first access
+        assertNotNull(first); // Appointment was stored
+        assertEquals(date, first.getAppointmentDate()); // Date survives to the millisecond
+        assertEquals("Dentist", first.getDescription()); // Description survives
+        assertEquals(Duration.ofMinutes(45), first.getDuration()); // Duration survives
+        assertEquals(Duration.ZERO, loaded.getAppointment("Ä002").getDuration()); // No duration stays none
+        assertEquals(1, loaded.findConflicts(date, hoursFromNow(6)).size()); // Loaded durations are indexed for conflicts
+        assertSame(first, loaded.getAppointment("A001")); // Second access returns the same loaded object
+        assertEquals("Café ☕ meeting", loaded.getAppointment("Ä002").getDescription()); // Multi-byte text survives
+        assertNull(loaded.getAppointment("A003")); // Unknown IDs are not found
+        assertNull(loaded.getAppointment(null)); // Null IDs are not found
+    }
+
+    @Test
+    void testManyAppointmentsAreAllFound() throws IOException { // Test the hash table with enough records to force collisions
+        AppointmentService service = new AppointmentService(); // Service to save
+        for (int i = 0; i < 5_000; i++) { // Many records
+            service.addAppointment(new Appointment("ID" + i, hoursFromNow(1 + i % 100), "Visit " + i)); // Distinct ID and description per record
+        }
+        Path file = directory.resolve("many.snap"); // Snapshot location
+        service.saveSnapshot(file); // Write the snapshot
+
+        AppointmentSnapshot snapshot = AppointmentSnapshot.open(file); // Read the file directly
+        assertEquals(5_000, snapshot.size()); // Record count is stored in the header
+        for (int i = 0; i < 5_000; i++) { // Every record must be reachable by ID
+            assertEquals("Visit " + i, snapshot.get("ID" + i).getDescription()); // Correct record for each ID
+        }
+        assertNull(snapshot.get("ID5000")); // Absent ID ends on an empty slot
+    }
+
+    @Test
+    void testReloadedServiceSupportsAddDeleteAndQueries() throws IOException { // Test that snapshot-backed services behave like normal services
+        AppointmentService service = new AppointmentService(); // Service to save
+        service.addAppointment(new Appointment("A1", hoursFromNow(1), "First")); // Earliest appointment
+        service.addAppointment(new Appointment("A2", hoursFromNow(2), "Second")); // Will be deleted after reload
+        service.addAppointment(new Appointment("A3", hoursFromNow(3), "Third")); // Latest appointment
+        Path file = directory.resolve("service.snap"); // Snapshot location
+        service.saveSnapshot(file); // Write the snapshot
+
+        AppointmentService loaded = AppointmentService.fromSnapshot(file); // Map the snapshot
+        assertThrows(IllegalArgumentException.class, () -> loaded.addAppointment(new Appointment("A3", hoursFromNow(4), "Clash"))); // Duplicate check sees unloaded records
+        loaded.deleteAppointment("A2"); // Delete a record that was never loaded
+        assertNull(loaded.getAppointment("A2")); // Deleted record is not loaded again
+        assertThrows(IllegalArgumentException.class, () -> loaded.deleteAppointment("A2")); // Second delete reports not found
+        loaded.addAppointment(new Appointment("A4", hoursFromNow(4), "Fourth")); // New in-memory appointment
+
+        assertEquals(3, loaded.countInWindow(hoursFromNow(0), hoursFromNow(5))); // Time queries cover loaded, unloaded and new appointments
+        assertEquals("A1", loaded.next(1).get(0).getAppointmentId()); // Earliest remaining appointment first
+
+        Path second = directory.resolve("second.snap"); // Save the reloaded service again
+        loaded.saveSnapshot(second); // Write the snapshot
+        AppointmentSnapshot snapshot = AppointmentSnapshot.open(second); // Read the file directly
+        assertEquals(3, snapshot.size()); // A1, A3 and A4
+        assertNull(snapshot.get("A2")); // The deleted appointment is gone
+    }
+
+    @Test
+    void testInvalidWindowDoesNotLoadTheSnapshot() throws IOException { // Test that range queries validate their bounds before decoding any record
+        AppointmentService service = new AppointmentService(); // Service to save
+        service.addAppointment(new Appointment("A1", hoursFromNow(1), "First")); // Stored appointment
+        service.addAppointment(new Appointment("A2", hoursFromNow(2), "Second")); // Stored appointment
+        Path file = directory.resolve("lazy.snap"); // Snapshot location
+        service.saveSnapshot(file); // Write the snapshot
+
+        HeapAppointmentStore store = new HeapAppointmentStore(); // Store to watch
+        AppointmentService loaded = AppointmentService.fromSnapshot(file, store, Clock.systemUTC(), true, null, null, null); // Map the snapshot
+        Date later = hoursFromNow(3); // Window end
+        Date earlier = hoursFromNow(0); // Window start
+        assertThrows(IllegalArgumentException.class, () -> loaded.findBetween(later, earlier)); // Reversed window
+        assertThrows(IllegalArgumentException.class, () -> loaded.countInWindow(null, later)); // Missing bound
+        assertThrows(IllegalArgumentException.class, () -> loaded.findConflicts(earlier, null)); // Missing bound
+        assertEquals(0, store.size()); // Nothing was decoded for the rejected queries
+
+        assertEquals(2, loaded.countInWindow(earlier, later)); // A valid window still loads and sees both records
+        assertEquals(2, store.size()); // Loaded now
+    }
+
+    @Test
+    void testConflictChecksDoNotLoadTheSnapshot() throws IOException { // Test that adds and moves are checked against records still in the file
+        AppointmentService service = new AppointmentService(); // Service to save
+        Appointment first = new Appointment("A1", hoursFromNow(1), "First"); // Timed appointment
+        first.setDuration(Duration.ofMinutes(30)); // Occupies half an hour
+        service.addAppointment(first); // Store it
+        Appointment second = new Appointment("A2", hoursFromNow(3), "Second"); // Timed appointment
+        second.setDuration(Duration.ofMinutes(30)); // Occupies half an hour
+        service.addAppointment(second); // Store it
+        Path file = directory.resolve("conflicts.snap"); // Snapshot location
+        service.saveSnapshot(file); // Write the snapshot
+
+        HeapAppointmentStore store = new HeapAppointmentStore(); // Store to watch
+        AppointmentService loaded = AppointmentService.fromSnapshot(file, store, Clock.systemUTC(), true, null, null, null); // Map the snapshot
+        Appointment clash = new Appointment("A3", first.getAppointmentDate(), "Clash"); // Same start as A1
+        clash.setDuration(Duration.ofMinutes(10)); // Overlaps A1
+        assertThrows(IllegalArgumentException.class, () -> loaded.addAppointment(clash)); // Conflict with a record never loaded
+        Appointment free = new Appointment("A4", hoursFromNow(5), "Free"); // Clear of both
+        free.setDuration(Duration.ofMinutes(10)); // Timed but not overlapping
+        loaded.addAppointment(free); // Accepted
+        assertEquals(1, store.size()); // Only the new appointment is in memory
+
+        Appointment moved = loaded.getAppointment("A1"); // Loads just this record
+        assertThrows(IllegalArgumentException.class, () -> moved.setAppointmentDate(second.getAppointmentDate())); // Onto A2, still only in the file
+        assertEquals(2, store.size()); // A2 was not loaded by the check
+        loaded.deleteAppointment("A2"); // Frees its slot
+        moved.setAppointmentDate(second.getAppointmentDate()); // Now accepted
+        assertEquals(1, loaded.findConflicts(second.getAppointmentDate(), hoursFromNow(4)).size()); // Only A1 occupies the old A2 slot
+    }
+
+    @Test
+    void testSaveOverTheMappedFile() throws IOException { // Test that a service can replace the snapshot it was loaded from
+        AppointmentService service = new AppointmentService(); // Service to save
+        service.addAppointment(new Appointment("A1", hoursFromNow(1), "First")); // Stored appointment
+        Path file = directory.resolve("same.snap"); // Snapshot location
+        service.saveSnapshot(file); // Write the snapshot
+
+        AppointmentService loaded = AppointmentService.fromSnapshot(file); // Map the snapshot
+        loaded.addAppointment(new Appointment("A2", hoursFromNow(2), "Second")); // Change the service
+        loaded.saveSnapshot(file); // Replace the mapped file
+        assertEquals(2, AppointmentSnapshot.open(file).size()); // Both appointments were written
+    }
+
+    @Test
+    void testPastAppointmentsCanBeLoaded() throws Exception { // Test that the "not in the past" rule does not block loading
+        AppointmentService service = new AppointmentService(); // Service to save
+        service.addAppointment(new Appointment("A1", new Date(System.currentTimeMillis() + 50), "Soon")); // Valid when created
+        Path file = directory.resolve("past.snap"); // Snapshot location
+        service.saveSnapshot(file); // Write the snapshot
+        Thread.sleep(100); // Let the appointment date pass
+
+        AppointmentService loaded = AppointmentService.fromSnapshot(file); // Map the snapshot
+        assertEquals("Soon", loaded.getAppointment("A1").getDescription()); // Stored appointment loads even though its date has passed
+    }
+
+    @Test
+    void testRejectsFilesThatAreNotSnapshots() throws IOException { // Test the header check
+        Path file = directory.resolve("notes.txt"); // Not a snapshot
+        Files.writeString(file, "this is not an appointment snapshot"); // Arbitrary content
+        assertThrows(IOException.class, () -> AppointmentService.fromSnapshot(file)); // Rejected when opened
+    }
+}
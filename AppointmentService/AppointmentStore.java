@@ -0,0 +1,121 @@
+package src.main.java; // Package declaration for main application classes
+
+import java.util.List; // Importing List interface for time-ordered query results
+import java.util.function.Consumer; // Importing Consumer for visiting every stored appointment
+
+/**
+ * AppointmentStore Interface
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Storage backend behind AppointmentService. The service keeps the public API,
+ * argument checks, exception messages and snapshot loading; a store only holds
+ * appointments by ID and in (date, ID) order.
+ *
+ * Implementations:
+ * - HeapAppointmentStore     (default) the Appointment objects themselves in a HashMap
+ *                            plus a skip-list time index
+ * - OffHeapAppointmentStore  appointments encoded into direct ByteBuffers; the heap
+ *                            holds only primitive index arrays, and reads decode copies
+ *
+ * Stores are not thread-safe, like AppointmentService itself. The service only
+ * calls add for an ID that is not stored, and remove for one that is.
+ */
+public interface AppointmentStore { // Pluggable storage for AppointmentService
+
+    /**
+     * Returns the stored appointment with the given ID.
+     *
+     * @param appointmentId the ID to look up (may be null)
+     * @return the stored appointment (or a copy decoded from storage), or null if not found
+     */
+    Appointment get(String appointmentId); // Lookup by ID
+
+    /**
+     * Returns true if an appointment with the given ID is stored.
+     *
+     * @param appointmentId the ID to look up (may be null)
+     * @return true if stored
+     */
+    boolean contains(String appointmentId); // Existence check without decoding
+
+    /**
+     * Stores a new appointment.
+     *
+     * @param appointment an appointment whose ID is not stored yet
+     */
+    void add(Appointment appointment); // Insert
+
+    /**
+     * Removes a stored appointment.
+     *
+     * @param appointmentId the ID of a stored appointment
+     */
+    void remove(String appointmentId); // Delete
+
+    /**
+     * Brings a stored appointment up to date before one of its setters changes it.
+     * A store that hands out copies reloads the copy's fields from storage, so
+     * the setter changes one field of the current values, not of an old copy.
+     *
+     * @param appointment the appointment about to change
+     * @throws IllegalStateException if the appointment is a copy of a record
+     *                               that has since been removed
+     */
+    void refresh(Appointment appointment); // Called before every setter of a stored appointment
+
+    /**
+     * Records a change to a stored appointment's date or duration, writing only
+     * the values that differ from the stored ones.
+     * Does nothing if the appointment's ID is no longer stored.
+     *
+     * @param appointment    the changed appointment
+     * @param previousMillis the date it was stored under, in epoch milliseconds
+     * @throws IllegalStateException if the appointment is a copy of a record
+     *                               that has since been removed
+     */
+    void update(Appointment appointment, long previousMillis); // Write-through for the date and duration setters
+
+    /**
+     * Records a change to a stored appointment's description, writing only the description.
+     *
+     * @param appointment the changed appointment
+     * @throws IllegalStateException if the appointment is a copy of a record
+     *                               that has since been removed
+     */
+    void updateDescription(Appointment appointment); // Write-through for the description setter
+
+    /**
+     * Returns up to limit appointments dated in [fromMillis, toMillis), ordered by date, then ID.
+     *
+     * @param fromMillis start of the window (inclusive)
+     * @param toMillis   end of the window (exclusive)
+     * @param limit      maximum number of appointments to return
+     * @return the appointments, earliest first
+     */
+    List<Appointment> between(long fromMillis, long toMillis, int limit); // Time-ordered range query
+
+    /**
+     * Counts the appointments dated in [fromMillis, toMillis).
+     *
+     * @param fromMillis start of the window (inclusive)
+     * @param toMillis   end of the window (exclusive)
+     * @return the number of appointments in the window
+     */
+    int count(long fromMillis, long toMillis); // Range count
+
+    /**
+     * Returns the number of stored appointments.
+     *
+     * @return the number of stored appointments
+     */
+    int size(); // Store size
+
+    /**
+     * Visits every stored appointment, in no particular order.
+     *
+     * @param action called once per appointment
+     */
+    void forEach(Consumer<Appointment> action); // Full scan, e.g. for saving a snapshot
+}
@@ -3,8 +3,14 @@ package src.test.java; // Define the package for this test class, which is typic
 import org.junit.jupiter.api.Test; // Import the JUnit 5 Test annotation to mark methods as test cases in this test class
 
 import src.main.java.Appointment;   // Import the Appointment class from the main package to be tested in this test class
+import src.main.java.AppointmentError; // Import AppointmentError for the per-field results of tryCreate
+import src.main.java.AppointmentValidation; // Import AppointmentValidation, the reusable result of tryCreate
 import static org.junit.jupiter.api.Assertions.*; // Import necessary classes for writing JUnit tests and assertions to validate the behavior of the Appointment class in various scenarios.
 
+import java.time.Clock; // Import Clock to pin "now" in the injected-clock tests
+import java.time.Duration; // Import Duration for the optional appointment length
+import java.time.Instant; // Import Instant for the java.time accessors
+import java.time.ZoneOffset; // Import ZoneOffset for building fixed clocks
 import java.util.Date; // Import necessary classes for handling dates in the tests
 import java.util.Calendar; // Import necessary classes for handling dates and calendar operations in the tests
 
@@ -73,6 +79,19 @@ class AppointmentTest { // This class contains unit tests for the Appointment cl
         assertEquals("Appointment date cannot be in the past", ex.getMessage()); // Verify the correct exception message is thrown when the appointment date is in the past
     }
 
+    @Test
+    void testFieldsValidatedInOrder() { // This test verifies that the constructors check the ID, then the date, then the description, so the first bad field's message is reported.
+        Exception dateFirst = assertThrows(IllegalArgumentException.class, () -> // Both the date and the description are invalid
+            new Appointment("APPT001", null, null)); // Null date and null description
+        assertEquals("Appointment date cannot be null", dateFirst.getMessage()); // The date is checked before the description
+        Exception instantFirst = assertThrows(IllegalArgumentException.class, () -> // Same rule for the Instant constructor
+            new Appointment("APPT001", (Instant) null, "   ", Clock.systemUTC())); // Null instant and blank description
+        assertEquals("Appointment date cannot be null", instantFirst.getMessage()); // The date is checked before the description
+        Exception idFirst = assertThrows(IllegalArgumentException.class, () -> // Every field is invalid
+            new Appointment(null, null, null)); // Null ID, date and description
+        assertEquals("Appointment ID cannot be null or empty", idFirst.getMessage()); // The ID is checked first
+    }
+
     @Test
     void testDescriptionNull() { // This test verifies that an exception is thrown when attempting to create an appointment with a null description.
         Exception ex = assertThrows(IllegalArgumentException.class, () -> // Attempt to create an appointment with a null description
@@ -109,4 +128,96 @@ class AppointmentTest { // This class contains unit tests for the Appointment cl
         appt.setDescription("Updated description here"); // Update the description with a valid string
         assertEquals("Updated description here", appt.getDescription()); // Verify the description was updated correctly
     }
-}
\ No newline at end of file
+
+    @Test
+    void testReturnedDateIsACopy() { // This test verifies that mutating a returned Date cannot move the appointment past validation.
+        Date date = getFutureDate(); // Valid future date
+        Appointment appt = new Appointment("APPT001", date, "Original desc"); // Create a valid appointment
+        appt.getAppointmentDate().setTime(0); // Try to move it to 1970 through the getter
+        date.setTime(0); // And through the Date passed to the constructor
+        assertNotEquals(0, appt.getAppointmentMillis()); // The stored date is unchanged
+        assertEquals(appt.getAppointmentMillis(), appt.getAppointmentInstant().toEpochMilli()); // All accessors agree
+        assertEquals(appt.getAppointmentMillis(), appt.getAppointmentDate().getTime()); // Including the Date copy
+    }
+
+    @Test
+    void testInjectedClock() { // This test verifies that the past-date check uses the injected clock instead of the system time.
+        Instant now = Instant.parse("2020-01-01T00:00:00Z"); // A fixed "now" in the real past
+        Clock clock = Clock.fixed(now, ZoneOffset.UTC); // Clock pinned to that instant
+        Appointment appt = new Appointment("APPT001", now.plusSeconds(60), "Pinned", clock); // Future relative to the clock, past in real time
+        assertEquals(now.plusSeconds(60), appt.getAppointmentInstant()); // Stored as given
+        appt.setAppointmentInstant(now); // "Now" itself is allowed
+        assertEquals(now.toEpochMilli(), appt.getAppointmentMillis()); // Primitive accessor agrees
+
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> appt.setAppointmentInstant(now.minusMillis(1))); // One millisecond before the clock
+        assertEquals("Appointment date cannot be in the past", ex.getMessage()); // Same message as the Date setter
+        ex = assertThrows(IllegalArgumentException.class, () -> appt.setAppointmentInstant(null)); // Null instant
+        assertEquals("Appointment date cannot be null", ex.getMessage()); // Same message as the Date setter
+        assertThrows(IllegalArgumentException.class, () -> appt.setAppointmentInstant(Instant.MAX)); // Outside the millisecond range
+        assertThrows(IllegalArgumentException.class, () -> new Appointment("APPT002", now, "No clock", null)); // A clock is required
+        assertEquals(now.toEpochMilli(), appt.getAppointmentMillis()); // Failed updates change nothing
+    }
+
+    @Test
+    void testDuration() { // This test verifies the optional duration, its end time and its validation.
+        Appointment appt = new Appointment("APPT001", getFutureDate(), "Original desc"); // Create a valid appointment
+        assertEquals(Duration.ZERO, appt.getDuration()); // No duration by default
+        assertEquals(appt.getAppointmentMillis(), appt.getEndMillis()); // So it ends where it starts
+        appt.setDuration(Duration.ofMinutes(30)); // Give it a length
+        assertEquals(1_800_000L, appt.getDurationMillis()); // Stored in milliseconds
+        assertEquals(appt.getAppointmentMillis() + 1_800_000L, appt.getEndMillis()); // End is start plus duration
+
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> appt.setDuration(null)); // Null duration
+        assertEquals("Duration cannot be null", ex.getMessage()); // Verify the message
+        ex = assertThrows(IllegalArgumentException.class, () -> appt.setDuration(Duration.ofMinutes(-1))); // Negative duration
+        assertEquals("Duration cannot be negative", ex.getMessage()); // Verify the message
+        assertThrows(IllegalArgumentException.class, () -> appt.setDuration(Duration.ofSeconds(Long.MAX_VALUE))); // Too long for a long of milliseconds
+        assertEquals(Duration.ofMinutes(30), appt.getDuration()); // Failed updates change nothing
+
+        appt.setDuration(Duration.ofMillis(Long.MAX_VALUE)); // Longest possible duration
+        assertEquals(Long.MAX_VALUE, appt.getEndMillis()); // The end saturates instead of wrapping
+    }
+
+    @Test
+    void testTryCreateValid() { // This test verifies that tryCreate builds the appointment when every field is valid.
+        Date date = getFutureDate(); // Tomorrow
+        AppointmentValidation result = Appointment.tryCreate("APPT001", date, "Checkup"); // Valid row
+        assertTrue(result.isValid()); // No rejected fields
+        assertNull(result.firstError()); // Nothing to report
+        assertEquals(date.getTime(), result.getAppointment().getAppointmentMillis()); // Same date the constructor would store
+        assertEquals("Checkup", result.getAppointment().getDescription()); // And the same description
+        assertEquals("valid APPT001", result.toString()); // Readable form
+    }
+
+    @Test
+    void testTryCreateReportsEveryFieldAndIsReusable() { // This test verifies that tryCreate reports every bad field without throwing, and that a result can be reused.
+        Instant now = Instant.parse("2026-03-02T09:00:00Z"); // Fixed "now"
+        Clock clock = Clock.fixed(now, ZoneOffset.UTC); // Clock pinned to it
+        AppointmentValidation result = new AppointmentValidation(); // Reused for every row
+
+        assertSame(result, Appointment.tryCreate("12345678901", now.minusSeconds(1), "   ", clock, result)); // Every field is bad
+        assertFalse(result.isValid()); // Rejected
+        assertNull(result.getAppointment()); // No appointment built
+        assertEquals(3, result.getErrorCount()); // Every bad field, not just the first
+        assertEquals(AppointmentError.ID_TOO_LONG, result.firstError()); // The one the constructor would have thrown for
+        assertEquals(AppointmentError.DATE_IN_PAST, result.getError(AppointmentValidation.Field.DATE)); // Past date
+        assertEquals("invalid APPOINTMENT_ID=ID_TOO_LONG DATE=DATE_IN_PAST DESCRIPTION=DESCRIPTION_BLANK", result.toString()); // Readable form
+
+        Appointment.tryCreate("A1", (Instant) null, "Checkup", clock, result); // Missing date
+        assertEquals(1, result.getErrorCount()); // Previous failures were cleared
+        assertEquals(AppointmentError.DATE_NULL, result.firstError()); // Only the date
+        Appointment.tryCreate("A1", Instant.MAX, "Checkup", clock, result); // Too far from the epoch for a long of milliseconds
+        assertEquals(AppointmentError.DATE_OUT_OF_RANGE, result.firstError()); // Reported, not thrown
+        Appointment.tryCreate("A1", (Date) null, null, result); // Date form
+        assertEquals(2, result.getErrorCount()); // Date and description
+        assertEquals(AppointmentError.DATE_NULL, result.firstError()); // The ID was fine
+
+        Appointment.tryCreate("A1", now, "Checkup", clock, result); // "Now" itself is not in the past
+        assertTrue(result.isValid()); // Accepted
+        assertEquals(now, result.getAppointment().getAppointmentInstant()); // Stored to the millisecond
+        assertThrows(IllegalArgumentException.class, () -> result.getAppointment().setAppointmentInstant(now.minusSeconds(1))); // Later date checks use the same clock
+
+        assertThrows(IllegalArgumentException.class, () -> Appointment.tryCreate("A1", now, "Checkup", null, result)); // A null clock is a programming error
+        assertThrows(IllegalArgumentException.class, () -> Appointment.tryCreate("A1", getFutureDate(), "Checkup", null)); // So is a null result
+    }
+}
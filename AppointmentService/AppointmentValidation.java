@@ -0,0 +1,126 @@
+package src.main.java; // Package declaration for the main application code
+
+/**
+ * AppointmentValidation Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Result of Appointment.tryCreate: the appointment, if every field was valid, and
+ * the AppointmentError of each field that was not. Unlike the constructors, which
+ * throw on the first bad field, tryCreate checks every field and never throws for
+ * bad input, so an importer rejecting many rows pays for neither a stack trace nor
+ * a message.
+ *
+ * A result can be passed back to tryCreate to be reused for the next row, so a
+ * loop over many rows allocates nothing for the rows it rejects. A result is not
+ * thread-safe; use one per thread.
+ */
+public final class AppointmentValidation { // Reusable per-field outcome of Appointment.tryCreate
+
+    /**
+     * A field checked by tryCreate, in constructor order.
+     */
+    public enum Field { // One constant per checked field
+        APPOINTMENT_ID, // appointmentId
+        DATE, // appointmentDate or appointmentInstant
+        DESCRIPTION // description
+    }
+
+    private final AppointmentError[] errors = new AppointmentError[Field.values().length]; // Failure per field (null = valid)
+    private int errorCount; // Number of rejected fields
+    private Appointment appointment; // Appointment built from the last row, or null if it was rejected
+
+    /**
+     * Creates an empty result, ready to pass to Appointment.tryCreate.
+     */
+    public AppointmentValidation() { // Nothing to set up
+    }
+
+    // Clears the previous row's outcome
+    void reset() { // Called by tryCreate before the first check
+        for (int i = 0; i < errors.length; i++) { // Every field
+            errors[i] = null; // Valid until checked
+        }
+        errorCount = 0; // No failures yet
+        appointment = null; // No appointment yet
+    }
+
+    // Records a field's check; null means the field is valid
+    void check(Field field, AppointmentError error) { // Called once per field by tryCreate
+        errors[field.ordinal()] = error; // Store the outcome
+        if (error != null) { // Rejected
+            errorCount++; // Count it
+        }
+    }
+
+    void setAppointment(Appointment appointment) { // Stores the appointment built from a valid row
+        this.appointment = appointment; // Assign the appointment
+    }
+
+    /**
+     * Returns whether every field was valid (and an appointment was created).
+     *
+     * @return true if the last row was accepted
+     */
+    public boolean isValid() { // No rejected fields
+        return errorCount == 0; // Return the outcome
+    }
+
+    /**
+     * Returns the appointment created from the last checked row.
+     *
+     * @return the appointment, or null if any field was invalid
+     */
+    public Appointment getAppointment() { // Getter for the created appointment
+        return appointment; // Return the appointment
+    }
+
+    /**
+     * Returns why the given field was rejected.
+     *
+     * @param field the field
+     * @return the failure, or null if the field was valid
+     */
+    public AppointmentError getError(Field field) { // Getter for one field's outcome
+        return errors[field.ordinal()]; // Return the stored outcome
+    }
+
+    /**
+     * Returns how many fields were rejected.
+     *
+     * @return the number of rejected fields
+     */
+    public int getErrorCount() { // Getter for the failure count
+        return errorCount; // Return the count
+    }
+
+    /**
+     * Returns the first rejected field in constructor order, the one the
+     * constructor would have thrown for.
+     *
+     * @return the failure, or null if every field was valid
+     */
+    public AppointmentError firstError() { // First failure in constructor order
+        for (AppointmentError error : errors) { // Fields in constructor order
+            if (error != null) { // Rejected
+                return error; // Report it
+            }
+        }
+        return null; // Every field was valid
+    }
+
+    @Override
+    public String toString() { // Readable form for logs and test failures
+        if (isValid()) { // Nothing was rejected
+            return "valid " + appointment.getAppointmentId(); // e.g. "valid A1"
+        }
+        StringBuilder text = new StringBuilder("invalid"); // e.g. "invalid DATE=DATE_IN_PAST"
+        for (Field field : Field.values()) { // Every field
+            if (errors[field.ordinal()] != null) { // Rejected
+                text.append(' ').append(field).append('=').append(errors[field.ordinal()]); // Field and failure
+            }
+        }
+        return text.toString(); // The whole description
+    }
+}
@@ -0,0 +1,113 @@
+package src.main.java; // Package declaration for the main application code
+
+import java.time.Duration; // Importing Duration for the appointment duration check
+import java.util.Date; // Importing Date for the appointment date check
+
+/**
+ * AppointmentValidator Class
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * Allocation-free field checks for Appointment.
+ * 
+ * Each check inspects its argument in a single pass and returns null when the
+ * value is valid, or the matching AppointmentError constant when it is not.
+ * Blank and length rules follow String.trim() semantics without creating the
+ * trimmed copy, and the date check compares epoch milliseconds instead of
+ * allocating a new Date for "now".
+ */
+public final class AppointmentValidator { // Utility class holding the Appointment field rules
+
+    static final int ID_MAX = 10; // Maximum appointmentId length
+    static final int DESCRIPTION_MAX = 50; // Maximum trimmed description length
+
+    private AppointmentValidator() { // Private constructor: static methods only
+    }
+
+    /**
+     * Checks an appointment ID: not null, not blank, at most 10 characters (untrimmed).
+     * 
+     * @param appointmentId the value to check
+     * @return null if valid, otherwise the failure
+     */
+    public static AppointmentError checkAppointmentId(String appointmentId) { // Same rules as the original constructor checks
+        if (appointmentId == null || trimmedLength(appointmentId) == 0) { // Null or only whitespace
+            return AppointmentError.ID_BLANK; // Blank ID
+        }
+        return appointmentId.length() > ID_MAX ? AppointmentError.ID_TOO_LONG : null; // IDs are stored exactly as given, so the raw length counts
+    }
+
+    /**
+     * Checks an appointment date: not null and not before the given time.
+     * 
+     * @param appointmentDate the value to check
+     * @param nowMillis       the current time in epoch milliseconds
+     * @return null if valid, otherwise the failure
+     */
+    public static AppointmentError checkAppointmentDate(Date appointmentDate, long nowMillis) { // Date rules without allocating a Date for "now"
+        if (appointmentDate == null) { // Null date
+            return AppointmentError.DATE_NULL; // Missing date
+        }
+        return checkAppointmentMillis(appointmentDate.getTime(), nowMillis); // Same comparison as Date.before(new Date())
+    }
+
+    /**
+     * Checks an appointment date given in epoch milliseconds: not before the given time.
+     * 
+     * @param appointmentMillis the value to check, in epoch milliseconds
+     * @param nowMillis         the current time in epoch milliseconds
+     * @return null if valid, otherwise the failure
+     */
+    public static AppointmentError checkAppointmentMillis(long appointmentMillis, long nowMillis) { // Primitive form shared by the Date and Instant setters
+        return appointmentMillis < nowMillis ? AppointmentError.DATE_IN_PAST : null; // Past dates are rejected
+    }
+
+    /**
+     * Checks an appointment duration: not null and not negative (zero means no duration).
+     * 
+     * @param duration the value to check
+     * @return null if valid, otherwise the failure
+     */
+    public static AppointmentError checkDuration(Duration duration) { // Duration rules for setDuration
+        if (duration == null) { // Null duration
+            return AppointmentError.DURATION_NULL; // Missing duration
+        }
+        return duration.isNegative() ? AppointmentError.DURATION_NEGATIVE : null; // An appointment cannot end before it starts
+    }
+
+    /**
+     * Checks a description: not null, not blank, at most 50 characters once trimmed.
+     * 
+     * @param description the value to check
+     * @return null if valid, otherwise the failure
+     */
+    public static AppointmentError checkDescription(String description) { // Same rules as the original setter checks
+        if (description == null) { // Null description
+            return AppointmentError.DESCRIPTION_BLANK; // Missing description
+        }
+        int trimmed = trimmedLength(description); // One pass from each end, no copy
+        if (trimmed == 0) { // Only whitespace
+            return AppointmentError.DESCRIPTION_BLANK; // Blank description
+        }
+        return trimmed > DESCRIPTION_MAX ? AppointmentError.DESCRIPTION_TOO_LONG : null; // Enforce the limit on meaningful content
+    }
+
+    /**
+     * Returns the length value.trim() would have, without creating it.
+     * 
+     * @param value a non-null string
+     * @return the number of characters between the first and last character above U+0020
+     */
+    static int trimmedLength(String value) { // Mirrors String.trim() boundaries
+        int start = 0; // First candidate index
+        int end = value.length(); // One past the last candidate index
+        while (start < end && value.charAt(start) <= ' ') { // Skip leading whitespace and control characters
+            start++; // Move right
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') { // Skip trailing whitespace and control characters
+            end--; // Move left
+        }
+        return end - start; // Length of the content between them
+    }
+}
@@ -0,0 +1,52 @@
+package src.test.java; // Test package, matching the other Appointment tests
+
+import org.junit.jupiter.api.Test; // JUnit 5 import
+
+import src.main.java.AppointmentError; // Importing the error descriptors under test
+import src.main.java.AppointmentValidator; // Importing the validator under test
+
+import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for cleaner test code
+
+import java.time.Duration; // Importing Duration for the duration checks
+import java.util.Date; // Importing Date for the date checks
+
+/**
+ * AppointmentValidatorTest
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * JUnit 5 tests to verify the allocation-free AppointmentValidator checks
+ * give the same answers as the former trim()- and Date.before()-based validation.
+ */
+class AppointmentValidatorTest { // Test class for AppointmentValidator
+
+    @Test
+    void testValidValuesPass() { // Valid values produce no error
+        long now = 1_000_000L; // Fixed "now" keeps the date checks deterministic
+        assertNull(AppointmentValidator.checkAppointmentId("APPT123456")); // 10-character ID is the maximum allowed
+        assertNull(AppointmentValidator.checkAppointmentDate(new Date(now), now)); // A date equal to now is not in the past
+        assertNull(AppointmentValidator.checkDescription("  Routine checkup  ")); // Padding is allowed
+        assertNull(AppointmentValidator.checkDuration(Duration.ZERO)); // Zero means no duration
+    }
+
+    @Test
+    void testInvalidValuesReturnMatchingError() { // Each invalid value maps to its descriptor
+        long now = 1_000_000L; // Fixed "now" keeps the date checks deterministic
+        assertSame(AppointmentError.ID_BLANK, AppointmentValidator.checkAppointmentId("   ")); // Blank ID
+        assertSame(AppointmentError.ID_TOO_LONG, AppointmentValidator.checkAppointmentId("APPT1234567")); // 11-character ID
+        assertSame(AppointmentError.DATE_NULL, AppointmentValidator.checkAppointmentDate(null, now)); // Null date
+        assertSame(AppointmentError.DATE_IN_PAST, AppointmentValidator.checkAppointmentDate(new Date(now - 1), now)); // One millisecond in the past
+        assertSame(AppointmentError.DESCRIPTION_BLANK, AppointmentValidator.checkDescription(null)); // Null description
+        assertSame(AppointmentError.DURATION_NULL, AppointmentValidator.checkDuration(null)); // Null duration
+        assertSame(AppointmentError.DURATION_NEGATIVE, AppointmentValidator.checkDuration(Duration.ofMillis(-1))); // Negative duration
+        assertSame(AppointmentError.DESCRIPTION_TOO_LONG, // 51 characters once trimmed
+            AppointmentValidator.checkDescription(" 123456789012345678901234567890123456789012345678901 ")); // Padded over-long description
+    }
+
+    @Test
+    void testErrorMessages() { // Descriptors carry the messages Appointment has always thrown
+        assertEquals("Appointment date cannot be in the past", AppointmentError.DATE_IN_PAST.getMessage()); // Message unchanged
+        assertEquals("Description cannot exceed 50 characters", AppointmentError.DESCRIPTION_TOO_LONG.toException().getMessage()); // Exception carries the same message
+    }
+}
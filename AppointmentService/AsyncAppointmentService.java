@@ -0,0 +1,240 @@
+package src.main.java; // Package declaration for main application classes
+
+import java.nio.file.Path; // Importing Path for snapshot file locations
+import java.util.Date; // Importing Date for the time-based query parameters
+import java.util.List; // Importing List interface for query results
+import java.util.concurrent.Callable; // Importing Callable for the work handed to the worker (may throw IOException)
+import java.util.concurrent.CompletableFuture; // Importing CompletableFuture for the non-blocking results
+import java.util.concurrent.ExecutorService; // Importing ExecutorService for the worker thread
+import java.util.concurrent.LinkedBlockingQueue; // Importing LinkedBlockingQueue for the worker's queue (bounded by the permits)
+import java.util.concurrent.RejectedExecutionException; // Importing RejectedExecutionException for calls over the limit or after close
+import java.util.concurrent.Semaphore; // Importing Semaphore to bound the number of pending calls
+import java.util.concurrent.ThreadPoolExecutor; // Importing ThreadPoolExecutor to build the single worker
+import java.util.concurrent.TimeUnit; // Importing TimeUnit for the keep-alive and shutdown wait
+import java.util.function.Function; // Importing Function for running custom work against the service
+
+/**
+ * AsyncAppointmentService Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Non-blocking facade over an AppointmentService. Every method returns a
+ * CompletableFuture right away and runs the matching AppointmentService call on
+ * the facade's worker thread, so a request thread never waits on the service,
+ * on lazy snapshot loading, or on a store that is later backed by disk.
+ *
+ * AppointmentService is not thread-safe, so the facade has exactly one worker
+ * thread: calls run one at a time, in the order they were made.
+ *
+ * At most maxPending calls may be queued or running. Past that, a call returns
+ * a future that has already failed with RejectedExecutionException instead of
+ * queueing without bound, so callers can shed load or retry. An exception thrown
+ * by the service (IllegalArgumentException, or IOException from saveSnapshot)
+ * completes the future exceptionally.
+ *
+ * Appointments returned by the queries stay subscribed to the service, so their
+ * setters update its indexes. Call those setters inside call(...), never directly
+ * from another thread. Dependent stages added with the non-async CompletableFuture
+ * methods may run on the worker thread; use the ...Async variants for slow work.
+ *
+ * close() stops new calls and waits for the queued ones. The wrapped service
+ * can still be used directly afterwards.
+ */
+public class AsyncAppointmentService implements AutoCloseable { // Asynchronous facade
+
+    static final int DEFAULT_MAX_PENDING = 16_384; // Pending calls allowed before new calls fail fast (room for 10K concurrent callers)
+
+    private final AppointmentService service; // Wrapped service, called only from the worker thread
+    private final ExecutorService worker; // Single thread running the service calls in order
+    private final Semaphore pending; // One permit per call that may be queued or running
+    private final int maxPending; // Limit reported in the rejection message
+
+    /**
+     * Creates a facade with the default pending-call limit.
+     *
+     * @param service the service to call
+     * @throws IllegalArgumentException if service is null
+     */
+    public AsyncAppointmentService(AppointmentService service) { // Constructor with the default limit
+        this(service, DEFAULT_MAX_PENDING); // Room for 10K concurrent callers
+    }
+
+    /**
+     * Creates a facade that accepts at most maxPending queued or running calls.
+     *
+     * @param service    the service to call
+     * @param maxPending the most calls that may wait for the worker at once
+     * @throws IllegalArgumentException if service is null or maxPending is below 1
+     */
+    public AsyncAppointmentService(AppointmentService service, int maxPending) { // Constructor with an explicit limit
+        if (service == null) { // Check for a null service
+            throw new IllegalArgumentException("Appointment service cannot be null"); // Clear message indicating the issue with the service
+        }
+        if (maxPending < 1) { // Check the limit
+            throw new IllegalArgumentException("Pending call limit must be at least 1"); // Clear message indicating the issue with the limit
+        }
+        this.service = service; // Store the service
+        this.maxPending = maxPending; // Store the limit
+        this.pending = new Semaphore(maxPending); // All permits free
+        this.worker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> { // One thread; the permits keep the queue bounded
+            Thread thread = new Thread(runnable, "appointment-service"); // Named for thread dumps
+            thread.setDaemon(true); // A forgotten close() does not keep the JVM alive
+            return thread; // The worker
+        });
+    }
+
+    /**
+     * Asynchronous AppointmentService.addAppointment.
+     *
+     * @param appointment the appointment to add
+     * @return a future completed once the appointment is stored
+     */
+    public CompletableFuture<Void> addAppointment(Appointment appointment) { // Queue an add
+        return run(() -> service.addAppointment(appointment)); // Same checks and messages as the service
+    }
+
+    /**
+     * Asynchronous AppointmentService.deleteAppointment.
+     *
+     * @param appointmentId the ID of the appointment to delete
+     * @return a future completed once the appointment is removed
+     */
+    public CompletableFuture<Void> deleteAppointment(String appointmentId) { // Queue a delete
+        return run(() -> service.deleteAppointment(appointmentId)); // Same checks and messages as the service
+    }
+
+    /**
+     * Asynchronous AppointmentService.getAppointment.
+     *
+     * @param appointmentId the ID to look up
+     * @return a future completed with the appointment, or null if not found
+     */
+    public CompletableFuture<Appointment> getAppointment(String appointmentId) { // Queue a lookup
+        return submit(() -> service.getAppointment(appointmentId)); // May decode from a snapshot or off-heap store on the worker
+    }
+
+    /**
+     * Asynchronous AppointmentService.findBetween.
+     *
+     * @param from start of the window (inclusive)
+     * @param to   end of the window (exclusive)
+     * @return a future completed with the appointments in the window, earliest first
+     */
+    public CompletableFuture<List<Appointment>> findBetween(Date from, Date to) { // Queue a range query
+        return submit(() -> service.findBetween(from, to)); // O(log n + k) on the worker
+    }
+
+    /**
+     * Asynchronous AppointmentService.countInWindow.
+     *
+     * @param from start of the window (inclusive)
+     * @param to   end of the window (exclusive)
+     * @return a future completed with the number of appointments in the window
+     */
+    public CompletableFuture<Integer> countInWindow(Date from, Date to) { // Queue a range count
+        return submit(() -> service.countInWindow(from, to)); // O(log n + k) on the worker
+    }
+
+    /**
+     * Asynchronous AppointmentService.next.
+     *
+     * @param n maximum number of appointments to return
+     * @return a future completed with up to n upcoming appointments, earliest first
+     */
+    public CompletableFuture<List<Appointment>> next(int n) { // Queue an upcoming-appointments query
+        return submit(() -> service.next(n)); // "Now" is read on the worker, when the call runs
+    }
+
+    /**
+     * Asynchronous AppointmentService.findConflicts.
+     *
+     * @param from start of the window (inclusive)
+     * @param to   end of the window (exclusive)
+     * @return a future completed with the appointments overlapping the window
+     */
+    public CompletableFuture<List<Appointment>> findConflicts(Date from, Date to) { // Queue a conflict query
+        return submit(() -> service.findConflicts(from, to)); // O(log n + k) on the worker
+    }
+
+    /**
+     * Asynchronous AppointmentService.saveSnapshot. The file holds every
+     * appointment stored when the call reaches the worker.
+     *
+     * @param file the snapshot file to create or replace
+     * @return a future completed once the file is written, or failed with the IOException
+     */
+    public CompletableFuture<Void> saveSnapshot(Path file) { // Queue a snapshot write
+        return submit(() -> { // Callable, so the IOException reaches the future unchanged
+            service.saveSnapshot(file); // File I/O on the worker, never on the caller
+            return null; // Void result
+        });
+    }
+
+    /**
+     * Runs any other work against the service on the worker thread, in order
+     * with the other calls and under the same limit, for example changing a
+     * stored appointment's date.
+     *
+     * @param operation the work to run
+     * @param <T>       the result type
+     * @return a future completed with the operation's result
+     * @throws IllegalArgumentException if operation is null
+     */
+    public <T> CompletableFuture<T> call(Function<AppointmentService, T> operation) { // Queue custom work
+        if (operation == null) { // Check for a null operation
+            throw new IllegalArgumentException("Operation cannot be null"); // Clear message indicating there is nothing to run
+        }
+        return submit(() -> operation.apply(service)); // Same path as every other call
+    }
+
+    /**
+     * Rejects new calls and waits until every accepted call has completed.
+     */
+    @Override
+    public void close() { // Stop accepting calls, then drain the queue
+        worker.shutdown(); // New calls are rejected from now on
+        try {
+            worker.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS); // Every accepted call completes its future
+        } catch (InterruptedException e) { // The caller was interrupted while waiting
+            Thread.currentThread().interrupt(); // Keep the interrupt for the caller; the worker finishes on its own
+        }
+    }
+
+    // Queues a call that returns nothing
+    private CompletableFuture<Void> run(Runnable operation) { // Shared by the void methods
+        return submit(() -> { // Same path as every other call
+            operation.run(); // Perform the call
+            return null; // Void result
+        });
+    }
+
+    // Queues one call under the pending limit; never blocks the caller
+    private <T> CompletableFuture<T> submit(Callable<T> operation) { // Shared by every public method
+        if (!pending.tryAcquire()) { // Fail fast when the limit is reached
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Too many pending appointment operations (limit " + maxPending + ")")); // Backpressure signal
+        }
+        CompletableFuture<T> future = new CompletableFuture<>(); // Completed by the worker
+        try {
+            worker.execute(() -> complete(future, operation)); // Queue the call
+        } catch (RejectedExecutionException closed) { // The facade has been closed
+            pending.release(); // The call never ran
+            future.completeExceptionally(new RejectedExecutionException("Async appointment service is closed", closed)); // Report it through the future
+        }
+        return future; // Return immediately
+    }
+
+    // Runs on the worker: calls the service, frees the permit, then completes the future
+    private <T> void complete(CompletableFuture<T> future, Callable<T> operation) { // Permit is free before any callback runs
+        T result; // Value of the call
+        try {
+            result = operation.call(); // Call the service
+        } catch (Throwable failure) { // Validation errors, I/O errors and anything else
+            pending.release(); // Free the permit
+            future.completeExceptionally(failure); // Hand the exception to the caller
+            return; // Done
+        }
+        pending.release(); // Free the permit
+        future.complete(result); // Hand the value to the caller
+    }
+}
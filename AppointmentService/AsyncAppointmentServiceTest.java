@@ -0,0 +1,119 @@
+package src.test.java; // Package declaration for test classes
+
+import org.junit.jupiter.api.Test; // JUnit 5 import
+import org.junit.jupiter.api.io.TempDir; // JUnit 5 temporary directory for snapshot files
+
+import src.main.java.Appointment; // Importing the Appointment class to create test instances
+import src.main.java.AppointmentService; // Importing the AppointmentService class to wrap
+import src.main.java.AsyncAppointmentService; // Importing the facade under test
+
+import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for cleaner test code
+
+import java.nio.file.Path; // Importing Path for snapshot file locations
+import java.util.ArrayList; // Importing ArrayList to collect futures
+import java.util.Collections; // Importing Collections for a list shared by the caller threads
+import java.util.Date; // Importing Date class for appointment dates
+import java.util.List; // Importing List to hold futures and query results
+import java.util.concurrent.CompletableFuture; // Importing CompletableFuture for the facade's results
+import java.util.concurrent.CompletionException; // Importing CompletionException, which join() wraps failures in
+import java.util.concurrent.CountDownLatch; // Importing CountDownLatch to hold the worker busy
+import java.util.concurrent.RejectedExecutionException; // Importing RejectedExecutionException for the limit and closed cases
+import java.util.concurrent.TimeUnit; // Importing TimeUnit for the latch timeout
+
+/**
+ * AsyncAppointmentServiceTest
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * JUnit 5 tests for the asynchronous AppointmentService facade.
+ * This test suite verifies:
+ * - Calls complete their futures with the service's results and exceptions
+ * - Calls from many threads are serialized onto the one worker without losing any
+ * - Calls over the pending limit fail fast, and close() drains accepted calls
+ */
+class AsyncAppointmentServiceTest { // Test class for AsyncAppointmentService
+
+    @TempDir
+    Path directory; // Location for the snapshot written through the facade
+
+    // Helper method to create a date the given number of hours in the future
+    private Date hoursFromNow(int hours) { // Future dates always pass the constructor's validation
+        return new Date(System.currentTimeMillis() + hours * 3_600_000L); // Now plus the offset
+    }
+
+    @Test
+    void testCallsCompleteWithServiceResults() { // Test that results and exceptions reach the futures
+        AppointmentService service = new AppointmentService(); // Wrapped service
+        try (AsyncAppointmentService async = new AsyncAppointmentService(service)) { // Facade with the default limit
+            async.addAppointment(new Appointment("A1", hoursFromNow(10), "Dentist")).join(); // Add through the facade
+            assertEquals("Dentist", async.getAppointment("A1").join().getDescription()); // Read through the facade
+            assertEquals(1, async.findBetween(hoursFromNow(5), hoursFromNow(15)).join().size()); // Range query
+            assertEquals(Integer.valueOf(1), async.countInWindow(hoursFromNow(5), hoursFromNow(15)).join()); // Range count
+            assertEquals(1, async.next(5).join().size()); // Upcoming appointments
+            assertTrue(async.findConflicts(hoursFromNow(5), hoursFromNow(15)).join().isEmpty()); // No duration, no conflicts
+            async.call(s -> { // Change a stored appointment on the worker thread
+                s.getAppointment("A1").setDescription("Dentist, room 2"); // Setter runs where the service lives
+                return null; // Nothing to return
+            }).join();
+            assertEquals("Dentist, room 2", service.getAppointment("A1").getDescription()); // The change reached the service
+            async.saveSnapshot(directory.resolve("appointments.snap")).join(); // File I/O on the worker
+
+            CompletionException failure = assertThrows(CompletionException.class, () -> async.deleteAppointment("A2").join()); // Unknown ID
+            assertTrue(failure.getCause() instanceof IllegalArgumentException); // The service's own exception
+            assertEquals("Appointment ID not found: A2", failure.getCause().getMessage()); // With the service's message
+            async.deleteAppointment("A1").join(); // Delete through the facade
+        }
+        assertNull(service.getAppointment("A1")); // The wrapped service sees the delete
+        assertThrows(IllegalArgumentException.class, () -> new AsyncAppointmentService(null)); // A service is required
+    }
+
+    @Test
+    void testConcurrentCallersAreSerialized() throws Exception { // Test that many threads can share the non-thread-safe service through the facade
+        AppointmentService service = new AppointmentService(); // Wrapped service
+        try (AsyncAppointmentService async = new AsyncAppointmentService(service)) { // One worker
+            List<CompletableFuture<Void>> futures = Collections.synchronizedList(new ArrayList<>()); // Every call made
+            List<Thread> callers = new ArrayList<>(); // Request threads
+            for (int t = 0; t < 8; t++) { // Eight callers
+                int caller = t; // Captured by the thread
+                Thread thread = new Thread(() -> { // Each caller adds its own appointments
+                    for (int i = 0; i < 250; i++) { // 250 appointments per caller
+                        futures.add(async.addAppointment(new Appointment(caller + "-" + i, hoursFromNow(1 + i), "Concurrent"))); // Never blocks
+                    }
+                });
+                callers.add(thread); // Remember the thread
+                thread.start(); // Start calling
+            }
+            for (Thread thread : callers) { // Wait for every caller to finish submitting
+                thread.join(); // Submission only
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join(); // Every call succeeded
+            assertEquals(2_000, async.next(Integer.MAX_VALUE).join().size()); // Every appointment is in the time index
+        }
+    }
+
+    @Test
+    void testPendingLimitAndClose() { // Test fail-fast backpressure and shutdown
+        CountDownLatch release = new CountDownLatch(1); // Holds the worker busy
+        AsyncAppointmentService async = new AsyncAppointmentService(new AppointmentService(), 2); // Two pending calls
+        CompletableFuture<Boolean> busy = async.call(s -> { // First call occupies the worker
+            try {
+                return release.await(10, TimeUnit.SECONDS); // Wait for the test
+            } catch (InterruptedException e) { // Not expected
+                throw new IllegalStateException(e); // Fail the call
+            }
+        });
+        CompletableFuture<Void> queued = async.addAppointment(new Appointment("A1", hoursFromNow(1), "Queued")); // Second call waits in the queue
+        CompletableFuture<Appointment> rejected = async.getAppointment("A1"); // Third call is over the limit
+        assertTrue(rejected.isCompletedExceptionally()); // Failed immediately, without blocking
+        CompletionException failure = assertThrows(CompletionException.class, rejected::join); // Unwrap the failure
+        assertTrue(failure.getCause() instanceof RejectedExecutionException); // Backpressure signal
+
+        release.countDown(); // Let the worker go
+        async.close(); // Waits for the accepted calls
+        assertTrue(busy.join()); // The first call ran to completion
+        assertTrue(queued.isDone() && !queued.isCompletedExceptionally()); // The queued add succeeded
+        failure = assertThrows(CompletionException.class, () -> async.next(1).join()); // Calls after close
+        assertTrue(failure.getCause() instanceof RejectedExecutionException); // Are rejected through the future
+    }
+}
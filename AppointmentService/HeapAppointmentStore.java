@@ -0,0 +1,141 @@
+package src.main.java; // Package declaration for main application classes
+
+import java.util.ArrayList; // Importing ArrayList to collect range query results
+import java.util.HashMap; // Importing HashMap for in-memory storage of appointments
+import java.util.List; // Importing List interface for range query return types
+import java.util.Map; // Importing Map interface for type declaration of appointments storage
+import java.util.NavigableMap; // Importing NavigableMap for sub-map views of the time index
+import java.util.concurrent.ConcurrentSkipListMap; // Importing ConcurrentSkipListMap for the time-ordered secondary index
+import java.util.function.Consumer; // Importing Consumer for visiting every stored appointment
+
+/**
+ * HeapAppointmentStore Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Default AppointmentStore: the Appointment objects themselves, in a HashMap by ID
+ * and a secondary index ordered by (appointment date, appointment ID) that answers
+ * time-window queries in O(log n + k) without scanning every appointment.
+ * get returns the stored object, so callers see and change the same instance.
+ */
+public final class HeapAppointmentStore implements AppointmentStore { // On-heap storage
+
+    // In-memory storage: appointmentId → Appointment
+    private final Map<String, Appointment> appointments = new HashMap<>(); // HashMap to store appointments by their unique ID
+
+    // Secondary index: (date millis, appointmentId) → Appointment, kept in time order
+    private final NavigableMap<TimeKey, Appointment> byTime = new ConcurrentSkipListMap<>(); // Skip list gives O(log n) seek plus in-order iteration
+
+    @Override
+    public Appointment get(String appointmentId) { // Lookup by ID
+        return appointments.get(appointmentId); // The stored object itself, or null
+    }
+
+    @Override
+    public boolean contains(String appointmentId) { // Existence check
+        return appointments.containsKey(appointmentId); // HashMap lookup
+    }
+
+    @Override
+    public void add(Appointment appointment) { // Insert into both indexes
+        String id = appointment.getAppointmentId(); // Key for both indexes
+        appointments.put(id, appointment); // Add to the primary map
+        byTime.put(new TimeKey(appointment.getAppointmentMillis(), id), appointment); // Add to the time index
+    }
+
+    @Override
+    public void remove(String appointmentId) { // Delete from both indexes
+        Appointment removed = appointments.remove(appointmentId); // Remove the appointment from the HashMap using its ID as the key
+        byTime.remove(new TimeKey(removed.getAppointmentMillis(), appointmentId)); // Remove the matching time index entry
+    }
+
+    @Override
+    public void refresh(Appointment appointment) { // The stored object is the only copy
+        // Nothing to reload
+    }
+
+    @Override
+    public void update(Appointment appointment, long previousMillis) { // The object is already changed; only the time index may need work
+        String id = appointment.getAppointmentId(); // ID is part of the index key
+        long millis = appointment.getAppointmentMillis(); // New date
+        if (millis != previousMillis && appointments.get(id) == appointment) { // Date moved on a stored appointment
+            byTime.remove(new TimeKey(previousMillis, id)); // Drop the stale entry
+            byTime.put(new TimeKey(millis, id), appointment); // Re-insert under the new date
+        }
+    }
+
+    @Override
+    public void updateDescription(Appointment appointment) { // The object is already changed
+        // The description is not indexed
+    }
+
+    @Override
+    public List<Appointment> between(long fromMillis, long toMillis, int limit) { // O(log n + k) range query
+        List<Appointment> found = new ArrayList<>(); // Results in time order
+        for (Appointment appointment : window(fromMillis, toMillis).values()) { // Walk only the entries inside the window
+            if (found.size() == limit) { // Stop once the limit is reached
+                break; // No need to look further
+            }
+            found.add(appointment); // Collect the appointment
+        }
+        return found; // Return the appointments in the window
+    }
+
+    @Override
+    public int count(long fromMillis, long toMillis) { // O(log n + k) range count
+        int count = 0; // Running count of index entries in the window
+        for (TimeKey ignored : window(fromMillis, toMillis).keySet()) { // Walk only the entries inside the window
+            count++; // Count each entry
+        }
+        return count; // Return the number of appointments in the window
+    }
+
+    @Override
+    public int size() { // Number of stored appointments
+        return appointments.size(); // Map size
+    }
+
+    @Override
+    public void forEach(Consumer<Appointment> action) { // Visit every stored appointment
+        appointments.values().forEach(action); // Map order
+    }
+
+    // Returns the index view for [fromMillis, toMillis)
+    private NavigableMap<TimeKey, Appointment> window(long fromMillis, long toMillis) { // Shared by between and count
+        return byTime.subMap(TimeKey.lowest(fromMillis), true, TimeKey.lowest(toMillis), false); // O(log n) seek to both bounds
+    }
+
+    /**
+     * Index key ordering appointments by date, then by ID so equal dates stay distinct.
+     */
+    private static final class TimeKey implements Comparable<TimeKey> { // Composite key for the time index
+        private final long millis; // Appointment date in epoch milliseconds
+        private final String id; // Appointment ID breaking ties between equal dates
+
+        TimeKey(long millis, String id) { // Constructor for a key
+            this.millis = millis; // Store the date
+            this.id = id; // Store the ID
+        }
+
+        static TimeKey lowest(long millis) { // Key sorting before every real key with the same date (real IDs are never empty)
+            return new TimeKey(millis, ""); // Empty ID sorts first
+        }
+
+        @Override
+        public int compareTo(TimeKey other) { // Order by date, then ID
+            int byMillis = Long.compare(millis, other.millis); // Compare dates first
+            return byMillis != 0 ? byMillis : id.compareTo(other.id); // Fall back to the ID for equal dates
+        }
+
+        @Override
+        public boolean equals(Object o) { // Equality consistent with compareTo
+            return o instanceof TimeKey && compareTo((TimeKey) o) == 0; // Same date and same ID
+        }
+
+        @Override
+        public int hashCode() { // Hash consistent with equals
+            return Long.hashCode(millis) * 31 + id.hashCode(); // Combine date and ID
+        }
+    }
+}
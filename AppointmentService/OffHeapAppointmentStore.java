@@ -0,0 +1,529 @@
+package src.main.java; // Package declaration for main application classes
+
+import java.nio.ByteBuffer; // Importing ByteBuffer for the direct (off-heap) record chunks
+import java.nio.ByteOrder; // Importing ByteOrder to use the platform's native byte order
+import java.time.Clock; // Importing Clock for the decoded copies' past-date checks
+import java.util.ArrayList; // Importing ArrayList to collect range query results
+import java.util.Arrays; // Importing Arrays for growing index arrays
+import java.util.HashMap; // Importing HashMap for the rare descriptions that do not fit a record
+import java.util.List; // Importing List interface for range query return types
+import java.util.Map; // Importing Map interface for type declaration of long descriptions and record stamps
+import java.util.WeakHashMap; // Importing WeakHashMap so record stamps do not keep handed-out copies alive
+import java.util.function.Consumer; // Importing Consumer for visiting every stored appointment
+
+/**
+ * OffHeapAppointmentStore Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * AppointmentStore that keeps appointment data outside the Java heap, so a very
+ * large calendar adds almost nothing for the garbage collector to trace.
+ *
+ * Each appointment is one fixed-size record in a direct ByteBuffer chunk of
+ * 16,384 records (native byte order):
+ * - long date (epoch millis), long duration (millis, 0 = none)
+ * - byte ID length, byte description length (0xFF = kept on heap, see below)
+ * - ID as up to 10 UTF-16 chars, description as up to 50 UTF-16 chars
+ * A description that is valid only once trimmed (more than 50 characters with the
+ * surrounding whitespace) is kept in a small on-heap map instead.
+ *
+ * The heap holds only index metadata, all in primitive arrays with no object per
+ * appointment:
+ * - ID table: open addressing over record numbers, comparing IDs in place
+ * - time index: sorted blocks of (date, record) pairs ordered by date, then ID
+ * - free list: records released by remove and reused by the next add
+ *
+ * get and the range queries decode new Appointment copies (see Appointment.restore),
+ * so past dates load as-is. AppointmentService subscribes those copies to changes,
+ * so setters write through. Every record has a generation, bumped when the record
+ * is removed, and the store remembers the record and generation every copy (and
+ * every appointment passed to add) came from, in a weak map keyed by the object
+ * itself, so the Appointment carries no store state. A setter first reloads its
+ * copy from the record and then writes back only the field it changed, so two live
+ * copies never undo each other's changes. A copy whose record has been removed
+ * since (even if the ID was added again) throws IllegalStateException instead of
+ * writing.
+ *
+ * Chunks are allocated with ByteBuffer.allocateDirect and are never released while
+ * the store is in use. The total is limited by -XX:MaxDirectMemorySize, which
+ * defaults to the maximum heap size. Not thread-safe, like AppointmentService.
+ */
+public final class OffHeapAppointmentStore implements AppointmentStore { // Off-heap storage
+
+    static final int CHUNK_BITS = 14; // Records per chunk = 2^14
+    static final int CHUNK_RECORDS = 1 << CHUNK_BITS; // 16,384 records per direct buffer
+    private static final int CHUNK_MASK = CHUNK_RECORDS - 1; // Record position within its chunk
+
+    private static final int DATE = 0; // long date in epoch millis
+    private static final int DURATION = 8; // long duration in millis
+    private static final int ID_LENGTH = 16; // byte ID length in chars
+    private static final int DESCRIPTION_LENGTH = 17; // byte description length in chars
+    private static final int ID = 18; // ID chars
+    private static final int DESCRIPTION = ID + AppointmentValidator.ID_MAX * Character.BYTES; // Description chars
+    static final int RECORD_BYTES = DESCRIPTION + AppointmentValidator.DESCRIPTION_MAX * Character.BYTES; // 138 bytes per record
+    private static final int ON_HEAP = 0xFF; // Description length marker: description is in longDescriptions
+
+    private ByteBuffer[] chunks = new ByteBuffer[0]; // Record storage, one direct buffer per chunk
+    private int recordCount; // Records handed out so far (high-water mark)
+    private int[] freeRecords = new int[16]; // Stack of removed records available for reuse
+    private int[] generations = new int[16]; // Per record: bumped on remove, so copies of the old appointment go stale
+    private int freeCount; // Entries in freeRecords
+    private int size; // Stored appointments
+    private int[] idTable = new int[16]; // Record + 1 per slot, 0 = empty; load factor at most 1/2
+    private final TimeIndex byTime = new TimeIndex(); // (date, ID) order
+    private final Map<Integer, String> longDescriptions = new HashMap<>(); // Record → description longer than 50 characters (rare)
+    private final Map<Appointment, Long> stamps = new WeakHashMap<>(); // Copy or added appointment → record << 32 | generation; dropped once the caller lets go of it
+    private final Clock clock; // Clock given to decoded copies for their date setters
+
+    /**
+     * Creates an empty store whose decoded appointments check dates against the system clock.
+     */
+    public OffHeapAppointmentStore() { // Default constructor
+        this(Appointment.SYSTEM_CLOCK); // System UTC clock
+    }
+
+    /**
+     * Creates an empty store whose decoded appointments check dates against the given clock.
+     *
+     * @param clock the source of the current time for decoded appointments
+     * @throws IllegalArgumentException if clock is null
+     */
+    public OffHeapAppointmentStore(Clock clock) { // Constructor for tests and callers with their own clock
+        if (clock == null) { // Check for a null clock
+            throw new IllegalArgumentException("Clock cannot be null"); // Clear message indicating the issue with the clock
+        }
+        this.clock = clock; // Use the given clock
+    }
+
+    @Override
+    public Appointment get(String appointmentId) { // Hash lookup, then decode one record
+        int record = find(appointmentId); // Probe the ID table
+        return record < 0 ? null : decode(record); // New copy, or null if not stored
+    }
+
+    @Override
+    public boolean contains(String appointmentId) { // Existence check without decoding
+        return find(appointmentId) >= 0; // Probe the ID table
+    }
+
+    @Override
+    public void add(Appointment appointment) { // Encode into a free or new record
+        int record = allocate(); // Reuse a removed record first
+        long millis = appointment.getAppointmentMillis(); // Date to store
+        ByteBuffer chunk = chunk(record); // Chunk holding the record
+        int base = base(record); // Record offset within the chunk
+        chunk.putLong(base + DATE, millis); // Date
+        chunk.putLong(base + DURATION, appointment.getDurationMillis()); // Duration
+        String id = appointment.getAppointmentId(); // At most 10 chars (validated by Appointment)
+        chunk.put(base + ID_LENGTH, (byte) id.length()); // ID length
+        for (int i = 0; i < id.length(); i++) { // ID chars
+            chunk.putChar(base + ID + i * Character.BYTES, id.charAt(i)); // UTF-16 code unit
+        }
+        writeDescription(record, appointment.getDescription()); // Description (in place or on heap)
+        addToIdTable(record); // Index the ID
+        byTime.insert(millis, record); // Index the date
+        size++; // One more stored appointment
+        stamp(appointment, record); // The added object writes through like a decoded copy
+    }
+
+    @Override
+    public void remove(String appointmentId) { // Free the record for reuse
+        int record = find(appointmentId); // Locate the record
+        if (record < 0) { // Not stored
+            return; // Nothing to remove
+        }
+        removeFromIdTable(record); // Drop the ID entry (reads the ID chars, so before the record is reused)
+        byTime.remove(millis(record), record); // Drop the time entry
+        longDescriptions.remove(record); // Drop an on-heap description, if any
+        generations[record]++; // Every copy of this appointment is now stale
+        if (freeCount == freeRecords.length) { // Grow the free stack
+            freeRecords = Arrays.copyOf(freeRecords, freeCount * 2); // Double it
+        }
+        freeRecords[freeCount++] = record; // Reuse the record on a later add
+        size--; // One fewer stored appointment
+    }
+
+    @Override
+    public void refresh(Appointment appointment) { // Reload a copy from its record before a setter changes it
+        int record = recordOf(appointment); // Throws for a copy of a removed record
+        ByteBuffer chunk = chunk(record); // Chunk holding the record
+        int base = base(record); // Record offset within the chunk
+        appointment.reload(chunk.getLong(base + DATE), chunk.getLong(base + DURATION), description(record)); // Current stored values
+    }
+
+    @Override
+    public void update(Appointment appointment, long previousMillis) { // Write the date and duration, if they changed
+        int record = recordOf(appointment); // Throws for a copy of a removed record
+        long stored = millis(record); // Date the record is indexed under
+        long millis = appointment.getAppointmentMillis(); // New date
+        if (millis != stored) { // Date moved
+            byTime.remove(stored, record); // Drop the stale entry
+            chunk(record).putLong(base(record) + DATE, millis); // Store the new date
+            byTime.insert(millis, record); // Re-insert under the new date
+        }
+        chunk(record).putLong(base(record) + DURATION, appointment.getDurationMillis()); // Same value unless the duration setter changed it
+    }
+
+    @Override
+    public void updateDescription(Appointment appointment) { // Write the description only
+        writeDescription(recordOf(appointment), appointment.getDescription()); // Throws for a copy of a removed record
+    }
+
+    @Override
+    public List<Appointment> between(long fromMillis, long toMillis, int limit) { // O(log n + k) range query
+        List<Appointment> found = new ArrayList<>(); // Results in time order
+        long position = byTime.lowerBound(fromMillis); // First entry dated at or after fromMillis
+        for (int b = (int) (position >>> 32), i = (int) position; b < byTime.blockCount && found.size() < limit; b++, i = 0) { // Walk blocks in order
+            Block block = byTime.blocks[b]; // Current block
+            for (; i < block.size && found.size() < limit; i++) { // Walk entries in order
+                if (block.millis[i] >= toMillis) { // Past the end of the window
+                    return found; // Done
+                }
+                found.add(decode(block.records[i])); // Decode only the returned appointments
+            }
+        }
+        return found; // Return the appointments in the window
+    }
+
+    @Override
+    public int count(long fromMillis, long toMillis) { // Counts from block sizes without decoding anything
+        if (fromMillis >= toMillis) { // Empty window
+            return 0; // Nothing to count
+        }
+        long from = byTime.lowerBound(fromMillis); // First entry in the window
+        long to = byTime.lowerBound(toMillis); // First entry after the window
+        int fromBlock = (int) (from >>> 32); // Block of the first entry
+        int toBlock = (int) (to >>> 32); // Block of the first entry after the window
+        int count = (int) to - (int) from; // Entries between the two positions, adjusted below for whole blocks
+        for (int b = fromBlock; b < toBlock; b++) { // Every block the window spans
+            count += byTime.blocks[b].size; // Whole block
+        }
+        return count; // Return the number of appointments in the window
+    }
+
+    @Override
+    public int size() { // Number of stored appointments
+        return size; // Counter kept by add and remove
+    }
+
+    @Override
+    public void forEach(Consumer<Appointment> action) { // Visit every stored appointment in time order
+        for (int b = 0; b < byTime.blockCount; b++) { // Every block
+            Block block = byTime.blocks[b]; // Current block
+            for (int i = 0; i < block.size; i++) { // Every entry
+                action.accept(decode(block.records[i])); // Decode and hand over
+            }
+        }
+    }
+
+    private ByteBuffer chunk(int record) { // Chunk holding a record
+        return chunks[record >>> CHUNK_BITS]; // Records fill chunks in order
+    }
+
+    private static int base(int record) { // Byte offset of a record within its chunk
+        return (record & CHUNK_MASK) * RECORD_BYTES; // Fixed-size records
+    }
+
+    private long millis(int record) { // Stored date of a record
+        return chunk(record).getLong(base(record) + DATE); // Absolute get
+    }
+
+    private int allocate() { // Reuses a removed record, or takes the next new one (adding a chunk if needed)
+        if (freeCount > 0) { // Reuse first so memory stays bounded by the peak size
+            return freeRecords[--freeCount]; // Most recently freed record
+        }
+        int record = recordCount++; // Next new record
+        if (record == generations.length) { // Grow the generation array with the records
+            generations = Arrays.copyOf(generations, record * 2); // Double it
+        }
+        if ((record >>> CHUNK_BITS) == chunks.length) { // Record belongs to a chunk that does not exist yet
+            chunks = Arrays.copyOf(chunks, chunks.length + 1); // Only the chunk references are copied
+            chunks[chunks.length - 1] = ByteBuffer.allocateDirect(CHUNK_RECORDS * RECORD_BYTES).order(ByteOrder.nativeOrder()); // New off-heap chunk
+        }
+        return record; // Fresh record
+    }
+
+    private void writeDescription(int record, String description) { // Stores a description in the record, or on heap if it is too long
+        ByteBuffer chunk = chunk(record); // Chunk holding the record
+        int base = base(record); // Record offset within the chunk
+        if (description.length() > AppointmentValidator.DESCRIPTION_MAX) { // Valid only once trimmed
+            chunk.put(base + DESCRIPTION_LENGTH, (byte) ON_HEAP); // Mark the description as on heap
+            longDescriptions.put(record, description); // Keep it exactly as given
+            return; // Done
+        }
+        chunk.put(base + DESCRIPTION_LENGTH, (byte) description.length()); // Description length
+        for (int i = 0; i < description.length(); i++) { // Description chars
+            chunk.putChar(base + DESCRIPTION + i * Character.BYTES, description.charAt(i)); // UTF-16 code unit
+        }
+        longDescriptions.remove(record); // Drop a previous on-heap description, if any
+    }
+
+    private Appointment decode(int record) { // Build an Appointment copy from a record
+        ByteBuffer chunk = chunk(record); // Chunk holding the record
+        int base = base(record); // Record offset within the chunk
+        Appointment appointment = Appointment.restore(id(record), chunk.getLong(base + DATE), chunk.getLong(base + DURATION), description(record), clock); // Skip the "not in the past" check for stored data
+        stamp(appointment, record); // Remember where the copy came from
+        return appointment; // New copy
+    }
+
+    private String description(int record) { // Decodes a record's description
+        ByteBuffer chunk = chunk(record); // Chunk holding the record
+        int base = base(record); // Record offset within the chunk
+        int descriptionLength = chunk.get(base + DESCRIPTION_LENGTH) & 0xFF; // Length or ON_HEAP
+        return descriptionLength == ON_HEAP ? longDescriptions.get(record) // Too long for the record
+            : text(chunk, base + DESCRIPTION, descriptionLength); // Stored in place
+    }
+
+    private void stamp(Appointment appointment, int record) { // Ties an appointment to a record's current generation
+        stamps.put(appointment, (long) record << 32 | (generations[record] & 0xFFFFFFFFL)); // Stale once the record is removed
+    }
+
+    private int recordOf(Appointment appointment) { // Record of a stored appointment, checked against its generation
+        Long stamp = stamps.get(appointment); // Set by add or decode
+        int record = stamp == null ? -1 : (int) (stamp >>> 32); // Record it was stored in or decoded from
+        if (record < 0 || record >= recordCount || generations[record] != stamp.intValue()) { // Never from this store, or removed (and maybe reused) since
+            throw new IllegalStateException("Appointment has been deleted: " + appointment.getAppointmentId()); // The copy no longer refers to a stored appointment
+        }
+        return record; // Still the appointment's record
+    }
+
+    private String id(int record) { // Decodes a record's ID
+        ByteBuffer chunk = chunk(record); // Chunk holding the record
+        int base = base(record); // Record offset within the chunk
+        return text(chunk, base + ID, chunk.get(base + ID_LENGTH)); // At most 10 chars
+    }
+
+    private static String text(ByteBuffer chunk, int offset, int length) { // Decodes UTF-16 chars from a chunk
+        char[] chars = new char[length]; // Output buffer
+        for (int i = 0; i < length; i++) { // Every char
+            chars[i] = chunk.getChar(offset + i * Character.BYTES); // Absolute get
+        }
+        return new String(chars); // Decoded text
+    }
+
+    private boolean idEquals(int record, String appointmentId) { // Compares a stored ID with a String without decoding it
+        ByteBuffer chunk = chunk(record); // Chunk holding the record
+        int base = base(record); // Record offset within the chunk
+        if (chunk.get(base + ID_LENGTH) != appointmentId.length()) { // Different lengths never match
+            return false; // Mismatch
+        }
+        for (int i = 0; i < appointmentId.length(); i++) { // Compare chars
+            if (chunk.getChar(base + ID + i * Character.BYTES) != appointmentId.charAt(i)) { // Any differing char
+                return false; // Mismatch
+            }
+        }
+        return true; // Same ID
+    }
+
+    private int compareIds(int a, int b) { // Orders two stored IDs like String.compareTo
+        ByteBuffer chunkA = chunk(a); // Chunk holding record a
+        ByteBuffer chunkB = chunk(b); // Chunk holding record b
+        int baseA = base(a); // Offset of record a
+        int baseB = base(b); // Offset of record b
+        int lengthA = chunkA.get(baseA + ID_LENGTH); // Length of ID a
+        int lengthB = chunkB.get(baseB + ID_LENGTH); // Length of ID b
+        for (int i = 0; i < Math.min(lengthA, lengthB); i++) { // Compare the common prefix
+            char ca = chunkA.getChar(baseA + ID + i * Character.BYTES); // Char of ID a
+            char cb = chunkB.getChar(baseB + ID + i * Character.BYTES); // Char of ID b
+            if (ca != cb) { // First difference decides
+                return ca - cb; // Same rule as String.compareTo
+            }
+        }
+        return lengthA - lengthB; // Shorter prefix sorts first
+    }
+
+    private int idHash(int record) { // Same value as id(record).hashCode(), without building the String
+        ByteBuffer chunk = chunk(record); // Chunk holding the record
+        int base = base(record); // Record offset within the chunk
+        int h = 0; // String.hashCode recurrence
+        for (int i = 0; i < chunk.get(base + ID_LENGTH); i++) { // Every char
+            h = 31 * h + chunk.getChar(base + ID + i * Character.BYTES); // Same recurrence as String.hashCode
+        }
+        return h; // Hash of the ID
+    }
+
+    private int find(String appointmentId) { // Record holding an ID, or -1
+        if (appointmentId == null || appointmentId.length() > AppointmentValidator.ID_MAX) { // Never stored
+            return -1; // Not found
+        }
+        int mask = idTable.length - 1; // Capacity is a power of two
+        for (int slot = spread(appointmentId.hashCode()) & mask; idTable[slot] != 0; slot = (slot + 1) & mask) { // Linear probing
+            if (idEquals(idTable[slot] - 1, appointmentId)) { // Compare the stored ID in place
+                return idTable[slot] - 1; // Found
+            }
+        }
+        return -1; // Not found
+    }
+
+    private void addToIdTable(int record) { // Indexes a record's ID
+        if ((size + 1) * 2 > idTable.length) { // Keep the load factor at or below 1/2
+            int[] old = idTable; // Entries to move
+            idTable = new int[old.length * 2]; // Double the table
+            for (int entry : old) { // Re-insert every record
+                if (entry != 0) { // Occupied slot
+                    place(entry - 1); // Into the new table
+                }
+            }
+        }
+        place(record); // Insert the new record
+    }
+
+    private void place(int record) { // Puts a record into the first empty slot of its probe sequence
+        int mask = idTable.length - 1; // Capacity is a power of two
+        int slot = spread(idHash(record)) & mask; // Home slot
+        while (idTable[slot] != 0) { // Linear probing
+            slot = (slot + 1) & mask; // Next slot
+        }
+        idTable[slot] = record + 1; // 0 means empty, so store record + 1
+    }
+
+    private void removeFromIdTable(int record) { // Removes a record's ID entry with backward-shift deletion
+        int mask = idTable.length - 1; // Capacity is a power of two
+        int hole = spread(idHash(record)) & mask; // Start at the home slot
+        while (idTable[hole] != record + 1) { // The entry is in the cluster
+            hole = (hole + 1) & mask; // Next slot
+        }
+        for (int next = (hole + 1) & mask; idTable[next] != 0; next = (next + 1) & mask) { // Continue until the end of the cluster
+            int home = spread(idHash(idTable[next] - 1)) & mask; // Where the candidate would ideally live
+            if (((next - home) & mask) >= ((next - hole) & mask)) { // The hole lies on the candidate's probe path
+                idTable[hole] = idTable[next]; // Move the candidate back
+                hole = next; // Its old slot is the new hole
+            }
+        }
+        idTable[hole] = 0; // Empty the final hole
+    }
+
+    private static int spread(int h) { // Spreads String hashes so low bits are usable as a slot index
+        return h ^ (h >>> 16); // Mix high bits into the low bits
+    }
+
+    /**
+     * Block of the time index: up to BLOCK_ENTRIES (date, record) pairs in order.
+     */
+    private static final class Block { // Parallel primitive arrays, no object per entry
+        final long[] millis = new long[TimeIndex.BLOCK_ENTRIES]; // Dates in order
+        final int[] records = new int[TimeIndex.BLOCK_ENTRIES]; // Matching records
+        int size; // Entries in use
+    }
+
+    /**
+     * Time index as a two-level sorted structure: an array of blocks, each holding
+     * up to 512 (date, record) pairs in order. Inserting or removing shifts at most
+     * one block; a full block splits in two and an empty block is dropped.
+     * Entries with equal dates are ordered by ID, like the heap store's index.
+     */
+    private final class TimeIndex { // Ordered (date, ID) → record
+        static final int BLOCK_ENTRIES = 512; // Pairs per block
+
+        Block[] blocks = new Block[16]; // Blocks in order
+        int blockCount; // Blocks in use
+
+        void insert(long millis, int record) { // Adds a pair at its ordered position
+            if (blockCount == 0) { // First entry
+                blocks[blockCount++] = new Block(); // Start the first block
+            }
+            int b = blockFor(millis, record); // Block whose range covers the pair
+            Block block = blocks[b]; // Target block
+            int position = positionIn(block, millis, record); // First entry after the pair
+            if (block.size == BLOCK_ENTRIES) { // No room: split the block in half
+                Block upper = new Block(); // Takes the upper half
+                int half = BLOCK_ENTRIES / 2; // Split point
+                System.arraycopy(block.millis, half, upper.millis, 0, half); // Move dates
+                System.arraycopy(block.records, half, upper.records, 0, half); // Move records
+                upper.size = half; // Upper half size
+                block.size = half; // Lower half size
+                if (blockCount == blocks.length) { // Grow the block array
+                    blocks = Arrays.copyOf(blocks, blockCount * 2); // Double it
+                }
+                System.arraycopy(blocks, b + 1, blocks, b + 2, blockCount - b - 1); // Make room after the split block
+                blocks[b + 1] = upper; // Insert the upper half
+                blockCount++; // One more block
+                if (position > half) { // The pair belongs in the upper half
+                    block = upper; // Insert there
+                    position -= half; // Position within the upper half
+                }
+            }
+            System.arraycopy(block.millis, position, block.millis, position + 1, block.size - position); // Shift later dates
+            System.arraycopy(block.records, position, block.records, position + 1, block.size - position); // Shift later records
+            block.millis[position] = millis; // Place the date
+            block.records[position] = record; // Place the record
+            block.size++; // One more entry
+        }
+
+        void remove(long millis, int record) { // Removes a stored pair
+            int b = blockFor(millis, record); // Block holding the pair
+            Block block = blocks[b]; // That block
+            int position = positionIn(block, millis, record) - 1; // The pair is the last entry not after itself
+            System.arraycopy(block.millis, position + 1, block.millis, position, block.size - position - 1); // Shift later dates back
+            System.arraycopy(block.records, position + 1, block.records, position, block.size - position - 1); // Shift later records back
+            if (--block.size == 0) { // Block emptied
+                System.arraycopy(blocks, b + 1, blocks, b, blockCount - b - 1); // Drop it
+                blocks[--blockCount] = null; // Clear the stale reference
+            }
+        }
+
+        long lowerBound(long millis) { // Position (block << 32 | index) of the first entry dated at or after millis
+            int low = 0; // Binary search for the first block whose last date is >= millis
+            int high = blockCount; // Exclusive upper bound
+            while (low < high) { // Standard lower-bound search
+                int mid = (low + high) >>> 1; // Middle block
+                Block block = blocks[mid]; // Candidate
+                if (block.millis[block.size - 1] < millis) { // Whole block is earlier
+                    low = mid + 1; // Search later blocks
+                } else { // Block reaches millis
+                    high = mid; // Search earlier blocks
+                }
+            }
+            if (low == blockCount) { // Every entry is earlier
+                return (long) blockCount << 32; // End position
+            }
+            Block block = blocks[low]; // Block containing the first such entry
+            int from = 0; // Binary search within the block
+            int to = block.size - 1; // The last entry is known to qualify
+            while (from < to) { // Standard lower-bound search
+                int mid = (from + to) >>> 1; // Middle entry
+                if (block.millis[mid] < millis) { // Earlier than millis
+                    from = mid + 1; // Search later entries
+                } else { // At or after millis
+                    to = mid; // Search earlier entries
+                }
+            }
+            return ((long) low << 32) | from; // Block and index
+        }
+
+        private int blockFor(long millis, int record) { // Last block whose first pair is not after the given pair (block 0 if none)
+            int low = 0; // Binary search over the blocks' first pairs
+            int high = blockCount - 1; // Inclusive upper bound
+            while (low < high) { // Find the last block starting at or before the pair
+                int mid = (low + high + 1) >>> 1; // Upper middle so the loop always progresses
+                Block block = blocks[mid]; // Candidate
+                if (compare(block.millis[0], block.records[0], millis, record) <= 0) { // Block starts at or before the pair
+                    low = mid; // Search later blocks
+                } else { // Block starts after the pair
+                    high = mid - 1; // Search earlier blocks
+                }
+            }
+            return low; // Covering block
+        }
+
+        private int positionIn(Block block, long millis, int record) { // Index of the first entry after the pair
+            int low = 0; // Binary search within the block
+            int high = block.size; // Exclusive upper bound
+            while (low < high) { // Upper-bound search
+                int mid = (low + high) >>> 1; // Middle entry
+                if (compare(block.millis[mid], block.records[mid], millis, record) <= 0) { // Entry is not after the pair
+                    low = mid + 1; // Search later entries
+                } else { // Entry is after the pair
+                    high = mid; // Search earlier entries
+                }
+            }
+            return low; // Insertion point
+        }
+
+        private int compare(long millisA, int recordA, long millisB, int recordB) { // Orders pairs by date, then ID
+            int byMillis = Long.compare(millisA, millisB); // Compare dates first
+            return byMillis != 0 || recordA == recordB ? byMillis : compareIds(recordA, recordB); // Fall back to the stored IDs for equal dates
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package src.test.java; // Package declaration for test classes
+
+import org.junit.jupiter.api.Test; // JUnit 5 import
+
+import src.main.java.Appointment; // Importing the Appointment class to create test instances
+import src.main.java.AppointmentService; // Importing the AppointmentService class to drive the store
+import src.main.java.OffHeapAppointmentStore; // Importing the off-heap backend under test
+
+import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for cleaner test code
+
+import java.time.Duration; // Importing Duration for appointment durations
+import java.util.Date; // Importing Date class for appointment dates
+import java.util.List; // Importing List to hold time-ordered query results
+import java.util.Random; // Importing Random for the randomized comparison with the heap store
+
+/**
+ * OffHeapAppointmentStoreTest
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * JUnit 5 tests for the off-heap AppointmentStore, driven through AppointmentService.
+ * This test suite verifies:
+ * - Add, get, delete and the time queries behave as on the heap store
+ * - Setters on returned copies write through to the store
+ * - Copies never undo each other's changes, and copies of deleted appointments cannot write
+ * - Equal dates are ordered by ID, and long untrimmed descriptions round-trip
+ * - Removed records are reused, and a randomized workload matches the heap store
+ */
+class OffHeapAppointmentStoreTest { // Test class for OffHeapAppointmentStore
+
+    // Helper method to create a date the given number of hours in the future
+    private Date hoursFromNow(int hours) { // Future dates always pass the constructor's validation
+        return new Date(System.currentTimeMillis() + hours * 3_600_000L); // Now plus the offset
+    }
+
+    @Test
+    void testServiceBehaviourOnOffHeapStore() { // Test that the service API behaves the same on the off-heap store
+        AppointmentService service = new AppointmentService(new OffHeapAppointmentStore()); // Off-heap backend
+        Date date = hoursFromNow(10); // Date to compare after decoding
+        service.addAppointment(new Appointment("A1", date, "Dentist")); // Appointment inside the window
+        service.addAppointment(new Appointment("Ä2", hoursFromNow(20), "Café ☕ meeting")); // Non-ASCII ID and description
+        service.addAppointment(new Appointment("A3", hoursFromNow(30), "Late")); // Appointment after the window
+
+        Appointment stored = service.getAppointment("A1"); // Decoded copy
+        assertEquals(date, stored.getAppointmentDate()); // Date survives to the millisecond
+        assertEquals("Dentist", stored.getDescription()); // Description survives
+        assertEquals("Café ☕ meeting", service.getAppointment("Ä2").getDescription()); // UTF-16 text survives
+        assertNull(service.getAppointment("A4")); // Unknown IDs are not found
+        assertNull(service.getAppointment(null)); // Null IDs are not found
+
+        List<Appointment> found = service.findBetween(hoursFromNow(5), hoursFromNow(25)); // Window covering A1 and Ä2
+        assertEquals(2, found.size()); // Only the two appointments in the window
+        assertEquals("A1", found.get(0).getAppointmentId()); // Earliest first
+        assertEquals("Ä2", found.get(1).getAppointmentId()); // Then the later one
+        assertEquals(2, service.countInWindow(hoursFromNow(5), hoursFromNow(25))); // Count agrees with the list
+        assertEquals(3, service.next(10).size()); // Every upcoming appointment
+
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> // Duplicate IDs are rejected
+            service.addAppointment(new Appointment("A1", hoursFromNow(1), "Duplicate")));
+        assertEquals("Appointment ID already exists: A1", ex.getMessage()); // Same message as the heap store
+        service.deleteAppointment("A1"); // Remove one appointment
+        assertNull(service.getAppointment("A1")); // No longer stored
+        assertEquals(1, service.countInWindow(hoursFromNow(5), hoursFromNow(25))); // Time index updated
+        assertThrows(IllegalArgumentException.class, () -> service.deleteAppointment("A1")); // Deleting twice is an error
+        assertThrows(IllegalArgumentException.class, () -> new AppointmentService(null)); // A store is required
+    }
+
+    @Test
+    void testSettersWriteThrough() { // Test that changes to returned copies reach the store
+        AppointmentService service = new AppointmentService(new OffHeapAppointmentStore()); // Off-heap backend
+        Appointment added = new Appointment("C1", hoursFromNow(10), "Movable"); // Appointment that will be moved
+        service.addAppointment(added); // Store it
+
+        service.getAppointment("C1").setAppointmentDate(hoursFromNow(100)); // Move it through a decoded copy
+        assertEquals(0, service.countInWindow(hoursFromNow(5), hoursFromNow(15))); // The old slot is empty
+        assertEquals(1, service.countInWindow(hoursFromNow(95), hoursFromNow(105))); // The new slot holds it once
+        service.findBetween(hoursFromNow(95), hoursFromNow(105)).get(0).setDescription("Moved"); // Change it through a query result
+        assertEquals("Moved", service.getAppointment("C1").getDescription()); // A fresh copy sees the change
+        service.getAppointment("C1").setDuration(Duration.ofMinutes(30)); // Give it a duration through a copy
+        assertEquals(Duration.ofMinutes(30), service.getAppointment("C1").getDuration()); // Stored in the record
+        assertEquals("C1", service.findConflicts(hoursFromNow(95), hoursFromNow(105)).get(0).getAppointmentId()); // And in the interval index
+        Appointment clash = new Appointment("C2", service.getAppointment("C1").getAppointmentDate(), "Clash"); // Same start
+        clash.setDuration(Duration.ofMinutes(5)); // Overlaps C1
+        assertThrows(IllegalArgumentException.class, () -> service.addAppointment(clash)); // Conflicts are rejected on the off-heap store too
+
+        service.deleteAppointment("C1"); // Remove it
+        assertThrows(IllegalStateException.class, () -> added.setAppointmentDate(hoursFromNow(10))); // A copy of a deleted appointment cannot write
+        assertEquals(0, service.countInWindow(hoursFromNow(5), hoursFromNow(15))); // The index stays empty
+        AppointmentService other = new AppointmentService(); // Another service
+        other.addAppointment(added); // The deleted appointment no longer belongs to the first service
+        assertNotNull(other.getAppointment("C1")); // Stored in the second service
+    }
+
+    @Test
+    void testStaleAndConcurrentCopies() { // Test generation checks and field-only writes
+        AppointmentService service = new AppointmentService(new OffHeapAppointmentStore()); // Off-heap backend
+        Date original = hoursFromNow(10); // First booking
+        service.addAppointment(new Appointment("X", original, "Original")); // Store it
+        Appointment stale = service.getAppointment("X"); // Copy of the first booking
+        service.deleteAppointment("X"); // Frees its record
+        Date rebooked = hoursFromNow(50); // Second booking
+        service.addAppointment(new Appointment("X", rebooked, "Rebooked")); // Reuses the record
+        assertThrows(IllegalStateException.class, () -> stale.setDescription("stale write")); // The old copy is rejected
+        assertThrows(IllegalStateException.class, () -> stale.setDuration(Duration.ofMinutes(5))); // For every setter
+        assertEquals("Rebooked", service.getAppointment("X").getDescription()); // The new booking is untouched
+        assertEquals(rebooked, service.getAppointment("X").getAppointmentDate()); // Including its date
+
+        Appointment first = service.getAppointment("X"); // Two live copies
+        Appointment second = service.getAppointment("X"); // Of the same record
+        first.setDescription("Changed by first"); // One copy changes the description
+        Date moved = hoursFromNow(60); // New date
+        second.setAppointmentDate(moved); // The other moves it
+        Appointment current = service.getAppointment("X"); // Fresh copy
+        assertEquals("Changed by first", current.getDescription()); // The move did not revert the description
+        assertEquals(moved, current.getAppointmentDate()); // And the move was stored
+        assertEquals("Changed by first", second.getDescription()); // The moving copy was reloaded first
+        first.setDuration(Duration.ofMinutes(30)); // Duration through the first copy
+        assertEquals(moved, service.getAppointment("X").getAppointmentDate()); // Does not move it back
+        assertEquals(1, service.countInWindow(hoursFromNow(55), hoursFromNow(65))); // Indexed once, under the new date
+    }
+
+    @Test
+    void testEqualDatesAndLongDescriptions() { // Test tie ordering by ID and descriptions longer than a record slot
+        AppointmentService service = new AppointmentService(new OffHeapAppointmentStore()); // Off-heap backend
+        Date date = hoursFromNow(1); // Shared date
+        service.addAppointment(new Appointment("B", date, "Second")); // Same date, later ID
+        service.addAppointment(new Appointment("AA", date, "First")); // Same date, earlier ID
+        service.addAppointment(new Appointment("C", date, "Third")); // Same date, latest ID
+        List<Appointment> found = service.next(3); // All three
+        assertEquals("AA", found.get(0).getAppointmentId()); // Equal dates are ordered by ID
+        assertEquals("B", found.get(1).getAppointmentId()); // Like String.compareTo
+        assertEquals("C", found.get(2).getAppointmentId()); // Last
+
+        String padded = "          Fifty characters of content are fine here.         "; // Valid once trimmed, longer than 50 raw
+        service.getAppointment("B").setDescription(padded); // Stored outside the record
+        assertEquals(padded, service.getAppointment("B").getDescription()); // Kept exactly as given
+        service.getAppointment("B").setDescription("Short again"); // Back into the record
+        assertEquals("Short again", service.getAppointment("B").getDescription()); // Read from the record
+    }
+
+    @Test
+    void testMatchesHeapStoreUnderRandomWorkload() { // Test many adds, deletes and moves against the heap store
+        AppointmentService heap = new AppointmentService(); // Reference behaviour
+        AppointmentService offHeap = new AppointmentService(new OffHeapAppointmentStore()); // Store under test
+        Random random = new Random(42); // Fixed seed so failures reproduce
+        long base = System.currentTimeMillis() + 3_600_000L; // One hour from now
+        for (int step = 0; step < 40_000; step++) { // Enough to split and drop time blocks many times
+            String id = "r" + random.nextInt(20_000); // IDs repeat so deletes and re-adds happen
+            Date date = new Date(base + random.nextInt(1_000) * 60_000L); // Few distinct dates, so ties are common
+            if (heap.getAppointment(id) == null) { // Not stored yet
+                heap.addAppointment(new Appointment(id, date, "Visit " + step)); // Add to both
+                offHeap.addAppointment(new Appointment(id, date, "Visit " + step)); // Same values
+            } else if (random.nextBoolean()) { // Stored: delete it
+                heap.deleteAppointment(id); // Delete from both (frees an off-heap record)
+                offHeap.deleteAppointment(id); // Same ID
+            } else { // Stored: move it
+                heap.getAppointment(id).setAppointmentDate(date); // Move in both
+                offHeap.getAppointment(id).setAppointmentDate(date); // Same date
+            }
+        }
+
+        Date from = new Date(base + 100 * 60_000L); // Window start
+        Date to = new Date(base + 400 * 60_000L); // Window end
+        List<Appointment> expected = heap.findBetween(from, to); // Heap answer
+        List<Appointment> actual = offHeap.findBetween(from, to); // Off-heap answer
+        assertEquals(expected.size(), actual.size()); // Same number of results
+        for (int i = 0; i < expected.size(); i++) { // Same appointments in the same order
+            assertEquals(expected.get(i).getAppointmentId(), actual.get(i).getAppointmentId()); // Same ID
+            assertEquals(expected.get(i).getAppointmentDate(), actual.get(i).getAppointmentDate()); // Same date
+            assertEquals(expected.get(i).getDescription(), actual.get(i).getDescription()); // Same description
+        }
+        assertEquals(heap.countInWindow(from, to), offHeap.countInWindow(from, to)); // Counts agree
+        assertEquals(heap.next(Integer.MAX_VALUE).size(), offHeap.next(Integer.MAX_VALUE).size()); // Same number stored
+    }
+}
@@ -0,0 +1,36 @@
+package src.jmh.java;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Appointment GC Benchmarks
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Full-collection pause with {@code size} appointments live, on either storage
+ * backend. Each measurement is one System.gc() call: the heap store keeps
+ * several objects per appointment for the collector to trace, while the
+ * off-heap store keeps only primitive index arrays on the heap.
+ *
+ * For young-collection pauses under load, run AppointmentServiceBenchmark
+ * with the GC profiler: {@code -prof gc}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class AppointmentGcBenchmark {
+
+    @Benchmark
+    public void fullCollection(AppointmentServiceBenchmark.Loaded state) {
+        System.gc();
+    }
+}
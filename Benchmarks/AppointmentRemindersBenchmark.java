@@ -0,0 +1,100 @@
+package src.jmh.java;
+
+import src.main.java.Appointment;
+import src.main.java.AppointmentReminders;
+import src.main.java.AppointmentService;
+import src.main.java.HeapAppointmentStore;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Appointment Reminder Benchmarks
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Cost of keeping reminders for {@code size} pending appointments spread over
+ * 30 days: moving a random appointment (which reschedules its reminder), and
+ * one advance of the wheel by a tick of simulated time, which fires whatever
+ * came due. Both should stay flat as {@code size} grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AppointmentRemindersBenchmark {
+
+    static final long SPAN_MILLIS = Duration.ofDays(30).toMillis();
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    final SimulatedClock clock = new SimulatedClock();
+    Appointment[] appointments;
+    AppointmentReminders reminders;
+    SplittableRandom random;
+    long fired;
+
+    static final class SimulatedClock extends Clock {
+        long millis = Instant.parse("2026-03-02T09:00:00Z").toEpochMilli();
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void load() {
+        random = new SplittableRandom(320);
+        reminders = new AppointmentReminders(Duration.ofMinutes(15), clock, (id, millis) -> fired++);
+        AppointmentService service = new AppointmentService(new HeapAppointmentStore(), clock, false, null, null, reminders);
+        appointments = new Appointment[size];
+        for (int i = 0; i < size; i++) {
+            appointments[i] = new Appointment("a" + i, clock.instant().plusMillis(SPAN_MILLIS + random.nextLong(SPAN_MILLIS)), "Checkup", clock);
+            service.addAppointment(appointments[i]);
+        }
+    }
+
+    @Benchmark
+    public void reschedule() {
+        Appointment appointment = appointments[random.nextInt(size)];
+        appointment.setAppointmentInstant(clock.instant().plusMillis(SPAN_MILLIS + random.nextLong(SPAN_MILLIS)));
+    }
+
+    @Benchmark
+    public int advanceOneTick() {
+        clock.millis += AppointmentReminders.DEFAULT_TICK.toMillis();
+        return reminders.advance();
+    }
+}
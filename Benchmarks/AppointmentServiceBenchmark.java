@@ -0,0 +1,103 @@
+package src.jmh.java;
+
+import src.main.java.Appointment;
+import src.main.java.AppointmentService;
+import src.main.java.HeapAppointmentStore;
+import src.main.java.OffHeapAppointmentStore;
+
+import java.util.Date;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * AppointmentService Benchmarks
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * JMH benchmarks for the AppointmentService operations.
+ * Each trial preloads a shared service with {@code size} appointments spread
+ * one second apart, starting one day in the future, on either storage
+ * backend ({@code store} = "heap" or "offheap").
+ * 
+ * AppointmentService is not thread-safe, so only the read-only
+ * {@code getAppointment} benchmark is part of the contended pass of
+ * {@link BenchmarkRunner}; the mutating benchmarks run single-threaded.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AppointmentServiceBenchmark {
+
+    static final long ONE_DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    /**
+     * Shared service preloaded with {@code size} appointments (IDs "a0", "a1", ...).
+     */
+    @State(Scope.Benchmark)
+    public static class Loaded {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        public int size;
+
+        @Param({"heap", "offheap"})
+        public String store;
+
+        public AppointmentService service;
+
+        @Setup(Level.Trial)
+        public void load() {
+            service = new AppointmentService("offheap".equals(store)
+                ? new OffHeapAppointmentStore()
+                : new HeapAppointmentStore());
+            long start = System.currentTimeMillis() + ONE_DAY_MILLIS;
+            for (int i = 0; i < size; i++) {
+                service.addAppointment(new Appointment("a" + i, new Date(start + i * 1000L), "Routine checkup"));
+            }
+        }
+    }
+
+    /**
+     * Per-thread state: a random key source and a private appointment for add/delete.
+     */
+    @State(Scope.Thread)
+    public static class Caller {
+        SplittableRandom random;
+        Appointment fresh;
+
+        @Setup(Level.Trial)
+        public void setUp(ThreadParams thread) {
+            random = new SplittableRandom(thread.getThreadIndex());
+            // "n" prefix keeps this ID out of the preloaded "a" range
+            fresh = new Appointment("n" + thread.getThreadIndex(),
+                    new Date(System.currentTimeMillis() + ONE_DAY_MILLIS), "Added by the benchmark");
+        }
+
+        String existingId(int size) {
+            return "a" + random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public Appointment getAppointment(Loaded state, Caller caller) {
+        return state.service.getAppointment(caller.existingId(state.size));
+    }
+
+    /**
+     * Adds and then deletes an appointment so the service size stays constant across iterations.
+     */
+    @Benchmark
+    public void addAndDeleteAppointment(Loaded state, Caller caller) {
+        state.service.addAppointment(caller.fresh);
+        state.service.deleteAppointment(caller.fresh.getAppointmentId());
+    }
+}
@@ -0,0 +1,83 @@
+package src.jmh.java;
+
+import src.main.java.Appointment;
+import src.main.java.AppointmentService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * AppointmentSnapshot Benchmarks
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Startup time of a snapshot-backed AppointmentService against the number of
+ * stored appointments. Each trial writes one snapshot of {@code size}
+ * appointments to a temporary directory, then measures:
+ * - {@code lazyStartup}: map the file and serve the first getAppointment
+ * - {@code eagerStartup}: map the file and decode every appointment
+ *   (what any deserialize-everything format has to do before serving)
+ *
+ * Snapshots are limited to 2 GB, which the 10,000,000 size stays well under.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class AppointmentSnapshotBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    Path directory;
+    Path file;
+    String probeId;
+
+    @Setup(Level.Trial)
+    public void write() throws IOException {
+        AppointmentService service = new AppointmentService();
+        long start = System.currentTimeMillis() + AppointmentServiceBenchmark.ONE_DAY_MILLIS;
+        for (int i = 0; i < size; i++) {
+            service.addAppointment(new Appointment("a" + i, new Date(start + i * 1000L), "Routine checkup"));
+        }
+        directory = Files.createTempDirectory("appointment-snapshot");
+        file = directory.resolve("appointments.snap");
+        service.saveSnapshot(file);
+        probeId = "a" + (size / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Appointment lazyStartup() throws IOException {
+        return AppointmentService.fromSnapshot(file).getAppointment(probeId);
+    }
+
+    @Benchmark
+    public int eagerStartup() throws IOException {
+        AppointmentService service = AppointmentService.fromSnapshot(file);
+        // A time query loads every remaining appointment before it runs
+        return service.countInWindow(new Date(0), new Date(Long.MAX_VALUE));
+    }
+}
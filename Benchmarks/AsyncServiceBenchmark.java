@@ -0,0 +1,146 @@
+package src.jmh.java;
+
+import com.example.AsyncContactService;
+import com.example.Contact;
+import com.example.ContactService;
+import src.main.java.Appointment;
+import src.main.java.AppointmentService;
+import src.main.java.AsyncAppointmentService;
+import src.main.java.AsyncTaskService;
+import src.main.java.Task;
+import src.main.java.TaskService;
+
+import java.util.Date;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Async Facade Benchmarks
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * JMH benchmarks for the CompletableFuture facades over the three services
+ * with {@value #CALLERS} concurrent callers: every invocation issues
+ * {@value #CALLERS} calls without waiting, as that many request threads would,
+ * then waits for all of them. Scores are calls per microsecond, so they compare
+ * directly with the synchronous getX benchmarks.
+ *
+ * Each trial preloads every service with {@code size} records. The contact
+ * facade uses one worker per core; the task and appointment facades have a
+ * single worker because their services are not thread-safe.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AsyncServiceBenchmark {
+
+    static final int CALLERS = 10_000;
+
+    /**
+     * Facades over services preloaded with {@code size} records each.
+     */
+    @State(Scope.Benchmark)
+    public static class Facades {
+        @Param({"1000", "100000", "1000000"})
+        public int size;
+
+        AsyncContactService contacts;
+        AsyncTaskService tasks;
+        AsyncAppointmentService appointments;
+
+        final CompletableFuture<?>[] pending = new CompletableFuture<?>[CALLERS];
+        final SplittableRandom random = new SplittableRandom(42);
+        final String[] names = {"Write Code", "Review Code"};
+        int flip;
+
+        @Setup(Level.Trial)
+        public void load() {
+            ContactService contactService = new ContactService(size);
+            TaskService taskService = new TaskService();
+            AppointmentService appointmentService = new AppointmentService();
+            long start = System.currentTimeMillis() + AppointmentServiceBenchmark.ONE_DAY_MILLIS;
+            for (int i = 0; i < size; i++) {
+                contactService.addContact(new Contact("c" + i, "John", "Doe", String.format("%010d", i), "123 Main St"));
+                taskService.addTask(new Task("t" + i, "Write Code", "Implement unit tests"));
+                appointmentService.addAppointment(new Appointment("a" + i, new Date(start + i * 1000L), "Routine checkup"));
+            }
+            contacts = new AsyncContactService(contactService);
+            tasks = new AsyncTaskService(taskService);
+            appointments = new AsyncAppointmentService(appointmentService);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            contacts.close();
+            tasks.close();
+            appointments.close();
+        }
+
+        int nextIndex() {
+            return random.nextInt(size);
+        }
+
+        // Waits for every call of the invocation; a rejected or failed call fails the benchmark
+        Object awaitAll() {
+            return CompletableFuture.allOf(pending).join();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLERS)
+    public Object getContact(Facades state) {
+        for (int i = 0; i < CALLERS; i++) {
+            state.pending[i] = state.contacts.getContact("c" + state.nextIndex());
+        }
+        return state.awaitAll();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLERS)
+    public Object updateContactAddress(Facades state) {
+        for (int i = 0; i < CALLERS; i++) {
+            state.pending[i] = state.contacts.updateAddress("c" + state.nextIndex(), "456 Oak Ave");
+        }
+        return state.awaitAll();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLERS)
+    public Object getTask(Facades state) {
+        for (int i = 0; i < CALLERS; i++) {
+            state.pending[i] = state.tasks.getTask("t" + state.nextIndex());
+        }
+        return state.awaitAll();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLERS)
+    public Object updateTask(Facades state) {
+        for (int i = 0; i < CALLERS; i++) {
+            state.pending[i] = state.tasks.updateTask("t" + state.nextIndex(), state.names[state.flip++ & 1], null);
+        }
+        return state.awaitAll();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLERS)
+    public Object getAppointment(Facades state) {
+        for (int i = 0; i < CALLERS; i++) {
+            state.pending[i] = state.appointments.getAppointment("a" + state.nextIndex());
+        }
+        return state.awaitAll();
+    }
+}
@@ -0,0 +1,85 @@
+package src.jmh.java;
+
+import java.io.File;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark Runner
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * Runs every service benchmark in three passes and writes JMH JSON result
+ * files, so results from different releases can be diffed:
+ * - single:    one thread, every benchmark
+ * - contended: all available cores sharing one service instance; limited to
+ *              the thread-safe ContactService, the read-only getX
+ *              benchmarks and the constructors
+ * - scaling:   ShardedContactServiceBenchmark and TaskUpdateContentionBenchmark
+ *              once per thread count, one file per count (jmh-scaling-N.json)
+ * 
+ * Usage: BenchmarkRunner [resultsDir]   (default: benchmark-results)
+ * 
+ * System properties:
+ * - bench.sizes    comma-separated preload sizes (default: every @Param value, 1K to 10M)
+ * - bench.threads  thread count for the contended pass (default: available processors)
+ * - bench.scaling  comma-separated thread counts for the scaling pass (default: 1,2,4,8,16,32,64)
+ * - bench.heap     -Xmx for the forked JVMs (default: 8g, enough for 10M entries)
+ */
+public class BenchmarkRunner {
+
+    // Benchmarks that are safe to run with many threads sharing one service
+    private static final String[] CONTENDED = {
+        ContactServiceBenchmark.class.getName() + ".*",
+        TaskServiceBenchmark.class.getName() + ".getTask",
+        AppointmentServiceBenchmark.class.getName() + ".getAppointment",
+        ModelConstructionBenchmark.class.getName() + ".*",
+    };
+
+    public static void main(String[] args) throws RunnerException {
+        File resultsDir = new File(args.length > 0 ? args[0] : "benchmark-results");
+        if (!resultsDir.isDirectory() && !resultsDir.mkdirs()) {
+            throw new IllegalArgumentException("Cannot create results directory: " + resultsDir);
+        }
+        int threads = Integer.getInteger("bench.threads", Runtime.getRuntime().availableProcessors());
+
+        ChainedOptionsBuilder single = options(new File(resultsDir, "jmh-single.json"))
+                .include(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark.*")
+                .threads(1);
+        new Runner(single.build()).run();
+
+        ChainedOptionsBuilder contended = options(new File(resultsDir, "jmh-contended.json"))
+                .threads(threads);
+        for (String pattern : CONTENDED) {
+            contended.include(pattern);
+        }
+        new Runner(contended.build()).run();
+
+        for (String count : System.getProperty("bench.scaling", "1,2,4,8,16,32,64").split(",")) {
+            ChainedOptionsBuilder scaling = options(new File(resultsDir, "jmh-scaling-" + count.trim() + ".json"))
+                    .include(ShardedContactServiceBenchmark.class.getName() + ".*")
+                    .include(TaskUpdateContentionBenchmark.class.getName() + ".*")
+                    .threads(Integer.parseInt(count.trim()));
+            new Runner(scaling.build()).run();
+        }
+    }
+
+    // Options shared by both passes: JSON output, one fork, heap sized for the largest preload
+    private static ChainedOptionsBuilder options(File result) {
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .forks(1)
+                .jvmArgsAppend("-Xmx" + System.getProperty("bench.heap", "8g"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.getPath());
+        String sizes = System.getProperty("bench.sizes");
+        if (sizes != null) {
+            builder.param("size", sizes.split(","));
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,157 @@
+package src.jmh.java;
+
+import com.example.CachingContactStore;
+import com.example.Contact;
+import com.example.ContactService;
+import com.example.MapContactStore;
+import com.example.PackedContactStore;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * ContactService Benchmarks
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * JMH benchmarks for the ContactService operations.
+ * Each trial preloads a shared service with {@code size} contacts so lookups
+ * and updates run against a realistically sized store, on each storage
+ * backend ({@code store} = "map", "packed", or "cached": the packed store
+ * behind a CachingContactStore holding a tenth of the contacts, so with
+ * uniformly random IDs about one lookup in ten is a cache hit).
+ * 
+ * The service is thread-safe, so every benchmark here is also run in the
+ * contended (multi-threaded) pass of {@link BenchmarkRunner}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContactServiceBenchmark {
+
+    /**
+     * Shared service preloaded with {@code size} contacts (IDs "c0", "c1", ...),
+     * each with its own phone (the ID number, zero-padded to 10 digits).
+     * The packed store trades some read speed (values are decoded on access)
+     * for a much smaller heap.
+     */
+    @State(Scope.Benchmark)
+    public static class Loaded {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        public int size;
+
+        @Param({"map", "packed", "cached"})
+        public String store;
+
+        public ContactService service;
+
+        @Setup(Level.Trial)
+        public void load() {
+            switch (store) {
+                case "packed":
+                    service = new ContactService(new PackedContactStore(size, false));
+                    break;
+                case "cached":
+                    service = new ContactService(new CachingContactStore(new PackedContactStore(size, false), Math.max(1, size / 10)));
+                    break;
+                default:
+                    service = new ContactService(new MapContactStore(size, false));
+                    break;
+            }
+            for (int i = 0; i < size; i++) {
+                service.addContact(new Contact("c" + i, "John", "Doe", phone(i), "123 Main St"));
+            }
+        }
+    }
+
+    /**
+     * Per-thread state: a random key source and a private contact for add/delete,
+     * so threads never collide on the IDs they insert.
+     */
+    @State(Scope.Thread)
+    public static class Caller {
+        SplittableRandom random;
+        Contact fresh;
+        int flip;
+
+        @Setup(Level.Trial)
+        public void setUp(ThreadParams thread) {
+            random = new SplittableRandom(thread.getThreadIndex());
+            // "n" prefix keeps these IDs out of the preloaded "c" range
+            fresh = new Contact("n" + thread.getThreadIndex(), "Jane", "Smith", "0987654321", "456 Oak Ave");
+        }
+
+        String existingId(int size) {
+            return "c" + random.nextInt(size);
+        }
+
+        String existingPhone(int size) {
+            return phone(random.nextInt(size));
+        }
+
+        // Alternates contact i between phone(i) and phone(i + size), so phones
+        // stay distinct and neither store builds up a shared-phone hot spot
+        String nextPhone(int i, int size) {
+            return phone(i + (flip++ & 1) * size);
+        }
+    }
+
+    static String phone(int i) {
+        return String.format("%010d", i);
+    }
+
+    @Benchmark
+    public Contact getContact(Loaded state, Caller caller) {
+        return state.service.getContact(caller.existingId(state.size));
+    }
+
+    /**
+     * Caller-ID style reverse lookup through the phone index.
+     */
+    @Benchmark
+    public List<Contact> findByPhone(Loaded state, Caller caller) {
+        return state.service.findByPhone(caller.existingPhone(state.size));
+    }
+
+    /**
+     * Adds and then deletes a contact so the map size stays constant across iterations.
+     */
+    @Benchmark
+    public void addAndDeleteContact(Loaded state, Caller caller) {
+        state.service.addContact(caller.fresh);
+        state.service.deleteContact(caller.fresh.getContactID());
+    }
+
+    @Benchmark
+    public void updatePhone(Loaded state, Caller caller) {
+        int i = caller.random.nextInt(state.size);
+        state.service.updatePhone("c" + i, caller.nextPhone(i, state.size));
+    }
+
+    @Benchmark
+    public void updateFirstName(Loaded state, Caller caller) {
+        state.service.updateFirstName(caller.existingId(state.size), "Jane");
+    }
+
+    @Benchmark
+    public void updateLastName(Loaded state, Caller caller) {
+        state.service.updateLastName(caller.existingId(state.size), "Smith");
+    }
+
+    @Benchmark
+    public void updateAddress(Loaded state, Caller caller) {
+        state.service.updateAddress(caller.existingId(state.size), "456 Oak Ave");
+    }
+}
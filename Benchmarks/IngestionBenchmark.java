@@ -0,0 +1,161 @@
+package src.jmh.java;
+
+import com.example.Contact;
+import com.example.ContactValidation;
+import src.main.java.Appointment;
+import src.main.java.AppointmentValidation;
+import src.main.java.Task;
+import src.main.java.TaskValidation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Ingestion Benchmarks
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Compares the two ways of turning raw rows into Contact, Task and Appointment
+ * objects: the throwing constructors (catching IllegalArgumentException for bad
+ * rows) and tryCreate with one reused validation result. {@code badPercent}
+ * sets the share of rows with one invalid field; at 0 the two paths should cost
+ * the same, and the gap at 20 and 50 is the cost of the exceptions. Scores are
+ * per row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class IngestionBenchmark {
+
+    static final int ROWS = 1024;
+
+    @Param({"0", "20", "50"})
+    public int badPercent;
+
+    String[][] contactRows;
+    String[][] taskRows;
+    String[] appointmentIds;
+    Instant[] appointmentInstants;
+    String[] appointmentDescriptions;
+    Clock clock;
+
+    final ContactValidation contactResult = new ContactValidation();
+    final TaskValidation taskResult = new TaskValidation();
+    final AppointmentValidation appointmentResult = new AppointmentValidation();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        clock = Clock.fixed(Instant.parse("2026-03-02T09:00:00Z"), ZoneOffset.UTC);
+        contactRows = new String[ROWS][];
+        taskRows = new String[ROWS][];
+        appointmentIds = new String[ROWS];
+        appointmentInstants = new Instant[ROWS];
+        appointmentDescriptions = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            boolean bad = random.nextInt(100) < badPercent;
+            String id = "id" + i;
+            contactRows[i] = new String[] {id, "John", "Doe", bad ? "555-123" : "5551234567", "123 Main St"};
+            taskRows[i] = new String[] {id, bad ? "A task name far too long" : "Write Code", "First draft"};
+            appointmentIds[i] = id;
+            appointmentInstants[i] = clock.instant().plus(Duration.ofDays(bad ? -1 : 1));
+            appointmentDescriptions[i] = "Team meeting";
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int contactConstructor() {
+        int accepted = 0;
+        for (String[] row : contactRows) {
+            try {
+                new Contact(row[0], row[1], row[2], row[3], row[4]);
+                accepted++;
+            } catch (IllegalArgumentException e) {
+                // Rejected row
+            }
+        }
+        return accepted;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int contactTryCreate() {
+        int accepted = 0;
+        for (String[] row : contactRows) {
+            if (Contact.tryCreate(row[0], row[1], row[2], row[3], row[4], contactResult).isValid()) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int taskConstructor() {
+        int accepted = 0;
+        for (String[] row : taskRows) {
+            try {
+                new Task(row[0], row[1], row[2]);
+                accepted++;
+            } catch (IllegalArgumentException e) {
+                // Rejected row
+            }
+        }
+        return accepted;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int taskTryCreate() {
+        int accepted = 0;
+        for (String[] row : taskRows) {
+            if (Task.tryCreate(row[0], row[1], row[2], taskResult).isValid()) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int appointmentConstructor() {
+        int accepted = 0;
+        for (int i = 0; i < ROWS; i++) {
+            try {
+                new Appointment(appointmentIds[i], appointmentInstants[i], appointmentDescriptions[i], clock);
+                accepted++;
+            } catch (IllegalArgumentException e) {
+                // Rejected row
+            }
+        }
+        return accepted;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int appointmentTryCreate() {
+        int accepted = 0;
+        for (int i = 0; i < ROWS; i++) {
+            if (Appointment.tryCreate(appointmentIds[i], appointmentInstants[i], appointmentDescriptions[i], clock, appointmentResult).isValid()) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+}
@@ -0,0 +1,79 @@
+package src.jmh.java;
+
+import com.example.Contact;
+import com.example.ContactMetrics;
+import com.example.ContactService;
+import com.example.MapContactStore;
+import src.main.java.Appointment;
+import src.main.java.AppointmentMetrics;
+import src.main.java.AppointmentService;
+import src.main.java.HeapAppointmentStore;
+import src.main.java.Task;
+import src.main.java.TaskMetrics;
+import src.main.java.TaskService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Metrics Overhead Benchmarks
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * Measures what ContactMetrics, TaskMetrics and AppointmentMetrics add to the
+ * cheapest call of each service (a lookup by ID), where the overhead is the
+ * largest share of the cost. The {@code metrics} parameter selects no metrics,
+ * the default sampled timing, or timing every call ("every"), which shows the
+ * cost of the two System.nanoTime reads that sampling avoids.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    @Param({"off", "sampled", "every"})
+    public String metrics;
+
+    ContactService contacts;
+    TaskService tasks;
+    AppointmentService appointments;
+
+    @Setup
+    public void setUp() {
+        boolean on = !metrics.equals("off");
+        int interval = metrics.equals("every") ? 1 : ContactMetrics.DEFAULT_SAMPLE_INTERVAL;
+        contacts = new ContactService(new MapContactStore(16, false), null, on ? new ContactMetrics(interval) : null);
+        tasks = new TaskService(null, on ? new TaskMetrics(interval) : null);
+        Clock clock = Clock.systemUTC();
+        appointments = new AppointmentService(new HeapAppointmentStore(), clock, true, null, on ? new AppointmentMetrics(interval) : null);
+        contacts.addContact(new Contact("c1", "John", "Doe", "5551234567", "123 Main St"));
+        tasks.addTask(new Task("t1", "Write Code", "First draft"));
+        appointments.addAppointment(new Appointment("a1", clock.instant().plus(Duration.ofDays(365)), "Team meeting", clock));
+    }
+
+    @Benchmark
+    public Contact getContact() {
+        return contacts.getContact("c1");
+    }
+
+    @Benchmark
+    public Task getTask() {
+        return tasks.getTask("t1");
+    }
+
+    @Benchmark
+    public Appointment getAppointment() {
+        return appointments.getAppointment("a1");
+    }
+}
@@ -0,0 +1,56 @@
+package src.jmh.java;
+
+import com.example.Contact;
+import src.main.java.Appointment;
+import src.main.java.Task;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Model Construction Benchmarks
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * JMH benchmarks for the validating constructors of Contact, Task and Appointment.
+ * Construction touches no shared state, so these run in both passes of
+ * {@link BenchmarkRunner}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ModelConstructionBenchmark {
+
+    // Non-final fields stop the JIT from constant-folding the inputs
+    String id = "12345";
+    String firstName = "John";
+    String lastName = "Doe";
+    String phone = "1234567890";
+    String address = "123 Main St New Haven";
+    String taskName = "Finish Report";
+    String description = "Complete the monthly sales report by EOD";
+    Date future = new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(365));
+
+    @Benchmark
+    public Contact newContact() {
+        return new Contact(id, firstName, lastName, phone, address);
+    }
+
+    @Benchmark
+    public Task newTask() {
+        return new Task(id, taskName, description);
+    }
+
+    @Benchmark
+    public Appointment newAppointment() {
+        return new Appointment(id, future, description);
+    }
+}
@@ -0,0 +1,116 @@
+package src.jmh.java;
+
+import com.example.Contact;
+import com.example.ContactService;
+import com.example.ShardedContactService;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Sharded ContactService Benchmarks
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Write throughput of one shared ContactService against a
+ * ShardedContactService with {@code shards} partitions ({@code shards} = 0
+ * means the plain service, called directly). Every caller updates the phone
+ * of random preloaded contacts; a sharded caller keeps {@value #WINDOW}
+ * writes in flight and waits for them together, as a sync job would.
+ *
+ * Scores are updates per microsecond across all callers. BenchmarkRunner's
+ * scaling pass runs this class at 1 to 64 threads (bench.scaling), which
+ * shows where the single service stops scaling and how far the shards go.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ShardedContactServiceBenchmark {
+
+    static final int WINDOW = 64;
+
+    @State(Scope.Benchmark)
+    public static class Loaded {
+        @Param({"100000"})
+        public int size;
+
+        @Param({"0", "1", "8", "64"})
+        public int shards;
+
+        ContactService plain;
+        ShardedContactService sharded;
+
+        @Setup(Level.Trial)
+        public void load() {
+            if (shards == 0) {
+                plain = new ContactService(size);
+            } else {
+                sharded = new ShardedContactService(shards, size);
+            }
+            for (int i = 0; i < size; i++) {
+                Contact contact = new Contact("c" + i, "John", "Doe", String.format("%010d", i), "123 Main St");
+                if (plain != null) {
+                    plain.addContact(contact);
+                } else {
+                    sharded.addContact(contact).join();
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            if (sharded != null) {
+                sharded.close();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        SplittableRandom random;
+        final String[] phones = {"5551234567", "5559876543"};
+        final CompletableFuture<?>[] inFlight = new CompletableFuture<?>[WINDOW];
+        int flip;
+
+        @Setup(Level.Trial)
+        public void setUp(ThreadParams thread) {
+            random = new SplittableRandom(thread.getThreadIndex());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WINDOW)
+    public void updatePhone(Loaded state, Caller caller) {
+        String phone = caller.phones[caller.flip++ & 1];
+        if (state.plain != null) {
+            for (int i = 0; i < WINDOW; i++) {
+                state.plain.updatePhone("c" + caller.random.nextInt(state.size), phone);
+            }
+            return;
+        }
+        for (int i = 0; i < WINDOW; i++) {
+            caller.inFlight[i] = state.sharded.updatePhone("c" + caller.random.nextInt(state.size), phone);
+        }
+        CompletableFuture.allOf(caller.inFlight).join();
+    }
+
+    @Benchmark
+    public Contact getContact(Loaded state, Caller caller) {
+        String id = "c" + caller.random.nextInt(state.size);
+        return state.plain != null ? state.plain.getContact(id) : state.sharded.getContact(id);
+    }
+}
@@ -0,0 +1,81 @@
+package src.jmh.java;
+
+import src.main.java.Task;
+import src.main.java.TaskPage;
+import src.main.java.TaskService;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Task Export Benchmarks
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Time to visit every task of a service preloaded with {@code size} tasks
+ * (IDs "t0", "t1", ...) through each of the listing APIs: a sequential
+ * stream, a parallel stream (which shows how well TaskSpliterator splits on
+ * the host's cores), and listTasks pages of {@code pageSize}. Each visit does
+ * a little work per task, as an export serializing it would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class TaskExportBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"1000"})
+    public int pageSize;
+
+    TaskService service;
+
+    @Setup(Level.Trial)
+    public void load() {
+        service = new TaskService();
+        for (int i = 0; i < size; i++) {
+            service.addTask(new Task("t" + i, "Write Code", "Implement unit tests"));
+        }
+    }
+
+    @Benchmark
+    public long streamSequential() {
+        return service.streamTasks().mapToLong(TaskExportBenchmark::work).sum();
+    }
+
+    @Benchmark
+    public long streamParallel() {
+        return service.streamTasks().parallel().mapToLong(TaskExportBenchmark::work).sum();
+    }
+
+    @Benchmark
+    public long listAllPages() {
+        long sum = 0;
+        TaskPage page = service.listTasks(null, pageSize);
+        while (true) {
+            for (Task task : page.getTasks()) {
+                sum += work(task);
+            }
+            if (!page.hasNext()) {
+                return sum;
+            }
+            page = service.listTasks(page.getNextPageToken(), pageSize);
+        }
+    }
+
+    // Stand-in for serializing one task
+    static long work(Task task) {
+        return task.getTaskId().hashCode() + task.getName().length() + task.getDescription().length();
+    }
+}
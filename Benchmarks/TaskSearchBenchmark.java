@@ -0,0 +1,84 @@
+package src.jmh.java;
+
+import src.main.java.Task;
+import src.main.java.TaskService;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * TaskService Search Benchmarks
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Type-ahead search latency against the number of tasks. Names and
+ * descriptions are built from a small vocabulary plus the task number, so
+ * queries hit a realistic mix of common and rare grams. Each call asks for
+ * the first page of 20 results, as a search box would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TaskSearchBenchmark {
+
+    static final String[] WORDS = {"fix", "login", "report", "deploy", "review", "sprint", "budget", "client",
+        "design", "server", "cache", "email", "invoice", "meeting", "backup"};
+
+    static final int PAGE = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"log", "invoice", "about cache", "zzz"})
+    public String query;
+
+    TaskService service;
+
+    @Setup(Level.Trial)
+    public void load() {
+        service = new TaskService();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < size; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            String description = "Task " + i + " about " + WORDS[random.nextInt(WORDS.length)];
+            service.addTask(new Task("t" + i, name, description));
+        }
+    }
+
+    @Benchmark
+    public List<Task> searchBySubstring() {
+        return service.searchBySubstring(query, PAGE);
+    }
+
+    @Benchmark
+    public List<Task> searchByPrefix() {
+        return service.searchByPrefix(query, PAGE);
+    }
+
+    /**
+     * The scan the search index replaces: every task, name and description.
+     */
+    @Benchmark
+    public int scanAll() {
+        int found = 0;
+        for (int i = 0; i < size && found < PAGE; i++) {
+            Task task = service.getTask("t" + i);
+            if (task.getName().contains(query) || task.getDescription().contains(query)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,132 @@
+package src.jmh.java;
+
+import src.main.java.Task;
+import src.main.java.TaskBatchResult;
+import src.main.java.TaskOp;
+import src.main.java.TaskService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * TaskService Benchmarks
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * JMH benchmarks for the TaskService operations.
+ * Each trial preloads a shared service with {@code size} tasks.
+ * 
+ * TaskService is not thread-safe, so only the read-only {@code getTask}
+ * benchmark is part of the contended pass of {@link BenchmarkRunner};
+ * the mutating benchmarks run single-threaded.
+ * 
+ * {@code applyBatchUpdates} scores updates per microsecond, so it compares
+ * directly with {@code updateTask}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmark {
+
+    static final int BATCH = 100;
+
+    /**
+     * Shared service preloaded with {@code size} tasks (IDs "t0", "t1", ...).
+     */
+    @State(Scope.Benchmark)
+    public static class Loaded {
+        @Param({"1000", "100000", "1000000", "10000000"})
+        public int size;
+
+        public TaskService service;
+
+        @Setup(Level.Trial)
+        public void load() {
+            service = new TaskService();
+            for (int i = 0; i < size; i++) {
+                service.addTask(new Task("t" + i, "Write Code", "Implement unit tests"));
+            }
+        }
+    }
+
+    /**
+     * Per-thread state: a random key source and a private task for add/delete.
+     */
+    @State(Scope.Thread)
+    public static class Caller {
+        SplittableRandom random;
+        Task fresh;
+        String[] names = {"Write Code", "Review Code"};
+        int flip;
+
+        @Setup(Level.Trial)
+        public void setUp(ThreadParams thread) {
+            random = new SplittableRandom(thread.getThreadIndex());
+            // "n" prefix keeps this ID out of the preloaded "t" range
+            fresh = new Task("n" + thread.getThreadIndex(), "New Task", "Added by the benchmark");
+        }
+
+        String existingId(int size) {
+            return "t" + random.nextInt(size);
+        }
+
+        String nextName() {
+            return names[flip++ & 1];
+        }
+    }
+
+    @Benchmark
+    public Task getTask(Loaded state, Caller caller) {
+        return state.service.getTask(caller.existingId(state.size));
+    }
+
+    /**
+     * Adds and then deletes a task so the map size stays constant across iterations.
+     */
+    @Benchmark
+    public boolean addAndDeleteTask(Loaded state, Caller caller) {
+        state.service.addTask(caller.fresh);
+        return state.service.deleteTask(caller.fresh.getTaskId());
+    }
+
+    /**
+     * Deletes an ID that is never present, measuring the miss path on its own.
+     */
+    @Benchmark
+    public boolean deleteMissingTask(Loaded state) {
+        return state.service.deleteTask("missing");
+    }
+
+    @Benchmark
+    public void updateTask(Loaded state, Caller caller) {
+        state.service.updateTask(caller.existingId(state.size), caller.nextName(), "Updated by the benchmark");
+    }
+
+    /**
+     * Applies {@value #BATCH} random updates as one batch, including building the op list.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public TaskBatchResult applyBatchUpdates(Loaded state, Caller caller) {
+        List<TaskOp> ops = new ArrayList<>(BATCH);
+        String name = caller.nextName();
+        for (int i = 0; i < BATCH; i++) {
+            ops.add(TaskOp.update(caller.existingId(state.size), name, "Updated by the benchmark"));
+        }
+        return state.service.applyBatch(ops);
+    }
+}
@@ -0,0 +1,122 @@
+package src.jmh.java;
+
+import src.main.java.Task;
+import src.main.java.TaskService;
+import src.main.java.TaskServiceSnapshot;
+import src.main.java.TaskSnapshot;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Task Storage Benchmarks
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * TaskService's two storage modes side by side, on a service preloaded with
+ * {@code size} tasks (IDs "t0", "t1", ...): lookups, updates and add/delete
+ * pairs (updates per microsecond), and the cost of snapshot() and of reading
+ * every task of one. HASH_MAP copies every task per snapshot; PERSISTENT
+ * only reads the current trie root.
+ *
+ * Memory: each trial prints the heap retained by the loaded service (after a
+ * full collection) as bytes per task. Run with {@code -prof gc} to see the
+ * bytes allocated per operation as well (gc.alloc.rate.norm): the trie's
+ * path copying on every change, and the HASH_MAP snapshot's full copy.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskStorageBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Loaded {
+        @Param({"HASH_MAP", "PERSISTENT"})
+        public TaskService.Storage storage;
+
+        @Param({"100000", "1000000"})
+        public int size;
+
+        TaskService service;
+        SplittableRandom random = new SplittableRandom(320);
+        Task fresh = new Task("n0", "New Task", "Added by the benchmark");
+        int flip;
+
+        @Setup(Level.Trial)
+        public void load() {
+            long before = usedHeap();
+            service = new TaskService(storage);
+            for (int i = 0; i < size; i++) {
+                service.addTask(new Task("t" + i, "Write Code", "Implement unit tests"));
+            }
+            long retained = usedHeap() - before;
+            System.out.println("Retained heap (" + storage + ", " + size + " tasks): " + retained / size + " bytes per task");
+        }
+
+        String existingId() {
+            return "t" + random.nextInt(size);
+        }
+
+        String nextName() {
+            return (flip++ & 1) == 0 ? "Write Code" : "Review Code";
+        }
+    }
+
+    @Benchmark
+    public Task getTask(Loaded state) {
+        return state.service.getTask(state.existingId());
+    }
+
+    @Benchmark
+    public void updateTask(Loaded state) {
+        state.service.updateTask(state.existingId(), state.nextName(), null);
+    }
+
+    /**
+     * Adds and then deletes a task so the service size stays constant across iterations.
+     */
+    @Benchmark
+    public boolean addAndDeleteTask(Loaded state) {
+        state.service.addTask(state.fresh);
+        return state.service.deleteTask(state.fresh.getTaskId());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public TaskServiceSnapshot snapshot(Loaded state) {
+        return state.service.snapshot();
+    }
+
+    /**
+     * Takes a snapshot and reads every task in it, as a reporting job would.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long snapshotAndScan(Loaded state) {
+        long sum = 0;
+        for (TaskSnapshot task : state.service.snapshot()) {
+            sum += task.getName().length() + task.getVersion();
+        }
+        return sum;
+    }
+
+    // Heap in use after a full collection
+    static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
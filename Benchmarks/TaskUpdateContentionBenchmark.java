@@ -0,0 +1,124 @@
+package src.jmh.java;
+
+import src.main.java.Task;
+import src.main.java.TaskService;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Task Update Contention Benchmarks
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Throughput of read-modify-write edits to {@code tasks} tasks of one
+ * TaskService (1 = every caller edits the same task, 1024 = edits spread
+ * out). Each edit reads the task, spends {@code editTokens} of CPU (the
+ * client's edit), then writes through TaskService.updateTask, in one of
+ * three ways:
+ * - unversioned: the 3-argument updateTask, no version check (last writer
+ *                wins, and edits made from a stale read are lost)
+ * - versioned:   the versioned updateTask with the version read before the
+ *                edit, re-read and retried when another edit got in first
+ *                (optimistic)
+ * - locked:      the service lock held from the read to the write, so no
+ *                edit ever conflicts (pessimistic)
+ *
+ * TaskService must not run alongside another call, so every updateTask runs
+ * under the service's monitor, standing in for AsyncTaskService's single
+ * worker. Reads go to the Task objects, which are safe to read from any
+ * thread. Scores are edits per microsecond across all callers; "conflicts"
+ * counts the versioned edits that had to be retried. BenchmarkRunner's
+ * scaling pass runs this class at 1 to 64 threads (bench.scaling).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TaskUpdateContentionBenchmark {
+
+    @Param({"unversioned", "versioned", "locked"})
+    public String mode;
+
+    @Param({"1", "1024"})
+    public int tasks;
+
+    @Param({"0", "100"})
+    public int editTokens;
+
+    TaskService service;
+    Task[] stored;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Conflicts {
+        public long conflicts;
+    }
+
+    @Setup(Level.Trial)
+    public void load() {
+        service = new TaskService();
+        stored = new Task[tasks];
+        for (int i = 0; i < tasks; i++) {
+            service.addTask(new Task("t" + i, "Write Code", "Implement unit tests"));
+            stored[i] = service.getTask("t" + i);
+        }
+    }
+
+    @Benchmark
+    public long update(Conflicts counters) {
+        int i = ThreadLocalRandom.current().nextInt(tasks);
+        String name = (i & 1) == 0 ? "Review Code" : "Write Code";
+        switch (mode) {
+            case "versioned":
+                return versioned(stored[i], name, counters);
+            case "locked":
+                return locked(stored[i], name);
+            default:
+                return unversioned(stored[i], name);
+        }
+    }
+
+    long unversioned(Task task, String name) {
+        long read = task.getVersion();
+        Blackhole.consumeCPU(editTokens);
+        synchronized (service) {
+            service.updateTask(task.getTaskId(), name, null);
+        }
+        return read;
+    }
+
+    long versioned(Task task, String name, Conflicts counters) {
+        while (true) {
+            long read = task.getVersion();
+            Blackhole.consumeCPU(editTokens);
+            try {
+                synchronized (service) {
+                    return service.updateTask(task.getTaskId(), read, name, null);
+                }
+            } catch (IllegalStateException stale) {
+                counters.conflicts++;
+            }
+        }
+    }
+
+    long locked(Task task, String name) {
+        synchronized (service) {
+            long read = task.getVersion();
+            Blackhole.consumeCPU(editTokens);
+            return service.updateTask(task.getTaskId(), read, name, null);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package src.jmh.java;
+
+import com.example.ContactError;
+import com.example.ContactValidator;
+import src.main.java.AppointmentError;
+import src.main.java.AppointmentValidator;
+import src.main.java.TaskError;
+import src.main.java.TaskValidator;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Validation Benchmarks
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * Compares the single-pass validators (ContactValidator, TaskValidator,
+ * AppointmentValidator) against copies of the checks they replaced:
+ * String.matches("\\d{10}") for phones, trim() for blank/length rules and
+ * Date.before(new Date()) for appointment dates.
+ * 
+ * Run with -prof gc to compare allocation per operation as well as time.
+ * The {@code valid} parameter switches between valid input and input that
+ * fails the check, since both paths matter during bulk imports.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ValidationBenchmark {
+
+    @Param({"true", "false"})
+    public boolean valid;
+
+    String phone;
+    String name;
+    String description;
+    Date date;
+
+    @Setup
+    public void setUp() {
+        phone = valid ? "1234567890" : "12345abcde";
+        name = valid ? "  Finish Report  " : "  Finish the quarterly report  ";
+        description = valid ? "Complete the monthly sales report by EOD" : "   ";
+        long offset = TimeUnit.DAYS.toMillis(1);
+        date = new Date(System.currentTimeMillis() + (valid ? offset : -offset));
+    }
+
+    @Benchmark
+    public boolean phoneRegex() {
+        return legacyPhone(phone);
+    }
+
+    @Benchmark
+    public ContactError phoneValidator() {
+        return ContactValidator.checkPhone(phone);
+    }
+
+    @Benchmark
+    public boolean taskNameTrim() {
+        return legacyText(name, 20);
+    }
+
+    @Benchmark
+    public TaskError taskNameValidator() {
+        return TaskValidator.checkName(name);
+    }
+
+    @Benchmark
+    public boolean appointmentDescriptionTrim() {
+        return legacyText(description, 50);
+    }
+
+    @Benchmark
+    public AppointmentError appointmentDescriptionValidator() {
+        return AppointmentValidator.checkDescription(description);
+    }
+
+    @Benchmark
+    public boolean appointmentDateNewDate() {
+        return date != null && !date.before(new Date());
+    }
+
+    @Benchmark
+    public AppointmentError appointmentDateValidator() {
+        return AppointmentValidator.checkAppointmentDate(date, System.currentTimeMillis());
+    }
+
+    // Former Contact.validatePhone check
+    private static boolean legacyPhone(String phone) {
+        return phone != null && phone.matches("\\d{10}");
+    }
+
+    // Former Task/Appointment name and description checks
+    private static boolean legacyText(String value, int max) {
+        return value != null && !value.trim().isEmpty() && value.trim().length() <= max;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * AsyncContactService.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service - Asynchronous Facade
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ * Description:
+ * Non-blocking facade over a ContactService. Every method returns a CompletableFuture
+ * right away and runs the matching ContactService call on the facade's own worker
+ * threads, so a request thread never blocks on the service (or on a store that is
+ * later backed by disk).
+ *
+ * - Workers: a fixed pool of daemon threads (one per core by default). ContactService
+ *   is thread-safe, so the workers call it in parallel.
+ * - Backpressure: at most maxPending calls may be queued or running. Past that, a call
+ *   returns a future that has already failed with RejectedExecutionException instead
+ *   of queueing without bound; the caller can shed the request or retry later.
+ * - Failures: an exception thrown by the service (for example the usual
+ *   IllegalArgumentException) completes the future exceptionally with that exception.
+ * - Callbacks: a dependent stage added with thenApply, thenAccept and similar may run
+ *   on a worker thread; use the ...Async variants for slow work so the workers stay free.
+ *
+ * close() stops new calls, lets the queued ones finish and stops the workers.
+ * The wrapped ContactService is not closed and can still be used directly.
+ */
+// src/main/java/com/example/AsyncContactService.java
+package com.example; // Adjust the package name as needed for your project structure
+
+import java.util.Collection; // Import Collection for the bulk load input
+import java.util.List; // Import List for raw records and phone lookups
+import java.util.concurrent.Callable; // Import Callable for the work handed to the workers
+import java.util.concurrent.CompletableFuture; // Import CompletableFuture for the non-blocking results
+import java.util.concurrent.ExecutorService; // Import ExecutorService for the worker pool
+import java.util.concurrent.LinkedBlockingQueue; // Import LinkedBlockingQueue for the pool's work queue (bounded by the permits)
+import java.util.concurrent.RejectedExecutionException; // Import RejectedExecutionException for calls over the limit or after close
+import java.util.concurrent.Semaphore; // Import Semaphore to bound the number of pending calls
+import java.util.concurrent.ThreadPoolExecutor; // Import ThreadPoolExecutor to build the worker pool
+import java.util.concurrent.TimeUnit; // Import TimeUnit for the pool's keep-alive and shutdown wait
+import java.util.concurrent.atomic.AtomicInteger; // Import AtomicInteger to number the worker threads
+import java.util.function.Function; // Import Function for running custom work against the service
+
+public class AsyncContactService implements AutoCloseable { // Class definition for the asynchronous facade
+    static final int DEFAULT_MAX_PENDING = 16_384; // Pending calls allowed before new calls fail fast (room for 10K concurrent callers)
+
+    private final ContactService service; // Wrapped service, called only from the worker threads
+    private final ExecutorService workers; // Fixed pool running the service calls
+    private final Semaphore pending; // One permit per call that may be queued or running
+    private final int maxPending; // Limit reported in the rejection message
+
+    public AsyncContactService(ContactService service) { // Constructor with one worker per core and the default limit
+        this(service, Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_PENDING); // Defaults suited to an in-memory store
+    }
+
+    public AsyncContactService(ContactService service, int threads, int maxPending) { // Constructor with an explicit pool size and limit, e.g. more threads for a disk-backed store
+        if (service == null) { // Validate that the service is not null
+            throw new IllegalArgumentException("Contact service cannot be null."); // Throw an exception if the service is null
+        }
+        if (threads < 1) { // Validate the pool size
+            throw new IllegalArgumentException("Thread count must be at least 1."); // Throw an exception if there would be no worker
+        }
+        if (maxPending < 1) { // Validate the limit
+            throw new IllegalArgumentException("Pending call limit must be at least 1."); // Throw an exception if no call could ever run
+        }
+        this.service = service; // Store the service
+        this.maxPending = maxPending; // Store the limit
+        this.pending = new Semaphore(maxPending); // All permits free
+        AtomicInteger count = new AtomicInteger(); // Numbers the worker threads
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> { // Fixed pool; the permits keep the queue bounded
+            Thread thread = new Thread(runnable, "contact-service-" + count.incrementAndGet()); // Named for thread dumps
+            thread.setDaemon(true); // A forgotten close() does not keep the JVM alive
+            return thread; // New worker
+        });
+    }
+
+    public CompletableFuture<Void> addContact(Contact contact) { // Asynchronous ContactService.addContact
+        return run(() -> service.addContact(contact)); // Completes once the contact is stored
+    }
+
+    public CompletableFuture<BulkImportResult> addAll(Collection<Contact> batch) { // Asynchronous ContactService.addAll
+        return submit(() -> service.addAll(batch)); // The report arrives when the whole batch is loaded
+    }
+
+    public CompletableFuture<BulkImportResult> importRecords(List<String[]> rows) { // Asynchronous ContactService.importRecords
+        return submit(() -> service.importRecords(rows)); // The report arrives when the whole batch is loaded
+    }
+
+    public CompletableFuture<Void> deleteContact(String contactID) { // Asynchronous ContactService.deleteContact
+        return run(() -> service.deleteContact(contactID)); // Completes once the contact is gone
+    }
+
+    public CompletableFuture<Void> updateFirstName(String contactID, String firstName) { // Asynchronous ContactService.updateFirstName
+        return run(() -> service.updateFirstName(contactID, firstName)); // Completes once the update is stored
+    }
+
+    public CompletableFuture<Void> updateLastName(String contactID, String lastName) { // Asynchronous ContactService.updateLastName
+        return run(() -> service.updateLastName(contactID, lastName)); // Completes once the update is stored
+    }
+
+    public CompletableFuture<Void> updatePhone(String contactID, String phone) { // Asynchronous ContactService.updatePhone
+        return run(() -> service.updatePhone(contactID, phone)); // Completes once the update is stored
+    }
+
+    public CompletableFuture<Void> updateAddress(String contactID, String address) { // Asynchronous ContactService.updateAddress
+        return run(() -> service.updateAddress(contactID, address)); // Completes once the update is stored
+    }
+
+    public CompletableFuture<Contact> getContact(String contactID) { // Asynchronous ContactService.getContact
+        return submit(() -> service.getContact(contactID)); // Completes with the contact, or null if not found
+    }
+
+    public CompletableFuture<List<Contact>> findByPhone(String phone) { // Asynchronous ContactService.findByPhone
+        return submit(() -> service.findByPhone(phone)); // Completes with the owners of the phone
+    }
+
+    public <T> CompletableFuture<T> call(Function<ContactService, T> operation) { // Runs any other work against the service on a worker, under the same limit
+        if (operation == null) { // Validate that the operation is not null
+            throw new IllegalArgumentException("Operation cannot be null."); // Throw an exception if there is nothing to run
+        }
+        return submit(() -> operation.apply(service)); // Completes with the operation's result
+    }
+
+    @Override
+    public void close() { // Stops accepting calls, then waits for the queued ones to finish
+        workers.shutdown(); // New calls are rejected from now on
+        try {
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS); // Every accepted call completes its future
+        } catch (InterruptedException e) { // The caller was interrupted while waiting
+            Thread.currentThread().interrupt(); // Keep the interrupt for the caller; the workers finish on their own
+        }
+    }
+
+    private CompletableFuture<Void> run(Runnable operation) { // Helper method for the service calls that return nothing
+        return submit(() -> { // Same path as every other call
+            operation.run(); // Perform the call
+            return null; // Void result
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> operation) { // Helper method that queues one call under the pending limit
+        if (!pending.tryAcquire()) { // Never block the caller: fail fast when the limit is reached
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Too many pending contact operations (limit " + maxPending + ").")); // Backpressure signal
+        }
+        CompletableFuture<T> future = new CompletableFuture<>(); // Completed by the worker
+        try {
+            workers.execute(() -> complete(future, operation)); // Queue the call
+        } catch (RejectedExecutionException closed) { // The facade has been closed
+            pending.release(); // The call never ran
+            future.completeExceptionally(new RejectedExecutionException("Async contact service is closed.", closed)); // Report it through the future
+        }
+        return future; // Return immediately
+    }
+
+    private <T> void complete(CompletableFuture<T> future, Callable<T> operation) { // Helper method run on a worker: call the service, free the permit, then complete
+        T result; // Value of the call
+        try {
+            result = operation.call(); // Call the service
+        } catch (Throwable failure) { // Validation errors and anything else the service throws
+            pending.release(); // Free the permit before callbacks run
+            future.completeExceptionally(failure); // Hand the exception to the caller
+            return; // Done
+        }
+        pending.release(); // Free the permit before callbacks run
+        future.complete(result); // Hand the value to the caller
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * AsyncContactServiceTest.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service - Unit Tests for AsyncContactService Class
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ * Description:
+ * JUnit 5 test class for the asynchronous ContactService facade:
+ *
+ * - Every call completes its future with the service's result or exception
+ * - Many callers at once lose no contact
+ * - Calls over the pending limit fail fast instead of queueing
+ * - close() finishes accepted calls and rejects later ones
+ */
+// src/test/java/com/example/AsyncContactServiceTest.java
+package com.example; // Adjust the package name as needed
+
+import java.util.ArrayList; // Importing ArrayList for collecting futures
+import java.util.Collections; // Importing Collections for a list shared by the caller threads
+import java.util.List; // Importing List interface for type declaration
+import java.util.concurrent.CompletableFuture; // Importing CompletableFuture for the facade's results
+import java.util.concurrent.CompletionException; // Importing CompletionException, which join() wraps failures in
+import java.util.concurrent.CountDownLatch; // Importing CountDownLatch to hold the workers busy
+import java.util.concurrent.RejectedExecutionException; // Importing RejectedExecutionException for the limit and closed cases
+import java.util.concurrent.TimeUnit; // Importing TimeUnit for the latch timeout
+
+import org.junit.jupiter.api.Test; // Importing the Test annotation for marking test methods
+import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for easier test validation
+
+public class AsyncContactServiceTest { // Test class for the asynchronous facade
+
+    @Test
+    void testCallsCompleteWithServiceResults() { // Test method to verify results and exceptions reach the futures
+        ContactService service = new ContactService(); // Wrapped service
+        try (AsyncContactService async = new AsyncContactService(service)) { // Facade with default settings
+            async.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")).join(); // Add through the facade
+            async.updateFirstName("1", "Jim").join(); // Update through the facade
+            assertEquals("Jim", async.getContact("1").join().getFirstName()); // Read through the facade
+            assertEquals(1, async.findByPhone("5551234567").join().size()); // Phone lookup through the facade
+            assertEquals(Integer.valueOf(1), async.call(s -> s.findByPhone("5551234567").size()).join()); // Custom work
+
+            CompletionException failure = assertThrows(CompletionException.class, // Duplicate ID
+                () -> async.addContact(new Contact("1", "Jane", "Roe", "5550000000", "Addr2")).join());
+            assertTrue(failure.getCause() instanceof IllegalArgumentException); // The service's own exception
+            assertEquals("Contact ID already exists.", failure.getCause().getMessage()); // With the service's message
+
+            async.deleteContact("1").join(); // Delete through the facade
+            assertNull(service.getContact("1")); // The wrapped service sees the delete
+        }
+        assertThrows(IllegalArgumentException.class, () -> new AsyncContactService(null)); // A service is required
+        assertThrows(IllegalArgumentException.class, () -> new AsyncContactService(new ContactService(), 0, 1)); // At least one worker
+    }
+
+    @Test
+    void testManyConcurrentCallers() throws Exception { // Test method to verify that parallel callers lose nothing
+        ContactService service = new ContactService(); // Wrapped service
+        try (AsyncContactService async = new AsyncContactService(service, 4, AsyncContactService.DEFAULT_MAX_PENDING)) { // Four workers
+            List<Thread> callers = new ArrayList<>(); // Request threads
+            List<CompletableFuture<Void>> futures = Collections.synchronizedList(new ArrayList<>()); // Every call made
+            for (int t = 0; t < 16; t++) { // Sixteen callers
+                int caller = t; // Captured by the thread
+                Thread thread = new Thread(() -> { // Each caller adds its own contacts
+                    for (int i = 0; i < 500; i++) { // 500 contacts per caller
+                        futures.add(async.addContact(new Contact(caller + "-" + i, "First", "Last", String.format("%010d", caller * 1000 + i), "Addr"))); // Never blocks
+                    }
+                });
+                callers.add(thread); // Remember the thread
+                thread.start(); // Start calling
+            }
+            for (Thread thread : callers) { // Wait for every caller to finish submitting
+                thread.join(); // Submission only, no service work
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join(); // Every call succeeded
+        }
+        for (int t = 0; t < 16; t++) { // Every contact is stored
+            assertNotNull(service.getContact(t + "-499")); // Last contact of each caller
+        }
+        assertEquals(1, service.findByPhone(String.format("%010d", 15_499)).size()); // Phone index is complete too
+    }
+
+    @Test
+    void testPendingLimitAndClose() throws Exception { // Test method to verify fail-fast backpressure and shutdown
+        CountDownLatch release = new CountDownLatch(1); // Holds the only worker busy
+        AsyncContactService async = new AsyncContactService(new ContactService(), 1, 2); // One worker, two pending calls
+        CompletableFuture<Boolean> busy = async.call(s -> { // First call occupies the worker
+            try {
+                return release.await(10, TimeUnit.SECONDS); // Wait for the test
+            } catch (InterruptedException e) { // Not expected
+                throw new IllegalStateException(e); // Fail the call
+            }
+        });
+        CompletableFuture<Void> queued = async.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // Second call waits in the queue
+        CompletableFuture<Contact> rejected = async.getContact("1"); // Third call is over the limit
+        assertTrue(rejected.isCompletedExceptionally()); // Failed immediately, without blocking
+        CompletionException failure = assertThrows(CompletionException.class, rejected::join); // Unwrap the failure
+        assertTrue(failure.getCause() instanceof RejectedExecutionException); // Backpressure signal
+
+        release.countDown(); // Let the worker go
+        async.close(); // Waits for the accepted calls
+        assertTrue(busy.isDone() && queued.isDone()); // Both accepted calls finished
+        assertTrue(busy.join()); // The first call ran to completion
+        failure = assertThrows(CompletionException.class, () -> async.getContact("1").join()); // Calls after close
+        assertTrue(failure.getCause() instanceof RejectedExecutionException); // Are rejected through the future
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * BulkImportResult.java
+ * 
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service
+ * 
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ * 
+ * Description:
+ * Per-record report returned by ContactService.addAll and ContactService.importRecords.
+ * Record i of the input batch has status getStatus(i); records that failed field
+ * validation also carry the ContactError describing the first invalid field.
+ * A bad record never stops the rest of the batch from being loaded. In a
+ * ShardedContactService report, the records of a part its shard refused are
+ * SHARD_REJECTED while the other shards' records keep their outcomes.
+ */
+// src/main/java/com/example/BulkImportResult.java
+package com.example; // Adjust the package name as needed
+
+public class BulkImportResult { // Report for one bulk load
+    public enum Status { // Outcome of a single record
+        ADDED, // The contact was stored
+        NULL_RECORD, // The record itself was null
+        INVALID, // A field failed validation (see getError)
+        DUPLICATE_IN_BATCH, // An earlier record in the same batch has the same contactID
+        DUPLICATE_EXISTING, // The service already held a contact with this contactID
+        DUPLICATE_PHONE, // Phones are unique in this service and another contact already uses this phone
+        SHARD_REJECTED // A ShardedContactService shard refused its part of the batch (mailbox full or closed), so the record was not tried
+    }
+
+    private final Status[] statuses; // Outcome per input position
+    private final ContactError[] errors; // Validation failure per input position (null unless INVALID)
+
+    BulkImportResult(int size) { // Package-private: only ContactService fills in a report
+        this.statuses = new Status[size]; // One slot per record
+        this.errors = new ContactError[size]; // One slot per record
+    }
+
+    void set(int index, Status status) { // Record the outcome of one record
+        statuses[index] = status; // Each index is written by exactly one thread
+    }
+
+    void setInvalid(int index, ContactError error) { // Record a validation failure for one record
+        errors[index] = error; // Store the failing field's descriptor
+        statuses[index] = Status.INVALID; // Mark the record invalid
+    }
+
+    public int size() { // Number of records in the batch
+        return statuses.length; // One status per record
+    }
+
+    public Status getStatus(int index) { // Outcome of record index
+        return statuses[index]; // Status for that input position
+    }
+
+    public ContactError getError(int index) { // Validation failure of record index, or null if it did not fail validation
+        return errors[index]; // Descriptor for that input position
+    }
+
+    public int getAddedCount() { // Number of records stored
+        int added = 0; // Running count
+        for (Status status : statuses) { // Walk every outcome
+            if (status == Status.ADDED) { // Count only stored records
+                added++; // One more stored record
+            }
+        }
+        return added; // Total stored
+    }
+
+    public int getRejectedCount() { // Number of records not stored
+        return size() - getAddedCount(); // Everything that was not added was rejected
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * CachingContactStore.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ *
+ * Description:
+ * Read-through cache in front of another ContactStore, for backends where get is
+ * expensive (e.g. a store that reads each contact from disk):
+ *
+ *   new ContactService(new CachingContactStore(diskStore, 100_000, Duration.ofMinutes(5)))
+ *
+ * get answers from a bounded cache and loads from the backing store on a miss. The
+ * cache holds at most maxEntries contacts and evicts the least recently used one when
+ * full; with a time to live, an entry older than that is reloaded on its next get.
+ * Misses are not cached, so a get of an unknown ID always reaches the backing store.
+ *
+ * Every write (insert, delete and the updateX methods) goes straight to the backing
+ * store, which stays the source of truth, and then drops the contact from the cache,
+ * so the next get loads the new values. Contacts returned by get come from the backing
+ * store, so whether their own setters persist depends on that store; change contacts
+ * through the service's updateX methods.
+ *
+ * Thread safety: the cache is split into segments, each an access-ordered LinkedHashMap
+ * behind its own lock, so threads reading different contacts rarely contend. Eviction
+ * picks the least recently used entry of one segment, which approximates a global LRU
+ * (a cache under 128 entries is a single segment, so it is exact). The backing
+ * store is never called while a segment lock is held. A load that raced with a write to
+ * the same segment is not cached (each segment counts its writes), so a slow reader can
+ * never put back values that a writer has already replaced.
+ *
+ * Hit, miss, eviction and expiration counts are kept in LongAdders for sizing the cache.
+ */
+// src/main/java/com/example/CachingContactStore.java
+package com.example; // Adjust the package name as needed
+
+import java.time.Clock; // Import Clock so tests can control the time to live
+import java.time.Duration; // Import Duration for the time to live
+import java.util.LinkedHashMap; // Import LinkedHashMap for the access-ordered segments
+import java.util.List; // Import List interface for phone lookups
+import java.util.Map; // Import Map for the eviction hook
+import java.util.concurrent.atomic.LongAdder; // Import LongAdder for counters updated by many threads
+
+public final class CachingContactStore implements ContactStore { // Bounded LRU cache over another store
+    static final int MAX_SEGMENTS = 16; // Lock stripes for a large cache
+    static final int MIN_SEGMENT_ENTRIES = 64; // Smaller caches get fewer segments, so eviction stays close to a true LRU
+
+    private final ContactStore backing; // Source of truth for every read miss and every write
+    private final Segment[] segments; // Independently locked parts of the cache
+    private final Clock clock; // Time source for expiry
+    private final long ttlMillis; // Time to live of an entry, or 0 for no expiry
+    private final int maxEntries; // Total capacity across the segments
+
+    private final LongAdder hits = new LongAdder(); // gets answered from the cache
+    private final LongAdder misses = new LongAdder(); // gets that went to the backing store
+    private final LongAdder evictions = new LongAdder(); // Entries dropped to make room
+    private final LongAdder expirations = new LongAdder(); // Entries dropped because they outlived the time to live
+
+    public CachingContactStore(ContactStore backing, int maxEntries) { // Cache without expiry
+        this(backing, maxEntries, null, Clock.systemUTC()); // Entries stay until evicted or written
+    }
+
+    public CachingContactStore(ContactStore backing, int maxEntries, Duration ttl) { // Cache with an optional time to live (null for none)
+        this(backing, maxEntries, ttl, Clock.systemUTC()); // Wall-clock expiry
+    }
+
+    public CachingContactStore(ContactStore backing, int maxEntries, Duration ttl, Clock clock) { // Cache with an explicit time source
+        if (backing == null) { // Validate that the backing store is not null
+            throw new IllegalArgumentException("Contact store cannot be null."); // Same message as ContactService
+        }
+        if (maxEntries < 1) { // Validate the capacity
+            throw new IllegalArgumentException("Cache size must be at least 1."); // Throw an exception if nothing could be cached
+        }
+        if (ttl != null && (ttl.isNegative() || ttl.isZero())) { // Validate the time to live
+            throw new IllegalArgumentException("Cache time to live must be positive."); // Throw an exception if every entry would be expired
+        }
+        if (clock == null) { // Validate that the clock is not null
+            throw new IllegalArgumentException("Clock cannot be null."); // Throw an exception if there is no time source
+        }
+        this.backing = backing; // Store the backend
+        this.maxEntries = maxEntries; // Store the capacity
+        this.ttlMillis = ttl == null ? 0 : Math.max(1, ttl.toMillis()); // Sub-millisecond TTLs round up to 1 ms
+        this.clock = clock; // Store the time source
+        int count = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maxEntries / MIN_SEGMENT_ENTRIES))); // Power of two; one segment below 128 entries
+        this.segments = new Segment[count]; // One lock per segment
+        for (int i = 0; i < count; i++) { // Split the capacity as evenly as possible
+            segments[i] = new Segment(maxEntries / count + (i < maxEntries % count ? 1 : 0)); // Capacities add up to maxEntries
+        }
+    }
+
+    @Override
+    public Contact get(String contactID) { // Read through the cache
+        Segment segment = segmentFor(contactID); // Segment owning this ID
+        long now = ttlMillis == 0 ? 0 : clock.millis(); // Only read the clock when entries can expire
+        long writes; // Segment write count before the load, to detect a racing write
+        synchronized (segment) { // Lookups reorder the LRU list, so they need the lock
+            Entry entry = segment.get(contactID); // Cached entry, if any
+            if (entry != null) { // Present in the cache
+                if (ttlMillis == 0 || now < entry.expiresAt) { // Still fresh
+                    hits.increment(); // Count the hit
+                    return entry.contact; // Answer without touching the backing store
+                }
+                segment.remove(contactID); // Outlived its time to live
+                expirations.increment(); // Count the expiry
+            }
+            writes = segment.writes; // Remember the write count for the fill below
+        }
+        misses.increment(); // Count the miss
+        Contact contact = backing.get(contactID); // Load outside the lock, so a slow backend blocks nobody else
+        if (contact != null) { // Misses are not cached
+            synchronized (segment) { // Fill the cache
+                if (segment.writes == writes) { // No write to this segment since the load began, so the value is current
+                    segment.put(contactID, new Entry(contact, now + ttlMillis)); // May evict the least recently used entry
+                }
+            }
+        }
+        return contact; // The loaded contact
+    }
+
+    @Override
+    public BulkImportResult.Status insert(Contact contact) { // Write through
+        BulkImportResult.Status status = backing.insert(contact); // Store it in the backend
+        invalidate(contact.getContactID()); // Void any load of this ID that started before the insert
+        return status; // Report what the backend did
+    }
+
+    @Override
+    public boolean delete(String contactID) { // Write through
+        boolean removed = backing.delete(contactID); // Remove it from the backend first
+        invalidate(contactID); // Then drop it, so a get can never see it again
+        return removed; // Report what the backend did
+    }
+
+    @Override
+    public boolean updateFirstName(String contactID, String firstName) { // Write through
+        try {
+            return backing.updateFirstName(contactID, firstName); // The backend validates and stores
+        } finally {
+            invalidate(contactID); // Drop the old values even if the update failed part way
+        }
+    }
+
+    @Override
+    public boolean updateLastName(String contactID, String lastName) { // Write through
+        try {
+            return backing.updateLastName(contactID, lastName); // The backend validates and stores
+        } finally {
+            invalidate(contactID); // Drop the old values even if the update failed part way
+        }
+    }
+
+    @Override
+    public boolean updatePhone(String contactID, String phone) { // Write through
+        try {
+            return backing.updatePhone(contactID, phone); // The backend validates, re-keys its phone index and stores
+        } finally {
+            invalidate(contactID); // Drop the old values even if the update failed part way
+        }
+    }
+
+    @Override
+    public boolean updateAddress(String contactID, String address) { // Write through
+        try {
+            return backing.updateAddress(contactID, address); // The backend validates and stores
+        } finally {
+            invalidate(contactID); // Drop the old values even if the update failed part way
+        }
+    }
+
+    @Override
+    public List<Contact> findByPhone(String phone) { // Not cached: the backend's phone index answers it
+        return backing.findByPhone(phone); // Indexed lookup in the backend
+    }
+
+    @Override
+    public int size() { // Number of stored contacts (not cached ones)
+        return backing.size(); // The backend holds every contact
+    }
+
+    public void invalidateAll() { // Empties the cache, e.g. after the backing store was changed directly
+        for (Segment segment : segments) { // Every segment
+            synchronized (segment) { // Under its lock
+                segment.writes++; // Void loads in flight
+                segment.clear(); // Drop every entry
+            }
+        }
+    }
+
+    public int getMaxEntries() { // Capacity of the cache
+        return maxEntries; // Sum of the segment capacities
+    }
+
+    public int getCachedCount() { // Number of contacts currently cached
+        int cached = 0; // Running total
+        for (Segment segment : segments) { // Every segment
+            synchronized (segment) { // Under its lock
+                cached += segment.size(); // Entries in this segment
+            }
+        }
+        return cached; // Total cached
+    }
+
+    public long getHitCount() { // gets answered from the cache
+        return hits.sum(); // Sum of the per-thread cells
+    }
+
+    public long getMissCount() { // gets that reached the backing store
+        return misses.sum(); // Sum of the per-thread cells
+    }
+
+    public long getEvictionCount() { // Entries dropped to make room for others
+        return evictions.sum(); // Sum of the per-thread cells
+    }
+
+    public long getExpirationCount() { // Entries dropped because they outlived the time to live
+        return expirations.sum(); // Sum of the per-thread cells
+    }
+
+    public double getHitRate() { // Fraction of gets answered from the cache, or 0 before the first get
+        long hit = hits.sum(); // Hits so far
+        long total = hit + misses.sum(); // Every get so far
+        return total == 0 ? 0 : (double) hit / total; // Avoid dividing by zero
+    }
+
+    private void invalidate(String contactID) { // Drops one contact and voids racing loads in its segment
+        Segment segment = segmentFor(contactID); // Segment owning this ID
+        synchronized (segment) { // Under its lock
+            segment.writes++; // A load that started before this write will not be cached
+            segment.remove(contactID); // Drop the old values
+        }
+    }
+
+    private Segment segmentFor(String contactID) { // Spreads IDs over the segments
+        int hash = contactID.hashCode(); // String hash (cached by String)
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)]; // Mix the high bits in, as HashMap does
+    }
+
+    private static final class Entry { // One cached contact
+        final Contact contact; // Contact as loaded from the backing store
+        final long expiresAt; // Clock millis at which the entry expires (unused without a TTL)
+
+        Entry(Contact contact, long expiresAt) { // Immutable once cached
+            this.contact = contact; // Store the contact
+            this.expiresAt = expiresAt; // Store the expiry time
+        }
+    }
+
+    private final class Segment extends LinkedHashMap<String, Entry> { // Access-ordered map: the eldest entry is the least recently used
+        private static final long serialVersionUID = 1L; // Never serialized; declared for the Serializable superclass
+        private final int capacity; // Most entries this segment holds
+        long writes; // Writes to this segment's IDs so far; guarded by the segment's lock
+
+        Segment(int capacity) { // Presized so the segment never rehashes
+            super((int) (capacity / 0.75f) + 1, 0.75f, true); // true = access order
+            this.capacity = capacity; // Store the capacity
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) { // Called by put, under the segment's lock
+            if (size() <= capacity) { // Still room
+                return false; // Keep everything
+            }
+            evictions.increment(); // Count the eviction
+            return true; // Drop the least recently used entry
+        }
+    }
+}
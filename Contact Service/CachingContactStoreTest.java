@@ -0,0 +1,240 @@
+/*
+ * CachingContactStoreTest.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service - Unit Tests for CachingContactStore Class
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ * Description:
+ * JUnit 5 test class for the read-through cache, driven through ContactService over a
+ * backing store that returns a fresh copy on every get (as a disk-backed store would):
+ *
+ * - Repeated reads are answered from the cache and counted as hits and misses
+ * - Every update and delete writes through and the next read sees the new values
+ * - The least recently used contact is evicted first, and entries expire after the TTL
+ * - A load that races with an update never caches the old values
+ */
+// src/test/java/com/example/CachingContactStoreTest.java
+package com.example; // Adjust the package name as needed
+
+import java.time.Clock; // Importing Clock for the controllable time source
+import java.time.Duration; // Importing Duration for the time to live
+import java.time.Instant; // Importing Instant for the clock's current time
+import java.time.ZoneId; // Importing ZoneId, required by Clock
+import java.time.ZoneOffset; // Importing ZoneOffset for a UTC clock
+import java.util.List; // Importing List for phone lookups
+import java.util.concurrent.CountDownLatch; // Importing CountDownLatch to pause a load mid-flight
+import java.util.concurrent.TimeUnit; // Importing TimeUnit for latch timeouts
+import java.util.concurrent.atomic.AtomicInteger; // Importing AtomicInteger to count backing-store reads
+
+import org.junit.jupiter.api.Test; // Importing the Test annotation for marking test methods
+import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for easier test validation
+
+public class CachingContactStoreTest { // Test class for the caching layer
+
+    @Test
+    void testReadThroughAndCounters() { // Test method to verify that repeated reads hit the cache
+        CopyingStore backing = new CopyingStore(); // Slow store stand-in
+        CachingContactStore cache = new CachingContactStore(backing, 100); // Cache without expiry
+        ContactService service = new ContactService(cache); // Service on the cache
+        service.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // Add a contact
+
+        Contact first = service.getContact("1"); // Miss: loaded from the backing store
+        assertSame(first, service.getContact("1")); // Hit: the cached copy
+        assertSame(first, service.getContact("1")); // Hit again
+        assertEquals(1, backing.loads.get()); // The backing store was read once
+        assertNull(service.getContact("2")); // Unknown ID
+        assertNull(service.getContact("2")); // Misses are not cached
+        assertEquals(3, backing.loads.get()); // So both reached the backing store
+
+        assertEquals(2, cache.getHitCount()); // Two hits
+        assertEquals(3, cache.getMissCount()); // Three misses
+        assertEquals(0.4, cache.getHitRate(), 1e-9); // 2 of 5
+        assertEquals(1, cache.getCachedCount()); // Only the found contact is cached
+        assertEquals(1, cache.size()); // size counts stored contacts
+        assertEquals(1, service.findByPhone("5551234567").size()); // Phone lookups go to the backing store
+
+        assertThrows(IllegalArgumentException.class, () -> new CachingContactStore(null, 10)); // A backing store is required
+        assertThrows(IllegalArgumentException.class, () -> new CachingContactStore(backing, 0)); // Room for at least one contact
+        assertThrows(IllegalArgumentException.class, () -> new CachingContactStore(backing, 10, Duration.ZERO)); // A TTL must be positive
+    }
+
+    @Test
+    void testUpdatesWriteThrough() { // Test method to verify that every write reaches the backing store and invalidates the cache
+        CopyingStore backing = new CopyingStore(); // Slow store stand-in
+        ContactService service = new ContactService(new CachingContactStore(backing, 100)); // Service on the cache
+        service.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // Add a contact
+        service.getContact("1"); // Cache it
+
+        service.updateFirstName("1", "Jane"); // Update every mutable field
+        assertEquals("Jane", service.getContact("1").getFirstName()); // The next read sees it
+        service.updateLastName("1", "Smith"); // Last name
+        assertEquals("Smith", service.getContact("1").getLastName()); // Seen
+        service.updatePhone("1", "5550000000"); // Phone
+        assertEquals("5550000000", service.getContact("1").getPhone()); // Seen
+        assertEquals(1, service.findByPhone("5550000000").size()); // Re-keyed in the backing store
+        service.updateAddress("1", "New Address"); // Address
+        assertEquals("New Address", service.getContact("1").getAddress()); // Seen
+        assertEquals("Jane", backing.get("1").getFirstName()); // The backing store holds the changes
+
+        assertThrows(IllegalArgumentException.class, () -> service.updateFirstName("1", "WayTooLongName")); // Invalid value
+        assertEquals("Jane", service.getContact("1").getFirstName()); // Nothing changed
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> service.updateAddress("9", "Addr")); // Missing contact
+        assertEquals("Contact not found.", exception.getMessage()); // Same message as without the cache
+
+        service.deleteContact("1"); // Delete it
+        assertNull(service.getContact("1")); // Gone from the cache too
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() { // Test method to verify LRU eviction and the eviction counter
+        CopyingStore backing = new CopyingStore(); // Slow store stand-in
+        CachingContactStore cache = new CachingContactStore(backing, 2); // Room for two contacts
+        ContactService service = new ContactService(cache); // Service on the cache
+        for (int i = 1; i <= 3; i++) { // Three contacts
+            service.addContact(new Contact(String.valueOf(i), "John", "Doe", "555123456" + i, "Addr")); // Distinct phones
+        }
+        service.getContact("1"); // Cache 1
+        service.getContact("2"); // Cache 2
+        service.getContact("1"); // 1 is now more recent than 2
+        service.getContact("3"); // Evicts 2
+        assertEquals(1, cache.getEvictionCount()); // One eviction
+        assertEquals(2, cache.getCachedCount()); // Never more than the capacity
+
+        int loads = backing.loads.get(); // Reads so far
+        service.getContact("1"); // Still cached
+        service.getContact("3"); // Still cached
+        assertEquals(loads, backing.loads.get()); // No backing reads
+        service.getContact("2"); // Was evicted
+        assertEquals(loads + 1, backing.loads.get()); // So it is loaded again
+    }
+
+    @Test
+    void testEntriesExpire() { // Test method to verify the time to live
+        MutableClock clock = new MutableClock(); // Time under test control
+        CopyingStore backing = new CopyingStore(); // Slow store stand-in
+        CachingContactStore cache = new CachingContactStore(backing, 100, Duration.ofMinutes(5), clock); // Five-minute TTL
+        ContactService service = new ContactService(cache); // Service on the cache
+        service.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // Add a contact
+
+        service.getContact("1"); // Loaded
+        clock.advance(Duration.ofMinutes(4)); // Within the TTL
+        service.getContact("1"); // Hit
+        assertEquals(1, backing.loads.get()); // Still one load
+        clock.advance(Duration.ofMinutes(1)); // Exactly five minutes after loading
+        service.getContact("1"); // Expired, so reloaded
+        assertEquals(2, backing.loads.get()); // Second load
+        assertEquals(1, cache.getExpirationCount()); // Counted as an expiry, not an eviction
+        assertEquals(0, cache.getEvictionCount()); // Nothing was evicted
+    }
+
+    @Test
+    void testLoadRacingAnUpdateIsNotCached() throws Exception { // Test method to verify that a slow load cannot cache values an update replaced
+        CopyingStore backing = new CopyingStore(); // Slow store stand-in
+        ContactService service = new ContactService(new CachingContactStore(backing, 100)); // Service on the cache
+        service.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // Add a contact
+
+        backing.loaded = new CountDownLatch(1); // Signals that the reader has copied the old values
+        backing.resume = new CountDownLatch(1); // Holds the reader until the update is done
+        Contact[] read = new Contact[1]; // Result of the slow read
+        Thread reader = new Thread(() -> read[0] = service.getContact("1")); // Miss that will be paused after loading
+        reader.start(); // Start the read
+        assertTrue(backing.loaded.await(10, TimeUnit.SECONDS)); // The reader holds a copy with "John"
+        backing.loaded = null; // Later loads run normally
+        service.updateFirstName("1", "Jane"); // Update while the load is in flight
+        backing.resume.countDown(); // Let the reader finish
+        reader.join(); // Wait for it
+
+        assertEquals("John", read[0].getFirstName()); // The racing read returned what it loaded
+        assertEquals("Jane", service.getContact("1").getFirstName()); // But did not cache it
+    }
+
+    private static final class CopyingStore implements ContactStore { // Backing store that returns a new copy on every get, like a store on disk
+        private final MapContactStore contacts = new MapContactStore(16, false); // Real storage
+        final AtomicInteger loads = new AtomicInteger(); // Number of gets
+        volatile CountDownLatch loaded; // When set, get signals this after copying...
+        volatile CountDownLatch resume; // ...and waits for this before returning
+
+        @Override
+        public Contact get(String contactID) { // Copy of the stored contact
+            loads.incrementAndGet(); // Count the read
+            Contact stored = contacts.get(contactID); // Stored object
+            Contact copy = stored == null ? null : new Contact(stored.getContactID(), stored.getFirstName(), stored.getLastName(), stored.getPhone(), stored.getAddress()); // Detached copy
+            CountDownLatch signal = loaded; // Read once
+            if (signal != null) { // Paused load requested
+                signal.countDown(); // The copy is taken
+                try {
+                    resume.await(10, TimeUnit.SECONDS); // Wait for the test
+                } catch (InterruptedException e) { // Not expected
+                    Thread.currentThread().interrupt(); // Keep the interrupt
+                }
+            }
+            return copy; // Possibly stale by now
+        }
+
+        @Override
+        public BulkImportResult.Status insert(Contact contact) { // Delegate
+            return contacts.insert(contact); // Stored as-is
+        }
+
+        @Override
+        public boolean delete(String contactID) { // Delegate
+            return contacts.delete(contactID); // Removed
+        }
+
+        @Override
+        public boolean updateFirstName(String contactID, String firstName) { // Delegate
+            return contacts.updateFirstName(contactID, firstName); // Validated and stored
+        }
+
+        @Override
+        public boolean updateLastName(String contactID, String lastName) { // Delegate
+            return contacts.updateLastName(contactID, lastName); // Validated and stored
+        }
+
+        @Override
+        public boolean updatePhone(String contactID, String phone) { // Delegate
+            return contacts.updatePhone(contactID, phone); // Validated, re-keyed and stored
+        }
+
+        @Override
+        public boolean updateAddress(String contactID, String address) { // Delegate
+            return contacts.updateAddress(contactID, address); // Validated and stored
+        }
+
+        @Override
+        public List<Contact> findByPhone(String phone) { // Delegate
+            return contacts.findByPhone(phone); // Indexed lookup
+        }
+
+        @Override
+        public int size() { // Delegate
+            return contacts.size(); // Stored contacts
+        }
+    }
+
+    private static final class MutableClock extends Clock { // Clock the test moves forward by hand
+        private Instant now = Instant.parse("2026-10-17T09:00:00Z"); // Fixed starting point
+
+        void advance(Duration duration) { // Move time forward
+            now = now.plus(duration); // New current time
+        }
+
+        @Override
+        public Instant instant() { // Current time
+            return now; // As set by the test
+        }
+
+        @Override
+        public ZoneId getZone() { // Zone is irrelevant to expiry
+            return ZoneOffset.UTC; // UTC
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) { // Not used by the cache
+            return this; // Same clock
+        }
+    }
+}
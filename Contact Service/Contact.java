@@ -17,19 +17,24 @@
  * - phone       (exactly 10 digits, no formatting characters)
  * - address     (1–30 characters)
  * 
- * All fields are validated during object construction and when using setters.
- * Validation failures throw IllegalArgumentException with descriptive messages.
+ * All fields are validated during object construction and when using setters,
+ * using the allocation-free checks in ContactValidator.
+ * Validation failures throw IllegalArgumentException with descriptive messages;
+ * tryCreate instead reports every bad field in a reusable ContactValidation without
+ * throwing, for high-volume imports where many rows are expected to be invalid.
  * The contactID field is final and cannot be modified after creation.
+ * The mutable fields are volatile so a Contact shared through ContactService
+ * can be read safely from any thread.
  */
 // src/main/java/com/example/Contact.java
 package com.example; // Adjust the package name as needed
 
 public class Contact { // Class representing a contact with validation for each field
     private final String contactID; // Unique identifier for the contact, immutable after creation
-    private String firstName; // First name of the contact, must be 1-10 characters
-    private String lastName; // Last name of the contact, must be 1-10 characters
-    private String phone; // Phone number of the contact, must be exactly 10 digits
-    private String address; // Address of the contact, must be 1-30 characters
+    private volatile String firstName; // First name of the contact, must be 1-10 characters (volatile so updates made by one thread are visible to readers on other threads)
+    private volatile String lastName; // Last name of the contact, must be 1-10 characters (volatile so updates made by one thread are visible to readers on other threads)
+    private volatile String phone; // Phone number of the contact, must be exactly 10 digits (volatile so updates made by one thread are visible to readers on other threads)
+    private volatile String address; // Address of the contact, must be 1-30 characters (volatile so updates made by one thread are visible to readers on other threads)
 
     public Contact(String contactID, String firstName, String lastName, String phone, String address) { // Constructor to initialize a Contact object with validation
         validateContactID(contactID); // Validate contactID before assignment
@@ -45,33 +50,53 @@ public class Contact { // Class representing a contact with validation for each
         this.address = address; // Assign validated address to the field
     }
 
-    private void validateContactID(String contactID) { // Validation method for contactID to ensure it meets the specified criteria
-        if (contactID == null || contactID.isEmpty() || contactID.length() > 10) { // Check if contactID is null, empty, or exceeds 10 characters
-            throw new IllegalArgumentException("Contact ID must be non-null, non-empty, and no longer than 10 characters."); // Throw an exception with a descriptive message if validation fails
+    public static ContactValidation tryCreate(String contactID, String firstName, String lastName, String phone, String address) { // Non-throwing alternative to the constructor for bulk input
+        return tryCreate(contactID, firstName, lastName, phone, address, new ContactValidation()); // Fresh result
+    }
+
+    public static ContactValidation tryCreate(String contactID, String firstName, String lastName, String phone, String address, ContactValidation into) { // Checks every field, reports each bad one in into (reused across rows), and builds the contact only if all are valid
+        if (into == null) { // Validate that the result is not null
+            throw new IllegalArgumentException("Validation result cannot be null."); // Throw an exception if the result is null (a programming error, not bad input)
+        }
+        into.reset(); // Forget the previous row
+        into.check(ContactValidation.Field.CONTACT_ID, ContactValidator.checkContactID(contactID)); // contactID
+        into.check(ContactValidation.Field.FIRST_NAME, ContactValidator.checkFirstName(firstName)); // firstName
+        into.check(ContactValidation.Field.LAST_NAME, ContactValidator.checkLastName(lastName)); // lastName
+        into.check(ContactValidation.Field.PHONE, ContactValidator.checkPhone(phone)); // phone
+        into.check(ContactValidation.Field.ADDRESS, ContactValidator.checkAddress(address)); // address
+        if (into.isValid()) { // Every field passed
+            into.setContact(new Contact(contactID, firstName, lastName, phone, address)); // All fields are valid, so the constructor cannot throw
         }
+        return into; // The same result, now describing this row
+    }
+
+    Contact() { // Package-private constructor for storage-backed views (PackedContactStore.View) that override every accessor and validate in their setters
+        this.contactID = null; // Unused: the view reads the contactID from its store
+    }
+
+    private void validateContactID(String contactID) { // Validation method for contactID to ensure it meets the specified criteria
+        throwIfInvalid(ContactValidator.checkContactID(contactID)); // Non-null, non-empty, and no longer than 10 characters
     }
 
     private void validateFirstName(String firstName) { // Validation method for firstName to ensure it meets the specified criteria
-        if (firstName == null || firstName.isEmpty() || firstName.length() > 10) { // Check if firstName is null, empty, or exceeds 10 characters
-            throw new IllegalArgumentException("First name must be non-null, non-empty, and no longer than 10 characters."); // Throw an exception with a descriptive message if validation fails
-        }
+        throwIfInvalid(ContactValidator.checkFirstName(firstName)); // Non-null, non-empty, and no longer than 10 characters
     }
 
     private void validateLastName(String lastName) { // Validation method for lastName to ensure it meets the specified criteria
-        if (lastName == null || lastName.isEmpty() || lastName.length() > 10) {  // Check if lastName is null, empty, or exceeds 10 characters
-            throw new IllegalArgumentException("Last name must be non-null, non-empty, and no longer than 10 characters."); // Throw an exception with a descriptive message if validation fails
-        }
+        throwIfInvalid(ContactValidator.checkLastName(lastName)); // Non-null, non-empty, and no longer than 10 characters
     }
 
     private void validatePhone(String phone) { // Validation method for phone to ensure it meets the specified criteria
-        if (phone == null || !phone.matches("\\d{10}")) { // Check if phone is null or does not match the regex for exactly 10 digits
-            throw new IllegalArgumentException("Phone must be exactly 10 digits."); // Throw an exception with a descriptive message if validation fails
-        }
+        throwIfInvalid(ContactValidator.checkPhone(phone)); // Exactly 10 digits, checked in one pass without a regex
     }
 
     private void validateAddress(String address) { // Validation method for address to ensure it meets the specified criteria
-        if (address == null || address.isEmpty() || address.length() > 30) { // Check if address is null, empty, or exceeds 30 characters
-            throw new IllegalArgumentException("Address must be non-null, non-empty, and no longer than 30 characters."); // Throw an exception with a descriptive message if validation fails
+        throwIfInvalid(ContactValidator.checkAddress(address)); // Non-null, non-empty, and no longer than 30 characters
+    }
+
+    private static void throwIfInvalid(ContactError error) { // Turns a failed check into the exception callers expect
+        if (error != null) { // null means the value passed its check
+            throw error.toException(); // Throw an exception with the constant message for this field
         }
     }
 
@@ -0,0 +1,39 @@
+/*
+ * ContactError.java
+ * 
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service
+ * 
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ * 
+ * Description:
+ * Preallocated descriptors for every way a Contact field can fail validation.
+ * ContactValidator returns one of these constants instead of building a message,
+ * so a failed check costs no allocation until the caller decides to throw.
+ */
+// src/main/java/com/example/ContactError.java
+package com.example; // Adjust the package name as needed
+
+public enum ContactError { // One constant per invalid-field case, each with its fixed message
+    CONTACT_ID("Contact ID must be non-null, non-empty, and no longer than 10 characters."), // contactID is null, empty, or longer than 10 characters
+    FIRST_NAME("First name must be non-null, non-empty, and no longer than 10 characters."), // firstName is null, empty, or longer than 10 characters
+    LAST_NAME("Last name must be non-null, non-empty, and no longer than 10 characters."), // lastName is null, empty, or longer than 10 characters
+    PHONE("Phone must be exactly 10 digits."), // phone is null, not 10 characters long, or contains a non-digit
+    ADDRESS("Address must be non-null, non-empty, and no longer than 30 characters."); // address is null, empty, or longer than 30 characters
+
+    private final String message; // Constant message shared by every failure of this kind
+
+    ContactError(String message) { // Constructor storing the constant message
+        this.message = message; // Assign the message
+    }
+
+    public String getMessage() { // Getter for the message
+        return message; // Return the constant message
+    }
+
+    public IllegalArgumentException toException() { // Builds the exception thrown by the Contact constructor and setters
+        return new IllegalArgumentException(message); // Same message the original validators used
+    }
+}
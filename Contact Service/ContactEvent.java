@@ -0,0 +1,110 @@
+/*
+ * ContactEvent.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ *
+ * Description:
+ * One change published by ContactService to a ContactEventBus:
+ *
+ * - CREATED  carries every field of the new contact
+ * - UPDATED  names the changed field (getField) and carries only its new value
+ * - DELETED  carries only the contactID
+ *
+ * Fields an event does not carry are null. Events are immutable once published;
+ * getSequence is the event's position on the bus, so a subscriber can tell how
+ * far behind it is and in which order events for different contacts were published.
+ */
+// src/main/java/com/example/ContactEvent.java
+package com.example; // Adjust the package name as needed
+
+public final class ContactEvent { // Immutable change record
+    public enum Type { // Kind of change
+        CREATED, // addContact, addAll or importRecords stored a new contact
+        UPDATED, // One of the updateX methods changed a field
+        DELETED // deleteContact removed a contact
+    }
+
+    public enum Field { // Field changed by an UPDATED event
+        FIRST_NAME, // updateFirstName
+        LAST_NAME, // updateLastName
+        PHONE, // updatePhone
+        ADDRESS // updateAddress
+    }
+
+    private final Type type; // Kind of change
+    private final Field field; // Changed field (UPDATED only)
+    private final String contactID; // Contact the change applies to
+    private final String firstName; // New first name, or null if not carried
+    private final String lastName; // New last name, or null if not carried
+    private final String phone; // New phone, or null if not carried
+    private final String address; // New address, or null if not carried
+    long sequence; // Position on the bus; set by ContactEventBus.publish before the event becomes visible
+
+    private ContactEvent(Type type, Field field, String contactID, String firstName, String lastName, String phone, String address) { // Built only by the factories below
+        this.type = type; // Store the kind
+        this.field = field; // Store the field
+        this.contactID = contactID; // Store the ID
+        this.firstName = firstName; // Store the values
+        this.lastName = lastName; // Last name
+        this.phone = phone; // Phone
+        this.address = address; // Address
+    }
+
+    static ContactEvent created(Contact contact) { // Copies the values, so later changes to the contact do not leak into the event
+        return new ContactEvent(Type.CREATED, null, contact.getContactID(), contact.getFirstName(), contact.getLastName(), contact.getPhone(), contact.getAddress()); // Every field
+    }
+
+    static ContactEvent updated(String contactID, Field field, String value) { // One changed field
+        return new ContactEvent(Type.UPDATED, field, contactID, // Only the changed field is set
+            field == Field.FIRST_NAME ? value : null, // First name
+            field == Field.LAST_NAME ? value : null, // Last name
+            field == Field.PHONE ? value : null, // Phone
+            field == Field.ADDRESS ? value : null); // Address
+    }
+
+    static ContactEvent deleted(String contactID) { // ID only
+        return new ContactEvent(Type.DELETED, null, contactID, null, null, null, null); // No values
+    }
+
+    public Type getType() { // Kind of change
+        return type; // CREATED, UPDATED or DELETED
+    }
+
+    public Field getField() { // Changed field, or null unless UPDATED
+        return field; // Field enum
+    }
+
+    public String getContactID() { // Contact the change applies to
+        return contactID; // Never null
+    }
+
+    public String getFirstName() { // New first name, or null if this event does not carry it
+        return firstName; // Value
+    }
+
+    public String getLastName() { // New last name, or null if this event does not carry it
+        return lastName; // Value
+    }
+
+    public String getPhone() { // New phone, or null if this event does not carry it
+        return phone; // Value
+    }
+
+    public String getAddress() { // New address, or null if this event does not carry it
+        return address; // Value
+    }
+
+    public long getSequence() { // Position on the bus, starting at 0
+        return sequence; // Assigned when published
+    }
+
+    @Override
+    public String toString() { // Readable form for logs and test failures
+        return "#" + sequence + " " + type + (field == null ? "" : " " + field) + " " + contactID; // e.g. "#7 UPDATED PHONE 123"
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * ContactEventBusTest.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service - Unit Tests for ContactEventBus Class
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ * Description:
+ * JUnit 5 test class for the change-data-capture stream of ContactService:
+ *
+ * - Every create, update and delete is published as a typed event, in order
+ * - A stalled subscriber never blocks the service; it is told how many events it lost
+ * - Events for one contact arrive in the order the changes were applied, even with many writers
+ * - A subscriber that throws keeps receiving events
+ */
+// src/test/java/com/example/ContactEventBusTest.java
+package com.example; // Adjust the package name as needed
+
+import java.util.ArrayList; // Importing ArrayList for collecting delivered events
+import java.util.Arrays; // Importing Arrays for building a bulk load
+import java.util.Collections; // Importing Collections for lists shared with the delivery threads
+import java.util.HashMap; // Importing HashMap for the last phone seen per contact
+import java.util.List; // Importing List interface for event batches
+import java.util.Map; // Importing Map interface for type declaration
+import java.util.concurrent.CountDownLatch; // Importing CountDownLatch to stall a subscriber
+import java.util.concurrent.TimeUnit; // Importing TimeUnit for latch timeouts
+import java.util.concurrent.atomic.AtomicLong; // Importing AtomicLong for counting lost events
+
+import org.junit.jupiter.api.Test; // Importing the Test annotation for marking test methods
+import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for easier test validation
+
+public class ContactEventBusTest { // Test class for the contact event bus
+
+    @Test
+    void testServicePublishesTypedEvents() { // Test method to verify the events published for each kind of change
+        List<ContactEvent> received = Collections.synchronizedList(new ArrayList<>()); // Everything delivered
+        ContactEventBus bus = new ContactEventBus(); // Default ring
+        ContactEventBus.Subscription subscription = bus.subscribe(received::addAll); // Copy each batch
+        ContactService service = new ContactService(new MapContactStore(16, false), bus); // Service publishing to the bus
+
+        service.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // CREATED
+        service.updateFirstName("1", "Jane"); // UPDATED FIRST_NAME
+        service.updateLastName("1", "Smith"); // UPDATED LAST_NAME
+        service.updatePhone("1", "5550000000"); // UPDATED PHONE
+        service.updateAddress("1", "New Address"); // UPDATED ADDRESS
+        assertThrows(IllegalArgumentException.class, () -> service.updateFirstName("1", "WayTooLongName")); // Rejected: no event
+        assertThrows(IllegalArgumentException.class, () -> service.updateAddress("9", "Addr")); // Missing: no event
+        service.deleteContact("1"); // DELETED
+        service.deleteContact("1"); // Already gone: no event
+        service.addAll(Arrays.asList(new Contact("2", "Ann", "Lee", "5551112222", "Addr2"), null)); // One CREATED, null record skipped
+        subscription.close(); // Delivers everything published so far
+
+        assertEquals(7, received.size()); // One event per applied change
+        assertEquals(7, subscription.getDeliveredCount()); // Counter agrees
+        assertEquals(0, subscription.getLostCount()); // Nothing was overwritten
+        for (int i = 0; i < received.size(); i++) { // In publish order
+            assertEquals(i, received.get(i).getSequence()); // Contiguous sequence numbers
+        }
+        ContactEvent created = received.get(0); // addContact
+        assertEquals(ContactEvent.Type.CREATED, created.getType()); // Kind
+        assertEquals("John", created.getFirstName()); // Values at creation time, not the later ones
+        assertEquals("5551234567", created.getPhone()); // Phone
+        ContactEvent phone = received.get(3); // updatePhone
+        assertEquals(ContactEvent.Type.UPDATED, phone.getType()); // Kind
+        assertEquals(ContactEvent.Field.PHONE, phone.getField()); // Field
+        assertEquals("5550000000", phone.getPhone()); // New value
+        assertNull(phone.getFirstName()); // Other fields are not carried
+        assertEquals(ContactEvent.Field.ADDRESS, received.get(4).getField()); // updateAddress
+        assertEquals(ContactEvent.Type.DELETED, received.get(5).getType()); // deleteContact
+        assertEquals("2", received.get(6).getContactID()); // Bulk load
+        assertEquals(7, bus.getPublishedCount()); // Bus counter
+
+        assertThrows(IllegalArgumentException.class, () -> bus.subscribe(null)); // A subscriber is required
+        assertThrows(IllegalArgumentException.class, () -> new ContactEventBus(100, 10)); // Capacity must be a power of two
+    }
+
+    @Test
+    void testStalledSubscriberNeverBlocksTheService() throws Exception { // Test method to verify that publishing does not wait for a slow consumer
+        ContactEventBus bus = new ContactEventBus(16, 4); // Tiny ring, small batches
+        CountDownLatch release = new CountDownLatch(1); // Holds the slow subscriber
+        AtomicLong reportedLost = new AtomicLong(); // Sum of onLost counts
+        ContactEventBus.Subscription slow = bus.subscribe(new ContactEventBus.Subscriber() { // Stalls on its first batch
+            @Override
+            public void onEvents(List<ContactEvent> events) { // Blocks until released
+                try {
+                    release.await(10, TimeUnit.SECONDS); // Stalled consumer
+                } catch (InterruptedException e) { // Not expected
+                    Thread.currentThread().interrupt(); // Keep the interrupt
+                }
+            }
+
+            @Override
+            public void onLost(long count) { // Told how far behind it fell
+                reportedLost.addAndGet(count); // Add it up
+            }
+        });
+        ContactService service = new ContactService(new MapContactStore(16, false), bus); // Service publishing to the bus
+        service.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // First event
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10); // Generous bound for the slow thread to pick it up
+        while (slow.getDeliveredCount() == 0 && System.nanoTime() < deadline) { // Wait until the subscriber is stuck in onEvents
+            Thread.sleep(1); // Poll
+        }
+        for (int i = 0; i < 1_000; i++) { // Far more events than the ring holds
+            service.updateAddress("1", "Address " + i); // Must not block
+        }
+        release.countDown(); // Let the subscriber go
+        slow.close(); // Deliver what is left
+
+        assertTrue(slow.getLostCount() > 0); // It fell behind and lost events
+        assertEquals(slow.getLostCount(), reportedLost.get()); // And was told exactly how many
+        assertEquals(bus.getPublishedCount(), slow.getDeliveredCount() + slow.getLostCount()); // Every event was delivered or reported lost
+        assertTrue(slow.getDeliveredCount() <= 1 + 16); // At most the stalled batch and one ring's worth
+    }
+
+    @Test
+    void testPerContactOrderWithManyWriters() throws Exception { // Test method to verify that each contact's events follow the order of its changes
+        ContactEventBus bus = new ContactEventBus(1 << 16, 256); // Room for every event
+        Map<String, String> lastPhone = new HashMap<>(); // Latest phone seen per contact (touched only by the delivery thread)
+        long[] expectedSequence = {0}; // Next sequence the subscriber expects
+        boolean[] ordered = {true}; // Whether sequences arrived in order
+        ContactEventBus.Subscription subscription = bus.subscribe(events -> { // Replays the stream
+            for (ContactEvent event : events) { // Each event in order
+                ordered[0] &= event.getSequence() == expectedSequence[0]++; // Contiguous
+                if (event.getField() == ContactEvent.Field.PHONE) { // Only phone updates matter here
+                    lastPhone.put(event.getContactID(), event.getPhone()); // Apply like a downstream index would
+                }
+            }
+        });
+        ContactService service = new ContactService(new MapContactStore(16, false), bus); // Service publishing to the bus
+        for (int c = 0; c < 4; c++) { // Four contacts shared by every writer
+            service.addContact(new Contact("c" + c, "John", "Doe", "5550000000", "Addr")); // Same starting phone
+        }
+        List<Thread> writers = new ArrayList<>(); // Competing writers
+        for (int t = 0; t < 8; t++) { // Eight threads
+            int writer = t; // Captured by the thread
+            Thread thread = new Thread(() -> { // Each thread rewrites every contact's phone
+                for (int i = 0; i < 1_000; i++) { // Many updates
+                    service.updatePhone("c" + (i % 4), String.format("%010d", writer * 10_000 + i)); // Interleaves with the other writers
+                }
+            });
+            writers.add(thread); // Remember the thread
+            thread.start(); // Start writing
+        }
+        for (Thread thread : writers) { // Wait for every writer
+            thread.join(); // Done writing
+        }
+        subscription.close(); // Deliver everything
+
+        assertTrue(ordered[0]); // No gaps or reordering on the bus
+        assertEquals(0, subscription.getLostCount()); // Nothing was overwritten
+        for (int c = 0; c < 4; c++) { // The stream ends where the service ended
+            assertEquals(service.getContact("c" + c).getPhone(), lastPhone.get("c" + c)); // Last event carries the stored phone
+        }
+    }
+
+    @Test
+    void testFailingSubscriberKeepsReceiving() throws Exception { // Test method to verify that an exception in onEvents does not stop delivery
+        ContactEventBus bus = new ContactEventBus(); // Default ring
+        List<ContactEvent> received = Collections.synchronizedList(new ArrayList<>()); // Everything delivered
+        ContactEventBus.Subscription subscription = bus.subscribe(events -> { // Throws after recording
+            received.addAll(events); // Record first
+            throw new IllegalStateException("Downstream unavailable"); // Then fail
+        });
+        Thread.UncaughtExceptionHandler quiet = (thread, failure) -> { }; // Keep the expected failures out of the test output
+        ContactService service = new ContactService(new MapContactStore(16, false), bus); // Service publishing to the bus
+        Thread.setDefaultUncaughtExceptionHandler(quiet); // Used by the delivery thread
+        try {
+            service.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // First event
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10); // Generous bound
+            while (received.isEmpty() && System.nanoTime() < deadline) { // Wait for the first failing delivery
+                Thread.sleep(1); // Poll
+            }
+            service.deleteContact("1"); // Second event, after the failure
+            subscription.close(); // Deliver it
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(null); // Restore the default
+        }
+        assertEquals(2, received.size()); // Both events arrived
+        assertEquals(ContactEvent.Type.DELETED, received.get(1).getType()); // Including the one after the failure
+    }
+}
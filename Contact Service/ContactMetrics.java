@@ -0,0 +1,282 @@
+/*
+ * ContactMetrics.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ *
+ * Description:
+ * Low-overhead operation metrics for ContactService. A service built with a ContactMetrics
+ * records, for every public operation:
+ *
+ * - how many calls were made and how many of them threw
+ * - a latency histogram in nanoseconds (HDR-style log-linear buckets: 16 per power of two,
+ *   so a reported percentile is at most 1/16 above the true value; latencies up to about
+ *   18 minutes are tracked, longer ones count as the largest bucket)
+ *
+ * plus how often each Contact field failed validation (thrown by an update, or reported by
+ * importRecords for a rejected record), by ContactError.
+ *
+ * Every counter is a LongAdder, so recording from many request threads does not contend
+ * on a shared cache line. Calls and failures are counted exactly, but only one call in
+ * sampleInterval (chosen at random) is timed: a System.nanoTime read can cost as much as
+ * the operation being measured (40 ns on some virtual machines), and timing every call
+ * would more than double the cost of getContact. With the default interval of 16 a call
+ * costs about 20 ns; the percentiles describe the sampled calls, and the latency count
+ * is the number of sampled calls. An interval of 1 times every call.
+ *
+ * Reads (getCallCount, getLatencyPercentile, toJson, toPrometheus) sum the adders and are
+ * meant for scraping, not for the hot path; a read taken while calls are in flight may
+ * miss the most recent ones. One instance may be shared by several services to aggregate
+ * them.
+ */
+// src/main/java/com/example/ContactMetrics.java
+package com.example; // Adjust the package name as needed
+
+import java.util.HashMap; // Import HashMap for mapping exception messages back to ContactError
+import java.util.Map; // Import Map interface for type declaration
+import java.util.concurrent.ThreadLocalRandom; // Import ThreadLocalRandom for choosing which calls to time
+import java.util.concurrent.atomic.LongAdder; // Import LongAdder for striped, contention-free counters
+
+public final class ContactMetrics { // Counters and latency histograms for ContactService
+    static final int SUB_BUCKET_BITS = 4; // 16 buckets per power of two
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // Buckets per power of two (and the exact buckets 0-15)
+    static final long MAX_TRACKED_NANOS = (1L << 40) - 1; // About 18 minutes; longer latencies land in the last bucket
+    static final int BUCKETS = (40 - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS; // Buckets needed to reach MAX_TRACKED_NANOS
+    static final long NOT_TIMED = Long.MIN_VALUE; // Start time of a call that was not chosen for timing
+
+    public static final int DEFAULT_SAMPLE_INTERVAL = 16; // One call in 16 is timed unless the caller chooses otherwise
+
+    private static final double[] EXPORTED_PERCENTILES = {50, 90, 99, 99.9}; // Percentiles written by toJson and toPrometheus
+    private static final String[] JSON_KEYS = {"p50", "p90", "p99", "p999"}; // JSON key of each exported percentile
+    private static final String[] QUANTILES = {"0.5", "0.9", "0.99", "0.999"}; // Prometheus quantile label of each exported percentile
+
+    private static final Map<String, ContactError> ERRORS_BY_MESSAGE = new HashMap<>(); // Each ContactError's message, mapped back to the error
+    static {
+        for (ContactError error : ContactError.values()) { // Every field failure
+            ERRORS_BY_MESSAGE.put(error.getMessage(), error); // Messages are distinct per error
+        }
+    }
+
+    public enum Operation { // The ContactService methods that are measured
+        ADD_CONTACT("addContact"), // addContact
+        ADD_ALL("addAll"), // addAll (one call per batch)
+        IMPORT_RECORDS("importRecords"), // importRecords (one call per batch)
+        DELETE_CONTACT("deleteContact"), // deleteContact
+        UPDATE_FIRST_NAME("updateFirstName"), // updateFirstName
+        UPDATE_LAST_NAME("updateLastName"), // updateLastName
+        UPDATE_PHONE("updatePhone"), // updatePhone
+        UPDATE_ADDRESS("updateAddress"), // updateAddress
+        GET_CONTACT("getContact"), // getContact
+        FIND_BY_PHONE("findByPhone"); // findByPhone
+
+        private final String methodName; // Label used in the exported metrics
+
+        Operation(String methodName) { // Constructor storing the label
+            this.methodName = methodName; // Assign the label
+        }
+
+        public String getMethodName() { // Getter for the label
+            return methodName; // The ContactService method name
+        }
+    }
+
+    private final Stats[] stats = new Stats[Operation.values().length]; // One set of counters per operation
+    private final LongAdder[] validationFailures = new LongAdder[ContactError.values().length]; // One counter per ContactError
+    private final int sampleInterval; // One call in this many is timed
+
+    public ContactMetrics() { // Constructor for an empty set of metrics with the default sample interval
+        this(DEFAULT_SAMPLE_INTERVAL); // One call in 16 is timed
+    }
+
+    public ContactMetrics(int sampleInterval) { // Constructor for an empty set of metrics that times one call in sampleInterval
+        if (sampleInterval < 1) { // Validate that the interval is positive
+            throw new IllegalArgumentException("Sample interval must be at least 1."); // Throw an exception if the interval is not positive
+        }
+        this.sampleInterval = sampleInterval; // Use the given interval
+        for (int i = 0; i < stats.length; i++) { // Every operation
+            stats[i] = new Stats(); // Zeroed counters
+        }
+        for (int i = 0; i < validationFailures.length; i++) { // Every field failure
+            validationFailures[i] = new LongAdder(); // Zeroed counter
+        }
+    }
+
+    long start() { // Start time to pass to record: System.nanoTime for a call chosen for timing, NOT_TIMED otherwise
+        if (sampleInterval == 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0) { // Cheap per-thread choice, no shared state
+            return System.nanoTime(); // Timed call
+        }
+        return NOT_TIMED; // Counted only
+    }
+
+    void record(Operation operation, long startNanos) { // Records one call; startNanos comes from start()
+        Stats target = stats[operation.ordinal()]; // Counters for the operation
+        target.calls.increment(); // Every call is counted
+        if (startNanos != NOT_TIMED) { // Chosen for timing
+            long elapsed = System.nanoTime() - startNanos; // Latency of the call
+            target.buckets[bucket(elapsed)].increment(); // Histogram (the bucket counts add up to the timed calls)
+            target.totalNanos.add(elapsed); // For the mean
+        }
+    }
+
+    void recordFailure(Operation operation, RuntimeException failure) { // Records that a call threw; record is still called for its latency
+        stats[operation.ordinal()].failures.increment(); // Failed call
+        if (failure instanceof IllegalArgumentException && failure.getMessage() != null) { // Only validation failures carry a ContactError message
+            ContactError error = ERRORS_BY_MESSAGE.get(failure.getMessage()); // null for "Contact not found." and the like
+            if (error != null) { // A field failed validation
+                recordValidationFailure(error); // Count it by field
+            }
+        }
+    }
+
+    void recordValidationFailure(ContactError error) { // Counts one field that failed validation
+        validationFailures[error.ordinal()].increment(); // Per-field counter
+    }
+
+    public int getSampleInterval() { // Getter for the sample interval
+        return sampleInterval; // One call in this many is timed
+    }
+
+    public long getCallCount(Operation operation) { // Number of calls made to the operation, including failed ones
+        return stats[operation.ordinal()].calls.sum(); // Sum of the striped counter
+    }
+
+    public long getTimedCount(Operation operation) { // Number of calls to the operation whose latency was recorded
+        return new Snapshot(stats[operation.ordinal()]).count; // Every timed call is in exactly one bucket
+    }
+
+    public long getFailureCount(Operation operation) { // Number of calls to the operation that threw
+        return stats[operation.ordinal()].failures.sum(); // Sum of the striped counter
+    }
+
+    public long getValidationFailureCount(ContactError error) { // Number of times the given field failed validation
+        return validationFailures[error.ordinal()].sum(); // Sum of the striped counter
+    }
+
+    public double getMeanLatencyNanos(Operation operation) { // Average latency of the operation in nanoseconds, or 0 before the first call
+        return new Snapshot(stats[operation.ordinal()]).mean(); // Consistent count and total
+    }
+
+    public long getLatencyPercentile(Operation operation, double percentile) { // Latency in nanoseconds that the given percentage of calls did not exceed
+        if (!(percentile >= 0 && percentile <= 100)) { // Also rejects NaN
+            throw new IllegalArgumentException("Percentile must be between 0 and 100."); // Throw an exception if the percentile is out of range
+        }
+        return new Snapshot(stats[operation.ordinal()]).percentile(percentile); // 0 before the first call
+    }
+
+    public String toJson() { // Exports every metric as one JSON object
+        StringBuilder json = new StringBuilder("{\"operations\":{"); // Operations first
+        for (Operation operation : Operation.values()) { // Every operation, in declaration order
+            Snapshot snapshot = new Snapshot(stats[operation.ordinal()]); // Consistent view of its counters
+            json.append(operation.ordinal() == 0 ? "" : ",").append('"').append(operation.methodName).append("\":{"); // Operation key
+            json.append("\"count\":").append(stats[operation.ordinal()].calls.sum()); // Calls
+            json.append(",\"failures\":").append(stats[operation.ordinal()].failures.sum()); // Failed calls
+            json.append(",\"latencyNanos\":{\"timed\":").append(snapshot.count); // Calls the latency figures describe
+            json.append(",\"mean\":").append(snapshot.mean()); // Mean latency
+            for (int p = 0; p < EXPORTED_PERCENTILES.length; p++) { // p50, p90, p99, p99.9
+                json.append(",\"").append(JSON_KEYS[p]).append("\":").append(snapshot.percentile(EXPORTED_PERCENTILES[p])); // e.g. "p999":1023
+            }
+            json.append(",\"max\":").append(snapshot.percentile(100)).append("}}"); // Largest recorded latency
+        }
+        json.append("},\"validationFailures\":{"); // Then field failures
+        for (ContactError error : ContactError.values()) { // Every field failure
+            json.append(error.ordinal() == 0 ? "" : ",").append('"').append(error.name()).append("\":").append(getValidationFailureCount(error)); // e.g. "PHONE":3
+        }
+        return json.append("}}").toString(); // Close both objects
+    }
+
+    public String toPrometheus() { // Exports every metric in the Prometheus text exposition format
+        StringBuilder text = new StringBuilder(); // Lines of the exposition
+        text.append("# HELP contact_service_calls_total Calls made to each ContactService operation.\n"); // Metric description
+        text.append("# TYPE contact_service_calls_total counter\n"); // Metric type
+        StringBuilder failures = new StringBuilder("# HELP contact_service_failures_total Calls that threw an exception.\n# TYPE contact_service_failures_total counter\n"); // Written after the call counts
+        StringBuilder latency = new StringBuilder("# HELP contact_service_latency_seconds Latency of the timed calls to each ContactService operation.\n# TYPE contact_service_latency_seconds summary\n"); // Written last
+        for (Operation operation : Operation.values()) { // Every operation
+            Snapshot snapshot = new Snapshot(stats[operation.ordinal()]); // Consistent view of its counters
+            String labels = "operation=\"" + operation.methodName + "\""; // Label shared by every line of the operation
+            text.append("contact_service_calls_total{").append(labels).append("} ").append(stats[operation.ordinal()].calls.sum()).append('\n'); // Calls
+            failures.append("contact_service_failures_total{").append(labels).append("} ").append(stats[operation.ordinal()].failures.sum()).append('\n'); // Failed calls
+            for (int p = 0; p < EXPORTED_PERCENTILES.length; p++) { // Quantile lines
+                latency.append("contact_service_latency_seconds{").append(labels).append(",quantile=\"").append(QUANTILES[p]).append("\"} ").append(snapshot.percentile(EXPORTED_PERCENTILES[p]) / 1e9).append('\n'); // e.g. quantile="0.99"
+            }
+            latency.append("contact_service_latency_seconds_sum{").append(labels).append("} ").append(snapshot.totalNanos / 1e9).append('\n'); // Total time
+            latency.append("contact_service_latency_seconds_count{").append(labels).append("} ").append(snapshot.count).append('\n'); // Timed calls
+        }
+        text.append(failures).append(latency); // One block per metric family
+        text.append("# HELP contact_service_validation_failures_total Contact fields that failed validation.\n"); // Metric description
+        text.append("# TYPE contact_service_validation_failures_total counter\n"); // Metric type
+        for (ContactError error : ContactError.values()) { // Every field failure
+            text.append("contact_service_validation_failures_total{field=\"").append(error.name()).append("\"} ").append(getValidationFailureCount(error)).append('\n'); // e.g. field="PHONE"
+        }
+        return text.toString(); // The whole exposition
+    }
+
+    static int bucket(long nanos) { // Histogram bucket of a latency: exact below 16, then 16 buckets per power of two
+        if (nanos < SUB_BUCKETS) { // Small values get a bucket each
+            return (int) Math.max(nanos, 0); // A clock step backwards counts as 0
+        }
+        long value = Math.min(nanos, MAX_TRACKED_NANOS); // Clamp very long calls into the last bucket
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS; // Low bits dropped for this power of two
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1)); // Power of two, then the next 4 bits
+    }
+
+    static long highestValue(int bucket) { // Largest latency that falls into a bucket
+        if (bucket < SUB_BUCKETS) { // Exact buckets
+            return bucket; // The value itself
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1; // Low bits dropped for this power of two
+        long lowest = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift; // Smallest latency in the bucket
+        return lowest + (1L << shift) - 1; // Bucket width is 2^shift
+    }
+
+    private static final class Stats { // Counters for one operation
+        final LongAdder calls = new LongAdder(); // Every call
+        final LongAdder[] buckets = new LongAdder[BUCKETS]; // Latency histogram of the timed calls
+        final LongAdder totalNanos = new LongAdder(); // Sum of every latency
+        final LongAdder failures = new LongAdder(); // Calls that threw
+
+        Stats() { // Constructor creating the buckets
+            for (int i = 0; i < buckets.length; i++) { // Every bucket
+                buckets[i] = new LongAdder(); // Zeroed counter
+            }
+        }
+    }
+
+    private static final class Snapshot { // Point-in-time copy of one operation's histogram, so every derived value agrees
+        final long[] counts = new long[BUCKETS]; // Calls per bucket
+        final long count; // Timed calls
+        final long totalNanos; // Total latency of the timed calls
+
+        Snapshot(Stats stats) { // Copies the counters
+            long sum = 0; // Running total
+            for (int i = 0; i < counts.length; i++) { // Every bucket
+                counts[i] = stats.buckets[i].sum(); // Copy the bucket
+                sum += counts[i]; // Add it up
+            }
+            this.count = sum; // Total calls
+            this.totalNanos = stats.totalNanos.sum(); // Total latency
+        }
+
+        double mean() { // Average latency, or 0 with no calls
+            return count == 0 ? 0 : (double) totalNanos / count; // Mean in nanoseconds
+        }
+
+        long percentile(double percentile) { // Highest latency in the bucket that holds the given rank
+            if (count == 0) { // No calls yet
+                return 0; // Nothing to report
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count)); // 1-based rank of the call to report
+            long seen = 0; // Calls in the buckets walked so far
+            for (int i = 0; i < counts.length; i++) { // Lowest buckets first
+                seen += counts[i]; // Add the bucket
+                if (seen >= rank) { // The rank falls in this bucket
+                    return highestValue(i); // Report its upper bound
+                }
+            }
+            return highestValue(counts.length - 1); // Unreachable unless the counts moved mid-copy
+        }
+    }
+}
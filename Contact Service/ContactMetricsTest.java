@@ -0,0 +1,117 @@
+/*
+ * ContactMetricsTest.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service - Unit Tests for ContactMetrics Class
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ * Description:
+ * JUnit 5 test class for the operation metrics of ContactService:
+ *
+ * - Calls and failures are counted per operation, and field validation failures per field
+ * - Every call is counted but only a sample is timed by default
+ * - The latency histogram buckets are contiguous and report percentiles within 1/16
+ * - The JSON and Prometheus exports carry the recorded values
+ */
+// src/test/java/com/example/ContactMetricsTest.java
+package com.example; // Adjust the package name as needed
+
+import java.util.Arrays; // Importing Arrays for building raw records
+
+import org.junit.jupiter.api.Test; // Importing the Test annotation for marking test methods
+import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for easier test validation
+
+public class ContactMetricsTest { // Test class for the contact metrics
+
+    @Test
+    void testCallsFailuresAndFieldsAreCounted() { // Test method to verify the counters recorded by a measured service
+        ContactMetrics metrics = new ContactMetrics(1); // Empty metrics that time every call
+        ContactService service = new ContactService(new MapContactStore(16, false), null, metrics); // Measured service without events
+
+        service.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // Succeeds
+        assertThrows(IllegalArgumentException.class, () -> service.addContact(new Contact("1", "Jane", "Doe", "5550000000", "Addr2"))); // Duplicate ID
+        service.updatePhone("1", "5559876543"); // Succeeds
+        assertThrows(IllegalArgumentException.class, () -> service.updatePhone("1", "12345")); // Bad phone
+        assertThrows(IllegalArgumentException.class, () -> service.updatePhone("9", "5559876543")); // Missing contact, not a field failure
+        assertThrows(IllegalArgumentException.class, () -> service.updateFirstName("1", "WayTooLongName")); // Bad first name
+        service.getContact("1"); // Read
+        service.getContact("2"); // Read of a missing contact is not a failure
+        service.importRecords(Arrays.asList( // One valid record, two with bad fields
+                new String[] {"2", "Ann", "Lee", "5551112222", "Addr2"},
+                new String[] {"3", "Bob", "Ray", "555", "Addr3"},
+                new String[] {"4", "Cy", "Tan", "5553334444", ""}));
+
+        assertEquals(2, metrics.getCallCount(ContactMetrics.Operation.ADD_CONTACT)); // Both adds
+        assertEquals(1, metrics.getFailureCount(ContactMetrics.Operation.ADD_CONTACT)); // The duplicate
+        assertEquals(3, metrics.getCallCount(ContactMetrics.Operation.UPDATE_PHONE)); // Every updatePhone
+        assertEquals(2, metrics.getFailureCount(ContactMetrics.Operation.UPDATE_PHONE)); // Bad phone and missing contact
+        assertEquals(1, metrics.getFailureCount(ContactMetrics.Operation.UPDATE_FIRST_NAME)); // Bad first name
+        assertEquals(2, metrics.getCallCount(ContactMetrics.Operation.GET_CONTACT)); // Both reads
+        assertEquals(0, metrics.getFailureCount(ContactMetrics.Operation.GET_CONTACT)); // Neither threw
+        assertEquals(1, metrics.getCallCount(ContactMetrics.Operation.IMPORT_RECORDS)); // One batch
+        assertEquals(0, metrics.getCallCount(ContactMetrics.Operation.DELETE_CONTACT)); // Never called
+
+        assertEquals(2, metrics.getValidationFailureCount(ContactError.PHONE)); // updatePhone and one imported record
+        assertEquals(1, metrics.getValidationFailureCount(ContactError.FIRST_NAME)); // updateFirstName
+        assertEquals(1, metrics.getValidationFailureCount(ContactError.ADDRESS)); // One imported record
+        assertEquals(0, metrics.getValidationFailureCount(ContactError.CONTACT_ID)); // Duplicate and missing IDs are not field failures
+
+        assertTrue(metrics.getLatencyPercentile(ContactMetrics.Operation.ADD_CONTACT, 50) > 0); // Latency was recorded
+        assertTrue(metrics.getMeanLatencyNanos(ContactMetrics.Operation.ADD_CONTACT) > 0); // Mean too
+        assertEquals(2, metrics.getTimedCount(ContactMetrics.Operation.ADD_CONTACT)); // Every call was timed
+        assertEquals(0, metrics.getLatencyPercentile(ContactMetrics.Operation.DELETE_CONTACT, 99)); // Nothing recorded yet
+        assertThrows(IllegalArgumentException.class, () -> metrics.getLatencyPercentile(ContactMetrics.Operation.GET_CONTACT, 101)); // Out of range
+    }
+
+    @Test
+    void testSampledTiming() { // Test method to verify that every call is counted but only a sample is timed
+        ContactMetrics metrics = new ContactMetrics(); // Default interval
+        ContactService service = new ContactService(new MapContactStore(16, false), null, metrics); // Measured service
+        service.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // One contact
+        for (int i = 0; i < 16_000; i++) { // Many reads
+            service.getContact("1"); // Read
+        }
+        assertEquals(16_000, metrics.getCallCount(ContactMetrics.Operation.GET_CONTACT)); // Counted exactly
+        long timed = metrics.getTimedCount(ContactMetrics.Operation.GET_CONTACT); // About one in 16
+        assertTrue(timed > 500 && timed < 1_500, "timed " + timed); // Loose bounds around the expected 1,000
+        assertEquals(ContactMetrics.DEFAULT_SAMPLE_INTERVAL, metrics.getSampleInterval()); // Default interval
+        assertThrows(IllegalArgumentException.class, () -> new ContactMetrics(0)); // Interval must be positive
+    }
+
+    @Test
+    void testHistogramBuckets() { // Test method to verify the log-linear bucket layout
+        for (long value = 0; value < 100_000; value++) { // Every small latency
+            int bucket = ContactMetrics.bucket(value); // Its bucket
+            assertTrue(value <= ContactMetrics.highestValue(bucket)); // Falls inside the bucket
+            assertTrue(bucket == 0 || value > ContactMetrics.highestValue(bucket - 1)); // And not inside the one below
+            assertTrue(ContactMetrics.highestValue(bucket) - value <= value / 16); // Reported value is within 1/16
+        }
+        assertEquals(ContactMetrics.BUCKETS - 1, ContactMetrics.bucket(Long.MAX_VALUE)); // Very long calls land in the last bucket
+        assertEquals(ContactMetrics.MAX_TRACKED_NANOS, ContactMetrics.highestValue(ContactMetrics.BUCKETS - 1)); // Which ends at the tracked maximum
+        assertEquals(0, ContactMetrics.bucket(-5)); // A clock step backwards counts as 0
+    }
+
+    @Test
+    void testExports() { // Test method to verify the JSON and Prometheus exports
+        ContactMetrics metrics = new ContactMetrics(1); // Empty metrics that time every call
+        ContactService service = new ContactService(new MapContactStore(16, false), null, metrics); // Measured service
+        service.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // One add
+        assertThrows(IllegalArgumentException.class, () -> service.updatePhone("1", "12345")); // One bad phone
+
+        String json = metrics.toJson(); // JSON export
+        assertTrue(json.startsWith("{\"operations\":{\"addContact\":{\"count\":1,\"failures\":0,\"latencyNanos\":{\"timed\":1,\"mean\":")); // First operation
+        assertTrue(json.contains("\"updatePhone\":{\"count\":1,\"failures\":1,")); // Failed update
+        assertTrue(json.contains("\"p999\":")); // Tail percentile
+        assertTrue(json.endsWith("\"validationFailures\":{\"CONTACT_ID\":0,\"FIRST_NAME\":0,\"LAST_NAME\":0,\"PHONE\":1,\"ADDRESS\":0}}")); // Field failures
+
+        String text = metrics.toPrometheus(); // Prometheus export
+        assertTrue(text.contains("# TYPE contact_service_calls_total counter\n")); // Counter family
+        assertTrue(text.contains("contact_service_calls_total{operation=\"addContact\"} 1\n")); // One add
+        assertTrue(text.contains("contact_service_failures_total{operation=\"updatePhone\"} 1\n")); // One failure
+        assertTrue(text.contains("contact_service_latency_seconds{operation=\"addContact\",quantile=\"0.99\"} ")); // Quantile line
+        assertTrue(text.contains("contact_service_latency_seconds_count{operation=\"addContact\"} 1\n")); // Summary count
+        assertTrue(text.contains("contact_service_validation_failures_total{field=\"PHONE\"} 1\n")); // Field failure
+    }
+}
@@ -9,7 +9,8 @@
  * Date:        February 11, 2026
  * 
  * Description:
- * This class provides a simple in-memory contact management service using a HashMap.
+ * This class provides a simple in-memory contact management service on top of a pluggable
+ * ContactStore (a ConcurrentHashMap-backed MapContactStore unless another store is given).
  * It supports the following operations:
  * 
  * - Adding a new contact (unique contactID required)
@@ -20,73 +21,342 @@
  *   • phone
  *   • address
  * - Retrieving a contact by contactID
+ * - Reverse lookup of the contacts using a phone number (findByPhone)
+ * - Bulk loading many contacts (addAll / importRecords) with a per-record report
  * 
  * All operations include appropriate validation and throw IllegalArgumentException
  * with descriptive messages when preconditions are not met.
  * 
+ * Thread safety: the service may be shared by many request-handler threads. Every
+ * store operation is atomic for its contactID, so two threads can never both insert
+ * the same contactID and concurrent updates of one contact never interleave.
+ * Bulk loads of PARALLEL_THRESHOLD or more records run across cores on the common
+ * fork/join pool, except in the shards of a ShardedContactService, which must only
+ * be written by their own writer thread and so always load on the calling thread.
+ * 
+ * Phone index: every store indexes contacts by phone number, so findByPhone does not
+ * scan. A service built with uniquePhones = true rejects a second contact with the
+ * same phone.
+ * 
+ * Storage backends (see ContactStore):
+ * - MapContactStore     one Contact object per record; getContact returns that object.
+ *                       Changing its phone with Contact.setPhone instead of updatePhone
+ *                       bypasses the phone index.
+ * - PackedContactStore  records packed into primitive columns for a much smaller heap;
+ *                       getContact returns a view whose setters write through to the
+ *                       store, and a view of a deleted contact throws IllegalStateException.
+ * - CachingContactStore wraps either of the above (or a slower, e.g. disk-backed, store)
+ *                       with a bounded LRU cache for getContact; every update writes
+ *                       through to the wrapped store and drops the cached copy.
+ * 
+ * Change events: a service built with a ContactEventBus publishes a ContactEvent for every
+ * contact it creates, updates or deletes. Events for one contact are published in the order
+ * the changes were applied (each change and its event share a striped lock, taken only when
+ * a bus is attached). Changes made through Contact setters instead of the service are not
+ * published.
+ * 
+ * Metrics: a service built with a ContactMetrics counts the calls and failures of every public
+ * method, records the latency of a sample of them in a histogram, and counts validation failures by field; see
+ * ContactMetrics for the JSON and Prometheus exports. Without one, nothing is timed.
+ * 
  * Note: This is a basic implementation with no persistence — data is lost on restart.
  */
 // src/main/java/com/example/ContactService.java
 package com.example; // Adjust the package name as needed for your project structure
 
-import java.util.HashMap; // Import HashMap for storing contacts
-import java.util.Map; // Import Map interface for type declaration
+import java.util.Collection; // Import Collection for the bulk load input
+import java.util.HashSet; // Import HashSet for detecting duplicate IDs within a batch
+import java.util.List; // Import List for the raw-record bulk load input and phone lookups
+import java.util.Set; // Import Set interface for type declaration
+import java.util.function.BiPredicate; // Import BiPredicate for passing a store update to the shared update helper
+import java.util.stream.IntStream; // Import IntStream for walking a batch by index, in parallel when it is large
 
 public class ContactService { // Class definition for ContactService
-    private final Map<String, Contact> contacts = new HashMap<>(); // HashMap to store contacts with contactID as key
+    static final int PARALLEL_THRESHOLD = 10_000; // Batches smaller than this are loaded on the calling thread (fork/join overhead outweighs the gain)
+
+    static final int DEFAULT_EXPECTED_CONTACTS = 16; // Initial sizing when the caller does not give one
+
+    static final int EVENT_LOCK_STRIPES = 256; // Locks that keep each contact's events in the order its changes were applied
+
+    private final ContactStore store; // Storage backend holding the contacts and their phone index
+    private final ContactEventBus events; // Change events go here; null when no bus is attached
+    private final Object[] eventLocks; // Striped by contactID; null when no bus is attached
+    private final ContactMetrics metrics; // Call counts and latencies go here; null when not measured
+    private final boolean parallelLoads; // False for a shard of a ShardedContactService, whose data only its writer thread may touch
+
+    public ContactService() { // Constructor for an empty service with default capacity
+        this(DEFAULT_EXPECTED_CONTACTS, false); // Storage grows as contacts are added; phones may be shared
+    }
+
+    public ContactService(int expectedContacts) { // Constructor that presizes storage, e.g. before a startup bulk load
+        this(expectedContacts, false); // Phones may be shared
+    }
+
+    public ContactService(int expectedContacts, boolean uniquePhones) { // Constructor that presizes storage and optionally requires every phone to be unique
+        this(new MapContactStore(expectedContacts, uniquePhones)); // Default map-backed storage (rejects a negative expected size)
+    }
+
+    public ContactService(ContactStore store) { // Constructor for a service on a specific storage backend, e.g. new PackedContactStore(n, false)
+        this(store, null); // No change events
+    }
+
+    public ContactService(ContactStore store, ContactEventBus events) { // Constructor for a service that publishes its changes to a bus (null for none)
+        this(store, events, null); // Not measured
+    }
+
+    public ContactService(ContactStore store, ContactEventBus events, ContactMetrics metrics) { // Constructor for a service that also records its calls in metrics (null for none)
+        this(store, events, metrics, true); // Large bulk loads use every core
+    }
+
+    ContactService(ContactStore store, ContactEventBus events, ContactMetrics metrics, boolean parallelLoads) { // Package-private: ShardedContactService builds its shards with parallelLoads false
+        if (store == null) { // Validate that the store is not null
+            throw new IllegalArgumentException("Contact store cannot be null."); // Throw an exception if the store is null
+        }
+        this.store = store; // Use the given backend
+        this.events = events; // Use the given bus
+        this.metrics = metrics; // Use the given metrics
+        this.parallelLoads = parallelLoads; // Whether large bulk loads may run on the common fork/join pool
+        this.eventLocks = events == null ? null : new Object[EVENT_LOCK_STRIPES]; // Only needed to order events
+        for (int i = 0; eventLocks != null && i < eventLocks.length; i++) { // Fill the stripes
+            eventLocks[i] = new Object(); // One monitor per stripe
+        }
+    }
 
     public void addContact(Contact contact) { // Method to add a new contact
-        if (contact == null) { // Validate that the contact is not null
-            throw new IllegalArgumentException("Contact cannot be null."); // Throw an exception if the contact is null
+        long start = metrics == null ? 0 : metrics.start(); // Only measured when metrics are attached
+        try {
+            if (contact == null) { // Validate that the contact is not null
+                throw new IllegalArgumentException("Contact cannot be null."); // Throw an exception if the contact is null
+            }
+            BulkImportResult.Status status = insert(contact); // Atomically insert the contact only if no contact with the same contactID exists
+            if (status == BulkImportResult.Status.DUPLICATE_EXISTING) { // Check if the contactID was taken
+                throw new IllegalArgumentException("Contact ID already exists."); // Throw an exception if the contactID is not unique
+            }
+            if (status == BulkImportResult.Status.DUPLICATE_PHONE) { // Check if the phone was taken (unique-phone services only)
+                throw new IllegalArgumentException(ContactStore.PHONE_IN_USE); // Throw an exception if the phone is not unique
+            }
+        } catch (RuntimeException failure) { // Count the failure, then let it propagate
+            throw failed(ContactMetrics.Operation.ADD_CONTACT, failure); // Same exception
+        } finally {
+            recorded(ContactMetrics.Operation.ADD_CONTACT, start); // Every call, failed or not
+        }
+    }
+
+    public BulkImportResult addAll(Collection<Contact> batch) { // Method to add many contacts at once, reporting per record instead of failing on the first bad one
+        long start = metrics == null ? 0 : metrics.start(); // Only measured when metrics are attached
+        try {
+            if (batch == null) { // Validate that the batch is not null
+                throw new IllegalArgumentException("Contacts cannot be null."); // Throw an exception if the batch is null
+            }
+            Contact[] records = batch.toArray(new Contact[0]); // Snapshot the batch so records can be addressed by index
+            BulkImportResult result = new BulkImportResult(records.length); // One report slot per record
+            load(records, result); // Detect duplicates and insert
+            return result; // Return the per-record report
+        } catch (RuntimeException failure) { // Count the failure, then let it propagate
+            throw failed(ContactMetrics.Operation.ADD_ALL, failure); // Same exception
+        } finally {
+            recorded(ContactMetrics.Operation.ADD_ALL, start); // Every call, failed or not
+        }
+    }
+
+    public BulkImportResult importRecords(List<String[]> rows) { // Method to validate and add raw records {contactID, firstName, lastName, phone, address}
+        long start = metrics == null ? 0 : metrics.start(); // Only measured when metrics are attached
+        try {
+            if (rows == null) { // Validate that the batch is not null
+                throw new IllegalArgumentException("Records cannot be null."); // Throw an exception if the batch is null
+            }
+            String[][] fields = rows.toArray(new String[0][]); // Snapshot the batch so records can be addressed by index
+            Contact[] records = new Contact[fields.length]; // Contacts built from the valid records (null for rejected ones)
+            BulkImportResult result = new BulkImportResult(fields.length); // One report slot per record
+            indexes(fields.length).forEach(i -> records[i] = toContact(fields[i], i, result)); // Validate every record, across cores for large batches
+            load(records, result); // Detect duplicates and insert the valid records
+            countInvalid(result); // Field failures do not throw here, so count them from the report
+            return result; // Return the per-record report
+        } catch (RuntimeException failure) { // Count the failure, then let it propagate
+            throw failed(ContactMetrics.Operation.IMPORT_RECORDS, failure); // Same exception
+        } finally {
+            recorded(ContactMetrics.Operation.IMPORT_RECORDS, start); // Every call, failed or not
+        }
+    }
+
+    private static Contact toContact(String[] row, int index, BulkImportResult result) { // Validates one raw record without throwing; returns null if it was rejected
+        if (row == null) { // A missing record cannot be loaded
+            result.set(index, BulkImportResult.Status.NULL_RECORD); // Report it as a null record
+            return null; // Nothing to insert
+        }
+        String contactID = field(row, 0); // contactID column
+        String firstName = field(row, 1); // firstName column
+        String lastName = field(row, 2); // lastName column
+        String phone = field(row, 3); // phone column
+        String address = field(row, 4); // address column
+        ContactError error = ContactValidator.checkAll(contactID, firstName, lastName, phone, address); // First invalid field, or null
+        if (error != null) { // The record failed validation
+            result.setInvalid(index, error); // Report the failing field without building an exception
+            return null; // Nothing to insert
+        }
+        return new Contact(contactID, firstName, lastName, phone, address); // All fields are valid, so the constructor cannot throw
+    }
+
+    private static String field(String[] row, int column) { // Returns a column of a raw record, treating missing columns as null
+        return column < row.length ? row[column] : null; // Short rows fail validation on the missing field
+    }
+
+    private void load(Contact[] records, BulkImportResult result) { // Shared second phase of addAll and importRecords
+        Set<String> seen = new HashSet<>((int) (records.length / 0.75f) + 1); // Presized so the duplicate check never rehashes
+        boolean[] pending = new boolean[records.length]; // Records that passed every check so far
+        for (int i = 0; i < records.length; i++) { // Sequential pass: the first occurrence of an ID in the batch wins
+            if (result.getStatus(i) != null) { // Already rejected while validating
+                continue; // Keep the earlier outcome
+            }
+            if (records[i] == null) { // A null contact cannot be loaded
+                result.set(i, BulkImportResult.Status.NULL_RECORD); // Report it as a null record
+            } else if (!seen.add(records[i].getContactID())) { // Another record in this batch already claimed the ID
+                result.set(i, BulkImportResult.Status.DUPLICATE_IN_BATCH); // Report the in-batch duplicate
+            } else { // Unique within the batch
+                pending[i] = true; // Insert it in the next phase
+            }
+        }
+        indexes(records.length).filter(i -> pending[i]).forEach(i -> // Insert phase, across cores for large batches
+            result.set(i, insert(records[i]))); // insert detects IDs and unique phones already in the service
+    }
+
+    private BulkImportResult.Status insert(Contact contact) { // Shared by addContact and the bulk loads; publishes CREATED for a stored contact
+        if (events == null) { // No bus attached
+            return store.insert(contact); // Just store it
         }
-        String id = contact.getContactID(); // Get the contactID from the contact object
-        if (contacts.containsKey(id)) { // Check if a contact with the same contactID already exists
-            throw new IllegalArgumentException("Contact ID already exists."); // Throw an exception if the contactID is not unique
+        synchronized (eventLock(contact.getContactID())) { // The event is published before any later change to this contact
+            BulkImportResult.Status status = store.insert(contact); // Store it
+            if (status == BulkImportResult.Status.ADDED) { // Only a stored contact is news
+                events.publish(ContactEvent.created(contact)); // Never blocks
+            }
+            return status; // Report what the store did
         }
-        contacts.put(id, contact); // Add the contact to the HashMap
+    }
+
+    private IntStream indexes(int size) { // Index stream over a batch, parallel only when the batch is large enough to benefit and parallel loads are allowed
+        IntStream indexes = IntStream.range(0, size); // Every position in the batch
+        return parallelLoads && size >= PARALLEL_THRESHOLD ? indexes.parallel() : indexes; // Small batches, and every batch of a shard, stay on the calling thread
     }
 
     public void deleteContact(String contactID) { // Method to delete a contact by contactID
-        if (contactID != null) { // Validate that the contactID is not null
-            contacts.remove(contactID); // Remove the contact from the HashMap (no exception thrown if contactID does not exist)
+        long start = metrics == null ? 0 : metrics.start(); // Only measured when metrics are attached
+        try {
+            if (contactID == null) { // Validate that the contactID is not null
+                return; // Nothing to delete
+            }
+            if (events == null) { // No bus attached
+                store.delete(contactID); // Remove the contact and its phone entry (no exception thrown if contactID does not exist)
+                return; // Done
+            }
+            synchronized (eventLock(contactID)) { // Ordered with the contact's other events
+                if (store.delete(contactID)) { // Only a removed contact is news
+                    events.publish(ContactEvent.deleted(contactID)); // Never blocks
+                }
+            }
+        } catch (RuntimeException failure) { // Count the failure, then let it propagate
+            throw failed(ContactMetrics.Operation.DELETE_CONTACT, failure); // Same exception
+        } finally {
+            recorded(ContactMetrics.Operation.DELETE_CONTACT, start); // Every call, failed or not
         }
     }
 
     public void updateFirstName(String contactID, String firstName) { // Method to update the first name of an existing contact
-        Contact contact = getExistingContact(contactID); // Retrieve the existing contact using a helper method that validates the contactID
-        contact.setFirstName(firstName); // Update the first name of the contact
+        update(contactID, ContactMetrics.Operation.UPDATE_FIRST_NAME, ContactEvent.Field.FIRST_NAME, firstName, store::updateFirstName); // Update the first name of the contact (the store validates it like the setter)
     }
 
     public void updateLastName(String contactID, String lastName) { // Method to update the last name of an existing contact
-        Contact contact = getExistingContact(contactID); // Retrieve the existing contact using a helper method that validates the contactID
-        contact.setLastName(lastName); // Update the last name of the contact
+        update(contactID, ContactMetrics.Operation.UPDATE_LAST_NAME, ContactEvent.Field.LAST_NAME, lastName, store::updateLastName); // Update the last name of the contact (the store validates it like the setter)
     }
 
     public void updatePhone(String contactID, String phone) { // Method to update the phone number of an existing contact
-        Contact contact = getExistingContact(contactID); // Retrieve the existing contact using a helper method that validates the contactID
-        contact.setPhone(phone); // Update the phone number of the contact
+        update(contactID, ContactMetrics.Operation.UPDATE_PHONE, ContactEvent.Field.PHONE, phone, store::updatePhone); // Update the phone number of the contact and re-key it in the phone index
     }
 
     public void updateAddress(String contactID, String address) { // Method to update the address of an existing contact
-        Contact contact = getExistingContact(contactID); // Retrieve the existing contact using a helper method that validates the contactID
-        contact.setAddress(address); // Update the address of the contact
+        update(contactID, ContactMetrics.Operation.UPDATE_ADDRESS, ContactEvent.Field.ADDRESS, address, store::updateAddress); // Update the address of the contact (the store validates it like the setter)
+    }
+
+    private void update(String contactID, ContactMetrics.Operation operation, ContactEvent.Field field, String value, BiPredicate<String, String> write) { // Shared by the updateX methods
+        long start = metrics == null ? 0 : metrics.start(); // Only measured when metrics are attached
+        try {
+            String id = requireID(contactID); // Reject a null contactID
+            if (events == null) { // No bus attached
+                throwIfNotFound(write.test(id, value)); // Just update
+                return; // Done
+            }
+            synchronized (eventLock(id)) { // Ordered with the contact's other events
+                throwIfNotFound(write.test(id, value)); // Update (a rejected value throws before anything is published)
+                events.publish(ContactEvent.updated(id, field, value)); // Never blocks
+            }
+        } catch (RuntimeException failure) { // Count the failure, then let it propagate
+            throw failed(operation, failure); // Same exception
+        } finally {
+            recorded(operation, start); // Every call, failed or not
+        }
+    }
+
+    private void recorded(ContactMetrics.Operation operation, long start) { // Counts a call, and records its latency if it was timed, when metrics are attached
+        if (metrics != null) { // Not measured otherwise
+            metrics.record(operation, start); // Call count and, for a timed call, the histogram
+        }
+    }
+
+    private RuntimeException failed(ContactMetrics.Operation operation, RuntimeException failure) { // Counts a failed call when metrics are attached; returns the failure to rethrow
+        if (metrics != null) { // Not measured otherwise
+            metrics.recordFailure(operation, failure); // Failure and, for a bad field, its validation counter
+        }
+        return failure; // Rethrown unchanged
+    }
+
+    private void countInvalid(BulkImportResult result) { // Counts the field failures reported by importRecords
+        for (int i = 0; metrics != null && i < result.size(); i++) { // Every record, only when measured
+            ContactError error = result.getError(i); // null unless the record failed validation
+            if (error != null) { // A field failed
+                metrics.recordValidationFailure(error); // Count it by field
+            }
+        }
     }
 
-    private Contact getExistingContact(String contactID) { // Helper method to retrieve an existing contact and validate the contactID
+    private Object eventLock(String contactID) { // Stripe for a contactID
+        int hash = contactID.hashCode(); // String hash (cached by String)
+        return eventLocks[(hash ^ (hash >>> 16)) & (eventLocks.length - 1)]; // Mix the high bits in, as HashMap does
+    }
+
+    private static String requireID(String contactID) { // Helper method shared by the updateX methods
         if (contactID == null) { // Validate that the contactID is not null
             throw new IllegalArgumentException("Contact ID cannot be null."); // Throw an exception if the contactID is null
         }
-        Contact contact = contacts.get(contactID); // Retrieve the contact from the HashMap using the contactID
-        if (contact == null) { // Check if the contact exists in the HashMap
+        return contactID; // Non-null contactID
+    }
+
+    private static void throwIfNotFound(boolean updated) { // Turns a store's missing-contact result into the exception callers expect
+        if (!updated) { // Check if the contact exists in the store
             throw new IllegalArgumentException("Contact not found."); // Throw an exception if the contact does not exist
         }
-        return contact; // Return the existing contact if found
     }
 
     public Contact getContact(String contactID) { // Method to retrieve a contact by contactID
-        if (contactID == null) { // Validate that the contactID is not null
-            return null; // Return null if the contactID is null (or you could choose to throw an exception based on your design preference)
+        long start = metrics == null ? 0 : metrics.start(); // Only measured when metrics are attached
+        try {
+            if (contactID == null) { // Validate that the contactID is not null
+                return null; // Return null if the contactID is null (or you could choose to throw an exception based on your design preference)
+            }
+            return store.get(contactID); // Return the contact from the store (returns null if contactID does not exist)
+        } catch (RuntimeException failure) { // Count the failure, then let it propagate
+            throw failed(ContactMetrics.Operation.GET_CONTACT, failure); // Same exception
+        } finally {
+            recorded(ContactMetrics.Operation.GET_CONTACT, start); // Every call, failed or not
+        }
+    }
+
+    public List<Contact> findByPhone(String phone) { // Method to find the contacts using a phone number (reverse lookup)
+        long start = metrics == null ? 0 : metrics.start(); // Only measured when metrics are attached
+        try {
+            return store.findByPhone(phone); // Indexed lookup; empty if none, or if phone is null or not 10 digits
+        } catch (RuntimeException failure) { // Count the failure, then let it propagate
+            throw failed(ContactMetrics.Operation.FIND_BY_PHONE, failure); // Same exception
+        } finally {
+            recorded(ContactMetrics.Operation.FIND_BY_PHONE, start); // Every call, failed or not
         }
-        return contacts.get(contactID); // Return the contact from the HashMap (returns null if contactID does not exist)
     }
 }
\ No newline at end of file
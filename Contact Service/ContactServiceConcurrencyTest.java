@@ -0,0 +1,212 @@
+/*
+ * ContactServiceConcurrencyTest.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service - Multi-threaded Stress Tests for ContactService
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ *
+ * Description:
+ * JUnit 5 stress tests that hammer a single shared ContactService from many threads.
+ * This test suite verifies:
+ *
+ * - Racing addContact calls for the same contactID admit exactly one winner
+ * - Concurrent adds of distinct contactIDs are never lost
+ * - Concurrent updates to the same contact always leave a valid, fully written value
+ * - Readers running alongside writers never see a missing or invalid contact
+ * - Racing claims on the same phone in a unique-phone service admit exactly one winner
+ *
+ * All worker threads are released together through a CountDownLatch to maximize contention.
+ */
+// src/test/java/com/example/ContactServiceConcurrencyTest.java
+package com.example; // Adjust the package name as needed
+
+import java.util.ArrayList; // Import ArrayList for collecting futures
+import java.util.List; // Import List interface for type declaration
+import java.util.concurrent.CountDownLatch; // Import CountDownLatch to start all threads at the same moment
+import java.util.concurrent.ExecutorService; // Import ExecutorService to run worker threads
+import java.util.concurrent.Executors; // Import Executors to create a fixed thread pool
+import java.util.concurrent.Future; // Import Future to wait for and check worker results
+import java.util.concurrent.TimeUnit; // Import TimeUnit for the pool shutdown timeout
+import java.util.concurrent.atomic.AtomicInteger; // Import AtomicInteger to count successful inserts
+
+import org.junit.jupiter.api.AfterEach; // JUnit 5 annotation for cleanup after each test
+import org.junit.jupiter.api.BeforeEach; // JUnit 5 annotation for setup before each test
+import org.junit.jupiter.api.Test; // JUnit 5 annotation for test methods
+import static org.junit.jupiter.api.Assertions.*; // Static import for assertion methods
+
+public class ContactServiceConcurrencyTest { // Stress test class for the thread-safe ContactService
+    private static final int THREADS = 8; // Number of worker threads competing for the service
+    private static final int OPERATIONS = 2_000; // Number of operations performed by each worker thread
+
+    private ContactService service; // Shared service instance under test
+    private ExecutorService pool; // Thread pool running the worker threads
+
+    @BeforeEach
+    void setUp() { // Create a fresh service and thread pool for each test
+        service = new ContactService(); // New shared service instance
+        pool = Executors.newFixedThreadPool(THREADS); // One thread per worker
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException { // Stop the thread pool after each test
+        pool.shutdownNow(); // Interrupt any worker that is still running
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS)); // Make sure no worker leaks into the next test
+    }
+
+    @Test
+    void testRacingAddsForSameIdHaveOneWinner() throws Exception { // Test that only one thread can insert a given contactID
+        AtomicInteger winners = new AtomicInteger(); // Counts successful inserts across all threads
+        CountDownLatch start = new CountDownLatch(1); // Releases all threads together
+        List<Future<?>> futures = new ArrayList<>(); // Futures used to surface unexpected worker failures
+        for (int t = 0; t < THREADS; t++) { // Start one worker per thread
+            String phone = String.format("%010d", t); // Each worker tries a different phone so the winner is identifiable
+            futures.add(pool.submit(() -> { // Submit the worker
+                start.await(); // Wait for the start signal
+                for (int i = 0; i < OPERATIONS; i++) { // Race on many different IDs
+                    try {
+                        service.addContact(new Contact("id" + i, "John", "Doe", phone, "Main St")); // Every worker tries to add the same ID
+                        winners.incrementAndGet(); // Count the successful insert
+                    } catch (IllegalArgumentException expected) { // Losing the race must be reported as a duplicate ID
+                        assertEquals("Contact ID already exists.", expected.getMessage()); // Verify the duplicate message
+                    }
+                }
+                return null; // Callable so checked exceptions propagate through the future
+            }));
+        }
+        start.countDown(); // Release the workers
+        for (Future<?> future : futures) { // Wait for every worker
+            future.get(); // Rethrows any assertion failure raised on a worker thread
+        }
+        assertEquals(OPERATIONS, winners.get()); // Exactly one insert per ID must have succeeded
+        for (int i = 0; i < OPERATIONS; i++) { // Every ID must be present
+            assertNotNull(service.getContact("id" + i)); // Verify the winner was stored
+        }
+    }
+
+    @Test
+    void testConcurrentDistinctAddsAreNotLost() throws Exception { // Test that concurrent inserts of distinct IDs are all kept
+        CountDownLatch start = new CountDownLatch(1); // Releases all threads together
+        List<Future<?>> futures = new ArrayList<>(); // Futures used to surface unexpected worker failures
+        for (int t = 0; t < THREADS; t++) { // Start one worker per thread
+            int worker = t; // Effectively final copy for the lambda
+            futures.add(pool.submit(() -> { // Submit the worker
+                start.await(); // Wait for the start signal
+                for (int i = 0; i < OPERATIONS; i++) { // Each worker adds its own range of IDs
+                    service.addContact(new Contact(worker + "-" + i, "Jane", "Smith", "0987654321", "Oak Ave")); // Distinct ID per worker and iteration
+                }
+                return null; // Callable so checked exceptions propagate through the future
+            }));
+        }
+        start.countDown(); // Release the workers
+        for (Future<?> future : futures) { // Wait for every worker
+            future.get(); // Rethrows any exception raised on a worker thread
+        }
+        for (int t = 0; t < THREADS; t++) { // Check every worker's range
+            for (int i = 0; i < OPERATIONS; i++) { // Check every ID in the range
+                assertNotNull(service.getContact(t + "-" + i), "Contact " + t + "-" + i + " was lost"); // No insert may be lost
+            }
+        }
+    }
+
+    @Test
+    void testConcurrentUpdatesAndReadsStayValid() throws Exception { // Test that readers never observe a broken contact while writers update it
+        service.addContact(new Contact("shared", "John", "Doe", "0000000000", "Main St")); // Contact updated by all writers
+        CountDownLatch start = new CountDownLatch(1); // Releases all threads together
+        List<Future<?>> futures = new ArrayList<>(); // Futures used to surface unexpected worker failures
+        for (int t = 0; t < THREADS; t++) { // Start one worker per thread
+            int worker = t; // Effectively final copy for the lambda
+            futures.add(pool.submit(() -> { // Submit the worker
+                start.await(); // Wait for the start signal
+                for (int i = 0; i < OPERATIONS; i++) { // Repeat to maximize interleavings
+                    if (worker % 2 == 0) { // Even workers write
+                        service.updatePhone("shared", String.format("%010d", worker * OPERATIONS + i)); // Valid 10-digit phone unique to this write
+                        service.updateFirstName("shared", "W" + worker); // Valid first name identifying the writer
+                        assertThrows(IllegalArgumentException.class, () -> service.updateAddress("shared", null)); // Invalid updates must still fail cleanly under contention
+                    } else { // Odd workers read
+                        Contact contact = service.getContact("shared"); // Lock-free read
+                        assertNotNull(contact); // The contact must never disappear
+                        String phone = contact.getPhone(); // Read the phone once
+                        assertEquals(10, phone.length()); // Phone must always be a complete 10-digit value
+                        assertEquals("Main St", contact.getAddress()); // Failed invalid updates must not change the address
+                    }
+                }
+                return null; // Callable so checked exceptions propagate through the future
+            }));
+        }
+        start.countDown(); // Release the workers
+        for (Future<?> future : futures) { // Wait for every worker
+            future.get(); // Rethrows any assertion failure raised on a worker thread
+        }
+        assertTrue(service.getContact("shared").getFirstName().startsWith("W")); // Some writer's value must have been applied
+    }
+
+    @Test
+    void testConcurrentDeleteAndUpdateNeverResurrects() throws Exception { // Test that an update racing with a delete cannot bring the contact back
+        for (int i = 0; i < OPERATIONS; i++) { // Prepare many contacts
+            service.addContact(new Contact("d" + i, "John", "Doe", "1234567890", "Main St")); // Contact that will be deleted
+        }
+        CountDownLatch start = new CountDownLatch(1); // Releases both threads together
+        Future<?> deleter = pool.submit(() -> { // Worker deleting every contact
+            start.await(); // Wait for the start signal
+            for (int i = 0; i < OPERATIONS; i++) { // Delete each contact
+                service.deleteContact("d" + i); // Remove the contact
+            }
+            return null; // Callable so checked exceptions propagate through the future
+        });
+        Future<?> updater = pool.submit(() -> { // Worker updating every contact
+            start.await(); // Wait for the start signal
+            for (int i = 0; i < OPERATIONS; i++) { // Update each contact
+                try {
+                    service.updateLastName("d" + i, "Smith"); // Update may run before or after the delete
+                } catch (IllegalArgumentException expected) { // Updating an already deleted contact must report not found
+                    assertEquals("Contact not found.", expected.getMessage()); // Verify the not-found message
+                }
+            }
+            return null; // Callable so checked exceptions propagate through the future
+        });
+        start.countDown(); // Release the workers
+        deleter.get(); // Wait for the deleter
+        updater.get(); // Wait for the updater
+        for (int i = 0; i < OPERATIONS; i++) { // Every contact must be gone
+            assertNull(service.getContact("d" + i)); // No update may re-insert a deleted contact
+        }
+    }
+
+    @Test
+    void testRacingPhoneClaimsHaveOneWinner() throws Exception { // Test that a unique phone can only be claimed by one contact at a time
+        ContactService unique = new ContactService(THREADS, true); // Phones must be unique
+        for (int t = 0; t < THREADS; t++) { // One contact per worker, each with its own phone
+            unique.addContact(new Contact("w" + t, "John", "Doe", String.format("%010d", t), "Main St")); // Distinct starting phone
+        }
+        CountDownLatch start = new CountDownLatch(1); // Releases all threads together
+        List<Future<?>> futures = new ArrayList<>(); // Futures used to surface unexpected worker failures
+        for (int t = 0; t < THREADS; t++) { // Start one worker per thread
+            String id = "w" + t; // Contact owned by this worker
+            String home = String.format("%010d", t); // This worker's own phone
+            futures.add(pool.submit(() -> { // Submit the worker
+                start.await(); // Wait for the start signal
+                for (int i = 0; i < OPERATIONS; i++) { // Repeatedly fight over one shared phone
+                    try {
+                        unique.updatePhone(id, "9999999999"); // Only one contact may hold it
+                        unique.updatePhone(id, home); // Give it back
+                    } catch (IllegalArgumentException expected) { // Another worker holds the phone
+                        assertEquals("Phone number already in use.", expected.getMessage()); // Verify the clash message
+                    }
+                    assertTrue(unique.findByPhone("9999999999").size() <= 1); // Never more than one owner
+                }
+                return null; // Callable so checked exceptions propagate through the future
+            }));
+        }
+        start.countDown(); // Release the workers
+        for (Future<?> future : futures) { // Wait for every worker
+            future.get(); // Rethrows any assertion failure raised on a worker thread
+        }
+        assertTrue(unique.findByPhone("9999999999").isEmpty()); // Every worker gave the phone back
+        for (int t = 0; t < THREADS; t++) { // Every contact is indexed under its final phone
+            assertEquals("w" + t, unique.findByPhone(String.format("%010d", t)).get(0).getContactID()); // Index matches the stored phone
+        }
+    }
+}
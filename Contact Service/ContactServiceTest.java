@@ -19,6 +19,8 @@
  * - Attempting to update non-existent contacts (throws exception)
  * - Handling invalid data during updates (throws exception from Contact validation)
  * - Managing multiple contacts correctly
+ * - Bulk loading contacts with a per-record report (addAll, importRecords)
+ * - Sequential bulk loads for shards, which never leave the calling thread
  * 
  * Uses @BeforeEach to create a fresh ContactService instance for each test.
  * Relies on proper exception throwing and state verification via getters.
@@ -26,6 +28,12 @@
 // src/test/java/com/example/ContactServiceTest.java
 package com.example; // Adjust the package name as needed
 
+import java.util.ArrayList; // Importing ArrayList for building large batches
+import java.util.Arrays; // Importing Arrays for building small batches
+import java.util.List; // Importing List for batch inputs
+import java.util.Set; // Importing Set for the threads that wrote to a store
+import java.util.concurrent.ConcurrentHashMap; // Importing ConcurrentHashMap for a thread-safe set of writers
+
 import org.junit.jupiter.api.BeforeEach; // Importing JUnit 5 annotations and assertions for testing
 import org.junit.jupiter.api.Test; // Importing the Test annotation for marking test methods
 import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for easier test validation
@@ -108,4 +116,152 @@ public class ContactServiceTest {            // Test class for ContactService, c
         assertEquals(c1, service.getContact("1")); // Assert that retrieving the first contact by its ID returns the correct contact object
         assertEquals(c2, service.getContact("2")); // Assert that retrieving the second contact by its ID returns the correct contact object
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAddAllReportsEachRecord() { // Test method to verify that addAll loads valid contacts and reports every rejected record without stopping
+        service.addContact(new Contact("1", "John", "Doe", "1234567890", "Addr1")); // Contact already in the service before the batch
+        List<Contact> batch = Arrays.asList( // Batch mixing good and bad records
+            new Contact("2", "Jane", "Smith", "0987654321", "Addr2"), // New contact
+            null, // Null record
+            new Contact("1", "Jim", "Beam", "1112223333", "Addr3"), // Duplicate of an existing contact
+            new Contact("3", "Ann", "Lee", "4445556666", "Addr4"), // New contact
+            new Contact("3", "Bob", "Ray", "7778889999", "Addr5")); // Duplicate of an earlier record in the batch
+
+        BulkImportResult result = service.addAll(batch); // Load the batch
+
+        assertEquals(5, result.size()); // One status per record
+        assertEquals(BulkImportResult.Status.ADDED, result.getStatus(0)); // First new contact stored
+        assertEquals(BulkImportResult.Status.NULL_RECORD, result.getStatus(1)); // Null record reported
+        assertEquals(BulkImportResult.Status.DUPLICATE_EXISTING, result.getStatus(2)); // Existing ID reported
+        assertEquals(BulkImportResult.Status.ADDED, result.getStatus(3)); // Second new contact stored
+        assertEquals(BulkImportResult.Status.DUPLICATE_IN_BATCH, result.getStatus(4)); // In-batch duplicate reported
+        assertEquals(2, result.getAddedCount()); // Two contacts stored
+        assertEquals(3, result.getRejectedCount()); // Three records rejected
+        assertEquals("John", service.getContact("1").getFirstName()); // Existing contact was not overwritten
+        assertEquals("Ann", service.getContact("3").getFirstName()); // First occurrence in the batch wins
+    }
+
+    @Test
+    void testImportRecordsValidatesWithoutThrowing() { // Test method to verify that importRecords reports the first invalid field of each bad record
+        List<String[]> rows = Arrays.asList( // Raw records as read from a feed
+            new String[] {"1", "John", "Doe", "1234567890", "Addr1"}, // Valid record
+            new String[] {"2", "Jane", "Smith", "12345", "Addr2"}, // Invalid phone
+            new String[] {"3", "WayTooLongName", "Smith", "abc", "Addr3"}, // Invalid first name and phone; first name is reported
+            new String[] {"4", "Ann"}); // Missing columns
+
+        BulkImportResult result = service.importRecords(rows); // Load the records
+
+        assertEquals(BulkImportResult.Status.ADDED, result.getStatus(0)); // Valid record stored
+        assertEquals(ContactError.PHONE, result.getError(1)); // Phone failure reported
+        assertEquals(ContactError.FIRST_NAME, result.getError(2)); // First failing field reported
+        assertEquals(ContactError.LAST_NAME, result.getError(3)); // Missing column treated as null
+        assertEquals(BulkImportResult.Status.INVALID, result.getStatus(3)); // Invalid records are marked INVALID
+        assertNull(result.getError(0)); // Stored records carry no error
+        assertNotNull(service.getContact("1")); // Valid record is retrievable
+        assertNull(service.getContact("2")); // Invalid records are not stored
+    }
+
+    @Test
+    void testLargeBulkLoadIntoPresizedService() { // Test method to verify that a batch big enough to load in parallel is stored completely
+        ContactService presized = new ContactService(ContactService.PARALLEL_THRESHOLD * 2); // Service sized for the whole batch up front
+        List<Contact> batch = new ArrayList<>(); // Batch above the parallel threshold
+        for (int i = 0; i < ContactService.PARALLEL_THRESHOLD * 2; i++) { // Build the batch
+            batch.add(new Contact("c" + i, "John", "Doe", "1234567890", "Main St")); // Unique ID per record
+        }
+        batch.add(new Contact("c0", "Jane", "Smith", "0987654321", "Oak Ave")); // One in-batch duplicate at the end
+
+        BulkImportResult result = presized.addAll(batch); // Load the batch
+
+        assertEquals(ContactService.PARALLEL_THRESHOLD * 2, result.getAddedCount()); // Every unique contact stored
+        assertEquals(BulkImportResult.Status.DUPLICATE_IN_BATCH, result.getStatus(batch.size() - 1)); // Duplicate detected deterministically
+        assertEquals("John", presized.getContact("c0").getFirstName()); // First occurrence wins even when inserts run in parallel
+        assertThrows(IllegalArgumentException.class, () -> new ContactService(-1)); // Negative sizes are rejected
+        assertThrows(IllegalArgumentException.class, () -> presized.addAll(null)); // Null batches are rejected
+    }
+
+    @Test
+    void testSequentialLoadsStayOnCallingThread() { // Test method to verify that a service built without parallel loads (a shard) inserts a large batch only from the calling thread
+        MapContactStore backing = new MapContactStore(ContactService.PARALLEL_THRESHOLD * 2, false); // Real store underneath
+        Set<Thread> writers = ConcurrentHashMap.newKeySet(); // Every thread that inserted
+        ContactStore recording = new ContactStore() { // Delegates every call, noting who inserts
+            public Contact get(String contactID) { return backing.get(contactID); } // Read
+            public BulkImportResult.Status insert(Contact contact) { writers.add(Thread.currentThread()); return backing.insert(contact); } // Note the writer
+            public boolean delete(String contactID) { return backing.delete(contactID); } // Delete
+            public boolean updateFirstName(String contactID, String firstName) { return backing.updateFirstName(contactID, firstName); } // Update
+            public boolean updateLastName(String contactID, String lastName) { return backing.updateLastName(contactID, lastName); } // Update
+            public boolean updatePhone(String contactID, String phone) { return backing.updatePhone(contactID, phone); } // Update
+            public boolean updateAddress(String contactID, String address) { return backing.updateAddress(contactID, address); } // Update
+            public List<Contact> findByPhone(String phone) { return backing.findByPhone(phone); } // Lookup
+            public int size() { return backing.size(); } // Count
+        };
+        ContactService shard = new ContactService(recording, null, null, false); // Built the way ShardedContactService builds its shards
+        List<String[]> rows = new ArrayList<>(); // Batch above the parallel threshold
+        for (int i = 0; i < ContactService.PARALLEL_THRESHOLD * 2; i++) { // Build the batch
+            rows.add(new String[] {"c" + i, "John", "Doe", "1234567890", "Main St"}); // Unique ID per record
+        }
+
+        BulkImportResult result = shard.importRecords(rows); // Load the batch
+
+        assertEquals(ContactService.PARALLEL_THRESHOLD * 2, result.getAddedCount()); // Every contact stored
+        assertEquals(Set.of(Thread.currentThread()), writers); // No fork/join worker touched the store
+    }
+
+    @Test
+    void testFindByPhone() { // Test method to verify reverse lookup by phone, including shared phones
+        service.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // Owner of a unique phone
+        service.addContact(new Contact("2", "Jane", "Doe", "0000000001", "Addr2")); // Shares a phone with contact 3
+        service.addContact(new Contact("3", "Jim", "Doe", "0000000001", "Addr3")); // Shares a phone with contact 2
+
+        List<Contact> owners = service.findByPhone("5551234567"); // Caller-ID style lookup
+        assertEquals(1, owners.size()); // One owner
+        assertEquals("1", owners.get(0).getContactID()); // The right owner
+        assertEquals(2, service.findByPhone("0000000001").size()); // Both owners of a shared phone (leading zeros are kept)
+        assertTrue(service.findByPhone("0000000000").isEmpty()); // Unused phone
+        assertTrue(service.findByPhone("555123456").isEmpty()); // Not 10 digits
+        assertTrue(service.findByPhone(null).isEmpty()); // Null phone
+
+        service.deleteContact("2"); // Remove one owner of the shared phone
+        assertEquals("3", service.findByPhone("0000000001").get(0).getContactID()); // The other owner remains
+        assertEquals(1, service.findByPhone("0000000001").size()); // Only one owner left
+    }
+
+    @Test
+    void testFindByPhoneFollowsUpdatePhone() { // Test method to verify that updatePhone re-keys the index
+        service.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // Original phone
+        service.updatePhone("1", "5559876543"); // Change the phone
+        assertTrue(service.findByPhone("5551234567").isEmpty()); // Old phone no longer points at the contact
+        assertEquals("1", service.findByPhone("5559876543").get(0).getContactID()); // New phone does
+        service.updatePhone("1", "5559876543"); // Writing the same phone again
+        assertEquals(1, service.findByPhone("5559876543").size()); // Still indexed exactly once
+
+        assertThrows(IllegalArgumentException.class, () -> service.updatePhone("1", "12345")); // Invalid phone is rejected
+        assertEquals("1", service.findByPhone("5559876543").get(0).getContactID()); // Index unchanged by the failed update
+    }
+
+    @Test
+    void testUniquePhones() { // Test method to verify the optional uniqueness constraint
+        ContactService unique = new ContactService(16, true); // Phones must be unique
+        unique.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // First owner
+        unique.addContact(new Contact("2", "Jane", "Doe", "5559876543", "Addr2")); // Different phone
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> // Same phone, different contact
+            unique.addContact(new Contact("3", "Jim", "Doe", "5551234567", "Addr3")));
+        assertEquals("Phone number already in use.", exception.getMessage()); // Verify the message
+        assertNull(unique.getContact("3")); // Rejected contact is not stored
+
+        exception = assertThrows(IllegalArgumentException.class, () -> unique.updatePhone("2", "5551234567")); // Move onto a taken phone
+        assertEquals("Phone number already in use.", exception.getMessage()); // Verify the message
+        assertEquals("5559876543", unique.getContact("2").getPhone()); // Contact unchanged
+        assertEquals("2", unique.findByPhone("5559876543").get(0).getContactID()); // Index unchanged
+
+        unique.deleteContact("1"); // Free the phone
+        unique.updatePhone("2", "5551234567"); // Now allowed
+        assertEquals("2", unique.findByPhone("5551234567").get(0).getContactID()); // Index follows the move
+
+        BulkImportResult result = unique.addAll(Arrays.asList( // Bulk loads report phone clashes per record
+            new Contact("4", "Ann", "Lee", "5551234567", "Addr4"), // Clashes with contact 2
+            new Contact("5", "Bob", "Lee", "5550000000", "Addr5"))); // Free phone
+        assertEquals(BulkImportResult.Status.DUPLICATE_PHONE, result.getStatus(0)); // Clash reported
+        assertEquals(BulkImportResult.Status.ADDED, result.getStatus(1)); // Other record stored
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * ContactStore.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ *
+ * Description:
+ * Storage backend behind ContactService. ContactService keeps the public API,
+ * argument checks and exception messages; a ContactStore only stores records.
+ *
+ * Implementations:
+ * - MapContactStore     (default) one Contact object per record in a ConcurrentHashMap
+ * - PackedContactStore  records packed column-wise into primitive arrays, read through
+ *                       lightweight Contact views
+ * - CachingContactStore bounded LRU read-through cache in front of another store, for
+ *                       backends whose get is expensive
+ *
+ * Every method must be safe to call from many threads at once, and each call must be
+ * atomic for the contactID it names. Update methods validate the new value exactly like
+ * the matching Contact setter and throw the same IllegalArgumentException; an update of
+ * a missing contact returns false before any validation.
+ */
+// src/main/java/com/example/ContactStore.java
+package com.example; // Adjust the package name as needed
+
+import java.util.List; // Import List interface for phone lookups
+
+public interface ContactStore { // Pluggable storage for ContactService
+    String PHONE_IN_USE = "Phone number already in use."; // Message for a phone clash in a store with unique phones
+
+    Contact get(String contactID); // Returns the stored contact, or null if none has this (non-null) contactID
+
+    BulkImportResult.Status insert(Contact contact); // Stores a copy or the contact itself; returns ADDED, DUPLICATE_EXISTING or DUPLICATE_PHONE
+
+    boolean delete(String contactID); // Removes the contact; returns false if none had this (non-null) contactID
+
+    boolean updateFirstName(String contactID, String firstName); // Returns false if the contact does not exist
+
+    boolean updateLastName(String contactID, String lastName); // Returns false if the contact does not exist
+
+    boolean updatePhone(String contactID, String phone); // Returns false if the contact does not exist; throws PHONE_IN_USE on a unique-phone clash
+
+    boolean updateAddress(String contactID, String address); // Returns false if the contact does not exist
+
+    List<Contact> findByPhone(String phone); // Contacts using the phone; empty if none, or if phone is null or not 10 digits
+
+    int size(); // Number of stored contacts
+}
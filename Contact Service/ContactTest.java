@@ -122,4 +122,34 @@ public class ContactTest { // Test class for the Contact class
         assertThrows(IllegalArgumentException.class, () -> contact.setPhone("123")); // Expect an IllegalArgumentException when setting a phone number that is too short
         assertThrows(IllegalArgumentException.class, () -> contact.setAddress(null)); // Expect an IllegalArgumentException when setting a null address
     }
+
+    @Test
+    void testTryCreateValid() { // Test that tryCreate builds the contact when every field is valid
+        ContactValidation result = Contact.tryCreate("1", "John", "Doe", "1234567890", "Address"); // Valid row
+        assertTrue(result.isValid()); // No rejected fields
+        assertEquals(0, result.getErrorCount()); // Nothing counted
+        assertNull(result.firstError()); // Nothing to report
+        assertEquals("John", result.getContact().getFirstName()); // Same contact the constructor would build
+        assertEquals("valid 1", result.toString()); // Readable form
+    }
+
+    @Test
+    void testTryCreateReportsEveryFieldAndIsReusable() { // Test that tryCreate reports every bad field without throwing, and that a result can be reused
+        ContactValidation result = new ContactValidation(); // Reused for both rows
+        assertSame(result, Contact.tryCreate(null, "John", "TooLongLastName", "123", "Address", result)); // Three bad fields
+        assertFalse(result.isValid()); // Rejected
+        assertNull(result.getContact()); // No contact built
+        assertEquals(3, result.getErrorCount()); // Every bad field, not just the first
+        assertEquals(ContactError.CONTACT_ID, result.firstError()); // The one the constructor would have thrown for
+        assertEquals(ContactError.LAST_NAME, result.getError(ContactValidation.Field.LAST_NAME)); // Last name
+        assertEquals(ContactError.PHONE, result.getError(ContactValidation.Field.PHONE)); // Phone
+        assertNull(result.getError(ContactValidation.Field.FIRST_NAME)); // First name was fine
+        assertEquals("invalid CONTACT_ID=CONTACT_ID LAST_NAME=LAST_NAME PHONE=PHONE", result.toString()); // Readable form
+
+        Contact.tryCreate("2", "Jane", "Doe", "0987654321", "Address", result); // Valid row into the same result
+        assertTrue(result.isValid()); // Previous failures were cleared
+        assertNull(result.getError(ContactValidation.Field.PHONE)); // Phone cleared
+        assertEquals("2", result.getContact().getContactID()); // New contact
+        assertThrows(IllegalArgumentException.class, () -> Contact.tryCreate("3", "A", "B", "1234567890", "C", null)); // A null result is a programming error
+    }
 }
\ No newline at end of file
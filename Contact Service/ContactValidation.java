@@ -0,0 +1,97 @@
+/*
+ * ContactValidation.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ *
+ * Description:
+ * Result of Contact.tryCreate: the contact, if every field was valid, and the ContactError
+ * of each field that was not. Unlike the Contact constructor, which throws on the first bad
+ * field, tryCreate checks every field and never throws for bad input, so a feed importer
+ * rejecting many rows pays for neither a stack trace nor a message.
+ *
+ * A result can be passed back to tryCreate to be reused for the next row, so a loop over
+ * many rows allocates nothing for the rows it rejects. A result is not thread-safe; use one
+ * per thread.
+ */
+// src/main/java/com/example/ContactValidation.java
+package com.example; // Adjust the package name as needed
+
+public final class ContactValidation { // Reusable per-field outcome of Contact.tryCreate
+    public enum Field { // A field checked by tryCreate, in constructor order
+        CONTACT_ID, // contactID
+        FIRST_NAME, // firstName
+        LAST_NAME, // lastName
+        PHONE, // phone
+        ADDRESS // address
+    }
+
+    private final ContactError[] errors = new ContactError[Field.values().length]; // Failure per field (null = valid)
+    private int errorCount; // Number of rejected fields
+    private Contact contact; // Contact built from the last row, or null if it was rejected
+
+    public ContactValidation() { // Constructor for an empty result, ready to pass to Contact.tryCreate
+    }
+
+    void reset() { // Clears the previous row's outcome
+        for (int i = 0; i < errors.length; i++) { // Every field
+            errors[i] = null; // Valid until checked
+        }
+        errorCount = 0; // No failures yet
+        contact = null; // No contact yet
+    }
+
+    void check(Field field, ContactError error) { // Records a field's check; null means the field is valid
+        errors[field.ordinal()] = error; // Store the outcome
+        if (error != null) { // Rejected
+            errorCount++; // Count it
+        }
+    }
+
+    void setContact(Contact contact) { // Stores the contact built from a valid row
+        this.contact = contact; // Assign the contact
+    }
+
+    public boolean isValid() { // True if every field was valid (and a contact was created)
+        return errorCount == 0; // No rejected fields
+    }
+
+    public Contact getContact() { // Contact created from the last checked row, or null if any field was invalid
+        return contact; // Return the contact
+    }
+
+    public ContactError getError(Field field) { // Why the given field was rejected, or null if it was valid
+        return errors[field.ordinal()]; // Return the stored outcome
+    }
+
+    public int getErrorCount() { // Number of rejected fields
+        return errorCount; // Return the count
+    }
+
+    public ContactError firstError() { // First rejected field in constructor order (the one the constructor would have thrown for), or null
+        for (ContactError error : errors) { // Fields in constructor order
+            if (error != null) { // Rejected
+                return error; // Report it
+            }
+        }
+        return null; // Every field was valid
+    }
+
+    @Override
+    public String toString() { // Readable form for logs and test failures
+        if (isValid()) { // Nothing was rejected
+            return "valid " + contact.getContactID(); // e.g. "valid 1"
+        }
+        StringBuilder text = new StringBuilder("invalid"); // e.g. "invalid PHONE=PHONE"
+        for (Field field : Field.values()) { // Every field
+            if (errors[field.ordinal()] != null) { // Rejected
+                text.append(' ').append(field).append('=').append(errors[field.ordinal()]); // Field and failure
+            }
+        }
+        return text.toString(); // The whole description
+    }
+}
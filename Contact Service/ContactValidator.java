@@ -0,0 +1,84 @@
+/*
+ * ContactValidator.java
+ * 
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service
+ * 
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ * 
+ * Description:
+ * Allocation-free field checks for Contact.
+ * 
+ * Each checkX method inspects its argument in a single pass and returns null when
+ * the value is valid, or the matching ContactError constant when it is not.
+ * No regular expressions are compiled, no strings are copied, and no messages are built.
+ * Contact uses these checks in its constructor and setters; other callers (bulk loaders,
+ * importers) can use them to reject bad input without catching exceptions.
+ */
+// src/main/java/com/example/ContactValidator.java
+package com.example; // Adjust the package name as needed
+
+public final class ContactValidator { // Utility class holding the Contact field rules
+    static final int ID_MAX = 10; // Maximum contactID length
+    static final int NAME_MAX = 10; // Maximum firstName and lastName length
+    static final int PHONE_LENGTH = 10; // Exact phone length
+    static final int ADDRESS_MAX = 30; // Maximum address length
+
+    private ContactValidator() { // Private constructor: static methods only
+    }
+
+    public static ContactError checkContactID(String contactID) { // Check contactID: non-null, 1-10 characters
+        return hasLength(contactID, ID_MAX) ? null : ContactError.CONTACT_ID; // null means valid
+    }
+
+    public static ContactError checkFirstName(String firstName) { // Check firstName: non-null, 1-10 characters
+        return hasLength(firstName, NAME_MAX) ? null : ContactError.FIRST_NAME; // null means valid
+    }
+
+    public static ContactError checkLastName(String lastName) { // Check lastName: non-null, 1-10 characters
+        return hasLength(lastName, NAME_MAX) ? null : ContactError.LAST_NAME; // null means valid
+    }
+
+    public static ContactError checkPhone(String phone) { // Check phone: exactly 10 ASCII digits
+        return isDigits(phone, PHONE_LENGTH) ? null : ContactError.PHONE; // null means valid
+    }
+
+    public static ContactError checkAddress(String address) { // Check address: non-null, 1-30 characters
+        return hasLength(address, ADDRESS_MAX) ? null : ContactError.ADDRESS; // null means valid
+    }
+
+    public static ContactError checkAll(String contactID, String firstName, String lastName, String phone, String address) { // Check every field in constructor order
+        if (!hasLength(contactID, ID_MAX)) { // Check contactID first, like the constructor
+            return ContactError.CONTACT_ID; // Report the first invalid field
+        }
+        if (!hasLength(firstName, NAME_MAX)) { // Then firstName
+            return ContactError.FIRST_NAME; // Report the first invalid field
+        }
+        if (!hasLength(lastName, NAME_MAX)) { // Then lastName
+            return ContactError.LAST_NAME; // Report the first invalid field
+        }
+        if (!isDigits(phone, PHONE_LENGTH)) { // Then phone
+            return ContactError.PHONE; // Report the first invalid field
+        }
+        return hasLength(address, ADDRESS_MAX) ? null : ContactError.ADDRESS; // Finally address; null means every field is valid
+    }
+
+    static boolean hasLength(String value, int max) { // True if value is non-null and 1..max characters long
+        return value != null && !value.isEmpty() && value.length() <= max; // Length is stored on the String, no scan needed
+    }
+
+    static boolean isDigits(String value, int length) { // True if value is exactly length characters, all '0'-'9'
+        if (value == null || value.length() != length) { // Reject null and wrong lengths before scanning
+            return false; // Invalid
+        }
+        for (int i = 0; i < length; i++) { // Single pass over the characters
+            char c = value.charAt(i); // Read the character without copying the string
+            if (c < '0' || c > '9') { // Same set as the former "\\d" regex (ASCII digits only)
+                return false; // Invalid
+            }
+        }
+        return true; // All characters are digits
+    }
+}
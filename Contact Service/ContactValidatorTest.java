@@ -0,0 +1,61 @@
+/*
+ * ContactValidatorTest.java
+ * 
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service - Unit Tests for ContactValidator Class
+ * 
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ * 
+ * Description:
+ * JUnit 5 test class for the ContactValidator class.
+ * This test suite verifies that each check returns null for valid values and the
+ * matching ContactError constant for invalid ones, including the phone edge cases
+ * the former regex handled (non-ASCII digits, wrong lengths, null).
+ */
+// src/test/java/com/example/ContactValidatorTest.java
+package com.example; // Adjust the package name as needed
+
+import org.junit.jupiter.api.Test; // JUnit 5 annotation for test methods
+import static org.junit.jupiter.api.Assertions.*; // Static import for assertion methods
+
+public class ContactValidatorTest { // Test class for the ContactValidator class
+
+    @Test
+    void testValidValuesPass() { // Test that valid values produce no error
+        assertNull(ContactValidator.checkContactID("1234567890")); // 10-character ID is the maximum allowed
+        assertNull(ContactValidator.checkFirstName("J")); // 1-character name is the minimum allowed
+        assertNull(ContactValidator.checkLastName("Doeeeeeeee")); // 10-character name is the maximum allowed
+        assertNull(ContactValidator.checkPhone("0123456789")); // 10 ASCII digits
+        assertNull(ContactValidator.checkAddress("123456789012345678901234567890")); // 30-character address is the maximum allowed
+    }
+
+    @Test
+    void testLengthRules() { // Test that null, empty, and too-long values return the field's error
+        assertSame(ContactError.CONTACT_ID, ContactValidator.checkContactID(null)); // Null ID
+        assertSame(ContactError.CONTACT_ID, ContactValidator.checkContactID("")); // Empty ID
+        assertSame(ContactError.CONTACT_ID, ContactValidator.checkContactID("12345678901")); // 11-character ID
+        assertSame(ContactError.FIRST_NAME, ContactValidator.checkFirstName("Johnnnnnnnn")); // 11-character first name
+        assertSame(ContactError.LAST_NAME, ContactValidator.checkLastName(null)); // Null last name
+        assertSame(ContactError.ADDRESS, ContactValidator.checkAddress("")); // Empty address
+    }
+
+    @Test
+    void testPhoneRules() { // Test that the single-pass phone check matches the former "\\d{10}" regex
+        assertSame(ContactError.PHONE, ContactValidator.checkPhone(null)); // Null phone
+        assertSame(ContactError.PHONE, ContactValidator.checkPhone("123456789")); // Too short
+        assertSame(ContactError.PHONE, ContactValidator.checkPhone("12345678901")); // Too long
+        assertSame(ContactError.PHONE, ContactValidator.checkPhone("12345abcde")); // Letters
+        assertSame(ContactError.PHONE, ContactValidator.checkPhone("123-456-78")); // Formatting characters
+        assertSame(ContactError.PHONE, ContactValidator.checkPhone("١٢٣٤٥٦٧٨٩٠")); // Non-ASCII digits were rejected by the regex too
+    }
+
+    @Test
+    void testErrorMessagesMatchContactExceptions() { // Test that the descriptors carry the messages Contact throws
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> // Expect the Contact constructor to reject the phone
+            new Contact("1", "John", "Doe", "123", "123 Main St")); // Attempt to create a Contact with an invalid phone
+        assertEquals(ContactError.PHONE.getMessage(), ex.getMessage()); // Same message as the descriptor
+        assertEquals("Phone must be exactly 10 digits.", ContactError.PHONE.getMessage()); // Message is unchanged from the original validator
+    }
+}
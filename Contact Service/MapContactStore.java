@@ -0,0 +1,119 @@
+/*
+ * MapContactStore.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ *
+ * Description:
+ * Default ContactStore: every Contact object is stored as-is in a ConcurrentHashMap
+ * keyed by contactID, with a PhoneIndex for reverse phone lookups.
+ *
+ * insert uses computeIfAbsent so two threads can never both insert the same contactID,
+ * and every update runs inside computeIfPresent, which serializes writers on the same
+ * contact without blocking readers or writers of other contacts. The phone index is
+ * changed inside the same map operation, so it cannot drift from the map. get never
+ * takes a lock.
+ *
+ * get returns the stored object itself. Changing a stored contact's phone with
+ * Contact.setPhone instead of updatePhone bypasses the phone index.
+ */
+// src/main/java/com/example/MapContactStore.java
+package com.example; // Adjust the package name as needed
+
+import java.util.List; // Import List interface for phone lookups
+import java.util.concurrent.ConcurrentHashMap; // Import ConcurrentHashMap for thread-safe storage of contacts
+import java.util.concurrent.ConcurrentMap; // Import ConcurrentMap interface for type declaration
+import java.util.function.Consumer; // Import Consumer for passing a field update to the atomic update helper
+
+public final class MapContactStore implements ContactStore { // One Contact object per record
+    private final ConcurrentMap<String, Contact> contacts; // ConcurrentHashMap to store contacts with contactID as key (lock-free reads, per-bin locking on writes)
+    private final PhoneIndex phones; // Reverse index: phone number -> contacts using it
+
+    public MapContactStore(int expectedContacts, boolean uniquePhones) { // Presizes storage and optionally requires every phone to be unique
+        if (expectedContacts < 0) { // Validate that the expected size is not negative
+            throw new IllegalArgumentException("Expected contact count cannot be negative."); // Throw an exception if the expected size is negative
+        }
+        this.contacts = new ConcurrentHashMap<>(expectedContacts); // Sized so that expectedContacts entries fit without rehashing
+        this.phones = new PhoneIndex(expectedContacts, uniquePhones); // Sized the same way
+    }
+
+    @Override
+    public Contact get(String contactID) { // Lock-free read
+        return contacts.get(contactID); // The stored object itself (null if contactID does not exist)
+    }
+
+    @Override
+    public BulkImportResult.Status insert(Contact contact) { // Stores the contact object itself
+        BulkImportResult.Status[] outcome = {BulkImportResult.Status.DUPLICATE_EXISTING}; // Stays DUPLICATE_EXISTING if the contactID is taken (the function never runs)
+        contacts.computeIfAbsent(contact.getContactID(), id -> { // Atomic check-and-insert holding the lock for this contactID only
+            if (!phones.add(PhoneIndex.key(contact.getPhone()), contact)) { // Index the phone before the contact becomes visible
+                outcome[0] = BulkImportResult.Status.DUPLICATE_PHONE; // Another contact owns the phone
+                return null; // Returning null leaves the map unchanged
+            }
+            outcome[0] = BulkImportResult.Status.ADDED; // Indexed, so store it
+            return contact; // Map the contactID to the contact
+        });
+        return outcome[0]; // Report what happened
+    }
+
+    @Override
+    public boolean delete(String contactID) { // Removes the contact and its phone entry together
+        boolean[] removed = {false}; // Set only if the function runs, i.e. the contact existed
+        contacts.computeIfPresent(contactID, (id, contact) -> { // Lock for this contactID only
+            phones.remove(PhoneIndex.key(contact.getPhone()), contact); // Drop the phone entry under the same lock as the removal
+            removed[0] = true; // Report the removal
+            return null; // Returning null removes the mapping
+        });
+        return removed[0]; // true if a contact was removed
+    }
+
+    @Override
+    public boolean updateFirstName(String contactID, String firstName) { // Setter validates inside the per-contact lock
+        return update(contactID, contact -> contact.setFirstName(firstName)); // Update the first name of the contact
+    }
+
+    @Override
+    public boolean updateLastName(String contactID, String lastName) { // Setter validates inside the per-contact lock
+        return update(contactID, contact -> contact.setLastName(lastName)); // Update the last name of the contact
+    }
+
+    @Override
+    public boolean updatePhone(String contactID, String phone) { // Re-keys the phone index together with the field
+        return update(contactID, contact -> { // Update the phone number of the contact and re-key it in the phone index
+            long to = PhoneIndex.key(phone); // Key for the new phone (also validates it)
+            if (to == PhoneIndex.NO_PHONE) { // Reject invalid phones before touching the index
+                throw ContactError.PHONE.toException(); // Same exception the setter would throw
+            }
+            if (!phones.move(PhoneIndex.key(contact.getPhone()), to, contact)) { // Re-key the contact (fails if phones are unique and the new one is taken)
+                throw new IllegalArgumentException(PHONE_IN_USE); // Throw an exception if the phone is not unique
+            }
+            contact.setPhone(phone); // Validated above, so the setter cannot throw
+        });
+    }
+
+    @Override
+    public boolean updateAddress(String contactID, String address) { // Setter validates inside the per-contact lock
+        return update(contactID, contact -> contact.setAddress(address)); // Update the address of the contact
+    }
+
+    @Override
+    public List<Contact> findByPhone(String phone) { // Reverse lookup through the phone index
+        return phones.get(PhoneIndex.key(phone)); // Primitive-keyed lookup; empty if none, or if phone is null or not 10 digits
+    }
+
+    @Override
+    public int size() { // Number of stored contacts
+        return contacts.size(); // Map size
+    }
+
+    private boolean update(String contactID, Consumer<Contact> update) { // Atomically applies a field update to an existing contact; false if it does not exist
+        return contacts.computeIfPresent(contactID, (id, contact) -> { // Run the update while holding the map's lock for this contactID only
+            update.accept(contact); // Apply the update (the setter validates and throws IllegalArgumentException on bad input, leaving the contact unchanged)
+            return contact; // Keep the same contact object mapped to the contactID
+        }) != null; // null means the contact does not exist
+    }
+}
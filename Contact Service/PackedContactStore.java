@@ -0,0 +1,614 @@
+/*
+ * PackedContactStore.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ *
+ * Description:
+ * Compact ContactStore for very large contact counts. Instead of one Contact object and
+ * five Strings per record, records are packed column-wise into primitive arrays:
+ *
+ * - contactID, firstName, lastName and address: fixed-width byte slots (10, 10, 10 and 30
+ *   bytes) holding one Latin-1 byte per character, plus a length byte per field. Values
+ *   with characters above U+00FF (rare) are kept as Strings in a side table instead.
+ * - phone: a long (the 10 digits as a number)
+ *
+ * Columns are split into pages of 65,536 rows so growing the store never copies existing
+ * data. Deleted rows go on a free list and are reused.
+ *
+ * Two open-addressing tables index the rows: contactID -> row (the table holds only row
+ * numbers; probes compare the ID bytes in place) and phone -> row (a long-keyed multimap
+ * with one slot per contact, also used for the optional unique-phone check). A phone
+ * shared by many contacts makes one long probe cluster, so this store suits data where
+ * phones are mostly distinct.
+ *
+ * Reads return lightweight Contact views (a row number and a generation) whose getters
+ * decode the current column values. Setters on a view write through to the store, so a
+ * view behaves like the live Contact returned by MapContactStore. Each deletion bumps the
+ * row's generation, and any later use of a view of the deleted contact throws
+ * IllegalStateException instead of reading the row's next occupant.
+ *
+ * Thread safety: writers take a single StampedLock write lock (so, unlike MapContactStore,
+ * writes to different contacts do not run in parallel). Readers run without locking under
+ * an optimistic stamp and only retry under the read lock if a writer ran at the same time.
+ */
+// src/main/java/com/example/PackedContactStore.java
+package com.example; // Adjust the package name as needed
+
+import java.nio.charset.StandardCharsets; // Import StandardCharsets to decode Latin-1 column bytes
+import java.util.ArrayList; // Import ArrayList for phone lookup results
+import java.util.Arrays; // Import Arrays for growing and filling arrays
+import java.util.List; // Import List interface for phone lookup results
+import java.util.Map; // Import Map interface for type declaration of the wide-text table
+import java.util.concurrent.ConcurrentHashMap; // Import ConcurrentHashMap so optimistic readers can safely probe the wide-text table
+import java.util.concurrent.locks.StampedLock; // Import StampedLock for optimistic reads
+import java.util.function.Supplier; // Import Supplier for the optimistic read helper
+
+public final class PackedContactStore implements ContactStore { // Column-wise packed records
+    static final int PAGE_BITS = 16; // Rows per page = 2^16
+    static final int PAGE_SIZE = 1 << PAGE_BITS; // 65,536 rows per page
+    private static final int PAGE_MASK = PAGE_SIZE - 1; // Row offset within its page
+
+    static final int ID = 0; // Text field numbers (column index in a page)
+    static final int FIRST_NAME = 1; // First name column
+    static final int LAST_NAME = 2; // Last name column
+    static final int ADDRESS = 3; // Address column
+    private static final int TEXT_FIELDS = 4; // Number of text columns
+    private static final int[] WIDTH = { // Slot width in bytes per text column (the maximum length in characters)
+        ContactValidator.ID_MAX, ContactValidator.NAME_MAX, ContactValidator.NAME_MAX, ContactValidator.ADDRESS_MAX};
+
+    private static final long NO_PHONE = PhoneIndex.NO_PHONE; // Empty slot marker in the phone table
+    private static final int MIN_TABLE = 16; // Smallest index table
+
+    private final boolean uniquePhones; // True if at most one contact may use a phone
+    private final StampedLock lock = new StampedLock(); // Guards every field below
+    private Page[] pages = new Page[0]; // Column storage
+    private int rowCount; // Rows handed out so far (high-water mark)
+    private int[] freeRows = new int[16]; // Stack of deleted rows available for reuse
+    private int freeCount; // Entries in freeRows
+    private int size; // Live contacts
+    private int[] idSlots; // contactID table: row + 1 per slot, 0 = empty
+    private long[] phoneKeys; // Phone table keys, NO_PHONE = empty
+    private int[] phoneRows; // Phone table rows, parallel to phoneKeys
+    private final Map<Integer, String[]> wide = new ConcurrentHashMap<>(); // Row -> text values that are not Latin-1 (null entries for Latin-1 fields)
+
+    public PackedContactStore(int expectedContacts, boolean uniquePhones) { // Presizes the indexes and optionally requires every phone to be unique
+        if (expectedContacts < 0) { // Validate that the expected size is not negative
+            throw new IllegalArgumentException("Expected contact count cannot be negative."); // Throw an exception if the expected size is negative
+        }
+        this.uniquePhones = uniquePhones; // Remember the constraint
+        int capacity = tableCapacity(expectedContacts); // Index tables at most half full
+        this.idSlots = new int[capacity]; // Empty contactID table
+        this.phoneKeys = new long[capacity]; // Empty phone table
+        this.phoneRows = new int[capacity]; // Rows for the phone table
+        Arrays.fill(phoneKeys, NO_PHONE); // Every phone slot starts empty
+    }
+
+    @Override
+    public Contact get(String contactID) { // Optimistic lookup returning a view
+        return read(() -> { // Retried under the read lock if a writer interferes
+            int row = findRow(contactID); // Probe the contactID table
+            return row < 0 ? null : new View(this, row, page(row).generations[row & PAGE_MASK]); // View pinned to the row's current generation
+        });
+    }
+
+    @Override
+    public BulkImportResult.Status insert(Contact contact) { // Copies the contact's values into the columns
+        String contactID = contact.getContactID(); // Read every value before locking (the source may itself be a view)
+        String firstName = contact.getFirstName(); // First name to pack
+        String lastName = contact.getLastName(); // Last name to pack
+        long phone = PhoneIndex.key(contact.getPhone()); // Phone as a number
+        String address = contact.getAddress(); // Address to pack
+        long stamp = lock.writeLock(); // Exclusive access
+        try {
+            if (findRow(contactID) >= 0) { // contactID already stored
+                return BulkImportResult.Status.DUPLICATE_EXISTING; // Report the duplicate ID
+            }
+            if (uniquePhones && phoneOwner(phone, -1) >= 0) { // Phone already used by another contact
+                return BulkImportResult.Status.DUPLICATE_PHONE; // Report the phone clash
+            }
+            int row = allocateRow(); // Reuse a deleted row or take a new one
+            writeText(row, ID, contactID); // Pack the contactID
+            writeText(row, FIRST_NAME, firstName); // Pack the first name
+            writeText(row, LAST_NAME, lastName); // Pack the last name
+            writeText(row, ADDRESS, address); // Pack the address
+            page(row).phones[row & PAGE_MASK] = phone; // Store the phone number
+            addId(row); // Index the contactID
+            addPhone(phone, row); // Index the phone
+            size++; // One more live contact
+            return BulkImportResult.Status.ADDED; // Stored
+        } finally {
+            lock.unlockWrite(stamp); // Always release
+        }
+    }
+
+    @Override
+    public boolean delete(String contactID) { // Frees the row for reuse
+        long stamp = lock.writeLock(); // Exclusive access
+        try {
+            int row = findRow(contactID); // Locate the contact
+            if (row < 0) { // Not stored
+                return false; // Nothing to delete
+            }
+            removeId(row); // Drop the contactID entry (uses the ID bytes, so before clearing them)
+            removePhone(page(row).phones[row & PAGE_MASK], row); // Drop the phone entry
+            Page page = page(row); // Page holding the row
+            int offset = row & PAGE_MASK; // Row within the page
+            page.generations[offset]++; // Invalidate every view of this contact
+            page.lengths[offset * TEXT_FIELDS + ID] = 0; // An empty ID marks the row as free
+            wide.remove(row); // Drop any non-Latin-1 values
+            if (freeCount == freeRows.length) { // Grow the free-row stack
+                freeRows = Arrays.copyOf(freeRows, freeCount * 2); // Double it
+            }
+            freeRows[freeCount++] = row; // Reuse the row on a later insert
+            size--; // One fewer live contact
+            return true; // Deleted
+        } finally {
+            lock.unlockWrite(stamp); // Always release
+        }
+    }
+
+    @Override
+    public boolean updateFirstName(String contactID, String firstName) { // Replace one text column value
+        return updateText(contactID, FIRST_NAME, firstName); // Shared text update
+    }
+
+    @Override
+    public boolean updateLastName(String contactID, String lastName) { // Replace one text column value
+        return updateText(contactID, LAST_NAME, lastName); // Shared text update
+    }
+
+    @Override
+    public boolean updateAddress(String contactID, String address) { // Replace one text column value
+        return updateText(contactID, ADDRESS, address); // Shared text update
+    }
+
+    @Override
+    public boolean updatePhone(String contactID, String phone) { // Replace the phone and re-key the phone table
+        long stamp = lock.writeLock(); // Exclusive access
+        try {
+            int row = findRow(contactID); // Locate the contact
+            if (row < 0) { // Not stored
+                return false; // Report the missing contact before validating
+            }
+            writePhone(row, phone); // Validate and store
+            return true; // Updated
+        } finally {
+            lock.unlockWrite(stamp); // Always release
+        }
+    }
+
+    @Override
+    public List<Contact> findByPhone(String phone) { // Reverse lookup through the phone table
+        long key = PhoneIndex.key(phone); // Phone as a number
+        if (key == NO_PHONE) { // Invalid phones are never stored
+            return new ArrayList<>(); // Nothing to find
+        }
+        return read(() -> { // Retried under the read lock if a writer interferes
+            List<Contact> found = new ArrayList<>(1); // Usually a single owner
+            int mask = phoneKeys.length - 1; // Capacity is a power of two
+            int slot = hash(key) & mask; // Home slot
+            for (int probes = 0; probes <= mask && phoneKeys[slot] != NO_PHONE; probes++) { // Every pair with this phone is in the cluster
+                if (phoneKeys[slot] == key) { // One owner
+                    int row = phoneRows[slot]; // Owner's row
+                    found.add(new View(this, row, page(row).generations[row & PAGE_MASK])); // View of the owner
+                }
+                slot = (slot + 1) & mask; // Linear probing
+            }
+            return found; // All owners
+        });
+    }
+
+    @Override
+    public int size() { // Number of live contacts
+        return read(() -> size); // Consistent with concurrent writers
+    }
+
+    String readText(int row, int generation, int field) { // Current value of a text column for a view
+        return read(() -> { // Retried under the read lock if a writer interferes
+            checkGeneration(row, generation); // The view's contact must still exist
+            return text(row, field); // Decode the column
+        });
+    }
+
+    String readPhone(int row, int generation) { // Current phone for a view
+        return read(() -> { // Retried under the read lock if a writer interferes
+            checkGeneration(row, generation); // The view's contact must still exist
+            return formatPhone(page(row).phones[row & PAGE_MASK]); // Back to 10 digits with leading zeros
+        });
+    }
+
+    void writeText(int row, int generation, int field, String value) { // Setter path for views
+        throwIfInvalid(field, value); // Same validation as the Contact setter
+        long stamp = lock.writeLock(); // Exclusive access
+        try {
+            checkGeneration(row, generation); // The view's contact must still exist
+            writeText(row, field, value); // Store the value
+        } finally {
+            lock.unlockWrite(stamp); // Always release
+        }
+    }
+
+    void writePhone(int row, int generation, String phone) { // Setter path for views
+        long stamp = lock.writeLock(); // Exclusive access
+        try {
+            checkGeneration(row, generation); // The view's contact must still exist
+            writePhone(row, phone); // Validate, re-key and store
+        } finally {
+            lock.unlockWrite(stamp); // Always release
+        }
+    }
+
+    private boolean updateText(String contactID, int field, String value) { // Shared body of the text updates
+        long stamp = lock.writeLock(); // Exclusive access
+        try {
+            int row = findRow(contactID); // Locate the contact
+            if (row < 0) { // Not stored
+                return false; // Report the missing contact before validating
+            }
+            throwIfInvalid(field, value); // Same validation as the Contact setter
+            writeText(row, field, value); // Store the value
+            return true; // Updated
+        } finally {
+            lock.unlockWrite(stamp); // Always release
+        }
+    }
+
+    private void writePhone(int row, String phone) { // Validates, re-keys and stores a phone; caller holds the write lock
+        long to = PhoneIndex.key(phone); // New phone as a number (also validates it)
+        if (to == NO_PHONE) { // Not 10 digits
+            throw ContactError.PHONE.toException(); // Same exception the setter would throw
+        }
+        long[] phones = page(row).phones; // Phone column of the row's page
+        long from = phones[row & PAGE_MASK]; // Current phone
+        if (from == to) { // Same phone written again
+            return; // Nothing to change
+        }
+        if (uniquePhones && phoneOwner(to, row) >= 0) { // Another contact uses the new phone
+            throw new IllegalArgumentException(PHONE_IN_USE); // Throw an exception if the phone is not unique
+        }
+        removePhone(from, row); // Drop the old entry
+        addPhone(to, row); // Add the new entry
+        phones[row & PAGE_MASK] = to; // Store the new phone
+    }
+
+    private void checkGeneration(int row, int generation) { // Rejects views of deleted contacts
+        if (page(row).generations[row & PAGE_MASK] != generation) { // Row was freed (and possibly reused) since the view was made
+            throw new IllegalStateException("Contact has been deleted."); // The view no longer refers to a stored contact
+        }
+    }
+
+    private <T> T read(Supplier<T> reader) { // Runs a read optimistically, falling back to the read lock
+        long stamp = lock.tryOptimisticRead(); // 0 if a writer holds the lock
+        if (stamp != 0) { // No writer right now
+            try {
+                T result = reader.get(); // May observe a half-finished write
+                if (lock.validate(stamp)) { // No writer ran during the read
+                    return result; // Consistent result
+                }
+            } catch (RuntimeException inconsistent) { // A concurrent write can make the read fail (e.g. a stale page array); retry under the lock
+                // Fall through to the locked read, which rethrows genuine failures
+            }
+        }
+        stamp = lock.readLock(); // Block writers for a clean read
+        try {
+            return reader.get(); // Consistent result (or genuine exception)
+        } finally {
+            lock.unlockRead(stamp); // Always release
+        }
+    }
+
+    private Page page(int row) { // Page holding a row
+        return pages[row >>> PAGE_BITS]; // Rows fill pages in order
+    }
+
+    private int allocateRow() { // Reuses a deleted row, or takes the next new one (adding a page if needed)
+        if (freeCount > 0) { // Reuse first to keep pages dense
+            return freeRows[--freeCount]; // Most recently freed row
+        }
+        int row = rowCount++; // Next new row
+        if ((row >>> PAGE_BITS) == pages.length) { // Row belongs to a page that does not exist yet
+            Page[] grown = Arrays.copyOf(pages, pages.length + 1); // Only the page pointers are copied
+            grown[pages.length] = new Page(); // New empty page
+            pages = grown; // Publish the new page array
+        }
+        return row; // Fresh row
+    }
+
+    private String text(int row, int field) { // Decodes a text column
+        Page page = page(row); // Page holding the row
+        int offset = row & PAGE_MASK; // Row within the page
+        if ((page.wideFields[offset] & (1 << field)) != 0) { // Value is not Latin-1
+            return wide.get(row)[field]; // Stored as a String
+        }
+        int length = page.lengths[offset * TEXT_FIELDS + field]; // Stored length
+        return new String(page.text[field], offset * WIDTH[field], length, StandardCharsets.ISO_8859_1); // One byte per character
+    }
+
+    private void writeText(int row, int field, String value) { // Stores a validated text value; caller holds the write lock
+        Page page = page(row); // Page holding the row
+        int offset = row & PAGE_MASK; // Row within the page
+        byte[] column = page.text[field]; // Column for this field
+        int start = offset * WIDTH[field]; // Slot start
+        if (isLatin1(value)) { // Common case: one byte per character
+            for (int i = 0; i < value.length(); i++) { // Copy the characters
+                column[start + i] = (byte) value.charAt(i); // Latin-1 code unit
+            }
+            page.lengths[offset * TEXT_FIELDS + field] = (byte) value.length(); // At most 30, fits a byte
+            if ((page.wideFields[offset] & (1 << field)) != 0) { // Previous value was wide
+                page.wideFields[offset] &= (byte) ~(1 << field); // Back to the column
+                String[] values = wide.get(row); // Side-table entry
+                values[field] = null; // Drop the old wide value
+                if (values[ID] == null && values[FIRST_NAME] == null && values[LAST_NAME] == null && values[ADDRESS] == null) { // No wide values left
+                    wide.remove(row); // Drop the entry
+                }
+            }
+        } else { // Rare case: keep the String
+            wide.computeIfAbsent(row, r -> new String[TEXT_FIELDS])[field] = value; // Side-table entry
+            page.wideFields[offset] |= (byte) (1 << field); // Read it from the side table
+            page.lengths[offset * TEXT_FIELDS + field] = (byte) value.length(); // Keeps the ID-present marker meaningful for wide IDs
+        }
+    }
+
+    private int findRow(String contactID) { // Row of a stored contactID, or -1
+        int[] slots = idSlots; // Local copy: an optimistic reader may see the table being replaced
+        int mask = slots.length - 1; // Capacity is a power of two
+        int slot = hash(contactID.hashCode()) & mask; // Home slot
+        for (int probes = 0; probes <= mask && slots[slot] != 0; probes++) { // Bounded probe
+            int row = slots[slot] - 1; // Candidate row
+            if (idEquals(row, contactID)) { // Compare stored ID with the key in place
+                return row; // Found
+            }
+            slot = (slot + 1) & mask; // Linear probing
+        }
+        return -1; // Not stored
+    }
+
+    private boolean idEquals(int row, String contactID) { // Compares a stored contactID with a String without decoding it
+        Page page = page(row); // Page holding the row
+        int offset = row & PAGE_MASK; // Row within the page
+        if ((page.wideFields[offset] & (1 << ID)) != 0) { // Wide ID
+            return contactID.equals(wide.get(row)[ID]); // Compare the Strings
+        }
+        int length = page.lengths[offset * TEXT_FIELDS + ID]; // Stored length
+        if (length != contactID.length()) { // Different lengths never match
+            return false; // Mismatch
+        }
+        byte[] ids = page.text[ID]; // ID column
+        int start = offset * WIDTH[ID]; // Slot start
+        for (int i = 0; i < length; i++) { // Compare characters
+            if ((ids[start + i] & 0xFF) != contactID.charAt(i)) { // Latin-1 byte vs char
+                return false; // Mismatch
+            }
+        }
+        return true; // Same ID
+    }
+
+    private int idHash(int row) { // Same value as text(row, ID).hashCode(), without building the String
+        Page page = page(row); // Page holding the row
+        int offset = row & PAGE_MASK; // Row within the page
+        if ((page.wideFields[offset] & (1 << ID)) != 0) { // Wide ID
+            return wide.get(row)[ID].hashCode(); // String hash
+        }
+        int h = 0; // String.hashCode over the Latin-1 bytes
+        int start = offset * WIDTH[ID]; // Slot start
+        for (int i = 0; i < page.lengths[offset * TEXT_FIELDS + ID]; i++) { // Every character
+            h = 31 * h + (page.text[ID][start + i] & 0xFF); // Same recurrence as String.hashCode
+        }
+        return h; // Hash of the ID
+    }
+
+    private void addId(int row) { // Indexes a row's contactID; caller holds the write lock
+        if ((size + 1) * 2 > idSlots.length) { // Keep the load factor at or below 1/2
+            int[] old = idSlots; // Entries to move
+            idSlots = new int[old.length * 2]; // Double the table
+            for (int entry : old) { // Re-insert every row
+                if (entry != 0) { // Occupied slot
+                    placeId(entry - 1); // Into the new table
+                }
+            }
+        }
+        placeId(row); // Insert the new row
+    }
+
+    private void placeId(int row) { // Puts a row into the first empty slot of its probe sequence
+        int mask = idSlots.length - 1; // Capacity is a power of two
+        int slot = hash(idHash(row)) & mask; // Home slot
+        while (idSlots[slot] != 0) { // Linear probing
+            slot = (slot + 1) & mask; // Next slot
+        }
+        idSlots[slot] = row + 1; // 0 means empty, so store row + 1
+    }
+
+    private void removeId(int row) { // Removes a row's contactID entry with backward-shift deletion; caller holds the write lock
+        int mask = idSlots.length - 1; // Capacity is a power of two
+        int hole = hash(idHash(row)) & mask; // Start at the home slot
+        while (idSlots[hole] != row + 1) { // The entry is in the cluster
+            hole = (hole + 1) & mask; // Next slot
+        }
+        int next = (hole + 1) & mask; // Candidate to move into the hole
+        while (idSlots[next] != 0) { // Continue until the end of the cluster
+            int home = hash(idHash(idSlots[next] - 1)) & mask; // Where the candidate would ideally live
+            if (((next - home) & mask) >= ((next - hole) & mask)) { // The hole lies on the candidate's probe path
+                idSlots[hole] = idSlots[next]; // Move the candidate back
+                hole = next; // Its old slot is the new hole
+            }
+            next = (next + 1) & mask; // Examine the following slot
+        }
+        idSlots[hole] = 0; // Empty the final hole
+    }
+
+    private int phoneOwner(long phone, int exceptRow) { // Some row other than exceptRow using the phone, or -1
+        int mask = phoneKeys.length - 1; // Capacity is a power of two
+        for (int slot = hash(phone) & mask; phoneKeys[slot] != NO_PHONE; slot = (slot + 1) & mask) { // Every pair with this phone is in the cluster
+            if (phoneKeys[slot] == phone && phoneRows[slot] != exceptRow) { // Another owner
+                return phoneRows[slot]; // Found
+            }
+        }
+        return -1; // No other owner
+    }
+
+    private void addPhone(long phone, int row) { // Adds a (phone, row) pair; caller holds the write lock
+        if ((size + 1) * 2 > phoneKeys.length) { // Keep the load factor at or below 1/2 (one pair per contact)
+            long[] oldKeys = phoneKeys; // Entries to move
+            int[] oldRows = phoneRows; // Rows to move
+            phoneKeys = new long[oldKeys.length * 2]; // Double the table
+            phoneRows = new int[oldKeys.length * 2]; // Rows for the new table
+            Arrays.fill(phoneKeys, NO_PHONE); // Every slot starts empty
+            for (int i = 0; i < oldKeys.length; i++) { // Re-insert every pair
+                if (oldKeys[i] != NO_PHONE) { // Occupied slot
+                    placePhone(oldKeys[i], oldRows[i]); // Into the new table
+                }
+            }
+        }
+        placePhone(phone, row); // Insert the new pair
+    }
+
+    private void placePhone(long phone, int row) { // Puts a pair into the first empty slot of its probe sequence
+        int mask = phoneKeys.length - 1; // Capacity is a power of two
+        int slot = hash(phone) & mask; // Home slot
+        while (phoneKeys[slot] != NO_PHONE) { // Linear probing (equal phones take separate slots)
+            slot = (slot + 1) & mask; // Next slot
+        }
+        phoneRows[slot] = row; // Row first, so an optimistic reader matching the key sees a real row
+        phoneKeys[slot] = phone; // Claim the slot
+    }
+
+    private void removePhone(long phone, int row) { // Removes a (phone, row) pair with backward-shift deletion; caller holds the write lock
+        int mask = phoneKeys.length - 1; // Capacity is a power of two
+        int hole = hash(phone) & mask; // Start at the home slot
+        while (phoneKeys[hole] != phone || phoneRows[hole] != row) { // The pair is in the cluster
+            hole = (hole + 1) & mask; // Next slot
+        }
+        int next = (hole + 1) & mask; // Candidate to move into the hole
+        while (phoneKeys[next] != NO_PHONE) { // Continue until the end of the cluster
+            int home = hash(phoneKeys[next]) & mask; // Where the candidate would ideally live
+            if (((next - home) & mask) >= ((next - hole) & mask)) { // The hole lies on the candidate's probe path
+                phoneKeys[hole] = phoneKeys[next]; // Move the candidate back
+                phoneRows[hole] = phoneRows[next]; // Along with its row
+                hole = next; // Its old slot is the new hole
+            }
+            next = (next + 1) & mask; // Examine the following slot
+        }
+        phoneKeys[hole] = NO_PHONE; // Empty the final hole
+    }
+
+    private static void throwIfInvalid(int field, String value) { // Same checks as the Contact setters
+        ContactError error = field == FIRST_NAME ? ContactValidator.checkFirstName(value) // First name rules
+            : field == LAST_NAME ? ContactValidator.checkLastName(value) // Last name rules
+            : ContactValidator.checkAddress(value); // Address rules (the ID is never updated)
+        if (error != null) { // null means the value passed its check
+            throw error.toException(); // Throw an exception with the constant message for this field
+        }
+    }
+
+    private static boolean isLatin1(String value) { // True if every character fits in one byte
+        for (int i = 0; i < value.length(); i++) { // Check each character
+            if (value.charAt(i) > 0xFF) { // Outside Latin-1
+                return false; // Needs the side table
+            }
+        }
+        return true; // Packs into the column
+    }
+
+    private static String formatPhone(long phone) { // 10 digits with leading zeros
+        char[] digits = new char[ContactValidator.PHONE_LENGTH]; // Output buffer
+        for (int i = digits.length - 1; i >= 0; i--) { // Fill from the last digit
+            digits[i] = (char) ('0' + phone % 10); // Lowest remaining digit
+            phone /= 10; // Drop it
+        }
+        return new String(digits); // Phone as text
+    }
+
+    private static int hash(long key) { // Spreads keys across the table (Fibonacci hashing)
+        long h = key * 0x9E3779B97F4A7C15L; // Multiply by 2^64 / golden ratio
+        return (int) (h ^ (h >>> 32)); // Fold to 32 bits
+    }
+
+    private static int tableCapacity(int expectedContacts) { // Smallest power of two keeping expectedContacts at or below half full
+        int capacity = MIN_TABLE; // Minimum table size
+        while (capacity < expectedContacts * 2L && capacity < (1 << 30)) { // Load factor 1/2
+            capacity <<= 1; // Double
+        }
+        return capacity; // Power of two
+    }
+
+    private static final class Page { // Columns for PAGE_SIZE rows
+        final byte[][] text = new byte[TEXT_FIELDS][]; // One fixed-width byte column per text field
+        final byte[] lengths = new byte[PAGE_SIZE * TEXT_FIELDS]; // Length of each text value (0 ID length = free row)
+        final byte[] wideFields = new byte[PAGE_SIZE]; // Bit per text field stored in the side table
+        final long[] phones = new long[PAGE_SIZE]; // Phone per row
+        final int[] generations = new int[PAGE_SIZE]; // Bumped on delete to invalidate views
+
+        Page() { // Allocate every column
+            for (int field = 0; field < TEXT_FIELDS; field++) { // One column per text field
+                text[field] = new byte[PAGE_SIZE * WIDTH[field]]; // Fixed-width slots
+            }
+        }
+    }
+
+    /**
+     * Lightweight Contact backed by one row: holds only the store, the row and the
+     * generation, and decodes each value on demand.
+     */
+    static final class View extends Contact { // Contact view over packed columns
+        private final PackedContactStore store; // Owning store
+        private final int row; // Row holding the contact
+        private final int generation; // Row generation when the view was made
+
+        View(PackedContactStore store, int row, int generation) { // Views are created by the store only
+            this.store = store; // Remember the store
+            this.row = row; // Remember the row
+            this.generation = generation; // Remember the generation
+        }
+
+        @Override
+        public String getContactID() { // Decoded from the ID column
+            return store.readText(row, generation, ID); // Current value
+        }
+
+        @Override
+        public String getFirstName() { // Decoded from the first-name column
+            return store.readText(row, generation, FIRST_NAME); // Current value
+        }
+
+        @Override
+        public void setFirstName(String firstName) { // Writes through to the store
+            store.writeText(row, generation, FIRST_NAME, firstName); // Validated by the store
+        }
+
+        @Override
+        public String getLastName() { // Decoded from the last-name column
+            return store.readText(row, generation, LAST_NAME); // Current value
+        }
+
+        @Override
+        public void setLastName(String lastName) { // Writes through to the store
+            store.writeText(row, generation, LAST_NAME, lastName); // Validated by the store
+        }
+
+        @Override
+        public String getPhone() { // Formatted from the phone column
+            return store.readPhone(row, generation); // Current value
+        }
+
+        @Override
+        public void setPhone(String phone) { // Writes through to the store and re-keys the phone table
+            store.writePhone(row, generation, phone); // Validated by the store
+        }
+
+        @Override
+        public String getAddress() { // Decoded from the address column
+            return store.readText(row, generation, ADDRESS); // Current value
+        }
+
+        @Override
+        public void setAddress(String address) { // Writes through to the store
+            store.writeText(row, generation, ADDRESS, address); // Validated by the store
+        }
+    }
+}
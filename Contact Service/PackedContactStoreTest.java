@@ -0,0 +1,158 @@
+/*
+ * PackedContactStoreTest.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service - Unit Tests for PackedContactStore Class
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ * Description:
+ * JUnit 5 test class for the PackedContactStore backend, driven through ContactService:
+ *
+ * - The service behaves the same on the packed store (add, get, update, delete, errors)
+ * - Views write through to the store and fail once their contact is deleted
+ * - Deleted rows are reused without old views seeing the new occupant
+ * - Values outside Latin-1 round-trip through the side table
+ * - The phone index handles shared phones, unique phones and leading zeros
+ * - The store grows across pages and survives many deletes
+ */
+// src/test/java/com/example/PackedContactStoreTest.java
+package com.example; // Adjust the package name as needed
+
+import java.util.List; // Importing List for phone lookups
+
+import org.junit.jupiter.api.BeforeEach; // Importing JUnit 5 annotations and assertions for testing
+import org.junit.jupiter.api.Test; // Importing the Test annotation for marking test methods
+import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for easier test validation
+
+public class PackedContactStoreTest { // Test class for the packed storage backend
+    private ContactService service; // Service on a packed store, initialized before each test method
+
+    @BeforeEach // Method annotated with @BeforeEach to set up a new service before each test, ensuring test isolation
+    void setUp() { // Method to initialize the service before each test
+        service = new ContactService(new PackedContactStore(16, false)); // Packed backend, phones may be shared
+    }
+
+    @Test
+    void testServiceBehaviourOnPackedStore() { // Test method to verify the service API behaves the same on the packed backend
+        service.addContact(new Contact("123", "John", "Doe", "1234567890", "123 Main St")); // Add a contact
+        Contact stored = service.getContact("123"); // Read it back as a view
+        assertEquals("123", stored.getContactID()); // Every field round-trips
+        assertEquals("John", stored.getFirstName()); // First name
+        assertEquals("Doe", stored.getLastName()); // Last name
+        assertEquals("1234567890", stored.getPhone()); // Phone
+        assertEquals("123 Main St", stored.getAddress()); // Address
+
+        assertThrows(IllegalArgumentException.class, () -> // Duplicate IDs are rejected
+            service.addContact(new Contact("123", "Jane", "Smith", "0987654321", "456 Oak Ave")));
+        service.updateFirstName("123", "Jane"); // Update every mutable field
+        service.updateLastName("123", "Smith"); // Last name
+        service.updatePhone("123", "0987654321"); // Phone
+        service.updateAddress("123", "New Address"); // Address
+        assertEquals("Jane", stored.getFirstName()); // The earlier view sees the updates
+        assertEquals("Smith", stored.getLastName()); // Last name
+        assertEquals("0987654321", stored.getPhone()); // Phone
+        assertEquals("New Address", stored.getAddress()); // Address
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> service.updateFirstName("999", "WayTooLongName")); // Missing contact is reported before validation
+        assertEquals("Contact not found.", exception.getMessage()); // Verify the message
+        exception = assertThrows(IllegalArgumentException.class, () -> service.updateFirstName("123", "WayTooLongName")); // Invalid value
+        assertEquals(ContactError.FIRST_NAME.getMessage(), exception.getMessage()); // Same message as the Contact setter
+        assertThrows(IllegalArgumentException.class, () -> service.updatePhone("123", "abc")); // Invalid phone
+        assertThrows(IllegalArgumentException.class, () -> service.updateAddress(null, "Addr")); // Null ID
+        assertEquals("Jane", stored.getFirstName()); // Failed updates change nothing
+
+        service.deleteContact("123"); // Delete the contact
+        service.deleteContact("123"); // Deleting again is a no-op
+        service.deleteContact(null); // Null IDs are ignored
+        assertNull(service.getContact("123")); // No longer retrievable
+        assertThrows(IllegalArgumentException.class, () -> new ContactService((ContactStore) null)); // A store is required
+        assertThrows(IllegalArgumentException.class, () -> new PackedContactStore(-1, false)); // Negative sizes are rejected
+    }
+
+    @Test
+    void testViewsWriteThroughAndExpireOnDelete() { // Test method to verify view setters and deleted views
+        service.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // Add a contact
+        Contact view = service.getContact("1"); // View of the stored row
+        view.setFirstName("Jim"); // Setter writes to the store
+        view.setPhone("5559876543"); // Phone setter re-keys the index
+        assertEquals("Jim", service.getContact("1").getFirstName()); // A fresh view sees the write
+        assertTrue(service.findByPhone("5551234567").isEmpty()); // Old phone no longer indexed
+        assertEquals("1", service.findByPhone("5559876543").get(0).getContactID()); // New phone indexed
+        assertThrows(IllegalArgumentException.class, () -> view.setLastName("")); // Setters still validate
+
+        service.deleteContact("1"); // Delete the contact
+        assertThrows(IllegalStateException.class, view::getFirstName); // The view no longer refers to a contact
+        assertThrows(IllegalStateException.class, () -> view.setAddress("Addr2")); // Writes are rejected too
+
+        service.addContact(new Contact("2", "Jane", "Roe", "5550000000", "Addr2")); // Reuses the freed row
+        assertThrows(IllegalStateException.class, view::getContactID); // The old view never sees the new occupant
+        assertEquals("Jane", service.getContact("2").getFirstName()); // The new contact is intact
+    }
+
+    @Test
+    void testNonLatin1Values() { // Test method to verify that characters above U+00FF are kept exactly
+        service.addContact(new Contact("ид-1", "Ωmega", "Müller", "5551234567", "東京都 1-2-3")); // Wide ID, first name and address; Latin-1 last name
+        Contact stored = service.getContact("ид-1"); // Lookup by a wide ID
+        assertEquals("Ωmega", stored.getFirstName()); // Wide first name
+        assertEquals("Müller", stored.getLastName()); // Latin-1 last name stays in the column
+        assertEquals("東京都 1-2-3", stored.getAddress()); // Wide address
+
+        service.updateFirstName("ид-1", "Omega"); // Back to Latin-1
+        service.updateAddress("ид-1", "Main St"); // Back to Latin-1
+        assertEquals("Omega", stored.getFirstName()); // Read from the column again
+        assertEquals("Main St", stored.getAddress()); // Read from the column again
+        assertNull(service.getContact("ид-2")); // A different wide ID does not match
+        service.deleteContact("ид-1"); // Delete by a wide ID
+        assertNull(service.getContact("ид-1")); // Removed
+    }
+
+    @Test
+    void testPhoneIndex() { // Test method to verify reverse lookup and the uniqueness constraint on the packed store
+        service.addContact(new Contact("1", "John", "Doe", "0000000001", "Addr1")); // Shares a phone with contact 2
+        service.addContact(new Contact("2", "Jane", "Doe", "0000000001", "Addr2")); // Shares a phone with contact 1
+        List<Contact> owners = service.findByPhone("0000000001"); // Both owners
+        assertEquals(2, owners.size()); // Shared phone
+        assertEquals("0000000001", owners.get(0).getPhone()); // Leading zeros are kept
+        assertTrue(service.findByPhone("555123456").isEmpty()); // Not 10 digits
+        assertTrue(service.findByPhone(null).isEmpty()); // Null phone
+        service.deleteContact("1"); // Remove one owner
+        assertEquals("2", service.findByPhone("0000000001").get(0).getContactID()); // The other owner remains
+
+        ContactService unique = new ContactService(new PackedContactStore(16, true)); // Phones must be unique
+        unique.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")); // First owner
+        unique.addContact(new Contact("2", "Jane", "Doe", "5559876543", "Addr2")); // Different phone
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> // Same phone, different contact
+            unique.addContact(new Contact("3", "Jim", "Doe", "5551234567", "Addr3")));
+        assertEquals(ContactStore.PHONE_IN_USE, exception.getMessage()); // Verify the message
+        exception = assertThrows(IllegalArgumentException.class, () -> unique.updatePhone("2", "5551234567")); // Move onto a taken phone
+        assertEquals(ContactStore.PHONE_IN_USE, exception.getMessage()); // Verify the message
+        unique.updatePhone("1", "5551234567"); // Writing a contact's own phone again is allowed
+        assertEquals("5559876543", unique.getContact("2").getPhone()); // Contact unchanged
+    }
+
+    @Test
+    void testGrowsAcrossPagesAndReusesRows() { // Test method to verify a store larger than one page with many deletes and reinserts
+        PackedContactStore store = new PackedContactStore(0, true); // Start tiny so every table resizes
+        ContactService packed = new ContactService(store); // Service on that store
+        int count = PackedContactStore.PAGE_SIZE + 1000; // Spills into a second page
+        for (int i = 0; i < count; i++) { // Fill the store
+            packed.addContact(new Contact("c" + i, "First", "Last", String.format("%010d", i), "Street " + i)); // Unique ID and phone per contact
+        }
+        for (int i = 0; i < count; i += 2) { // Delete every other contact
+            packed.deleteContact("c" + i); // Frees the row
+        }
+        for (int i = 0; i < count; i += 2) { // Reinsert them with new IDs
+            packed.addContact(new Contact("d" + i, "New", "Last", String.format("%010d", i), "Avenue " + i)); // Reuses freed rows and phones
+        }
+
+        assertEquals(count, store.size()); // Same number of live contacts
+        for (int i = 0; i < count; i++) { // Every contact is where it should be
+            String expected = (i % 2 == 0 ? "d" : "c") + i; // Reinserted or original
+            assertEquals(expected, packed.findByPhone(String.format("%010d", i)).get(0).getContactID()); // Phone index is intact
+            assertEquals(i % 2 == 0 ? "Avenue " + i : "Street " + i, packed.getContact(expected).getAddress()); // Columns are intact
+        }
+        assertNull(packed.getContact("c0")); // Deleted IDs stay deleted
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * PhoneIndex.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ *
+ * Description:
+ * Reverse index from phone number to the contacts that use it, owned by ContactService.
+ * Phones are exactly 10 digits, so each one is stored as a primitive long key in an
+ * open-addressing table (linear probing, load factor at most 1/2). Lookups never hash
+ * a String or box a key.
+ *
+ * A slot's value is the single owning Contact or, once a phone is shared, a concurrent
+ * set of owners, so adding or removing one owner costs O(1) however many share the phone.
+ *
+ * Thread safety: writers take a StampedLock write lock. Readers first probe without
+ * locking under an optimistic stamp and only fall back to the read lock if a writer
+ * ran at the same time. The keys and values arrays live in one Table object so a
+ * reader always sees a matching pair.
+ */
+// src/main/java/com/example/PhoneIndex.java
+package com.example; // Adjust the package name as needed
+
+import java.util.ArrayList; // Import ArrayList for lookup results
+import java.util.Arrays; // Import Arrays for filling empty key slots
+import java.util.Collections; // Import Collections for the empty and single-owner lookup results
+import java.util.List; // Import List interface for lookup results
+import java.util.Set; // Import Set interface for the owners of a shared phone
+import java.util.concurrent.ConcurrentHashMap; // Import ConcurrentHashMap for concurrent owner sets readers can walk without the lock
+import java.util.concurrent.locks.StampedLock; // Import StampedLock for optimistic reads
+
+final class PhoneIndex { // Package-private: only ContactService maintains the index
+    static final long NO_PHONE = -1L; // Key for values that are not 10-digit phones; also marks an empty slot
+
+    private final boolean unique; // True if at most one contact may own a phone
+    private final StampedLock lock = new StampedLock(); // Guards table and size
+    private Table table; // Current keys and values
+    private int size; // Number of distinct phones in the table
+
+    PhoneIndex(int expectedContacts, boolean unique) { // Presized so expectedContacts distinct phones fit without resizing
+        this.unique = unique; // Remember the constraint
+        this.table = new Table(capacityFor(expectedContacts)); // Start at the right size
+    }
+
+    static long key(String phone) { // Converts a 10-digit phone to its key, or NO_PHONE if it is not a valid phone
+        if (!ContactValidator.isDigits(phone, ContactValidator.PHONE_LENGTH)) { // Only valid phones can be indexed
+            return NO_PHONE; // Never matches a stored key
+        }
+        long key = 0; // Accumulated digits
+        for (int i = 0; i < phone.length(); i++) { // Ten digits fit easily in a long
+            key = key * 10 + (phone.charAt(i) - '0'); // Append the next digit
+        }
+        return key; // Between 0 and 9,999,999,999
+    }
+
+    boolean add(long key, Contact contact) { // Adds an owner; returns false (and changes nothing) if uniqueness would be broken
+        long stamp = lock.writeLock(); // Exclusive access
+        try {
+            return addLocked(key, contact); // Shared with move
+        } finally {
+            lock.unlockWrite(stamp); // Always release
+        }
+    }
+
+    void remove(long key, Contact contact) { // Removes an owner if it is present
+        long stamp = lock.writeLock(); // Exclusive access
+        try {
+            removeLocked(key, contact); // Shared with move
+        } finally {
+            lock.unlockWrite(stamp); // Always release
+        }
+    }
+
+    boolean move(long from, long to, Contact contact) { // Re-keys an owner after a phone change; returns false (and changes nothing) if uniqueness would be broken
+        if (from == to) { // Same phone written again
+            return true; // Nothing to re-key
+        }
+        long stamp = lock.writeLock(); // Both steps under one lock so readers never see the contact missing
+        try {
+            if (!addLocked(to, contact)) { // Claim the new phone first
+                return false; // Another contact owns it
+            }
+            removeLocked(from, contact); // Release the old phone
+            return true; // Moved
+        } finally {
+            lock.unlockWrite(stamp); // Always release
+        }
+    }
+
+    List<Contact> get(long key) { // Returns the owners of a phone (empty if none)
+        if (key == NO_PHONE) { // Invalid phones are never stored
+            return Collections.emptyList(); // Nothing to find
+        }
+        long stamp = lock.tryOptimisticRead(); // No lock taken
+        Object value = table.find(key); // Probe while writers may be running
+        if (!lock.validate(stamp)) { // A writer ran during the probe, so the result may be inconsistent
+            stamp = lock.readLock(); // Block writers for a clean probe
+            try {
+                value = table.find(key); // Probe again
+            } finally {
+                lock.unlockRead(stamp); // Always release
+            }
+        }
+        return owners(value); // Convert the slot value into a list
+    }
+
+    private boolean addLocked(long key, Contact contact) { // Adds an owner; caller holds the write lock
+        int slot = table.slot(key); // Slot holding key, or the empty slot where it belongs
+        Object value = table.values[slot]; // Current owners, or null
+        if (value == null) { // First owner of this phone
+            table.keys[slot] = key; // Claim the slot
+            table.values[slot] = contact; // Single owner
+            if (++size * 2 > table.keys.length) { // Keep the load factor at or below 1/2
+                resize(); // Double the table
+            }
+            return true; // Added
+        }
+        if (value == contact) { // Already the only owner
+            return true; // Nothing to change
+        }
+        if (unique) { // A different contact already owns this phone
+            return false; // Reject without changing anything
+        }
+        if (value instanceof Contact) { // Second owner of this phone
+            Set<Contact> owners = ConcurrentHashMap.newKeySet(); // Contact has identity equality, so each stored contact is one member
+            owners.add((Contact) value); // Keep the first owner
+            owners.add(contact); // Add the new one
+            table.values[slot] = owners; // Publish the filled set
+        } else { // Already shared
+            ownersOf(value).add(contact); // Set add is a no-op for an existing owner
+        }
+        return true; // Added
+    }
+
+    private void removeLocked(long key, Contact contact) { // Removes an owner; caller holds the write lock
+        if (key == NO_PHONE) { // Invalid phones are never stored
+            return; // Nothing to remove
+        }
+        int slot = table.slot(key); // Slot holding key, if present
+        Object value = table.values[slot]; // Current owners, or null
+        if (value == contact) { // Only owner
+            table.delete(slot); // Free the slot
+            size--; // One fewer distinct phone
+        } else if (value != null && !(value instanceof Contact)) { // Shared phone
+            Set<Contact> owners = ownersOf(value); // Current owners
+            if (owners.remove(contact) && owners.size() == 1) { // One owner left
+                table.values[slot] = owners.iterator().next(); // Back to a single Contact
+            }
+        }
+    }
+
+    private void resize() { // Rehashes every entry into a table twice the size; caller holds the write lock
+        Table old = table; // Entries to move
+        Table grown = new Table(old.keys.length * 2); // New table, not yet visible to readers
+        for (int i = 0; i < old.keys.length; i++) { // Walk every slot
+            if (old.values[i] != null) { // Occupied slot
+                int slot = grown.slot(old.keys[i]); // Empty slot in the new table
+                grown.keys[slot] = old.keys[i]; // Copy the key
+                grown.values[slot] = old.values[i]; // Copy the owners
+            }
+        }
+        table = grown; // Publish the new table
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Contact> ownersOf(Object value) { // A non-Contact slot value is always the owner set built in addLocked
+        return (Set<Contact>) value; // Unchecked but safe: nothing else is ever stored
+    }
+
+    private static List<Contact> owners(Object value) { // Converts a slot value to a caller-owned list
+        if (value == null) { // No owners
+            return Collections.emptyList(); // Nothing found
+        }
+        if (value instanceof Contact) { // Single owner, the only case when phones are unique
+            return Collections.singletonList((Contact) value); // No array copy needed
+        }
+        return new ArrayList<>(ownersOf(value)); // Copy of the shared owners (weakly consistent if a writer is running)
+    }
+
+    private static int capacityFor(int expectedContacts) { // Smallest power of two keeping expectedContacts at or below half full
+        int capacity = 16; // Minimum table size
+        while (capacity < expectedContacts * 2L && capacity < (1 << 30)) { // Load factor 1/2
+            capacity <<= 1; // Double
+        }
+        return capacity; // Power of two
+    }
+
+    private static final class Table { // Keys and values replaced together on resize
+        final long[] keys; // Phone keys; NO_PHONE marks an empty slot
+        final Object[] values; // Contact or owner set per occupied slot; null when empty
+
+        Table(int capacity) { // Empty table of the given power-of-two size
+            keys = new long[capacity]; // Key per slot
+            values = new Object[capacity]; // Value per slot
+            Arrays.fill(keys, NO_PHONE); // Every slot starts empty
+        }
+
+        int slot(long key) { // Slot holding key, or the first empty slot of its probe sequence
+            int mask = keys.length - 1; // Capacity is a power of two
+            int slot = hash(key) & mask; // Home slot
+            for (int probes = 0; probes < keys.length && keys[slot] != NO_PHONE && keys[slot] != key; probes++) { // Bounded so an unlocked read of a half-written table always ends
+                slot = (slot + 1) & mask; // Linear probing
+            }
+            return slot; // Matching or empty slot
+        }
+
+        Object find(long key) { // Owners of key, or null; safe to call without the lock (the result is then validated)
+            int slot = slot(key); // Matching or empty slot
+            return keys[slot] == key ? values[slot] : null; // Only a matching key has owners
+        }
+
+        void delete(int slot) { // Empties a slot and shifts later entries back so no probe sequence is broken
+            int mask = keys.length - 1; // Capacity is a power of two
+            int hole = slot; // Slot being emptied
+            int next = (hole + 1) & mask; // Candidate to move into the hole
+            while (keys[next] != NO_PHONE) { // Continue until the end of the cluster
+                int home = hash(keys[next]) & mask; // Where the candidate would ideally live
+                if (((next - home) & mask) >= ((next - hole) & mask)) { // The hole lies on the candidate's probe path
+                    keys[hole] = keys[next]; // Move the candidate back
+                    values[hole] = values[next]; // Along with its owners
+                    hole = next; // The candidate's old slot is the new hole
+                }
+                next = (next + 1) & mask; // Examine the following slot
+            }
+            keys[hole] = NO_PHONE; // Empty the final hole
+            values[hole] = null; // Drop the reference
+        }
+
+        private static int hash(long key) { // Spreads sequential phone numbers across the table
+            long h = key * 0x9E3779B97F4A7C15L; // Fibonacci hashing multiplier
+            return (int) (h ^ (h >>> 32)); // Fold to 32 bits
+        }
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * ShardedContactService.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service - Sharded Service
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ * Description:
+ * Contact service for write-heavy loads that one ContactService cannot keep up with. The
+ * contactID keyspace is split by hash across N independent ContactService partitions
+ * (shards), each with its own store:
+ *
+ * - Writes: every shard is owned by one dedicated writer thread that takes calls from the
+ *   shard's mailbox queue in arrival order. Each write method returns a CompletableFuture
+ *   right away and runs on the owning shard's thread, so a shard's data is only ever
+ *   written by one thread: writes to a shard never contend, and its store stays in that
+ *   core's cache. Writes to one contact run in the order they were made.
+ * - Reads: getContact runs on the calling thread against the owning shard (stores are safe
+ *   to read while their writer works), without a queue hop. findByPhone asks every shard,
+ *   since a phone says nothing about which shard holds its owners.
+ * - Bulk loads: addAll and importRecords split the batch by shard, load the parts on all
+ *   shards in parallel and merge the reports back into batch order. Duplicate IDs within
+ *   the batch are still caught, because equal IDs always land on the same shard. Shards
+ *   commit their parts independently: if one shard refuses its part (mailbox full or
+ *   closed), the others still load theirs and the refused records are reported as
+ *   SHARD_REJECTED, so the caller can retry exactly those. A shard loads its part on its
+ *   writer thread however large it is, never on the common fork/join pool.
+ * - Backpressure: at most maxPendingPerShard calls may wait in one shard's mailbox. Past
+ *   that, a write returns a future that has already failed with RejectedExecutionException,
+ *   so one hot shard sheds load without blocking the callers of the others.
+ *
+ * Phones are indexed per shard, so a sharded service cannot require unique phones. A shared
+ * ContactMetrics counts each shard's part of a bulk load as one call of that shard.
+ * Callbacks added with the non-async CompletableFuture methods may run on a shard's writer
+ * thread; use the ...Async variants for slow work. close() stops new writes, lets the
+ * queued ones finish and stops the writer threads; reads keep working afterwards.
+ */
+// src/main/java/com/example/ShardedContactService.java
+package com.example; // Adjust the package name as needed for your project structure
+
+import java.util.ArrayList; // Import ArrayList for the per-shard parts of a batch and phone lookups
+import java.util.Collection; // Import Collection for the bulk load input
+import java.util.List; // Import List for raw records and phone lookups
+import java.util.concurrent.Callable; // Import Callable for the work handed to a shard's writer
+import java.util.concurrent.CompletableFuture; // Import CompletableFuture for the non-blocking writes
+import java.util.concurrent.CompletionException; // Import CompletionException, which join() wraps a refused part's failure in
+import java.util.concurrent.ExecutorService; // Import ExecutorService for the writer threads
+import java.util.concurrent.LinkedBlockingQueue; // Import LinkedBlockingQueue for the mailboxes (bounded by the permits)
+import java.util.concurrent.RejectedExecutionException; // Import RejectedExecutionException for writes over the limit or after close
+import java.util.concurrent.Semaphore; // Import Semaphore to bound each mailbox
+import java.util.concurrent.ThreadPoolExecutor; // Import ThreadPoolExecutor to build each single-thread writer
+import java.util.concurrent.TimeUnit; // Import TimeUnit for the shutdown wait
+import java.util.function.Function; // Import Function for running custom work against a shard
+
+public class ShardedContactService implements AutoCloseable { // Class definition for the sharded service
+    static final int DEFAULT_MAX_PENDING_PER_SHARD = 16_384; // Mailbox limit per shard (same headroom as AsyncContactService)
+
+    private final Shard[] shards; // One partition per shard index
+
+    public ShardedContactService(int shardCount) { // Constructor with default sizing, no events and no metrics
+        this(shardCount, ContactService.DEFAULT_EXPECTED_CONTACTS * shardCount, null, null); // Defaults for a small service
+    }
+
+    public ShardedContactService(int shardCount, int expectedContacts) { // Constructor that presizes the shards, e.g. before a startup sync
+        this(shardCount, expectedContacts, null, null); // No events and no metrics
+    }
+
+    public ShardedContactService(int shardCount, int expectedContacts, ContactEventBus events, ContactMetrics metrics) { // Constructor with a shared bus and metrics (null for none); both are safe to share across shards
+        this(shardCount, expectedContacts, events, metrics, DEFAULT_MAX_PENDING_PER_SHARD); // Default mailbox limit
+    }
+
+    public ShardedContactService(int shardCount, int expectedContacts, ContactEventBus events, ContactMetrics metrics, int maxPendingPerShard) { // Constructor with an explicit mailbox limit
+        if (shardCount < 1) { // Validate the shard count
+            throw new IllegalArgumentException("Shard count must be at least 1."); // Throw an exception if there would be no shard
+        }
+        if (expectedContacts < 0) { // Validate the sizing hint
+            throw new IllegalArgumentException("Expected contacts cannot be negative."); // Throw an exception for a negative size
+        }
+        if (maxPendingPerShard < 1) { // Validate the limit
+            throw new IllegalArgumentException("Pending call limit must be at least 1."); // Throw an exception if no write could ever run
+        }
+        this.shards = new Shard[shardCount]; // One slot per shard
+        int perShard = expectedContacts / shardCount + 1; // Hashing spreads contacts evenly
+        for (int i = 0; i < shardCount; i++) { // Build every shard
+            ContactService service = new ContactService(new MapContactStore(perShard, false), events, metrics, false); // Independent partition; bulk loads stay on the writer thread instead of the common pool
+            shards[i] = new Shard(service, i, maxPendingPerShard); // With its writer thread
+        }
+    }
+
+    public int getShardCount() { // Number of partitions
+        return shards.length; // Fixed at construction
+    }
+
+    public int shardOf(String contactID) { // Index of the shard that owns contactID
+        if (contactID == null) { // A null contactID belongs to no shard
+            return 0; // Route to the first shard, which reports it like ContactService does
+        }
+        // Fibonacci hashing: the shard comes from the high bits of the mixed hash, so the contacts of
+        // one shard still differ in the low bits the shard's own hash map uses to pick buckets
+        long mixed = (contactID.hashCode() * 0x9E3779B9L) & 0xFFFF_FFFFL; // 32 well-mixed bits
+        return (int) ((mixed * shards.length) >>> 32); // Scale to [0, shardCount) without a division
+    }
+
+    public ContactService getShard(int index) { // The partition at index, e.g. for per-shard monitoring; write to it only through this service
+        return shards[index].service; // Throws ArrayIndexOutOfBoundsException for a bad index
+    }
+
+    public CompletableFuture<Void> addContact(Contact contact) { // Asynchronous ContactService.addContact on the owning shard
+        Shard shard = shards[contact == null ? 0 : shardOf(contact.getContactID())]; // A null contact is reported by the first shard
+        return shard.run(() -> shard.service.addContact(contact)); // Completes once the contact is stored
+    }
+
+    public CompletableFuture<Void> deleteContact(String contactID) { // Asynchronous ContactService.deleteContact on the owning shard
+        Shard shard = shards[shardOf(contactID)]; // Owner
+        return shard.run(() -> shard.service.deleteContact(contactID)); // Completes once the contact is gone
+    }
+
+    public CompletableFuture<Void> updateFirstName(String contactID, String firstName) { // Asynchronous ContactService.updateFirstName on the owning shard
+        Shard shard = shards[shardOf(contactID)]; // Owner
+        return shard.run(() -> shard.service.updateFirstName(contactID, firstName)); // Completes once the update is stored
+    }
+
+    public CompletableFuture<Void> updateLastName(String contactID, String lastName) { // Asynchronous ContactService.updateLastName on the owning shard
+        Shard shard = shards[shardOf(contactID)]; // Owner
+        return shard.run(() -> shard.service.updateLastName(contactID, lastName)); // Completes once the update is stored
+    }
+
+    public CompletableFuture<Void> updatePhone(String contactID, String phone) { // Asynchronous ContactService.updatePhone on the owning shard
+        Shard shard = shards[shardOf(contactID)]; // Owner
+        return shard.run(() -> shard.service.updatePhone(contactID, phone)); // Completes once the update is stored
+    }
+
+    public CompletableFuture<Void> updateAddress(String contactID, String address) { // Asynchronous ContactService.updateAddress on the owning shard
+        Shard shard = shards[shardOf(contactID)]; // Owner
+        return shard.run(() -> shard.service.updateAddress(contactID, address)); // Completes once the update is stored
+    }
+
+    public <T> CompletableFuture<T> call(String contactID, Function<ContactService, T> operation) { // Runs other work against the shard owning contactID, on its writer thread
+        if (operation == null) { // Validate that the operation is not null
+            throw new IllegalArgumentException("Operation cannot be null."); // Throw an exception if there is nothing to run
+        }
+        Shard shard = shards[shardOf(contactID)]; // Owner
+        return shard.submit(() -> operation.apply(shard.service)); // Completes with the operation's result
+    }
+
+    public Contact getContact(String contactID) { // ContactService.getContact on the owning shard, on the calling thread
+        return shards[shardOf(contactID)].service.getContact(contactID); // The contact, or null if not found (or contactID is null)
+    }
+
+    public List<Contact> findByPhone(String phone) { // ContactService.findByPhone on every shard, on the calling thread
+        List<Contact> owners = new ArrayList<>(); // Owners from all shards
+        for (Shard shard : shards) { // Any shard may hold an owner
+            owners.addAll(shard.service.findByPhone(phone)); // Indexed lookup within the shard
+        }
+        return owners; // Empty if none, or if phone is null or not 10 digits
+    }
+
+    public CompletableFuture<BulkImportResult> addAll(Collection<Contact> batch) { // Asynchronous ContactService.addAll, split across the shards
+        if (batch == null) { // Validate that the batch is not null
+            throw new IllegalArgumentException("Contacts cannot be null."); // Same message as ContactService
+        }
+        Contact[] records = batch.toArray(new Contact[0]); // Snapshot the batch so records can be addressed by index
+        int[][] positions = partition(records.length, i -> records[i] == null ? null : records[i].getContactID()); // Batch positions per shard
+        List<CompletableFuture<BulkImportResult>> parts = new ArrayList<>(shards.length); // One report per shard (null for an empty part)
+        for (int s = 0; s < shards.length; s++) { // Hand each shard its part
+            List<Contact> part = new ArrayList<>(positions[s].length); // The shard's records, in batch order
+            for (int position : positions[s]) { // Every record routed here
+                part.add(records[position]); // Keep the order so the first occurrence of an ID still wins
+            }
+            Shard shard = shards[s]; // Owner of the part
+            parts.add(part.isEmpty() ? null : shard.submit(() -> shard.service.addAll(part))); // Loaded on the shard's writer
+        }
+        return merge(records.length, positions, parts); // One report in batch order
+    }
+
+    public CompletableFuture<BulkImportResult> importRecords(List<String[]> rows) { // Asynchronous ContactService.importRecords, split across the shards
+        if (rows == null) { // Validate that the batch is not null
+            throw new IllegalArgumentException("Records cannot be null."); // Same message as ContactService
+        }
+        String[][] fields = rows.toArray(new String[0][]); // Snapshot the batch so records can be addressed by index
+        int[][] positions = partition(fields.length, i -> fields[i] == null || fields[i].length == 0 ? null : fields[i][0]); // Batch positions per shard
+        List<CompletableFuture<BulkImportResult>> parts = new ArrayList<>(shards.length); // One report per shard (null for an empty part)
+        for (int s = 0; s < shards.length; s++) { // Hand each shard its part
+            List<String[]> part = new ArrayList<>(positions[s].length); // The shard's rows, in batch order
+            for (int position : positions[s]) { // Every row routed here
+                part.add(fields[position]); // Keep the order so the first occurrence of an ID still wins
+            }
+            Shard shard = shards[s]; // Owner of the part
+            parts.add(part.isEmpty() ? null : shard.submit(() -> shard.service.importRecords(part))); // Validated and loaded on the shard's writer
+        }
+        return merge(fields.length, positions, parts); // One report in batch order
+    }
+
+    @Override
+    public void close() { // Stops accepting writes, then waits for the queued ones on every shard to finish
+        for (Shard shard : shards) { // Stop every mailbox first, so all shards drain at once
+            shard.writer.shutdown(); // New writes are rejected from now on
+        }
+        for (Shard shard : shards) { // Then wait for each
+            try {
+                shard.writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS); // Every accepted write completes its future
+            } catch (InterruptedException e) { // The caller was interrupted while waiting
+                Thread.currentThread().interrupt(); // Keep the interrupt for the caller; the writers finish on their own
+                return; // Stop waiting
+            }
+        }
+    }
+
+    private interface IdAt { // Reads the contactID of a batch position (null if it has none)
+        String id(int position); // contactID of the record at position
+    }
+
+    private int[][] partition(int size, IdAt ids) { // Groups batch positions by owning shard, keeping batch order within each shard
+        int[] owner = new int[size]; // Shard of every position
+        int[] counts = new int[shards.length]; // Positions per shard
+        for (int i = 0; i < size; i++) { // Route every record
+            owner[i] = shardOf(ids.id(i)); // Records without an ID go to the first shard, which reports them
+            counts[owner[i]]++; // Count it
+        }
+        int[][] positions = new int[shards.length][]; // Exact-size position lists
+        for (int s = 0; s < shards.length; s++) { // Allocate each
+            positions[s] = new int[counts[s]]; // No resizing
+            counts[s] = 0; // Reused as the fill cursor
+        }
+        for (int i = 0; i < size; i++) { // Fill in batch order
+            positions[owner[i]][counts[owner[i]]++] = i; // Next slot of the owner
+        }
+        return positions; // Positions per shard
+    }
+
+    private static CompletableFuture<BulkImportResult> merge(int size, int[][] positions, List<CompletableFuture<BulkImportResult>> parts) { // Combines the per-shard reports into one in batch order
+        List<CompletableFuture<?>> settled = new ArrayList<>(parts.size()); // Non-empty parts only, each completing normally whatever its outcome
+        for (CompletableFuture<BulkImportResult> part : parts) { // Skip the shards that got nothing
+            if (part != null) { // This shard has work
+                settled.add(part.handle((report, failure) -> null)); // Wait for it even if it fails, since the other shards commit their parts regardless
+            }
+        }
+        return CompletableFuture.allOf(settled.toArray(new CompletableFuture<?>[0])).thenApply(done -> { // Runs once every part has finished
+            BulkImportResult result = new BulkImportResult(size); // One slot per batch record
+            for (int s = 0; s < positions.length; s++) { // Copy every shard's report
+                BulkImportResult part; // This shard's report, or null if it got nothing
+                try {
+                    part = parts.get(s) == null ? null : parts.get(s).join(); // Already complete
+                } catch (CompletionException failure) { // The part did not run or did not finish
+                    if (!(failure.getCause() instanceof RejectedExecutionException)) { // Anything but a refused part is a bug, not an outcome
+                        throw failure; // Fail the merged future with it
+                    }
+                    for (int position : positions[s]) { // None of the part's records were tried
+                        result.set(position, BulkImportResult.Status.SHARD_REJECTED); // Report them so the caller can retry exactly these
+                    }
+                    continue; // Next shard
+                }
+                for (int i = 0; part != null && i < positions[s].length; i++) { // Record i of the part is batch record positions[s][i]
+                    if (part.getError(i) != null) { // A field failed validation
+                        result.setInvalid(positions[s][i], part.getError(i)); // Keep the failing field
+                    } else {
+                        result.set(positions[s][i], part.getStatus(i)); // Keep the outcome
+                    }
+                }
+            }
+            return result; // The report the caller would get from one ContactService
+        });
+    }
+
+    private static final class Shard { // One partition with its single writer thread and mailbox
+        final ContactService service; // The partition's data; written only by the writer thread
+        final ExecutorService writer; // One thread taking calls from the mailbox in arrival order
+        final Semaphore pending; // One permit per call that may be queued or running
+        final int index; // Position, for thread names and messages
+        final int maxPending; // Limit reported in the rejection message
+
+        Shard(ContactService service, int index, int maxPending) { // Builds the partition's writer
+            this.service = service; // Store the partition
+            this.index = index; // Store the position
+            this.maxPending = maxPending; // Store the limit
+            this.pending = new Semaphore(maxPending); // All permits free
+            this.writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> { // Single writer; the permits keep the mailbox bounded
+                Thread thread = new Thread(runnable, "contact-shard-" + index); // Named for thread dumps
+                thread.setDaemon(true); // A forgotten close() does not keep the JVM alive
+                return thread; // The writer
+            });
+        }
+
+        CompletableFuture<Void> run(Runnable operation) { // Queues a call that returns nothing
+            return submit(() -> { // Same path as every other call
+                operation.run(); // Perform the call
+                return null; // Void result
+            });
+        }
+
+        <T> CompletableFuture<T> submit(Callable<T> operation) { // Queues one call under the mailbox limit
+            if (!pending.tryAcquire()) { // Never block the caller: fail fast when the mailbox is full
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Too many pending operations on contact shard " + index + " (limit " + maxPending + ").")); // Backpressure signal
+            }
+            CompletableFuture<T> future = new CompletableFuture<>(); // Completed by the writer
+            try {
+                writer.execute(() -> complete(future, operation)); // Into the mailbox
+            } catch (RejectedExecutionException closed) { // The service has been closed
+                pending.release(); // The call never ran
+                future.completeExceptionally(new RejectedExecutionException("Sharded contact service is closed.", closed)); // Report it through the future
+            }
+            return future; // Return immediately
+        }
+
+        private <T> void complete(CompletableFuture<T> future, Callable<T> operation) { // Run on the writer: call the partition, free the permit, then complete
+            T result; // Value of the call
+            try {
+                result = operation.call(); // Call the partition
+            } catch (Throwable failure) { // Validation errors and anything else the partition throws
+                pending.release(); // Free the permit before callbacks run
+                future.completeExceptionally(failure); // Hand the exception to the caller
+                return; // Done
+            }
+            pending.release(); // Free the permit before callbacks run
+            future.complete(result); // Hand the value to the caller
+        }
+    }
+}
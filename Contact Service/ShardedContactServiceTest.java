@@ -0,0 +1,220 @@
+/*
+ * ShardedContactServiceTest.java
+ *
+ * Course:      CS320 - Software Testing, Automation, and Quality Assurance
+ *              Southern New Hampshire University (SNHU)
+ * Assignment:  Contact Service - Unit Tests for ShardedContactService Class
+ *
+ * Author:      Rimon Hamo
+ * Date:        October 17, 2026
+ * Description:
+ * JUnit 5 test class for the hash-sharded contact service:
+ *
+ * - Contacts spread evenly across shards, and each lives only on its owning shard
+ * - Writes complete their futures with the partition's result or exception, and reads see them
+ * - Bulk loads split across shards report in batch order, including in-batch duplicates
+ * - Many callers at once lose no contact
+ * - A full mailbox fails fast, and close() finishes accepted writes and rejects later ones
+ * - A bulk load whose part one shard refuses still loads the other parts and reports the refused records
+ */
+// src/test/java/com/example/ShardedContactServiceTest.java
+package com.example; // Adjust the package name as needed
+
+import java.util.ArrayList; // Importing ArrayList for collecting futures and records
+import java.util.Arrays; // Importing Arrays for building batches
+import java.util.Collections; // Importing Collections for a list shared by the caller threads
+import java.util.List; // Importing List interface for type declaration
+import java.util.concurrent.CompletableFuture; // Importing CompletableFuture for the service's results
+import java.util.concurrent.CompletionException; // Importing CompletionException, which join() wraps failures in
+import java.util.concurrent.CountDownLatch; // Importing CountDownLatch to hold a writer busy
+import java.util.concurrent.RejectedExecutionException; // Importing RejectedExecutionException for the limit and closed cases
+import java.util.concurrent.TimeUnit; // Importing TimeUnit for the latch timeout
+
+import org.junit.jupiter.api.Test; // Importing the Test annotation for marking test methods
+import static org.junit.jupiter.api.Assertions.*; // Importing static assertions for easier test validation
+
+public class ShardedContactServiceTest { // Test class for the sharded service
+
+    @Test
+    void testContactsSpreadAndLiveOnTheirShard() { // Test method to verify routing and balance
+        try (ShardedContactService service = new ShardedContactService(8)) { // Eight partitions
+            int[] perShard = new int[service.getShardCount()]; // Contacts per shard
+            List<CompletableFuture<Void>> writes = new ArrayList<>(); // Every add
+            for (int i = 0; i < 8_000; i++) { // Sequential IDs, as a sync job would send
+                perShard[service.shardOf("c" + i)]++; // Count the owner
+                writes.add(service.addContact(new Contact("c" + i, "John", "Doe", String.format("%010d", i), "Addr"))); // Queue the add
+            }
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).join(); // All stored
+            for (int count : perShard) { // Every shard gets about 1,000
+                assertTrue(count > 800 && count < 1_200, "shard holds " + count); // Loose bounds around the even share
+            }
+            int owner = service.shardOf("c42"); // Shard of one contact
+            for (int s = 0; s < service.getShardCount(); s++) { // Only the owner holds it
+                assertEquals(s == owner, service.getShard(s).getContact("c42") != null); // Present on its shard alone
+            }
+            assertEquals("c42", service.getContact("c42").getContactID()); // Reads route to the owner
+            assertEquals(0, service.shardOf(null)); // A null ID goes to the first shard
+            try (ShardedContactService single = new ShardedContactService(1)) { // One partition
+                assertEquals(0, single.shardOf("anything")); // Owns everything
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ShardedContactService(0)); // At least one shard
+    }
+
+    @Test
+    void testWritesAndReads() { // Test method to verify the write futures and the reads that follow them
+        try (ShardedContactService service = new ShardedContactService(4)) { // Four partitions
+            service.addContact(new Contact("1", "John", "Doe", "5551234567", "Addr1")).join(); // Stored
+            service.addContact(new Contact("2", "Jane", "Roe", "5551234567", "Addr2")).join(); // Same phone, possibly another shard
+            service.updateFirstName("1", "Jack").join(); // Updated on the owner
+            service.updatePhone("1", "5550000000").join(); // Re-keyed in the owner's phone index
+            assertEquals("Jack", service.getContact("1").getFirstName()); // Read sees the update
+            assertEquals(1, service.findByPhone("5551234567").size()); // Only Jane keeps the old phone
+            assertEquals(1, service.findByPhone("5550000000").size()); // John moved
+
+            CompletionException failure = assertThrows(CompletionException.class, // Duplicate ID
+                    () -> service.addContact(new Contact("1", "Again", "Doe", "5551112222", "Addr")).join());
+            assertEquals("Contact ID already exists.", failure.getCause().getMessage()); // Same message as ContactService
+            failure = assertThrows(CompletionException.class, () -> service.updateAddress("9", "Addr").join()); // Missing contact
+            assertEquals("Contact not found.", failure.getCause().getMessage()); // Same message as ContactService
+            failure = assertThrows(CompletionException.class, () -> service.addContact(null).join()); // Null contact
+            assertTrue(failure.getCause() instanceof IllegalArgumentException); // Reported by the first shard
+
+            service.deleteContact("2").join(); // Removed from its owner
+            assertNull(service.getContact("2")); // Gone
+            assertEquals("Jack", service.call("1", shard -> shard.getContact("1").getFirstName()).join()); // Custom work on the owner
+        }
+    }
+
+    @Test
+    void testBulkLoadsReportInBatchOrder() { // Test method to verify that split batches merge back into one report
+        try (ShardedContactService service = new ShardedContactService(4)) { // Four partitions
+            service.addContact(new Contact("old", "John", "Doe", "5551234567", "Addr")).join(); // Already stored
+            List<String[]> rows = new ArrayList<>(); // Raw records
+            for (int i = 0; i < 100; i++) { // Valid records spread over every shard
+                rows.add(new String[] {"r" + i, "Ann", "Lee", String.format("%010d", i), "Addr"}); // Valid
+            }
+            rows.add(new String[] {"r5", "Dup", "Lee", "5550000000", "Addr"}); // Same ID as an earlier record in the batch
+            rows.add(new String[] {"old", "Ann", "Lee", "5550000000", "Addr"}); // ID already stored
+            rows.add(new String[] {"bad", "Ann", "Lee", "123", "Addr"}); // Invalid phone
+            rows.add(null); // Missing record
+            rows.add(new String[] {}); // Record without any field
+
+            BulkImportResult result = service.importRecords(rows).join(); // One report
+            assertEquals(105, result.size()); // One slot per record
+            assertEquals(100, result.getAddedCount()); // Every valid record
+            assertEquals(BulkImportResult.Status.ADDED, result.getStatus(5)); // The first occurrence wins
+            assertEquals(BulkImportResult.Status.DUPLICATE_IN_BATCH, result.getStatus(100)); // The later one is rejected
+            assertEquals(BulkImportResult.Status.DUPLICATE_EXISTING, result.getStatus(101)); // Stored before the batch
+            assertEquals(ContactError.PHONE, result.getError(102)); // Failing field kept
+            assertEquals(BulkImportResult.Status.NULL_RECORD, result.getStatus(103)); // Missing record
+            assertEquals(ContactError.CONTACT_ID, result.getError(104)); // No fields at all
+            assertEquals("Ann", service.getContact("r5").getFirstName()); // Stored from the first occurrence
+
+            BulkImportResult added = service.addAll(Arrays.asList( // Contact objects
+                    new Contact("a1", "Bob", "Ray", "5553334444", "Addr"),
+                    null,
+                    new Contact("a1", "Bob", "Ray", "5553334444", "Addr"))).join();
+            assertEquals(BulkImportResult.Status.ADDED, added.getStatus(0)); // Stored
+            assertEquals(BulkImportResult.Status.NULL_RECORD, added.getStatus(1)); // Null contact
+            assertEquals(BulkImportResult.Status.DUPLICATE_IN_BATCH, added.getStatus(2)); // Same ID as record 0
+            assertEquals(0, service.addAll(new ArrayList<>()).join().size()); // Empty batch
+            assertThrows(IllegalArgumentException.class, () -> service.importRecords(null)); // A batch is required
+        }
+    }
+
+    @Test
+    void testManyConcurrentCallers() throws Exception { // Test method to verify that parallel callers lose nothing
+        try (ShardedContactService service = new ShardedContactService(4)) { // Four writers
+            List<Thread> callers = new ArrayList<>(); // Request threads
+            List<CompletableFuture<Void>> futures = Collections.synchronizedList(new ArrayList<>()); // Every call made
+            for (int t = 0; t < 16; t++) { // Sixteen callers
+                int caller = t; // Captured by the thread
+                Thread thread = new Thread(() -> { // Each caller adds and then updates its own contacts
+                    for (int i = 0; i < 500; i++) { // 500 contacts per caller
+                        String id = caller + "-" + i; // Unique ID
+                        futures.add(service.addContact(new Contact(id, "First", "Last", String.format("%010d", caller * 1000 + i), "Addr"))); // Never blocks
+                        futures.add(service.updateLastName(id, "Updated")); // Runs after the add: same shard, same order
+                    }
+                });
+                callers.add(thread); // Remember the thread
+                thread.start(); // Start calling
+            }
+            for (Thread thread : callers) { // Wait for every caller to finish submitting
+                thread.join(); // Submission only, no service work
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join(); // Every call succeeded
+            for (int t = 0; t < 16; t++) { // Every contact is stored and updated
+                assertEquals("Updated", service.getContact(t + "-499").getLastName()); // Last contact of each caller
+            }
+        }
+    }
+
+    @Test
+    void testPendingLimitAndClose() throws Exception { // Test method to verify fail-fast backpressure per shard and shutdown
+        CountDownLatch release = new CountDownLatch(1); // Holds one writer busy
+        ShardedContactService service = new ShardedContactService(2, 16, null, null, 2); // Two shards, two pending calls each
+        String busyID = "busy"; // Any ID; its shard is the one held up
+        int busyShard = service.shardOf(busyID); // Shard whose writer is held
+        String otherID = "x"; // Find an ID on the other shard
+        for (int i = 0; service.shardOf(otherID) == busyShard; i++) { // Try IDs until one lands elsewhere
+            otherID = "x" + i; // Next candidate
+        }
+        CompletableFuture<Boolean> busy = service.call(busyID, s -> { // First call occupies the writer
+            try {
+                return release.await(10, TimeUnit.SECONDS); // Wait for the test
+            } catch (InterruptedException e) { // Not expected
+                throw new IllegalStateException(e); // Fail the call
+            }
+        });
+        CompletableFuture<Void> queued = service.addContact(new Contact(busyID, "John", "Doe", "5551234567", "Addr1")); // Second call waits in the mailbox
+        CompletableFuture<Void> rejected = service.deleteContact(busyID); // Third call is over the shard's limit
+        assertTrue(rejected.isCompletedExceptionally()); // Failed immediately, without blocking
+        CompletionException failure = assertThrows(CompletionException.class, rejected::join); // Unwrap the failure
+        assertTrue(failure.getCause() instanceof RejectedExecutionException); // Backpressure signal
+        service.addContact(new Contact(otherID, "Jane", "Roe", "5559876543", "Addr2")).join(); // The other shard is not held up
+
+        release.countDown(); // Let the writer go
+        service.close(); // Waits for the accepted calls
+        assertTrue(busy.join() && queued.isDone()); // Both accepted calls finished
+        assertNotNull(service.getContact(busyID)); // The queued add ran
+        failure = assertThrows(CompletionException.class, () -> service.deleteContact(busyID).join()); // Writes after close
+        assertTrue(failure.getCause() instanceof RejectedExecutionException); // Are rejected through the future
+        assertNotNull(service.getContact(otherID)); // Reads still work
+    }
+
+    @Test
+    void testBulkLoadWithRefusedPart() throws Exception { // Test method to verify that a refused shard part is reported, not hidden behind a failed future
+        CountDownLatch release = new CountDownLatch(1); // Holds one writer busy
+        ShardedContactService service = new ShardedContactService(2, 16, null, null, 1); // Two shards, one pending call each
+        String busyID = "busy"; // Any ID; its shard is the one held up
+        int busyShard = service.shardOf(busyID); // Shard whose writer is held
+        String otherID = "x"; // Find an ID on the other shard
+        for (int i = 0; service.shardOf(otherID) == busyShard; i++) { // Try IDs until one lands elsewhere
+            otherID = "x" + i; // Next candidate
+        }
+        CompletableFuture<Boolean> busy = service.call(busyID, s -> { // Takes the busy shard's only permit
+            try {
+                return release.await(10, TimeUnit.SECONDS); // Wait for the test
+            } catch (InterruptedException e) { // Not expected
+                throw new IllegalStateException(e); // Fail the call
+            }
+        });
+
+        List<String[]> rows = Arrays.asList( // One record per shard
+                new String[] {busyID, "John", "Doe", "5551234567", "Addr1"}, // Refused: its shard's mailbox is full
+                new String[] {otherID, "Jane", "Roe", "5559876543", "Addr2"}); // Loaded by the other shard
+        BulkImportResult result = service.importRecords(rows).join(); // Completes normally despite the refused part
+        assertEquals(BulkImportResult.Status.SHARD_REJECTED, result.getStatus(0)); // Reported, not tried
+        assertEquals(BulkImportResult.Status.ADDED, result.getStatus(1)); // Committed by its shard
+        assertEquals(1, result.getAddedCount()); // Only the other shard's record
+        assertNotNull(service.getContact(otherID)); // Really stored
+        assertNull(service.getContact(busyID)); // Really not stored
+
+        release.countDown(); // Let the writer go
+        assertTrue(busy.join()); // The held call finished
+        service.close(); // Stop the writers
+        result = service.addAll(Arrays.asList(new Contact("late", "Jim", "Poe", "5550001111", "Addr3"))).join(); // Every part is refused after close
+        assertEquals(BulkImportResult.Status.SHARD_REJECTED, result.getStatus(0)); // Reported the same way
+    }
+}
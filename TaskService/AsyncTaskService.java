@@ -0,0 +1,255 @@
+package src.main.java;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * AsyncTaskService Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Non-blocking facade over a TaskService. Every method returns a
+ * CompletableFuture right away and runs the matching TaskService call on the
+ * facade's worker thread, so a request thread never waits on the service or on
+ * the write-ahead log's disk I/O.
+ *
+ * TaskService is not thread-safe, so the facade has exactly one worker thread:
+ * calls run one at a time, in the order they were made. That single writer is
+ * also what keeps a durable service's log in the same order as its map.
+ *
+ * At most {@code maxPending} calls may be queued or running. Past that, a call
+ * returns a future that has already failed with RejectedExecutionException
+ * instead of queueing without bound, so callers can shed load or retry.
+ * An exception thrown by the service completes the future exceptionally.
+ *
+ * Tasks returned by getTask and the searches are the service's own objects.
+ * Change them through updateTask, or inside {@link #call}, never directly from
+ * another thread. Dependent stages added with the non-async CompletableFuture
+ * methods may run on the worker thread; use the ...Async variants for slow work.
+ *
+ * close() stops new calls and waits for the queued ones. It does not close the
+ * wrapped TaskService, so a durable service should be closed after the facade.
+ */
+public class AsyncTaskService implements AutoCloseable {
+
+    // Pending calls allowed before new calls fail fast (room for 10K concurrent callers)
+    static final int DEFAULT_MAX_PENDING = 16_384;
+
+    private final TaskService service;
+    private final ExecutorService worker;
+    private final Semaphore pending;
+    private final int maxPending;
+
+    /**
+     * Creates a facade with the default pending-call limit.
+     *
+     * @param service the service to call
+     * @throws IllegalArgumentException if service is null
+     */
+    public AsyncTaskService(TaskService service) {
+        this(service, DEFAULT_MAX_PENDING);
+    }
+
+    /**
+     * Creates a facade that accepts at most maxPending queued or running calls.
+     *
+     * @param service    the service to call
+     * @param maxPending the most calls that may wait for the worker at once
+     * @throws IllegalArgumentException if service is null or maxPending is below 1
+     */
+    public AsyncTaskService(TaskService service, int maxPending) {
+        if (service == null) {
+            throw new IllegalArgumentException("Task service cannot be null");
+        }
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("Pending call limit must be at least 1");
+        }
+        this.service = service;
+        this.maxPending = maxPending;
+        this.pending = new Semaphore(maxPending);
+        // One daemon thread; the permits keep the unbounded queue bounded
+        this.worker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "task-service");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Asynchronous {@link TaskService#addTask}.
+     *
+     * @param task the task to add
+     * @return a future completed once the task is stored (and logged)
+     */
+    public CompletableFuture<Void> addTask(Task task) {
+        return run(() -> service.addTask(task));
+    }
+
+    /**
+     * Asynchronous {@link TaskService#deleteTask}.
+     *
+     * @param taskId the ID of the task to delete
+     * @return a future completed with true if a task was removed
+     */
+    public CompletableFuture<Boolean> deleteTask(String taskId) {
+        return submit(() -> service.deleteTask(taskId));
+    }
+
+    /**
+     * Asynchronous {@link TaskService#updateTask}.
+     *
+     * @param taskId         ID of the task to update
+     * @param newName        new name value (null = no change)
+     * @param newDescription new description value (null = no change)
+     * @return a future completed once the update is stored (and logged)
+     */
+    public CompletableFuture<Void> updateTask(String taskId, String newName, String newDescription) {
+        return run(() -> service.updateTask(taskId, newName, newDescription));
+    }
+
+    /**
+     * Asynchronous versioned {@link TaskService#updateTask}. Request threads may
+     * call this at once: the worker runs the updates one at a time, so of two
+     * clients that read the same version, exactly one succeeds.
+     *
+     * @param taskId          ID of the task to update
+     * @param expectedVersion the version the caller last read
+     * @param newName         new name value (null = no change)
+     * @param newDescription  new description value (null = no change)
+     * @return a future completed with the task's new version, or with
+     *         IllegalStateException if the task is no longer at expectedVersion
+     */
+    public CompletableFuture<Long> updateTask(String taskId, long expectedVersion, String newName, String newDescription) {
+        return submit(() -> service.updateTask(taskId, expectedVersion, newName, newDescription));
+    }
+
+    /**
+     * Asynchronous {@link TaskService#applyBatch}. The batch counts as one call
+     * towards the pending limit.
+     *
+     * @param ops the ops to apply, in order
+     * @return a future completed with the outcome of each op
+     */
+    public CompletableFuture<TaskBatchResult> applyBatch(List<TaskOp> ops) {
+        return submit(() -> service.applyBatch(ops));
+    }
+
+    /**
+     * Asynchronous {@link TaskService#getTask}.
+     *
+     * @param taskId the ID of the task to retrieve
+     * @return a future completed with the task, or null if not found
+     */
+    public CompletableFuture<Task> getTask(String taskId) {
+        return submit(() -> service.getTask(taskId));
+    }
+
+    /**
+     * Asynchronous {@link TaskService#searchByPrefix}.
+     *
+     * @param prefix the text to match
+     * @param limit  maximum number of tasks to return
+     * @return a future completed with the matching tasks
+     */
+    public CompletableFuture<List<Task>> searchByPrefix(String prefix, int limit) {
+        return submit(() -> service.searchByPrefix(prefix, limit));
+    }
+
+    /**
+     * Asynchronous {@link TaskService#searchBySubstring}.
+     *
+     * @param text  the text to find
+     * @param limit maximum number of tasks to return
+     * @return a future completed with the matching tasks
+     */
+    public CompletableFuture<List<Task>> searchBySubstring(String text, int limit) {
+        return submit(() -> service.searchBySubstring(text, limit));
+    }
+
+    /**
+     * Asynchronous {@link TaskService#sync}: completes once every call made
+     * before it is on disk.
+     *
+     * @return a future completed after the flush
+     */
+    public CompletableFuture<Void> sync() {
+        return run(service::sync);
+    }
+
+    /**
+     * Runs any other work against the service on the worker thread, in order
+     * with the other calls and under the same limit.
+     *
+     * @param operation the work to run
+     * @param <T>       the result type
+     * @return a future completed with the operation's result
+     * @throws IllegalArgumentException if operation is null
+     */
+    public <T> CompletableFuture<T> call(Function<TaskService, T> operation) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation cannot be null");
+        }
+        return submit(() -> operation.apply(service));
+    }
+
+    /**
+     * Rejects new calls and waits until every accepted call has completed.
+     */
+    @Override
+    public void close() {
+        worker.shutdown();
+        try {
+            worker.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            // Keep the interrupt for the caller; the worker finishes on its own
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Queues a call that returns nothing
+    private CompletableFuture<Void> run(Runnable operation) {
+        return submit(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    // Queues one call under the pending limit; never blocks the caller
+    private <T> CompletableFuture<T> submit(Callable<T> operation) {
+        if (!pending.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Too many pending task operations (limit " + maxPending + ")"));
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            worker.execute(() -> complete(future, operation));
+        } catch (RejectedExecutionException closed) {
+            pending.release();
+            future.completeExceptionally(new RejectedExecutionException("Async task service is closed", closed));
+        }
+        return future;
+    }
+
+    // Runs on the worker: calls the service, frees the permit, then completes the future
+    private <T> void complete(CompletableFuture<T> future, Callable<T> operation) {
+        T result;
+        try {
+            result = operation.call();
+        } catch (Throwable failure) {
+            pending.release();
+            future.completeExceptionally(failure);
+            return;
+        }
+        pending.release();
+        future.complete(result);
+    }
+}
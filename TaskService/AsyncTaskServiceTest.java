@@ -0,0 +1,183 @@
+package src.test.java;
+
+import src.main.java.AsyncTaskService;
+import src.main.java.Task;
+import src.main.java.TaskLog;
+import src.main.java.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AsyncTaskServiceTest
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * JUnit 5 tests for the asynchronous TaskService facade.
+ * This test suite verifies:
+ * - Calls run in the order they were made, with results and exceptions in the futures
+ * - Calls from many threads on a durable service are all logged and recovered
+ * - Versioned updates from many threads at the same version: exactly one wins
+ * - Calls over the pending limit fail fast, and close() drains accepted calls
+ */
+public class AsyncTaskServiceTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Verifies that queued calls see each other's effects in submission order.
+     */
+    @Test
+    void testCallsRunInOrder() {
+        TaskService service = new TaskService();
+        try (AsyncTaskService async = new AsyncTaskService(service)) {
+            // Submitted back to back without waiting: the single worker keeps the order
+            CompletableFuture<Void> added = async.addTask(new Task("T1", "Write Code", "First draft"));
+            CompletableFuture<Void> updated = async.updateTask("T1", "Review Code", null);
+            CompletableFuture<Task> read = async.getTask("T1");
+            CompletableFuture<List<Task>> found = async.searchByPrefix("review", 10);
+            CompletableFuture<Boolean> deleted = async.deleteTask("T1");
+
+            added.join();
+            updated.join();
+            assertEquals("Review Code", read.join().getName());
+            assertEquals(1, found.join().size());
+            assertTrue(deleted.join());
+            assertNull(service.getTask("T1"));
+
+            CompletionException failure = assertThrows(CompletionException.class,
+                    () -> async.updateTask("T1", "Name", null).join());
+            assertTrue(failure.getCause() instanceof IllegalArgumentException);
+            assertEquals("Task not found with ID: T1", failure.getCause().getMessage());
+            assertEquals(Integer.valueOf(0), async.call(s -> s.searchByPrefix("", 10).size()).join());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new AsyncTaskService(null));
+    }
+
+    /**
+     * Verifies that concurrent callers on a durable service are serialized into the log.
+     */
+    @Test
+    void testConcurrentCallersOnDurableService() throws Exception {
+        try (TaskService service = new TaskService(new TaskLog(directory, TaskLog.SyncMode.GROUP_COMMIT))) {
+            try (AsyncTaskService async = new AsyncTaskService(service)) {
+                List<CompletableFuture<Void>> futures = Collections.synchronizedList(new ArrayList<>());
+                List<Thread> callers = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    int caller = t;
+                    Thread thread = new Thread(() -> {
+                        for (int i = 0; i < 250; i++) {
+                            futures.add(async.addTask(new Task(caller + "-" + i, "Task " + i, "Added concurrently")));
+                        }
+                    });
+                    callers.add(thread);
+                    thread.start();
+                }
+                for (Thread thread : callers) {
+                    thread.join();
+                }
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+                async.sync().join();
+            }
+        }
+        try (TaskService recovered = new TaskService(new TaskLog(directory, TaskLog.SyncMode.GROUP_COMMIT))) {
+            for (int t = 0; t < 8; t++) {
+                assertNotNull(recovered.getTask(t + "-249"));
+            }
+        }
+    }
+
+    /**
+     * Verifies that when many request threads submit a versioned update read
+     * at the same version, exactly one is applied and logged and the rest fail
+     * with IllegalStateException.
+     */
+    @Test
+    void testConcurrentVersionedUpdates() throws Exception {
+        String winner;
+        try (TaskService service = new TaskService(new TaskLog(directory, TaskLog.SyncMode.GROUP_COMMIT))) {
+            service.addTask(new Task("T1", "Write Code", "First draft"));
+            long read = service.getTask("T1").getVersion();
+            try (AsyncTaskService async = new AsyncTaskService(service)) {
+                List<CompletableFuture<Long>> futures = Collections.synchronizedList(new ArrayList<>());
+                CountDownLatch start = new CountDownLatch(1);
+                List<Thread> callers = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    String name = "Edit " + t;
+                    Thread thread = new Thread(() -> {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        futures.add(async.updateTask("T1", read, name, null));
+                    });
+                    callers.add(thread);
+                    thread.start();
+                }
+                start.countDown();
+                for (Thread thread : callers) {
+                    thread.join();
+                }
+                int applied = 0;
+                for (CompletableFuture<Long> future : futures) {
+                    try {
+                        assertEquals(read + 1, (long) future.join());
+                        applied++;
+                    } catch (CompletionException failure) {
+                        assertTrue(failure.getCause() instanceof IllegalStateException);
+                    }
+                }
+                assertEquals(1, applied);
+                assertEquals(1, service.searchByPrefix("edit", 10).size());
+                async.sync().join();
+            }
+            winner = service.getTask("T1").getName();
+        }
+        // The log holds the one applied update, so recovery ends at the same name and version
+        try (TaskService recovered = new TaskService(new TaskLog(directory, TaskLog.SyncMode.GROUP_COMMIT))) {
+            assertEquals(winner, recovered.getTask("T1").getName());
+            assertEquals(1, recovered.getTask("T1").getVersion());
+        }
+    }
+
+    /**
+     * Verifies fail-fast backpressure and that close() finishes accepted calls.
+     */
+    @Test
+    void testPendingLimitAndClose() {
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncTaskService async = new AsyncTaskService(new TaskService(), 2);
+        CompletableFuture<Boolean> busy = async.call(s -> {
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        CompletableFuture<Void> queued = async.addTask(new Task("T1", "Queued", "Waits for the worker"));
+        CompletableFuture<Task> rejected = async.getTask("T1");
+        assertTrue(rejected.isCompletedExceptionally());
+        CompletionException failure = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(failure.getCause() instanceof RejectedExecutionException);
+
+        release.countDown();
+        async.close();
+        assertTrue(busy.join());
+        assertTrue(queued.isDone() && !queued.isCompletedExceptionally());
+        failure = assertThrows(CompletionException.class, () -> async.getTask("T1").join());
+        assertTrue(failure.getCause() instanceof RejectedExecutionException);
+    }
+}
@@ -0,0 +1,113 @@
+package src.main.java;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * PersistentTaskMap Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * The task map of a TaskService in PERSISTENT storage mode. It has the Map
+ * interface the service (and TaskLog recovery) already use, but each change
+ * builds a new TaskTrie and publishes it with a single volatile write, so
+ * root() hands out a point-in-time copy of every task in O(1).
+ *
+ * Like TaskService, the map has one writer at a time. Readers on any thread
+ * see either the trie before a change or the one after it, never a mix, and
+ * never wait for the writer. Iterators walk the trie current when they were
+ * created and never fail.
+ *
+ * A task's fields are captured when it is put. After changing a stored task,
+ * the service puts it again so the trie holds its new snapshot.
+ */
+final class PersistentTaskMap extends AbstractMap<String, Task> {
+
+    private volatile TaskTrie root = TaskTrie.EMPTY;
+
+    /**
+     * Returns the current trie. It never changes, whatever happens to the map later.
+     *
+     * @return the current trie
+     */
+    TaskTrie root() {
+        return root;
+    }
+
+    @Override
+    public int size() {
+        return root.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && root.find((String) key) != null;
+    }
+
+    @Override
+    public Task get(Object key) {
+        TaskTrie.Leaf leaf = key instanceof String ? root.find((String) key) : null;
+        return leaf == null ? null : leaf.task;
+    }
+
+    @Override
+    public Task put(String key, Task task) {
+        if (task == null || !task.getTaskId().equals(key)) {
+            throw new IllegalArgumentException("Task must be stored under its own ID: " + key);
+        }
+        TaskTrie before = root;
+        TaskTrie.Leaf previous = before.find(key);
+        root = before.put(task);
+        return previous == null ? null : previous.task;
+    }
+
+    @Override
+    public Task remove(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        TaskTrie before = root;
+        TaskTrie.Leaf previous = before.find((String) key);
+        if (previous == null) {
+            return null;
+        }
+        root = before.remove((String) key);
+        return previous.task;
+    }
+
+    @Override
+    public void clear() {
+        root = TaskTrie.EMPTY;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Task>> entrySet() {
+        return new AbstractSet<Map.Entry<String, Task>>() {
+            @Override
+            public Iterator<Map.Entry<String, Task>> iterator() {
+                Iterator<TaskTrie.Leaf> leaves = root.iterator();
+                return new Iterator<Map.Entry<String, Task>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return leaves.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<String, Task> next() {
+                        TaskTrie.Leaf leaf = leaves.next();
+                        return new AbstractMap.SimpleImmutableEntry<>(leaf.id(), leaf.task);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return root.size();
+            }
+        };
+    }
+}
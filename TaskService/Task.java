@@ -1,5 +1,7 @@
 package src.main.java;
 
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
 /**
  * CS 320 Module Four Milestone
  * Task Class
@@ -14,15 +16,27 @@ package src.main.java;
  * - Description: String, max 50 characters, not null
  * 
  * All validations throw IllegalArgumentException with descriptive messages
- * to help identify issues during development and testing.
+ * to help identify issues during development and testing. tryCreate is the
+ * non-throwing alternative for bulk input.
+ * 
+ * The name and description live in an immutable TaskSnapshot together with a
+ * version stamp. Every change builds a new snapshot and installs it with a
+ * compare-and-set, so a Task can be read from any thread without locking and
+ * never shows a name from one update next to a description from another.
+ * compareAndSet applies a change only if the task is still at the version the
+ * caller last read.
  */
 public class Task {
     
+    // Installs a new snapshot only if the current one is still the expected one
+    private static final AtomicReferenceFieldUpdater<Task, TaskSnapshot> STATE =
+            AtomicReferenceFieldUpdater.newUpdater(Task.class, TaskSnapshot.class, "state");
+
     // taskId is final to prevent any updates after construction (meets "not updatable" requirement)
     private final String taskId;
-    
-    private String name;
-    private String description;
+
+    // Name, description and version; replaced as a whole on every change
+    private volatile TaskSnapshot state;
 
     /**
      * Constructor - Creates a new Task object with full validation.
@@ -33,20 +47,73 @@ public class Task {
      * @throws IllegalArgumentException if any field violates the requirements
      */
     public Task(String taskId, String name, String description) {
+        this(taskId, name, description, 0);
+    }
+
+    /**
+     * Rebuilds a stored task at the version it had when it was saved, so
+     * versions keep increasing across restarts. Used by TaskLog.
+     * 
+     * @param taskId      Unique identifier
+     * @param name        Task name
+     * @param description Task description
+     * @param version     the stored version (not negative)
+     * @throws IllegalArgumentException if any field violates the requirements
+     */
+    Task(String taskId, String name, String description, long version) {
         // Validate taskId first since it's immutable and required
-        if (taskId == null || taskId.trim().isEmpty()) {
-            throw new IllegalArgumentException("Task ID cannot be null or empty");
-        }
-        if (taskId.length() > 10) {
-            throw new IllegalArgumentException("Task ID cannot exceed 10 characters");
-        }
+        throwIfInvalid(TaskValidator.checkTaskId(taskId));
         // Store the original value (no trimming here to preserve exact ID)
         this.taskId = taskId;
 
-        // Delegate name and description validation to setters
-        // This reuses the same logic and avoids code duplication
-        setName(name);
-        setDescription(description);
+        // Same checks as the setters, in the same order, before the first snapshot exists
+        throwIfInvalid(TaskValidator.checkName(name));
+        throwIfInvalid(TaskValidator.checkDescription(description));
+        if (version < 0) {
+            throw new IllegalArgumentException("Task version cannot be negative");
+        }
+        this.state = new TaskSnapshot(taskId, name, description, version);
+    }
+
+    /**
+     * Creates a task without throwing for bad input: every field is checked,
+     * and each bad field is reported in the result instead of an exception.
+     * Use this on high-volume paths where many rows are expected to be invalid.
+     * 
+     * @param taskId      Unique identifier (required, max 10 characters)
+     * @param name        Task name (required, max 20 characters)
+     * @param description Task description (required, max 50 characters)
+     * @return a new result holding the task or the failure of each bad field
+     */
+    public static TaskValidation tryCreate(String taskId, String name, String description) {
+        return tryCreate(taskId, name, description, new TaskValidation());
+    }
+
+    /**
+     * Same as {@link #tryCreate(String, String, String)}, but writes the outcome
+     * into the given result, replacing whatever it held, so one result can be
+     * reused across many rows.
+     * 
+     * @param taskId      Unique identifier (required, max 10 characters)
+     * @param name        Task name (required, max 20 characters)
+     * @param description Task description (required, max 50 characters)
+     * @param into        the result to reuse
+     * @return into, holding the task or the failure of each bad field
+     * @throws IllegalArgumentException if into is null
+     */
+    public static TaskValidation tryCreate(String taskId, String name, String description, TaskValidation into) {
+        if (into == null) {
+            throw new IllegalArgumentException("Validation result cannot be null");
+        }
+        into.reset();
+        into.check(TaskValidation.Field.TASK_ID, TaskValidator.checkTaskId(taskId));
+        into.check(TaskValidation.Field.NAME, TaskValidator.checkName(name));
+        into.check(TaskValidation.Field.DESCRIPTION, TaskValidator.checkDescription(description));
+        if (into.isValid()) {
+            // Every field passed, so the constructor cannot throw
+            into.setTask(new Task(taskId, name, description));
+        }
+        return into;
     }
 
     /**
@@ -64,7 +131,7 @@ public class Task {
      * @return the name (guaranteed to be non-null and ≤20 characters)
      */
     public String getName() {
-        return name;
+        return state.getName();
     }
 
     /**
@@ -74,16 +141,11 @@ public class Task {
      * @throws IllegalArgumentException if name is null, empty, or exceeds 20 characters
      */
     public void setName(String name) {
-        // Check for null or blank (using trim() to reject "   " as invalid)
-        if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("Name cannot be null or empty");
-        }
-        // Use trimmed length to ensure actual content doesn't exceed limit
-        if (name.trim().length() > 20) {
-            throw new IllegalArgumentException("Name cannot exceed 20 characters");
-        }
+        // Rejects null, blank ("   ") and names whose trimmed length exceeds 20,
+        // in one pass without creating a trimmed copy
+        throwIfInvalid(TaskValidator.checkName(name));
         // Store the original input (not trimmed) to preserve whitespace if desired
-        this.name = name;
+        update(name, null);
     }
 
     /**
@@ -92,7 +154,7 @@ public class Task {
      * @return the description (guaranteed to be non-null and ≤50 characters)
      */
     public String getDescription() {
-        return description;
+        return state.getDescription();
     }
 
     /**
@@ -102,15 +164,84 @@ public class Task {
      * @throws IllegalArgumentException if description is null, empty, or exceeds 50 characters
      */
     public void setDescription(String description) {
-        // Same null/empty check as name
-        if (description == null || description.trim().isEmpty()) {
-            throw new IllegalArgumentException("Description cannot be null or empty");
+        // Same null/blank/trimmed-length rules as name, with a 50 character limit
+        throwIfInvalid(TaskValidator.checkDescription(description));
+        // Store original input
+        update(null, description);
+    }
+
+    /**
+     * Returns the number of changes made to the task so far.
+     * 
+     * @return the current version (0 for a task that has never changed)
+     */
+    public long getVersion() {
+        return state.getVersion();
+    }
+
+    /**
+     * Returns the task's current name, description and version as one
+     * consistent, immutable view.
+     * 
+     * @return the current snapshot
+     */
+    public TaskSnapshot getSnapshot() {
+        return state;
+    }
+
+    /**
+     * Changes the name and/or description only if the task is still at the
+     * expected version, as one change that adds one to the version. Lock-free:
+     * fails instead of waiting if another change got in first.
+     * Null parameters are ignored (no change for that field).
+     * 
+     * @param expectedVersion the version the caller last read
+     * @param newName         new name value (null = no change)
+     * @param newDescription  new description value (null = no change)
+     * @return true if the change was applied, false if the version did not match
+     * @throws IllegalArgumentException if a new value is invalid
+     */
+    public boolean compareAndSet(long expectedVersion, String newName, String newDescription) {
+        if (newName != null) {
+            throwIfInvalid(TaskValidator.checkName(newName));
         }
-        // Check length using trimmed value to enforce meaningful content
-        if (description.trim().length() > 50) {
-            throw new IllegalArgumentException("Description cannot exceed 50 characters");
+        if (newDescription != null) {
+            throwIfInvalid(TaskValidator.checkDescription(newDescription));
+        }
+        TaskSnapshot current = state;
+        if (current.getVersion() != expectedVersion) {
+            return false;
+        }
+        if (newName == null && newDescription == null) {
+            // Nothing to change, so the version stays where it is
+            return true;
+        }
+        return STATE.compareAndSet(this, current, current.next(newName, newDescription));
+    }
+
+    /**
+     * Changes the name and/or description as one change, whatever the current
+     * version. The values must already be valid. Used by TaskService and TaskLog
+     * so an update of both fields is seen, and counted, as one.
+     * 
+     * @param newName        new name value (null = no change)
+     * @param newDescription new description value (null = no change)
+     * @return the snapshot installed
+     */
+    TaskSnapshot update(String newName, String newDescription) {
+        while (true) {
+            TaskSnapshot current = state;
+            TaskSnapshot next = current.next(newName, newDescription);
+            if (STATE.compareAndSet(this, current, next)) {
+                return next;
+            }
+        }
+    }
+
+    // Throws the exception for a failed check; null means the value is valid
+    private static void throwIfInvalid(TaskError error) {
+        if (error != null) {
+            throw error.toException();
         }
-        // Store original input
-        this.description = description;
     }
 }
\ No newline at end of file
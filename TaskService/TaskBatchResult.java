@@ -0,0 +1,107 @@
+package src.main.java;
+
+/**
+ * TaskBatchResult Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Per-op report returned by TaskService.applyBatch. Op i of the batch has
+ * outcome getOutcome(i); a rejected op also carries the message the matching
+ * single-op call would have thrown.
+ *
+ * A batch is applied whole or not at all. If any op is REJECTED, isApplied()
+ * is false, the service is unchanged, and every other op is NOT_APPLIED.
+ */
+public class TaskBatchResult {
+
+    /**
+     * Outcome of a single op.
+     */
+    public enum Outcome {
+        /** The task was stored. */
+        ADDED,
+        /** The task's name and/or description were changed. */
+        UPDATED,
+        /** The task was removed. */
+        DELETED,
+        /** A delete of an ID that did not exist; like deleteTask, this is not an error. */
+        NOT_FOUND,
+        /** The op is invalid (see getError), so the whole batch was discarded. */
+        REJECTED,
+        /** The op is valid, but another op in the batch was rejected. */
+        NOT_APPLIED
+    }
+
+    private final Outcome[] outcomes;
+    private final String[] errors;
+    private boolean applied = true;
+
+    TaskBatchResult(int size) {
+        this.outcomes = new Outcome[size];
+        this.errors = new String[size];
+    }
+
+    void set(int index, Outcome outcome) {
+        outcomes[index] = outcome;
+    }
+
+    void reject(int index, String error) {
+        outcomes[index] = Outcome.REJECTED;
+        errors[index] = error;
+        applied = false;
+    }
+
+    // Called once validation has found a rejected op: nothing else takes effect
+    void discard() {
+        for (int i = 0; i < outcomes.length; i++) {
+            if (outcomes[i] != Outcome.REJECTED) {
+                outcomes[i] = Outcome.NOT_APPLIED;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the batch was applied.
+     *
+     * @return true if every op took effect, false if none did
+     */
+    public boolean isApplied() {
+        return applied;
+    }
+
+    /**
+     * Returns the number of ops in the batch.
+     */
+    public int size() {
+        return outcomes.length;
+    }
+
+    public Outcome getOutcome(int index) {
+        return outcomes[index];
+    }
+
+    /**
+     * Returns why op index was rejected.
+     *
+     * @param index position of the op in the batch
+     * @return the error message, or null if the op was not rejected
+     */
+    public String getError(int index) {
+        return errors[index];
+    }
+
+    /**
+     * Returns the position of the first rejected op.
+     *
+     * @return the index, or -1 if the batch was applied
+     */
+    public int firstRejected() {
+        for (int i = 0; i < outcomes.length; i++) {
+            if (outcomes[i] == Outcome.REJECTED) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
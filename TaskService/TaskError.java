@@ -0,0 +1,45 @@
+package src.main.java;
+
+/**
+ * TaskError Enum
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * Preallocated descriptors for every way a Task field can fail validation.
+ * TaskValidator returns one of these constants instead of building a message,
+ * so a failed check allocates nothing until the caller decides to throw.
+ * The messages are the same ones Task has always thrown.
+ */
+public enum TaskError {
+    ID_BLANK("Task ID cannot be null or empty"),
+    ID_TOO_LONG("Task ID cannot exceed 10 characters"),
+    NAME_BLANK("Name cannot be null or empty"),
+    NAME_TOO_LONG("Name cannot exceed 20 characters"),
+    DESCRIPTION_BLANK("Description cannot be null or empty"),
+    DESCRIPTION_TOO_LONG("Description cannot exceed 50 characters");
+
+    private final String message;
+
+    TaskError(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Returns the fixed message for this failure.
+     * 
+     * @return the message used by the IllegalArgumentException Task throws
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Creates the exception Task throws for this failure.
+     * 
+     * @return a new IllegalArgumentException carrying the fixed message
+     */
+    public IllegalArgumentException toException() {
+        return new IllegalArgumentException(message);
+    }
+}
@@ -0,0 +1,117 @@
+package src.main.java;
+
+/**
+ * TaskEvent Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * One change published by TaskService to a TaskEventBus:
+ * - CREATED carries the new task's name and description
+ * - UPDATED names the changed field (getField) and carries only its new value;
+ *   an update that changes both fields publishes one event per field
+ * - DELETED carries only the task ID
+ *
+ * Values an event does not carry are null. Events are immutable once published;
+ * getSequence is the event's position on the bus.
+ */
+public final class TaskEvent {
+
+    /**
+     * Kind of change.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    /**
+     * Field changed by an UPDATED event.
+     */
+    public enum Field {
+        NAME,
+        DESCRIPTION
+    }
+
+    private final Type type;
+    private final Field field;
+    private final String taskId;
+    private final String name;
+    private final String description;
+
+    // Position on the bus; set by TaskEventBus.publish before the event becomes visible
+    long sequence;
+
+    private TaskEvent(Type type, Field field, String taskId, String name, String description) {
+        this.type = type;
+        this.field = field;
+        this.taskId = taskId;
+        this.name = name;
+        this.description = description;
+    }
+
+    // Copies the values, so later changes to the task do not leak into the event
+    static TaskEvent created(Task task) {
+        return new TaskEvent(Type.CREATED, null, task.getTaskId(), task.getName(), task.getDescription());
+    }
+
+    static TaskEvent nameChanged(String taskId, String name) {
+        return new TaskEvent(Type.UPDATED, Field.NAME, taskId, name, null);
+    }
+
+    static TaskEvent descriptionChanged(String taskId, String description) {
+        return new TaskEvent(Type.UPDATED, Field.DESCRIPTION, taskId, null, description);
+    }
+
+    static TaskEvent deleted(String taskId) {
+        return new TaskEvent(Type.DELETED, null, taskId, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the changed field.
+     *
+     * @return the field for UPDATED, null otherwise
+     */
+    public Field getField() {
+        return field;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Returns the new name.
+     *
+     * @return the name, or null if this event does not carry it
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the new description.
+     *
+     * @return the description, or null if this event does not carry it
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the event's position on the bus, starting at 0.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + type + (field == null ? "" : " " + field) + " " + taskId;
+    }
+}
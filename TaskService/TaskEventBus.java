@@ -0,0 +1,260 @@
+package src.main.java;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * TaskEventBus Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Change-data-capture stream for TaskService. A service built with a bus
+ * publishes a TaskEvent for every task it creates, updates or deletes, so
+ * downstream search and analytics can subscribe instead of polling getTask.
+ *
+ * Publishing never blocks and never waits for a subscriber: events go into a
+ * fixed-size ring, where a publisher claims the next sequence number with one
+ * atomic increment and stores the event with one compare-and-set, overwriting
+ * the event one lap older.
+ *
+ * Every subscriber has its own thread and its own position in the ring, and
+ * receives waiting events in batches of up to maxBatch, in sequence order.
+ * A subscriber that falls a full ring behind skips to the oldest event still
+ * in the ring and is told through onLost how many it missed, so it can
+ * resynchronize. A slow or failing subscriber never holds up the service or
+ * the other subscribers. An idle subscriber thread parks with a growing
+ * back-off of up to {@link #MAX_PARK_NANOS}.
+ */
+public final class TaskEventBus implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 65_536;
+    public static final int DEFAULT_MAX_BATCH = 1_024;
+    static final long MIN_PARK_NANOS = 50_000;
+    static final long MAX_PARK_NANOS = 5_000_000;
+
+    /**
+     * Pluggable consumer of task changes.
+     */
+    public interface Subscriber {
+        /**
+         * Receives a batch of events in sequence order.
+         *
+         * @param events the batch; only valid during the call
+         */
+        void onEvents(List<TaskEvent> events);
+
+        /**
+         * Called when events were overwritten before this subscriber read them.
+         *
+         * @param count the number of events missed
+         */
+        default void onLost(long count) {
+        }
+    }
+
+    // Slot i holds the newest published event whose sequence maps to i
+    private final AtomicReferenceArray<TaskEvent> slots;
+    private final int mask;
+    private final int maxBatch;
+    private final AtomicLong next = new AtomicLong();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong threadNumber = new AtomicLong();
+
+    /**
+     * Creates a bus with the default ring and batch sizes.
+     */
+    public TaskEventBus() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * Creates a bus with the given ring and batch sizes.
+     *
+     * @param capacity events a subscriber may fall behind before it loses any (a power of two)
+     * @param maxBatch most events handed to one onEvents call
+     * @throws IllegalArgumentException if capacity is not a power of two of at least 2, or maxBatch is below 1
+     */
+    public TaskEventBus(int capacity, int maxBatch) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two of at least 2");
+        }
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.maxBatch = maxBatch;
+    }
+
+    // Called by TaskService; lock-free and never waits for subscribers
+    void publish(TaskEvent event) {
+        long sequence = next.getAndIncrement();
+        event.sequence = sequence;
+        int index = (int) sequence & mask;
+        TaskEvent current;
+        do {
+            current = slots.get(index);
+            // A publisher that stalled for a whole lap drops its event; readers count it as lost
+            if (current != null && current.sequence > sequence) {
+                return;
+            }
+        } while (!slots.compareAndSet(index, current, event));
+    }
+
+    /**
+     * Starts delivering events published from now on to the subscriber, on its own thread.
+     *
+     * @param subscriber the consumer
+     * @return the subscription, for its counters and to close it
+     * @throws IllegalArgumentException if subscriber is null
+     */
+    public Subscription subscribe(Subscriber subscriber) {
+        if (subscriber == null) {
+            throw new IllegalArgumentException("Subscriber cannot be null");
+        }
+        Subscription subscription = new Subscription(subscriber, next.get());
+        subscriptions.add(subscription);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    public long getPublishedCount() {
+        return next.get();
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Closes every subscription, delivering what each has not read yet.
+     */
+    @Override
+    public void close() {
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+
+    /**
+     * One subscriber's position in the ring and its delivery thread.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final Subscriber subscriber;
+        private final Thread thread;
+        private final long start;
+        // Next sequence to read; only touched by the delivery thread
+        private long cursor;
+        private volatile long delivered;
+        private volatile long lost;
+        private volatile boolean closed;
+
+        private Subscription(Subscriber subscriber, long cursor) {
+            this.subscriber = subscriber;
+            this.start = cursor;
+            this.cursor = cursor;
+            this.thread = new Thread(this::run, "task-events-" + threadNumber.incrementAndGet());
+            this.thread.setDaemon(true);
+        }
+
+        public long getDeliveredCount() {
+            return delivered;
+        }
+
+        /**
+         * Returns how many events this subscriber missed because it fell a full ring behind.
+         */
+        public long getLostCount() {
+            return lost;
+        }
+
+        /**
+         * Returns how many published events have not been delivered yet
+         * (an estimate while events are arriving).
+         */
+        public long getLag() {
+            return Math.max(0, next.get() - start - delivered - lost);
+        }
+
+        /**
+         * Delivers every event already published, then stops the delivery thread.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            LockSupport.unpark(thread);
+            subscriptions.remove(this);
+            if (Thread.currentThread() == thread) {
+                return;
+            }
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void run() {
+            List<TaskEvent> batch = new ArrayList<>(Math.min(maxBatch, mask + 1));
+            List<TaskEvent> view = Collections.unmodifiableList(batch);
+            long park = MIN_PARK_NANOS;
+            while (true) {
+                // Read before draining, so everything published before close() is delivered
+                boolean stopping = closed;
+                long missed = drain(batch);
+                if (missed > 0) {
+                    lost += missed;
+                    deliver(() -> subscriber.onLost(missed));
+                }
+                if (!batch.isEmpty()) {
+                    delivered += batch.size();
+                    deliver(() -> subscriber.onEvents(view));
+                    batch.clear();
+                    park = MIN_PARK_NANOS;
+                    continue;
+                }
+                if (stopping) {
+                    return;
+                }
+                LockSupport.parkNanos(this, park);
+                park = Math.min(park * 2, MAX_PARK_NANOS);
+            }
+        }
+
+        // Moves published events from the ring into batch; returns how many were lost
+        private long drain(List<TaskEvent> batch) {
+            long missed = 0;
+            while (batch.size() < maxBatch) {
+                TaskEvent event = slots.get((int) cursor & mask);
+                if (event == null || event.sequence < cursor) {
+                    break;
+                }
+                if (event.sequence > cursor) {
+                    // Overwritten by a later lap: resume at the oldest sequence that can still be in the ring
+                    long oldest = event.sequence - mask;
+                    missed += oldest - cursor;
+                    cursor = oldest;
+                    continue;
+                }
+                batch.add(event);
+                cursor++;
+            }
+            return missed;
+        }
+
+        // A subscriber that throws is reported like an uncaught exception and keeps receiving events
+        private void deliver(Runnable call) {
+            try {
+                call.run();
+            } catch (RuntimeException failure) {
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, failure);
+            }
+        }
+    }
+}
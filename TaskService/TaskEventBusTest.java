@@ -0,0 +1,131 @@
+package src.test.java;
+
+import src.main.java.Task;
+import src.main.java.TaskEvent;
+import src.main.java.TaskEventBus;
+import src.main.java.TaskLog;
+import src.main.java.TaskOp;
+import src.main.java.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskEventBusTest
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * JUnit 5 tests for the change-data-capture stream of TaskService.
+ * This test suite verifies:
+ * - Adds, updates, deletes and batches are published as typed events, in order
+ * - Rejected changes and tasks recovered from the log are not published
+ * - A stalled subscriber never blocks the service and is told how many events it lost
+ */
+public class TaskEventBusTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Verifies the events published for each kind of change.
+     */
+    @Test
+    void testServicePublishesTypedEvents() {
+        List<TaskEvent> received = Collections.synchronizedList(new ArrayList<>());
+        TaskEventBus bus = new TaskEventBus();
+        TaskEventBus.Subscription subscription = bus.subscribe(received::addAll);
+        TaskService service = new TaskService(bus);
+
+        service.addTask(new Task("T1", "Write Code", "First draft"));
+        service.updateTask("T1", "Review Code", "Second draft");
+        assertThrows(IllegalArgumentException.class, () -> service.updateTask("T1", "Name", "   "));
+        service.deleteTask("T1");
+        service.deleteTask("T1");
+        service.applyBatch(Arrays.asList(
+                TaskOp.add(new Task("T2", "Plan Sprint", "Pick the stories")),
+                TaskOp.update("T2", null, "Pick and size the stories"),
+                TaskOp.delete("T9")));
+        service.applyBatch(Arrays.asList(TaskOp.delete("T2"), TaskOp.delete("T2"), TaskOp.update("T2", "Gone", null)));
+        subscription.close();
+
+        assertEquals(6, received.size());
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(i, received.get(i).getSequence());
+        }
+        TaskEvent created = received.get(0);
+        assertEquals(TaskEvent.Type.CREATED, created.getType());
+        assertEquals("Write Code", created.getName());
+        assertEquals("First draft", created.getDescription());
+        assertEquals(TaskEvent.Field.NAME, received.get(1).getField());
+        assertEquals("Review Code", received.get(1).getName());
+        assertNull(received.get(1).getDescription());
+        assertEquals(TaskEvent.Field.DESCRIPTION, received.get(2).getField());
+        assertEquals("Second draft", received.get(2).getDescription());
+        assertEquals(TaskEvent.Type.DELETED, received.get(3).getType());
+        assertEquals("T2", received.get(4).getTaskId());
+        assertEquals("Pick and size the stories", received.get(5).getDescription());
+        assertEquals(0, subscription.getLostCount());
+        assertThrows(IllegalArgumentException.class, () -> bus.subscribe(null));
+    }
+
+    /**
+     * Verifies that recovery does not replay old changes as events.
+     */
+    @Test
+    void testRecoveredTasksAreNotPublished() throws IOException {
+        try (TaskService service = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE))) {
+            service.addTask(new Task("T1", "Write Code", "First draft"));
+        }
+        TaskEventBus bus = new TaskEventBus();
+        List<TaskEvent> received = Collections.synchronizedList(new ArrayList<>());
+        TaskEventBus.Subscription subscription = bus.subscribe(received::addAll);
+        try (TaskService reopened = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE), bus)) {
+            assertNotNull(reopened.getTask("T1"));
+            reopened.deleteTask("T1");
+        }
+        subscription.close();
+        assertEquals(1, received.size());
+        assertEquals(TaskEvent.Type.DELETED, received.get(0).getType());
+    }
+
+    /**
+     * Verifies that publishing does not wait for a subscriber stuck in onEvents.
+     */
+    @Test
+    void testStalledSubscriberNeverBlocksTheService() throws Exception {
+        TaskEventBus bus = new TaskEventBus(16, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        TaskEventBus.Subscription slow = bus.subscribe(events -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        TaskService service = new TaskService(bus);
+        service.addTask(new Task("T1", "Write Code", "First draft"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (slow.getDeliveredCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        // Far more events than the ring holds, all while the subscriber is stuck
+        for (int i = 0; i < 1_000; i++) {
+            service.updateTask("T1", "Name " + i, null);
+        }
+        release.countDown();
+        slow.close();
+
+        assertTrue(slow.getLostCount() > 0);
+        assertEquals(bus.getPublishedCount(), slow.getDeliveredCount() + slow.getLostCount());
+    }
+}
@@ -0,0 +1,539 @@
+package src.main.java;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * TaskLog Class
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * Write-ahead log that makes a TaskService durable across restarts.
+ * 
+ * Every add, update and delete is appended to {@code tasks.wal} as a compact
+ * binary record through a FileChannel before the in-memory map changes:
+ * 
+ *   [int payload length][int CRC32 of payload][byte op][id][name][description]
+ * 
+ * Strings are stored as an int byte length (-1 for "no change") followed by
+ * UTF-8 bytes. A batch from TaskService.applyBatch is a single record whose
+ * payload is {@code [byte OP_BATCH][int count]} followed by {@code count}
+ * [op][id][name][description] entries, so it shares one header, one checksum
+ * and one write: after a crash it is recovered whole or not at all. After {@code snapshotInterval} records the full task set is
+ * written to {@code tasks.snap} (via a temp file and an atomic rename) and the
+ * log is truncated, so recovery never replays more than one interval of records.
+ * The snapshot stores its strings the same way as the log, so a value padded
+ * with whitespace far beyond its trimmed limit is never too long to write.
+ * 
+ * On startup the snapshot is loaded and the log replayed on top of it.
+ * A torn record at the end of the log (crash mid-write) is detected by its
+ * length or checksum and cut off; everything before it is recovered.
+ * 
+ * This class is not thread-safe; TaskService calls it from its own methods only.
+ */
+public class TaskLog implements Closeable {
+
+    /**
+     * When appended records are forced to disk.
+     */
+    public enum SyncMode {
+        /** fsync after every record: nothing acknowledged is ever lost. */
+        EVERY_WRITE,
+        /**
+         * Records are buffered and written with a single fsync once
+         * {@code groupCommitSize} have accumulated, or when {@link #sync()}
+         * or {@link #close()} is called. A crash can lose at most the
+         * records of the current unflushed group.
+         */
+        GROUP_COMMIT
+    }
+
+    static final String LOG_FILE = "tasks.wal";
+    static final String SNAPSHOT_FILE = "tasks.snap";
+
+    static final byte OP_ADD = 1;
+    static final byte OP_UPDATE = 2;
+    static final byte OP_DELETE = 3;
+    static final byte OP_BATCH = 4;
+
+    private static final int SNAPSHOT_MAGIC = 0x54534E50; // "TSNP"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    // Typical upper bound for a record: op byte + three strings of at most 50 chars (3 UTF-8 bytes each).
+    // Whitespace-padded values can be longer; the buffers grow when that happens.
+    private static final int TYPICAL_PAYLOAD = 1 + 3 * (4 + 150);
+
+    public static final int DEFAULT_GROUP_COMMIT_SIZE = 64;
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 100_000;
+
+    private final Path directory;
+    private final SyncMode syncMode;
+    private final int groupCommitSize;
+    private final int snapshotInterval;
+    private final FileChannel channel;
+    private ByteBuffer pending;
+    private final CRC32 crc = new CRC32();
+
+    private int pendingRecords;
+    private int recordsSinceSnapshot;
+
+    /**
+     * Opens (or creates) a log in the given directory with default group commit and snapshot settings.
+     * 
+     * @param directory directory holding the log and snapshot files (created if missing)
+     * @param syncMode  when records are forced to disk
+     * @throws IOException if the directory or log file cannot be opened
+     */
+    public TaskLog(Path directory, SyncMode syncMode) throws IOException {
+        this(directory, syncMode, DEFAULT_GROUP_COMMIT_SIZE, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Opens (or creates) a log in the given directory.
+     * 
+     * @param directory        directory holding the log and snapshot files (created if missing)
+     * @param syncMode         when records are forced to disk
+     * @param groupCommitSize  records per fsync in GROUP_COMMIT mode (ignored for EVERY_WRITE)
+     * @param snapshotInterval records appended between snapshots
+     * @throws IllegalArgumentException if an argument is null or a size is not positive
+     * @throws IOException if the directory or log file cannot be opened
+     */
+    public TaskLog(Path directory, SyncMode syncMode, int groupCommitSize, int snapshotInterval) throws IOException {
+        if (directory == null || syncMode == null) {
+            throw new IllegalArgumentException("Log directory and sync mode cannot be null");
+        }
+        if (groupCommitSize < 1 || snapshotInterval < 1) {
+            throw new IllegalArgumentException("Group commit size and snapshot interval must be positive");
+        }
+        this.directory = directory;
+        this.syncMode = syncMode;
+        this.groupCommitSize = syncMode == SyncMode.GROUP_COMMIT ? groupCommitSize : 1;
+        this.snapshotInterval = snapshotInterval;
+        Files.createDirectories(directory);
+        this.channel = FileChannel.open(directory.resolve(LOG_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.pending = ByteBuffer.allocateDirect(this.groupCommitSize * (HEADER_BYTES + TYPICAL_PAYLOAD));
+    }
+
+    /**
+     * Rebuilds the task map from the snapshot and the log, then positions the
+     * log for appending. Any torn record at the end of the log is truncated.
+     * 
+     * @param tasks the (empty) map to fill
+     * @throws IOException if the snapshot is corrupt or the files cannot be read
+     */
+    void recover(Map<String, Task> tasks) throws IOException {
+        loadSnapshot(tasks);
+        long validEnd = replay(tasks);
+        if (validEnd < channel.size()) {
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+        channel.position(validEnd);
+    }
+
+    void appendAdd(Task task) throws IOException {
+        append(OP_ADD, task.getTaskId(), task.getName(), task.getDescription());
+    }
+
+    void appendUpdate(String taskId, String newName, String newDescription) throws IOException {
+        append(OP_UPDATE, taskId, newName, newDescription);
+    }
+
+    void appendDelete(String taskId) throws IOException {
+        append(OP_DELETE, taskId, null, null);
+    }
+
+    /**
+     * Appends the given ops as one batch record. Each op counts as a record
+     * towards group commit and the snapshot interval, but the batch is written
+     * (and in EVERY_WRITE mode forced) once.
+     * 
+     * @param ops the ops to log, already validated, in the order they apply
+     * @throws IOException if the write or fsync fails
+     */
+    void appendBatch(List<TaskOp> ops) throws IOException {
+        byte[][] strings = new byte[ops.size() * 3][];
+        int payloadLength = 1 + Integer.BYTES;
+        for (int i = 0; i < ops.size(); i++) {
+            TaskOp op = ops.get(i);
+            Task task = op.getTask();
+            strings[3 * i] = encode(op.getTaskId());
+            strings[3 * i + 1] = encode(task != null ? task.getName() : op.getNewName());
+            strings[3 * i + 2] = encode(task != null ? task.getDescription() : op.getNewDescription());
+            payloadLength += 1 + encodedSize(strings[3 * i]) + encodedSize(strings[3 * i + 1]) + encodedSize(strings[3 * i + 2]);
+        }
+        ensureCapacity(HEADER_BYTES + payloadLength);
+
+        int start = pending.position();
+        pending.position(start + HEADER_BYTES);
+        pending.put(OP_BATCH);
+        pending.putInt(ops.size());
+        for (int i = 0; i < ops.size(); i++) {
+            pending.put(opCode(ops.get(i).getType()));
+            putString(strings[3 * i]);
+            putString(strings[3 * i + 1]);
+            putString(strings[3 * i + 2]);
+        }
+        seal(start);
+
+        pendingRecords += ops.size();
+        recordsSinceSnapshot += ops.size();
+        if (pendingRecords >= groupCommitSize) {
+            sync();
+        }
+    }
+
+    /**
+     * Returns true once enough records have been appended that a snapshot is due.
+     */
+    boolean snapshotDue() {
+        return recordsSinceSnapshot >= snapshotInterval;
+    }
+
+    /**
+     * Writes every task to a new snapshot and truncates the log.
+     * The snapshot replaces the old one atomically, so a crash at any point
+     * leaves either the old snapshot plus the full log, or the new snapshot.
+     * 
+     * @param tasks the complete current task set
+     * @throws IOException if the snapshot cannot be written
+     */
+    void snapshot(Collection<Task> tasks) throws IOException {
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        CRC32 checksum = new CRC32();
+        try (OutputStream file = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, checksum), 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(tasks.size());
+            for (Task task : tasks) {
+                writeString(out, task.getTaskId());
+                writeString(out, task.getName());
+                writeString(out, task.getDescription());
+                out.writeLong(task.getVersion());
+            }
+            out.flush();
+            // The trailer is written past the checksummed stream so it does not cover itself
+            new DataOutputStream(file).writeLong(checksum.getValue());
+        }
+        try (FileChannel snapshotChannel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            snapshotChannel.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // Everything in the log (including unflushed records) is now covered by the snapshot
+        pending.clear();
+        pendingRecords = 0;
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+        recordsSinceSnapshot = 0;
+    }
+
+    /**
+     * Writes and forces any records still buffered by group commit.
+     * 
+     * @throws IOException if the write or fsync fails
+     */
+    public void sync() throws IOException {
+        if (pendingRecords == 0) {
+            return;
+        }
+        pending.flip();
+        while (pending.hasRemaining()) {
+            channel.write(pending);
+        }
+        pending.clear();
+        pendingRecords = 0;
+        // Data-only force is enough: the file length is part of what fdatasync persists
+        channel.force(false);
+    }
+
+    /**
+     * Flushes buffered records and closes the log file.
+     * 
+     * @throws IOException if the final flush fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    public SyncMode getSyncMode() {
+        return syncMode;
+    }
+
+    private void append(byte op, String taskId, String name, String description) throws IOException {
+        byte[] id = encode(taskId);
+        byte[] newName = encode(name);
+        byte[] newDescription = encode(description);
+        int payloadLength = 1 + encodedSize(id) + encodedSize(newName) + encodedSize(newDescription);
+        ensureCapacity(HEADER_BYTES + payloadLength);
+
+        int start = pending.position();
+        pending.position(start + HEADER_BYTES);
+        pending.put(op);
+        putString(id);
+        putString(newName);
+        putString(newDescription);
+        seal(start);
+
+        pendingRecords++;
+        recordsSinceSnapshot++;
+        if (pendingRecords >= groupCommitSize) {
+            sync();
+        }
+    }
+
+    // Checksums the payload written after start in place, then fills in the header
+    private void seal(int start) {
+        int end = pending.position();
+        ByteBuffer payload = pending.duplicate();
+        payload.position(start + HEADER_BYTES).limit(end);
+        crc.reset();
+        crc.update(payload);
+        pending.putInt(start, end - start - HEADER_BYTES);
+        pending.putInt(start + 4, (int) crc.getValue());
+    }
+
+    private static byte opCode(TaskOp.Type type) {
+        switch (type) {
+            case ADD:
+                return OP_ADD;
+            case UPDATE:
+                return OP_UPDATE;
+            default:
+                return OP_DELETE;
+        }
+    }
+
+    // Grows the pending buffer for the rare record that does not fit (e.g. heavily padded values)
+    private void ensureCapacity(int recordLength) {
+        if (pending.remaining() >= recordLength) {
+            return;
+        }
+        ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(pending.capacity() * 2, pending.position() + recordLength));
+        pending.flip();
+        larger.put(pending);
+        pending = larger;
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int encodedSize(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    private void putString(byte[] bytes) {
+        if (bytes == null) {
+            pending.putInt(-1);
+            return;
+        }
+        pending.putInt(bytes.length);
+        pending.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    // Snapshot strings use the same encoding as log records: int byte length, then UTF-8 bytes
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in, long fileSize) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > fileSize) {
+            throw new IOException("Corrupt string length in task snapshot: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void loadSnapshot(Map<String, Task> tasks) throws IOException {
+        Path file = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        long size = Files.size(file);
+        CRC32 checksum = new CRC32();
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(
+                     new CheckedInputStream(new BoundedInputStream(raw, size - Long.BYTES), checksum), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a task snapshot: " + file);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String taskId = readString(in, size);
+                String name = readString(in, size);
+                String description = readString(in, size);
+                Task task = new Task(taskId, name, description, in.readLong());
+                tasks.put(task.getTaskId(), task);
+            }
+            if (in.read() != -1) {
+                throw new IOException("Trailing data in task snapshot: " + file);
+            }
+            if (new DataInputStream(raw).readLong() != checksum.getValue()) {
+                throw new IOException("Task snapshot checksum mismatch: " + file);
+            }
+        } catch (EOFException e) {
+            throw new IOException("Truncated task snapshot: " + file, e);
+        }
+    }
+
+    // Applies every intact record in the log; returns the offset just past the last intact record
+    private long replay(Map<String, Task> tasks) throws IOException {
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        ByteBuffer payload = ByteBuffer.allocate(TYPICAL_PAYLOAD);
+        long position = 0;
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(header, position);
+            int length = header.getInt(0);
+            int expectedCrc = header.getInt(4);
+            if (length <= 0 || length > size - position - HEADER_BYTES) {
+                break; // Torn or garbage header
+            }
+            if (length > payload.capacity()) {
+                payload = ByteBuffer.allocate(length);
+            }
+            payload.clear().limit(length);
+            readFully(payload, position + HEADER_BYTES);
+            crc.reset();
+            crc.update(payload.array(), 0, length);
+            if ((int) crc.getValue() != expectedCrc) {
+                break; // Torn payload
+            }
+            payload.flip();
+            recordsSinceSnapshot += apply(tasks, payload);
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    // Replays one record and returns the number of ops in it. Every op overwrites or removes,
+    // so replaying records already covered by a snapshot (crash between snapshot and truncate) is harmless:
+    // at worst an update adds one to the version again, and versions only need to go up.
+    private static int apply(Map<String, Task> tasks, ByteBuffer payload) {
+        byte op = payload.get();
+        if (op == OP_BATCH) {
+            int count = payload.getInt();
+            for (int i = 0; i < count; i++) {
+                apply(tasks, payload);
+            }
+            return count;
+        }
+        String taskId = getString(payload);
+        String name = getString(payload);
+        String description = getString(payload);
+        switch (op) {
+            case OP_ADD:
+                tasks.put(taskId, new Task(taskId, name, description));
+                break;
+            case OP_UPDATE:
+                Task task = tasks.get(taskId);
+                if (task != null && (name != null || description != null)) {
+                    // One change per logged update, as when it was first applied
+                    task.update(name, description);
+                }
+                break;
+            case OP_DELETE:
+                tasks.remove(taskId);
+                break;
+            default:
+                throw new IllegalStateException("Unknown task log operation: " + op);
+        }
+        return 1;
+    }
+
+    /**
+     * Input stream that stops after a fixed number of bytes, used to keep the
+     * snapshot checksum trailer out of the checksummed region.
+     */
+    private static final class BoundedInputStream extends InputStream {
+        private final InputStream in;
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long limit) {
+            this.in = in;
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() {
+            // The underlying stream is closed by its own try-with-resources
+        }
+    }
+}
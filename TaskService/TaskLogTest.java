@@ -0,0 +1,291 @@
+package src.test.java;
+
+import src.main.java.Task;
+import src.main.java.TaskBatchResult;
+import src.main.java.TaskLog;
+import src.main.java.TaskOp;
+import src.main.java.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * TaskLogTest
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * JUnit 5 tests for the durable mode of TaskService (TaskLog).
+ * This test suite verifies:
+ * - Adds, updates and deletes survive a restart
+ * - Group commit keeps records buffered until the group fills or sync() is called
+ * - Snapshots truncate the log and recovery combines snapshot and log
+ * - Snapshots hold values of any length, including heavily padded ones
+ * - Task versions survive a restart, and a failed log write leaves a versioned update unapplied
+ * - A torn record at the end of the log is discarded without losing earlier records
+ * - A batch is logged as one record and recovered whole or not at all
+ * - PERSISTENT storage recovers the same tasks, and its snapshots see replayed updates
+ */
+public class TaskLogTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Verifies that every kind of change is recovered after the service is reopened.
+     */
+    @Test
+    void testChangesSurviveRestart() throws IOException {
+        try (TaskService service = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE))) {
+            service.addTask(new Task("T1", "Write Code", "Implement the log"));
+            service.addTask(new Task("T2", "Delete Me", "To be removed"));
+            service.updateTask("T1", "Review Code", null);
+            service.updateTask("T1", null, "Review the log");
+            assertTrue(service.deleteTask("T2"));
+        }
+
+        try (TaskService reopened = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE))) {
+            Task recovered = reopened.getTask("T1");
+            assertNotNull(recovered, "Added task should be recovered");
+            assertEquals("Review Code", recovered.getName());
+            assertEquals("Review the log", recovered.getDescription());
+            assertNull(reopened.getTask("T2"), "Deleted task should stay deleted");
+            assertEquals(1, reopened.searchBySubstring("review", 10).size(), "Recovered tasks should be searchable");
+        }
+    }
+
+    /**
+     * Verifies that group commit writes nothing until the group is full or sync() is called.
+     */
+    @Test
+    void testGroupCommitBuffersUntilSync() throws IOException {
+        Path logFile = directory.resolve("tasks.wal");
+        TaskService service = new TaskService(new TaskLog(directory, TaskLog.SyncMode.GROUP_COMMIT, 3, 1000));
+        service.addTask(new Task("T1", "One", "First"));
+        service.addTask(new Task("T2", "Two", "Second"));
+        assertEquals(0, Files.size(logFile), "Records should stay buffered until the group fills");
+
+        service.addTask(new Task("T3", "Three", "Third"));
+        long afterGroup = Files.size(logFile);
+        assertTrue(afterGroup > 0, "A full group should be written");
+
+        service.addTask(new Task("T4", "Four", "Fourth"));
+        assertEquals(afterGroup, Files.size(logFile));
+        service.sync();
+        assertTrue(Files.size(logFile) > afterGroup, "sync() should write the partial group");
+        service.close();
+
+        try (TaskService reopened = new TaskService(new TaskLog(directory, TaskLog.SyncMode.GROUP_COMMIT))) {
+            assertNotNull(reopened.getTask("T4"));
+        }
+    }
+
+    /**
+     * Verifies that snapshots keep the log short and that recovery uses both files.
+     */
+    @Test
+    void testSnapshotBoundsLogAndRecovers() throws IOException {
+        Path logFile = directory.resolve("tasks.wal");
+        try (TaskService service = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE, 1, 4))) {
+            for (int i = 0; i < 10; i++) {
+                service.addTask(new Task("T" + i, "Task " + i, "Description " + i));
+            }
+            service.updateTask("T3", "Renamed", null);
+            service.deleteTask("T7");
+            // 12 records with a snapshot every 4: the last change triggered a snapshot
+            assertTrue(Files.exists(directory.resolve("tasks.snap")));
+            assertEquals(0, Files.size(logFile), "Log should be empty right after a snapshot");
+            service.addTask(new Task("T10", "After", "Written after the snapshot"));
+        }
+
+        try (TaskService reopened = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE, 1, 4))) {
+            assertEquals("Renamed", reopened.getTask("T3").getName());
+            assertNull(reopened.getTask("T7"));
+            assertNotNull(reopened.getTask("T9"));
+            assertNotNull(reopened.getTask("T10"), "Records after the snapshot should be replayed");
+        }
+    }
+
+    /**
+     * Verifies that a partially written record at the end of the log is cut off.
+     */
+    @Test
+    void testTornTailIsDiscarded() throws IOException {
+        Path logFile = directory.resolve("tasks.wal");
+        try (TaskService service = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE))) {
+            service.addTask(new Task("T1", "Kept", "Fully written"));
+        }
+        long intact = Files.size(logFile);
+        // Simulate a crash in the middle of the next append: a header promising more bytes than exist
+        Files.write(logFile, new byte[] {0, 0, 0, 40, 1, 2, 3, 4, 1, 0}, StandardOpenOption.APPEND);
+
+        try (TaskService reopened = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE))) {
+            assertNotNull(reopened.getTask("T1"));
+            assertEquals(intact, Files.size(logFile), "Torn record should be truncated");
+            reopened.addTask(new Task("T2", "Next", "Appended after recovery"));
+        }
+        try (TaskService reopened = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE))) {
+            assertNotNull(reopened.getTask("T2"), "Appends after recovery should replay cleanly");
+        }
+    }
+
+    /**
+     * Verifies that an invalid update is rejected before anything is logged or applied.
+     */
+    @Test
+    void testInvalidUpdateIsNotLogged() throws IOException {
+        try (TaskService service = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE))) {
+            service.addTask(new Task("T1", "Name", "Desc"));
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.updateTask("T1", "Valid Name", "   "));
+            assertEquals("Name", service.getTask("T1").getName(), "Name should not change when the description is invalid");
+        }
+        try (TaskService reopened = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE))) {
+            assertEquals("Name", reopened.getTask("T1").getName());
+        }
+    }
+
+    /**
+     * Verifies that a batch is written as one record, survives a restart,
+     * and is dropped whole when that record is torn.
+     */
+    @Test
+    void testBatchIsOneRecord() throws IOException {
+        Path logFile = directory.resolve("tasks.wal");
+        try (TaskService service = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE))) {
+            service.addTask(new Task("T1", "Write Code", "First draft"));
+            long before = Files.size(logFile);
+            List<TaskOp> ops = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                ops.add(TaskOp.add(new Task("B" + i, "Batch " + i, "Added in one record")));
+            }
+            ops.add(TaskOp.update("T1", "Review Code", null));
+            ops.add(TaskOp.delete("B0"));
+            ops.add(TaskOp.delete("missing"));
+            assertTrue(service.applyBatch(ops).isApplied());
+            assertTrue(Files.size(logFile) > before, "EVERY_WRITE should write the batch before returning");
+
+            TaskBatchResult rejected = service.applyBatch(Arrays.asList(
+                    TaskOp.delete("T1"), TaskOp.update("T1", "Deleted", null)));
+            assertFalse(rejected.isApplied());
+        }
+
+        long intact = Files.size(logFile);
+        try (TaskService reopened = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE))) {
+            assertEquals("Review Code", reopened.getTask("T1").getName(), "Rejected batch should not be logged");
+            assertNull(reopened.getTask("B0"));
+            assertEquals("Batch 99", reopened.getTask("B99").getName());
+            assertEquals(100, reopened.searchByPrefix("", 1000).size());
+            reopened.applyBatch(Arrays.asList(TaskOp.delete("T1"), TaskOp.add(new Task("T2", "Torn", "Lost with its batch"))));
+        }
+
+        // Cut the last record short: neither op of that batch may come back
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(logFile) - 3);
+        }
+        try (TaskService reopened = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE))) {
+            assertNotNull(reopened.getTask("T1"));
+            assertNull(reopened.getTask("T2"));
+            assertEquals(intact, Files.size(logFile));
+        }
+    }
+
+    /**
+     * Verifies that a valid value longer than 65,535 bytes (whitespace padding
+     * around a short name) is written to a snapshot and loaded back, and that
+     * the service keeps working after the snapshot.
+     */
+    @Test
+    void testSnapshotHoldsLongPaddedValues() throws IOException {
+        String padded = " ".repeat(70_000) + "name";
+        try (TaskService service = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE, 1, 2))) {
+            service.addTask(new Task("T1", padded, "Padded name"));
+            // Second record: the snapshot is due and must succeed
+            service.addTask(new Task("T2", "Plain", "After the padded one"));
+            service.addTask(new Task("T3", "Later", "After the snapshot"));
+        }
+        assertTrue(Files.size(directory.resolve("tasks.snap")) > 70_000, "The padded value should be in the snapshot");
+
+        try (TaskService reopened = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE))) {
+            assertEquals(padded, reopened.getTask("T1").getName());
+            assertNotNull(reopened.getTask("T2"));
+            assertNotNull(reopened.getTask("T3"));
+        }
+    }
+
+    /**
+     * Verifies that a PERSISTENT service recovers from the log like the default
+     * one, and that a snapshot taken right after recovery sees replayed updates.
+     */
+    @Test
+    void testPersistentStorageRecovers() throws IOException {
+        try (TaskService service = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE))) {
+            service.addTask(new Task("T1", "Write Code", "Implement the log"));
+            service.addTask(new Task("T2", "Delete Me", "To be removed"));
+            service.updateTask("T1", "Review Code", null);
+            service.deleteTask("T2");
+        }
+
+        TaskLog log = new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE);
+        try (TaskService reopened = new TaskService(TaskService.Storage.PERSISTENT, log, null, null)) {
+            assertEquals("Review Code", reopened.getTask("T1").getName());
+            assertNull(reopened.getTask("T2"));
+            assertEquals(1, reopened.snapshot().size());
+            assertEquals("Review Code", reopened.snapshot().get("T1").getName());
+        }
+    }
+
+    /**
+     * Verifies that task versions are kept across restarts, both from the
+     * snapshot file and from replayed updates, so a version read before a
+     * restart never matches a different state after it.
+     */
+    @Test
+    void testVersionsSurviveRestart() throws IOException {
+        try (TaskService service = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE, 1, 3))) {
+            service.addTask(new Task("T1", "Write Code", "Implement the log"));
+            service.updateTask("T1", 0, "Review Code", null);
+            // Third record: the snapshot holds T1 at version 2
+            service.updateTask("T1", 1, null, "Review the log");
+            // Replayed on top of the snapshot
+            service.updateTask("T1", 2, "Ship Code", null);
+            assertEquals(3, service.getTask("T1").getVersion());
+        }
+
+        try (TaskService reopened = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE, 1, 3))) {
+            Task recovered = reopened.getTask("T1");
+            assertEquals(3, recovered.getVersion());
+            assertEquals("Ship Code", recovered.getName());
+            assertThrows(IllegalStateException.class, () -> reopened.updateTask("T1", 0, "Stale", null));
+            assertEquals(4, reopened.updateTask("T1", 3, "Fresh", null));
+        }
+    }
+
+    /**
+     * Verifies that a versioned update whose log write fails changes nothing,
+     * not even the version, so memory never holds a version the log lacks.
+     */
+    @Test
+    void testVersionedUpdateUnappliedWhenLogFails() throws IOException {
+        TaskService service = new TaskService(new TaskLog(directory, TaskLog.SyncMode.EVERY_WRITE));
+        service.addTask(new Task("T1", "Write Code", "Implement the log"));
+        service.close();
+
+        assertThrows(UncheckedIOException.class, () -> service.updateTask("T1", 0, "Lost", null));
+        Task task = service.getTask("T1");
+        assertEquals("Write Code", task.getName());
+        assertEquals(0, task.getVersion());
+        assertEquals(1, service.searchByPrefix("write", 10).size());
+        assertTrue(service.searchByPrefix("lost", 10).isEmpty());
+    }
+}
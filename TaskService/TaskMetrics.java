@@ -0,0 +1,337 @@
+package src.main.java;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TaskMetrics Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Low-overhead operation metrics for TaskService. A service built with a
+ * TaskMetrics counts the calls to each public operation and how many threw,
+ * keeps a latency histogram per operation, and counts how often each Task
+ * field failed validation (thrown by updateTask, or reported for a rejected
+ * op by applyBatch), by TaskError.
+ *
+ * The histogram is HDR-style: exact buckets up to 15 ns, then 16 log-linear
+ * buckets per power of two, so a reported percentile is at most 1/16 above
+ * the true value.
+ *
+ * Every counter is a LongAdder. Calls are counted exactly, but only one call
+ * in sampleInterval (chosen at random) is timed, because two System.nanoTime
+ * reads cost more than many of the operations they would measure; with the
+ * default interval of 16 recording adds about 20 ns to a call. The reads and
+ * exports sum the adders and are meant for scraping, not for the hot path.
+ */
+public final class TaskMetrics {
+    // 16 buckets per power of two; latencies above MAX_TRACKED_NANOS (about 18 minutes) land in the last bucket
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final long MAX_TRACKED_NANOS = (1L << 40) - 1;
+    static final int BUCKETS = (40 - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS;
+    // Start time of a call that was not chosen for timing
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
+    public static final int DEFAULT_SAMPLE_INTERVAL = 16;
+
+    private static final double[] EXPORTED_PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] JSON_KEYS = {"p50", "p90", "p99", "p999"};
+    private static final String[] QUANTILES = {"0.5", "0.9", "0.99", "0.999"};
+
+    // Each TaskError's message, mapped back to the error (messages are distinct per error)
+    private static final Map<String, TaskError> ERRORS_BY_MESSAGE = new HashMap<>();
+    static {
+        for (TaskError error : TaskError.values()) {
+            ERRORS_BY_MESSAGE.put(error.getMessage(), error);
+        }
+    }
+
+    /**
+     * The TaskService methods that are measured.
+     */
+    public enum Operation {
+        ADD_TASK("addTask"),
+        DELETE_TASK("deleteTask"),
+        UPDATE_TASK("updateTask"),
+        // One call per batch
+        APPLY_BATCH("applyBatch"),
+        GET_TASK("getTask"),
+        SEARCH_BY_PREFIX("searchByPrefix"),
+        SEARCH_BY_SUBSTRING("searchBySubstring"),
+        // One call per page
+        LIST_TASKS("listTasks");
+
+        private final String methodName;
+
+        Operation(String methodName) {
+            this.methodName = methodName;
+        }
+
+        /**
+         * Returns the label used in the exported metrics.
+         *
+         * @return the TaskService method name
+         */
+        public String getMethodName() {
+            return methodName;
+        }
+    }
+
+    private final Stats[] stats = new Stats[Operation.values().length];
+    private final LongAdder[] validationFailures = new LongAdder[TaskError.values().length];
+    private final int sampleInterval;
+
+    /**
+     * Creates empty metrics that time one call in {@link #DEFAULT_SAMPLE_INTERVAL}.
+     */
+    public TaskMetrics() {
+        this(DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * Creates empty metrics that time one call in sampleInterval.
+     *
+     * @param sampleInterval 1 to time every call
+     * @throws IllegalArgumentException if sampleInterval is below 1
+     */
+    public TaskMetrics(int sampleInterval) {
+        if (sampleInterval < 1) {
+            throw new IllegalArgumentException("Sample interval must be at least 1");
+        }
+        this.sampleInterval = sampleInterval;
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new Stats();
+        }
+        for (int i = 0; i < validationFailures.length; i++) {
+            validationFailures[i] = new LongAdder();
+        }
+    }
+
+    // Start time to pass to record: System.nanoTime for a call chosen for timing, NOT_TIMED otherwise
+    long start() {
+        if (sampleInterval == 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0) {
+            return System.nanoTime();
+        }
+        return NOT_TIMED;
+    }
+
+    // Counts one call and, if start() chose it for timing, records its latency
+    void record(Operation operation, long startNanos) {
+        Stats target = stats[operation.ordinal()];
+        target.calls.increment();
+        if (startNanos != NOT_TIMED) {
+            long elapsed = System.nanoTime() - startNanos;
+            target.buckets[bucket(elapsed)].increment();
+            target.totalNanos.add(elapsed);
+        }
+    }
+
+    // Counts a call that threw (record is still called for it); a TaskError message also counts the field
+    void recordFailure(Operation operation, RuntimeException failure) {
+        stats[operation.ordinal()].failures.increment();
+        if (failure instanceof IllegalArgumentException) {
+            recordValidationFailure(failure.getMessage());
+        }
+    }
+
+    // Counts a field that failed validation without throwing, e.g. in a rejected batch
+    void recordValidationFailure(TaskError error) {
+        validationFailures[error.ordinal()].increment();
+    }
+
+    // Counts the field failures among the messages of a rejected batch
+    void recordValidationFailure(String message) {
+        TaskError error = message == null ? null : ERRORS_BY_MESSAGE.get(message);
+        if (error != null) {
+            recordValidationFailure(error);
+        }
+    }
+
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Returns how many calls were made to the operation, including failed ones.
+     */
+    public long getCallCount(Operation operation) {
+        return stats[operation.ordinal()].calls.sum();
+    }
+
+    /**
+     * Returns how many calls to the operation were timed; the latency figures describe these.
+     */
+    public long getTimedCount(Operation operation) {
+        return new Snapshot(stats[operation.ordinal()]).count;
+    }
+
+    /**
+     * Returns how many calls to the operation threw.
+     */
+    public long getFailureCount(Operation operation) {
+        return stats[operation.ordinal()].failures.sum();
+    }
+
+    /**
+     * Returns how many times a field failed validation in the given way.
+     */
+    public long getValidationFailureCount(TaskError error) {
+        return validationFailures[error.ordinal()].sum();
+    }
+
+    /**
+     * Returns the mean latency of the timed calls, or 0 before the first one.
+     */
+    public double getMeanLatencyNanos(Operation operation) {
+        return new Snapshot(stats[operation.ordinal()]).mean();
+    }
+
+    /**
+     * Returns the latency that the given percentage of timed calls did not exceed,
+     * rounded up to the top of its histogram bucket (at most 1/16 high).
+     *
+     * @param operation  the operation
+     * @param percentile 0 to 100 (100 is the largest recorded latency)
+     * @return the latency in nanoseconds, or 0 before the first timed call
+     * @throws IllegalArgumentException if percentile is outside 0 to 100
+     */
+    public long getLatencyPercentile(Operation operation, double percentile) {
+        // Also rejects NaN
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        return new Snapshot(stats[operation.ordinal()]).percentile(percentile);
+    }
+
+    /**
+     * Exports every metric as one JSON object: per operation its count, failures
+     * and latencyNanos (timed, mean, p50, p90, p99, p999, max), then
+     * validationFailures by TaskError.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"operations\":{");
+        for (Operation operation : Operation.values()) {
+            Snapshot snapshot = new Snapshot(stats[operation.ordinal()]);
+            json.append(operation.ordinal() == 0 ? "" : ",").append('"').append(operation.methodName).append("\":{");
+            json.append("\"count\":").append(stats[operation.ordinal()].calls.sum());
+            json.append(",\"failures\":").append(stats[operation.ordinal()].failures.sum());
+            json.append(",\"latencyNanos\":{\"timed\":").append(snapshot.count);
+            json.append(",\"mean\":").append(snapshot.mean());
+            for (int p = 0; p < EXPORTED_PERCENTILES.length; p++) {
+                json.append(",\"").append(JSON_KEYS[p]).append("\":").append(snapshot.percentile(EXPORTED_PERCENTILES[p]));
+            }
+            json.append(",\"max\":").append(snapshot.percentile(100)).append("}}");
+        }
+        json.append("},\"validationFailures\":{");
+        for (TaskError error : TaskError.values()) {
+            json.append(error.ordinal() == 0 ? "" : ",").append('"').append(error.name()).append("\":").append(getValidationFailureCount(error));
+        }
+        return json.append("}}").toString();
+    }
+
+    /**
+     * Exports every metric in the Prometheus text exposition format: call and
+     * failure counters and a latency summary labelled by operation, and
+     * validation failures labelled by field.
+     */
+    public String toPrometheus() {
+        StringBuilder text = new StringBuilder();
+        text.append("# HELP task_service_calls_total Calls made to each TaskService operation.\n");
+        text.append("# TYPE task_service_calls_total counter\n");
+        StringBuilder failures = new StringBuilder("# HELP task_service_failures_total Calls that threw an exception.\n# TYPE task_service_failures_total counter\n");
+        StringBuilder latency = new StringBuilder("# HELP task_service_latency_seconds Latency of the timed calls to each TaskService operation.\n# TYPE task_service_latency_seconds summary\n");
+        for (Operation operation : Operation.values()) {
+            Snapshot snapshot = new Snapshot(stats[operation.ordinal()]);
+            String labels = "operation=\"" + operation.methodName + "\"";
+            text.append("task_service_calls_total{").append(labels).append("} ").append(stats[operation.ordinal()].calls.sum()).append('\n');
+            failures.append("task_service_failures_total{").append(labels).append("} ").append(stats[operation.ordinal()].failures.sum()).append('\n');
+            for (int p = 0; p < EXPORTED_PERCENTILES.length; p++) {
+                latency.append("task_service_latency_seconds{").append(labels).append(",quantile=\"").append(QUANTILES[p]).append("\"} ").append(snapshot.percentile(EXPORTED_PERCENTILES[p]) / 1e9).append('\n');
+            }
+            latency.append("task_service_latency_seconds_sum{").append(labels).append("} ").append(snapshot.totalNanos / 1e9).append('\n');
+            latency.append("task_service_latency_seconds_count{").append(labels).append("} ").append(snapshot.count).append('\n');
+        }
+        text.append(failures).append(latency);
+        text.append("# HELP task_service_validation_failures_total Task fields that failed validation.\n");
+        text.append("# TYPE task_service_validation_failures_total counter\n");
+        for (TaskError error : TaskError.values()) {
+            text.append("task_service_validation_failures_total{field=\"").append(error.name()).append("\"} ").append(getValidationFailureCount(error)).append('\n');
+        }
+        return text.toString();
+    }
+
+    // Exact buckets below 16, then 16 per power of two
+    static int bucket(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            // A clock step backwards counts as 0
+            return (int) Math.max(nanos, 0);
+        }
+        long value = Math.min(nanos, MAX_TRACKED_NANOS);
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    // Largest latency that falls into a bucket
+    static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        long lowest = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    // Counters for one operation
+    private static final class Stats {
+        final LongAdder calls = new LongAdder();
+        final LongAdder[] buckets = new LongAdder[BUCKETS];
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder failures = new LongAdder();
+
+        Stats() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+    }
+
+    // Point-in-time copy of one operation's histogram, so every derived value agrees
+    private static final class Snapshot {
+        final long[] counts = new long[BUCKETS];
+        final long count;
+        final long totalNanos;
+
+        Snapshot(Stats stats) {
+            long sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = stats.buckets[i].sum();
+                sum += counts[i];
+            }
+            this.count = sum;
+            this.totalNanos = stats.totalNanos.sum();
+        }
+
+        double mean() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return highestValue(i);
+                }
+            }
+            return highestValue(counts.length - 1);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package src.test.java;
+
+import src.main.java.Task;
+import src.main.java.TaskError;
+import src.main.java.TaskMetrics;
+import src.main.java.TaskOp;
+import src.main.java.TaskService;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+/**
+ * TaskMetricsTest
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * JUnit 5 tests for the operation metrics of TaskService.
+ * This test suite verifies:
+ * - Calls and failures are counted per operation, and field validation failures per field
+ * - Every call is counted but only a sample is timed by default
+ * - The JSON and Prometheus exports carry the recorded values
+ */
+public class TaskMetricsTest {
+
+    /**
+     * Verifies the counters recorded by a measured service, including the
+     * field failures of a rejected batch.
+     */
+    @Test
+    void testCallsFailuresAndFieldsAreCounted() {
+        TaskMetrics metrics = new TaskMetrics(1);
+        TaskService service = new TaskService(null, metrics);
+
+        service.addTask(new Task("T1", "Write Code", "First draft"));
+        assertThrows(IllegalArgumentException.class, () -> service.addTask(new Task("T1", "Other", "Other")));
+        assertThrows(IllegalArgumentException.class, () -> service.updateTask("T1", "A name that is far too long", null));
+        assertThrows(IllegalArgumentException.class, () -> service.updateTask("T9", "Name", null));
+        service.updateTask("T1", "Review Code", null);
+        service.getTask("T1");
+        service.searchByPrefix("rev", 10);
+        service.deleteTask("T1");
+        service.applyBatch(Arrays.asList(
+                TaskOp.add(new Task("T2", "Plan", "Pick the stories")),
+                TaskOp.update("T2", null, "   ")));
+
+        assertEquals(2, metrics.getCallCount(TaskMetrics.Operation.ADD_TASK));
+        assertEquals(1, metrics.getFailureCount(TaskMetrics.Operation.ADD_TASK));
+        assertEquals(3, metrics.getCallCount(TaskMetrics.Operation.UPDATE_TASK));
+        assertEquals(2, metrics.getFailureCount(TaskMetrics.Operation.UPDATE_TASK));
+        assertEquals(1, metrics.getCallCount(TaskMetrics.Operation.GET_TASK));
+        assertEquals(1, metrics.getCallCount(TaskMetrics.Operation.SEARCH_BY_PREFIX));
+        assertEquals(1, metrics.getCallCount(TaskMetrics.Operation.DELETE_TASK));
+        // A rejected batch is returned, not thrown
+        assertEquals(1, metrics.getCallCount(TaskMetrics.Operation.APPLY_BATCH));
+        assertEquals(0, metrics.getFailureCount(TaskMetrics.Operation.APPLY_BATCH));
+
+        assertEquals(1, metrics.getValidationFailureCount(TaskError.NAME_TOO_LONG));
+        assertEquals(1, metrics.getValidationFailureCount(TaskError.DESCRIPTION_BLANK));
+        assertEquals(0, metrics.getValidationFailureCount(TaskError.ID_BLANK));
+
+        assertEquals(2, metrics.getTimedCount(TaskMetrics.Operation.ADD_TASK));
+        assertTrue(metrics.getLatencyPercentile(TaskMetrics.Operation.ADD_TASK, 100) > 0);
+        assertEquals(0, metrics.getLatencyPercentile(TaskMetrics.Operation.SEARCH_BY_SUBSTRING, 50));
+        assertThrows(IllegalArgumentException.class, () -> metrics.getLatencyPercentile(TaskMetrics.Operation.GET_TASK, -1));
+    }
+
+    /**
+     * Verifies that with the default interval every call is counted but about one in 16 is timed.
+     */
+    @Test
+    void testSampledTiming() {
+        TaskMetrics metrics = new TaskMetrics();
+        TaskService service = new TaskService(null, metrics);
+        service.addTask(new Task("T1", "Write Code", "First draft"));
+        for (int i = 0; i < 16_000; i++) {
+            service.getTask("T1");
+        }
+        assertEquals(16_000, metrics.getCallCount(TaskMetrics.Operation.GET_TASK));
+        long timed = metrics.getTimedCount(TaskMetrics.Operation.GET_TASK);
+        assertTrue(timed > 500 && timed < 1_500, "timed " + timed);
+        assertThrows(IllegalArgumentException.class, () -> new TaskMetrics(0));
+    }
+
+    /**
+     * Verifies the JSON and Prometheus exports.
+     */
+    @Test
+    void testExports() {
+        TaskMetrics metrics = new TaskMetrics(1);
+        TaskService service = new TaskService(null, metrics);
+        service.addTask(new Task("T1", "Write Code", "First draft"));
+        assertThrows(IllegalArgumentException.class, () -> service.updateTask("T1", null, ""));
+
+        String json = metrics.toJson();
+        assertTrue(json.startsWith("{\"operations\":{\"addTask\":{\"count\":1,\"failures\":0,\"latencyNanos\":{\"timed\":1,\"mean\":"));
+        assertTrue(json.contains("\"updateTask\":{\"count\":1,\"failures\":1,"));
+        assertTrue(json.contains("\"DESCRIPTION_BLANK\":1"));
+
+        String text = metrics.toPrometheus();
+        assertTrue(text.contains("task_service_calls_total{operation=\"addTask\"} 1\n"));
+        assertTrue(text.contains("task_service_failures_total{operation=\"updateTask\"} 1\n"));
+        assertTrue(text.contains("task_service_latency_seconds{operation=\"addTask\",quantile=\"0.5\"} "));
+        assertTrue(text.contains("task_service_validation_failures_total{field=\"DESCRIPTION_BLANK\"} 1\n"));
+    }
+}
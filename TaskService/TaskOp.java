@@ -0,0 +1,107 @@
+package src.main.java;
+
+/**
+ * TaskOp Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * One change in a batch passed to TaskService.applyBatch: an add, an update
+ * or a delete, with the same arguments as addTask, updateTask and deleteTask.
+ *
+ * The factories do not validate anything; applyBatch checks every op against
+ * the service (and the ops before it in the same batch) and reports problems
+ * per op in its TaskBatchResult.
+ */
+public final class TaskOp {
+
+    /**
+     * The service call an op stands for.
+     */
+    public enum Type {
+        ADD,
+        UPDATE,
+        DELETE
+    }
+
+    private final Type type;
+    private final String taskId;
+    private final Task task;
+    private final String newName;
+    private final String newDescription;
+
+    private TaskOp(Type type, String taskId, Task task, String newName, String newDescription) {
+        this.type = type;
+        this.taskId = taskId;
+        this.task = task;
+        this.newName = newName;
+        this.newDescription = newDescription;
+    }
+
+    /**
+     * Creates an op that adds the given task, like TaskService.addTask.
+     *
+     * @param task the task to add
+     * @return the op
+     */
+    public static TaskOp add(Task task) {
+        return new TaskOp(Type.ADD, task == null ? null : task.getTaskId(), task, null, null);
+    }
+
+    /**
+     * Creates an op that changes a task's name and/or description, like TaskService.updateTask.
+     *
+     * @param taskId         ID of the task to update
+     * @param newName        new name value (null = no change)
+     * @param newDescription new description value (null = no change)
+     * @return the op
+     */
+    public static TaskOp update(String taskId, String newName, String newDescription) {
+        return new TaskOp(Type.UPDATE, taskId, null, newName, newDescription);
+    }
+
+    /**
+     * Creates an op that deletes a task, like TaskService.deleteTask.
+     *
+     * @param taskId the ID of the task to delete
+     * @return the op
+     */
+    public static TaskOp delete(String taskId) {
+        return new TaskOp(Type.DELETE, taskId, null, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the ID the op applies to (the added task's ID for ADD).
+     *
+     * @return the task ID, or null for an ADD of a null task
+     */
+    public String getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Returns the task to add.
+     *
+     * @return the task for ADD, null for the other types
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    public String getNewName() {
+        return newName;
+    }
+
+    public String getNewDescription() {
+        return newDescription;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + taskId;
+    }
+}
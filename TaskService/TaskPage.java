@@ -0,0 +1,54 @@
+package src.main.java;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TaskPage Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * One page of tasks returned by TaskService.listTasks, in task ID order, and
+ * the token that continues the listing after it.
+ *
+ * The token is the ID of the last task on the page, so it stays valid however
+ * the service changes between calls: the next page starts after that ID even
+ * if the task itself was deleted. Tasks that exist for the whole listing are
+ * returned exactly once; tasks added or deleted during it may or may not be.
+ */
+public final class TaskPage {
+
+    private final List<Task> tasks;
+    private final String nextPageToken;
+
+    TaskPage(List<Task> tasks, String nextPageToken) {
+        this.tasks = Collections.unmodifiableList(tasks);
+        this.nextPageToken = nextPageToken;
+    }
+
+    /**
+     * Returns the tasks on this page, in task ID order.
+     *
+     * @return the tasks (unmodifiable; empty on the last page of an empty listing)
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns the token to pass to listTasks for the next page.
+     *
+     * @return the token, or null if this is the last page
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    /**
+     * Returns whether another page may follow this one.
+     */
+    public boolean hasNext() {
+        return nextPageToken != null;
+    }
+}
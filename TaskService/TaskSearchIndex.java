@@ -0,0 +1,285 @@
+package src.main.java;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * TaskSearchIndex Class
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * Case-insensitive search index over Task names and descriptions, kept up to
+ * date by TaskService.
+ * 
+ * - Prefix queries use two sorted maps keyed by the folded name and
+ *   description, so they cost O(log n + k).
+ * - Substring queries use a trigram inverted index. Every task gets an
+ *   ordinal, and each three-character gram maps to the sorted ordinals of
+ *   the tasks containing it. A query intersects the postings of its grams,
+ *   walking the shortest list, and then checks each candidate against the
+ *   task's current text.
+ * 
+ * Postings are append-only. A removed or updated task leaves stale ordinals
+ * behind (the update gets a new ordinal), and the candidate check filters
+ * them out. The index is rebuilt once stale ordinals outnumber live tasks.
+ * 
+ * Queries shorter than three characters have no gram to look up and fall
+ * back to a scan that stops after limit matches.
+ */
+final class TaskSearchIndex {
+
+    static final int GRAM = 3;
+
+    // Rebuilds below this many stale ordinals are not worth the pause
+    private static final int MIN_COMPACTION = 1024;
+
+    // Separates the folded text from the task ID in sorted-map keys
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final NavigableMap<String, Task> byName = new TreeMap<>();
+    private final NavigableMap<String, Task> byDescription = new TreeMap<>();
+    private final Map<Long, Postings> grams = new HashMap<>();
+
+    // Ordinal -> task; null for removed or superseded ordinals
+    private Task[] slots = new Task[16];
+    private int nextOrdinal;
+
+    /**
+     * Indexes a task that has just been stored (or whose text has just changed).
+     * 
+     * @param task the task to index
+     */
+    void add(Task task) {
+        Entry entry = new Entry(task, key(task.getName(), task), key(task.getDescription(), task));
+        entries.put(task.getTaskId(), entry);
+        byName.put(entry.nameKey, task);
+        byDescription.put(entry.descriptionKey, task);
+        assignOrdinal(entry);
+    }
+
+    /**
+     * Drops a task from the index. Must run before the task's text changes,
+     * because the sorted-map keys are built from the indexed text.
+     * 
+     * @param taskId the ID of the task to drop
+     */
+    void remove(String taskId) {
+        Entry entry = entries.remove(taskId);
+        if (entry == null) {
+            return;
+        }
+        byName.remove(entry.nameKey);
+        byDescription.remove(entry.descriptionKey);
+        slots[entry.ordinal] = null;
+        if (nextOrdinal - entries.size() > Math.max(MIN_COMPACTION, entries.size())) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns tasks whose name or description starts with the given text,
+     * ignoring case. Name matches come first, each group in alphabetical order.
+     * 
+     * @param prefix the text to match
+     * @param limit  maximum number of tasks to return
+     * @return up to limit matching tasks
+     */
+    List<Task> searchPrefix(String prefix, int limit) {
+        String folded = fold(prefix);
+        // Every key starting with the prefix sorts below prefix + U+FFFF
+        String end = folded + Character.MAX_VALUE;
+        Set<Task> found = new LinkedHashSet<>();
+        for (Task task : byName.subMap(folded, true, end, false).values()) {
+            if (found.size() == limit) {
+                break;
+            }
+            found.add(task);
+        }
+        for (Task task : byDescription.subMap(folded, true, end, false).values()) {
+            if (found.size() == limit) {
+                break;
+            }
+            found.add(task);
+        }
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * Returns tasks whose name or description contains the given text,
+     * ignoring case, in the order they were last added or updated.
+     * 
+     * @param text  the text to find
+     * @param limit maximum number of tasks to return
+     * @return up to limit matching tasks
+     */
+    List<Task> searchSubstring(String text, int limit) {
+        char[] query = fold(text).toCharArray();
+        List<Task> found = new ArrayList<>(Math.min(limit, 64));
+        if (limit == 0) {
+            return found;
+        }
+        if (query.length < GRAM) {
+            for (int ordinal = 0; ordinal < nextOrdinal && found.size() < limit; ordinal++) {
+                collect(slots[ordinal], query, found);
+            }
+            return found;
+        }
+
+        Postings[] lists = new Postings[query.length - GRAM + 1];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = grams.get(gram(query[i], query[i + 1], query[i + 2]));
+            if (lists[i] == null) {
+                // A gram no task contains means no task can match
+                return found;
+            }
+        }
+        // Walk the shortest list and probe the others
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        Postings shortest = lists[0];
+        for (int i = 0; i < shortest.size && found.size() < limit; i++) {
+            int ordinal = shortest.ordinals[i];
+            if (inAll(lists, ordinal)) {
+                collect(slots[ordinal], query, found);
+            }
+        }
+        return found;
+    }
+
+    private void assignOrdinal(Entry entry) {
+        if (nextOrdinal == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+        int ordinal = nextOrdinal++;
+        entry.ordinal = ordinal;
+        slots[ordinal] = entry.task;
+        addGrams(entry.task.getName(), ordinal);
+        addGrams(entry.task.getDescription(), ordinal);
+    }
+
+    private void addGrams(String text, int ordinal) {
+        if (text.length() < GRAM) {
+            return;
+        }
+        char a = fold(text.charAt(0));
+        char b = fold(text.charAt(1));
+        for (int i = GRAM; i <= text.length(); i++) {
+            char c = fold(text.charAt(i - 1));
+            grams.computeIfAbsent(gram(a, b, c), g -> new Postings()).add(ordinal);
+            a = b;
+            b = c;
+        }
+    }
+
+    // Rebuilds the ordinals and postings from the live tasks, dropping stale ordinals
+    private void compact() {
+        grams.clear();
+        Task[] old = slots;
+        int oldCount = nextOrdinal;
+        slots = new Task[Math.max(16, entries.size() * 2)];
+        nextOrdinal = 0;
+        for (int ordinal = 0; ordinal < oldCount; ordinal++) {
+            if (old[ordinal] != null) {
+                // Live ordinals keep their relative order
+                assignOrdinal(entries.get(old[ordinal].getTaskId()));
+            }
+        }
+    }
+
+    private static boolean inAll(Postings[] lists, int ordinal) {
+        for (int i = 1; i < lists.length; i++) {
+            // Repeated grams ("aaaa") share a list, which sorting puts next to each other
+            if (lists[i] != lists[i - 1] && !lists[i].contains(ordinal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Adds the task if its current text contains the query (filters stale ordinals and gram false positives)
+    private static void collect(Task task, char[] query, List<Task> found) {
+        if (task != null && (contains(task.getName(), query) || contains(task.getDescription(), query))) {
+            found.add(task);
+        }
+    }
+
+    private static boolean contains(String text, char[] query) {
+        int last = text.length() - query.length;
+        for (int start = 0; start <= last; start++) {
+            int i = 0;
+            while (i < query.length && fold(text.charAt(start + i)) == query[i]) {
+                i++;
+            }
+            if (i == query.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(String text, Task task) {
+        return fold(text) + KEY_SEPARATOR + task.getTaskId();
+    }
+
+    private static String fold(String text) {
+        char[] chars = new char[text.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(text.charAt(i));
+        }
+        return new String(chars);
+    }
+
+    // Case folding applied to both indexed text and queries, one char at a time
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static long gram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private static final class Entry {
+        final Task task;
+        final String nameKey;
+        final String descriptionKey;
+        int ordinal;
+
+        Entry(Task task, String nameKey, String descriptionKey) {
+            this.task = task;
+            this.nameKey = nameKey;
+            this.descriptionKey = descriptionKey;
+        }
+    }
+
+    /**
+     * Sorted ordinals of the tasks containing one gram. Ordinals are handed
+     * out in increasing order, so appending keeps the array sorted, and a
+     * task repeating the gram only needs a check against the last element.
+     */
+    private static final class Postings {
+        int[] ordinals = new int[4];
+        int size;
+
+        void add(int ordinal) {
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                return;
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        boolean contains(int ordinal) {
+            return Arrays.binarySearch(ordinals, 0, size, ordinal) >= 0;
+        }
+    }
+}
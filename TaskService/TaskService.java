@@ -15,17 +15,220 @@ package src.main.java;
  * 
  * Uses HashMap for O(1) average-case lookup and insertion performance.
  * The map is final to prevent accidental replacement of the data structure.
+ * 
+ * By default all data lives only in memory. Constructing the service with a
+ * TaskLog makes it durable: every change is appended to the write-ahead log
+ * before the map is touched, and the map is rebuilt from the log on startup.
+ * Changes made by calling Task setters directly (instead of updateTask) are
+ * not logged.
+ * 
+ * Names and descriptions are also held in a TaskSearchIndex for type-ahead
+ * prefix and substring search. Like the log, the index only follows changes
+ * made through this service.
+ * 
+ * applyBatch applies many adds, updates and deletes as one all-or-nothing
+ * unit: every op is checked before anything changes, and a durable service
+ * logs the whole batch as a single record.
+ * 
+ * A service built with a TaskEventBus publishes a TaskEvent for every task it
+ * creates, updates or deletes (tasks recovered from the log are not published).
+ * Publishing never blocks on a subscriber.
+ * 
+ * A service built with a TaskMetrics counts the calls and failures of every
+ * public operation, times a sample of them, and counts validation failures
+ * by field (see TaskMetrics for the JSON and Prometheus exports).
+ * 
+ * Every task carries a version stamp. updateTask(taskId, expectedVersion, ...)
+ * applies an edit only if the task is still at the version the client read,
+ * so two clients that edited the same version cannot overwrite each other:
+ * the second one fails fast and can re-read the task. Like every other change,
+ * it must not run alongside another call; request threads that edit at once
+ * go through AsyncTaskService, which runs the calls one at a time.
+ * 
+ * streamTasks, taskSpliterator and listTasks walk every task in task ID order
+ * without copying the map. They read a concurrent ID-ordered index kept next
+ * to the HashMap, so an export may run on other threads (and in parallel)
+ * while the service keeps adding and deleting tasks: iteration never fails
+ * and never sees a task twice, and it uses constant memory however many tasks
+ * there are. The index is built by the first of these calls (O(n log n)) and
+ * kept up to date from then on, so a service that never lists its tasks in
+ * order does not pay for it. That first call, like a change, must not run
+ * alongside another call.
+ * 
+ * snapshot() returns a frozen view of every task and its fields. In the
+ * default HASH_MAP storage mode it copies every task. In PERSISTENT mode the
+ * HashMap is replaced by a persistent hash array mapped trie (TaskTrie) whose
+ * versions share structure, so a snapshot is a single volatile read: O(1),
+ * no copying, safe to take from any thread, and it never blocks the writer.
+ * Lookups cost a few more pointer hops than a HashMap, and every change
+ * allocates a new path through the trie.
  */
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class TaskService implements AutoCloseable {
 
-public class TaskService {
+    /**
+     * How the service stores its tasks.
+     */
+    public enum Storage {
+        /** A HashMap: the fastest lookups and updates; snapshot() copies every task. */
+        HASH_MAP,
+        /**
+         * A persistent trie that is replaced, not changed, on every change:
+         * snapshot() is O(1) and readers never wait, at the cost of slower
+         * lookups and more garbage per change.
+         */
+        PERSISTENT
+    }
     
     // In-memory storage: maps taskId (String) to Task object
     // Using HashMap for fast lookup by ID and to enforce uniqueness
     // Declared final so the map itself cannot be reassigned
-    private final Map<String, Task> tasks = new HashMap<>();
+    private final Map<String, Task> tasks;
+
+    // The same map as tasks in PERSISTENT mode, for O(1) snapshots; null in HASH_MAP mode
+    private final PersistentTaskMap persistent;
+
+    // The same tasks ordered by ID, for iteration and paging; safe to read from other threads.
+    // Null until the first ordered read asks for it (see orderedIndex)
+    private volatile NavigableMap<String, Task> byId;
+
+    // tasks.size() as of the last change, for sizing spliterators on other threads (the skip list's size() is O(n))
+    private volatile int taskCount;
+
+    // Write-ahead log for durable mode; null when the service is in-memory only
+    private final TaskLog log;
+
+    // Prefix and substring index over names and descriptions
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex();
+
+    // Change events go here; null when no bus is attached
+    private final TaskEventBus events;
+
+    // Call counts and latencies go here; null when not measured
+    private final TaskMetrics metrics;
+
+    /**
+     * Creates an empty, in-memory-only service.
+     */
+    public TaskService() {
+        this((TaskEventBus) null);
+    }
+
+    /**
+     * Creates an empty, in-memory-only service that publishes its changes.
+     * 
+     * @param events the bus to publish change events to (null for none)
+     */
+    public TaskService(TaskEventBus events) {
+        this(events, null);
+    }
+
+    /**
+     * Creates an empty, in-memory-only service that publishes its changes and records its calls.
+     * 
+     * @param events  the bus to publish change events to (null for none)
+     * @param metrics the metrics to record calls in (null for none)
+     */
+    public TaskService(TaskEventBus events, TaskMetrics metrics) {
+        this(Storage.HASH_MAP, null, events, metrics);
+    }
+
+    /**
+     * Creates an empty, in-memory-only service with the given storage mode.
+     * 
+     * @param storage how to store the tasks
+     * @throws IllegalArgumentException if storage is null
+     */
+    public TaskService(Storage storage) {
+        this(storage, null, null, null);
+    }
+
+    /**
+     * Creates a durable service backed by the given write-ahead log.
+     * Tasks saved by a previous run are recovered from the log's snapshot and records.
+     * 
+     * @param log the write-ahead log to recover from and append to
+     * @throws IllegalArgumentException if log is null
+     * @throws UncheckedIOException if recovery fails
+     */
+    public TaskService(TaskLog log) {
+        this(log, null);
+    }
+
+    /**
+     * Creates a durable service backed by the given write-ahead log that publishes its changes.
+     * Recovered tasks are not published; events start with the first change after recovery.
+     * 
+     * @param log    the write-ahead log to recover from and append to
+     * @param events the bus to publish change events to (null for none)
+     * @throws IllegalArgumentException if log is null
+     * @throws UncheckedIOException if recovery fails
+     */
+    public TaskService(TaskLog log, TaskEventBus events) {
+        this(log, events, null);
+    }
+
+    /**
+     * Creates a durable service backed by the given write-ahead log that publishes
+     * its changes and records its calls. Recovery is not recorded as calls.
+     * 
+     * @param log     the write-ahead log to recover from and append to
+     * @param events  the bus to publish change events to (null for none)
+     * @param metrics the metrics to record calls in (null for none)
+     * @throws IllegalArgumentException if log is null
+     * @throws UncheckedIOException if recovery fails
+     */
+    public TaskService(TaskLog log, TaskEventBus events, TaskMetrics metrics) {
+        this(Storage.HASH_MAP, requireLog(log), events, metrics);
+    }
+
+    /**
+     * Creates a service with every option. With a log, tasks saved by a previous
+     * run are recovered as for the other durable constructors.
+     * 
+     * @param storage how to store the tasks
+     * @param log     the write-ahead log to recover from and append to (null for in-memory only)
+     * @param events  the bus to publish change events to (null for none)
+     * @param metrics the metrics to record calls in (null for none)
+     * @throws IllegalArgumentException if storage is null
+     * @throws UncheckedIOException if recovery fails
+     */
+    public TaskService(Storage storage, TaskLog log, TaskEventBus events, TaskMetrics metrics) {
+        if (storage == null) {
+            throw new IllegalArgumentException("Storage mode cannot be null");
+        }
+        this.persistent = storage == Storage.PERSISTENT ? new PersistentTaskMap() : null;
+        this.tasks = persistent != null ? persistent : new HashMap<>();
+        this.log = log;
+        this.events = events;
+        this.metrics = metrics;
+        if (log == null) {
+            return;
+        }
+        try {
+            log.recover(tasks);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover tasks from the log", e);
+        }
+        for (Task task : tasks.values()) {
+            // Replayed updates changed the tasks after they were stored
+            republish(task);
+            searchIndex.add(task);
+        }
+        taskCount = tasks.size();
+    }
 
     /**
      * Adds a new task to the service.
@@ -35,19 +238,40 @@ public class TaskService {
      * @throws IllegalArgumentException if task is null or its ID already exists
      */
     public void addTask(Task task) {
-        // Null check to prevent adding invalid tasks
-        if (task == null) {
-            throw new IllegalArgumentException("Task cannot be null");
-        }
+        long start = metrics == null ? 0 : metrics.start();
+        try {
+            // Null check to prevent adding invalid tasks
+            if (task == null) {
+                throw new IllegalArgumentException("Task cannot be null");
+            }
         
-        // Check for duplicate ID (core requirement for uniqueness)
-        String id = task.getTaskId();
-        if (tasks.containsKey(id)) {
-            throw new IllegalArgumentException("Task ID already exists: " + id);
-        }
+            // Check for duplicate ID (core requirement for uniqueness)
+            String id = task.getTaskId();
+            if (tasks.containsKey(id)) {
+                throw new IllegalArgumentException("Task ID already exists: " + id);
+            }
         
-        // Store the task using its ID as the key
-        tasks.put(id, task);
+            // Log first so a stored task is never missing from the log
+            if (log != null) {
+                logged(() -> log.appendAdd(task));
+            }
+
+            // Store the task using its ID as the key
+            tasks.put(id, task);
+            if (byId != null) {
+                byId.put(id, task);
+            }
+            taskCount = tasks.size();
+            searchIndex.add(task);
+            if (events != null) {
+                events.publish(TaskEvent.created(task));
+            }
+            snapshotIfDue();
+        } catch (RuntimeException failure) {
+            throw failed(TaskMetrics.Operation.ADD_TASK, failure);
+        } finally {
+            recorded(TaskMetrics.Operation.ADD_TASK, start);
+        }
     }
 
     /**
@@ -58,9 +282,32 @@ public class TaskService {
      * @return true if a task was found and removed, false if no task existed with that ID
      */
     public boolean deleteTask(String taskId) {
-        // Remove returns the removed value (or null if not present)
-        // We return true/false to indicate success for testing clarity
-        return tasks.remove(taskId) != null;
+        long start = metrics == null ? 0 : metrics.start();
+        try {
+            // Only log deletes that change something
+            if (log != null && tasks.containsKey(taskId)) {
+                logged(() -> log.appendDelete(taskId));
+            }
+            // Remove returns the removed value (or null if not present)
+            // We return true/false to indicate success for testing clarity
+            boolean removed = tasks.remove(taskId) != null;
+            if (removed) {
+                if (byId != null) {
+                    byId.remove(taskId);
+                }
+                taskCount = tasks.size();
+                searchIndex.remove(taskId);
+                if (events != null) {
+                    events.publish(TaskEvent.deleted(taskId));
+                }
+            }
+            snapshotIfDue();
+            return removed;
+        } catch (RuntimeException failure) {
+            throw failed(TaskMetrics.Operation.DELETE_TASK, failure);
+        } finally {
+            recorded(TaskMetrics.Operation.DELETE_TASK, start);
+        }
     }
 
     /**
@@ -74,22 +321,216 @@ public class TaskService {
      * @throws IllegalArgumentException if task not found or update values are invalid
      */
     public void updateTask(String taskId, String newName, String newDescription) {
-        // Retrieve the task by ID
-        Task task = tasks.get(taskId);
+        long start = metrics == null ? 0 : metrics.start();
+        try {
+            // Retrieve the task by ID
+            Task task = tasks.get(taskId);
         
-        // If task doesn't exist, throw exception (fail fast for invalid operations)
-        if (task == null) {
-            throw new IllegalArgumentException("Task not found with ID: " + taskId);
+            // If task doesn't exist, throw exception (fail fast for invalid operations)
+            if (task == null) {
+                throw new IllegalArgumentException("Task not found with ID: " + taskId);
+            }
+
+            // Validate both values before changing anything, so a bad description
+            // cannot leave a half-applied (and half-logged) update behind
+            if (newName != null) {
+                throwIfInvalid(TaskValidator.checkName(newName));
+            }
+            if (newDescription != null) {
+                throwIfInvalid(TaskValidator.checkDescription(newDescription));
+            }
+            if (log != null && (newName != null || newDescription != null)) {
+                logged(() -> log.appendUpdate(taskId, newName, newDescription));
+            }
+
+            // Drop the old text from the search index before it changes
+            searchIndex.remove(taskId);
+
+            // Both fields change in one snapshot, so readers on other threads never see half an update
+            if (newName != null || newDescription != null) {
+                task.update(newName, newDescription);
+                republish(task);
+            }
+            publishUpdate(taskId, newName, newDescription);
+            searchIndex.add(task);
+            snapshotIfDue();
+        } catch (RuntimeException failure) {
+            throw failed(TaskMetrics.Operation.UPDATE_TASK, failure);
+        } finally {
+            recorded(TaskMetrics.Operation.UPDATE_TASK, start);
         }
+    }
 
-        // Update name only if a new value is provided
-        if (newName != null) {
-            task.setName(newName);  // Setter handles validation (null/empty/length)
+    /**
+     * Updates the name and/or description of a task only if it is still at the
+     * version the caller read (from Task.getVersion or a TaskSnapshot), so two
+     * clients editing the same task cannot silently overwrite each other: the
+     * second one fails and can re-read the task and retry.
+     * 
+     * The version check guards against clients whose read and write are
+     * separate calls, such as a mobile app that loads a task and saves it
+     * later. It does not make the service safe for several threads: like
+     * every other change, this must not run alongside another call (use
+     * AsyncTaskService to serialize request threads). Nothing is logged,
+     * published or changed when the version does not match. The change is
+     * logged before it is applied, so if the log write fails the task keeps
+     * its values and its version. Readers on other threads see the old
+     * snapshot or the new one, never a mix.
+     * Null parameters are ignored (no change for that field).
+     * 
+     * @param taskId          ID of the task to update
+     * @param expectedVersion the version the caller last read
+     * @param newName         new name value (null = no change)
+     * @param newDescription  new description value (null = no change)
+     * @return the task's new version
+     * @throws IllegalArgumentException if task not found or update values are invalid
+     * @throws IllegalStateException if the task is no longer at expectedVersion
+     * @throws UncheckedIOException if the log write fails (the task is then unchanged)
+     */
+    public long updateTask(String taskId, long expectedVersion, String newName, String newDescription) {
+        long start = metrics == null ? 0 : metrics.start();
+        try {
+            Task task = tasks.get(taskId);
+            if (task == null) {
+                throw new IllegalArgumentException("Task not found with ID: " + taskId);
+            }
+            if (newName != null) {
+                throwIfInvalid(TaskValidator.checkName(newName));
+            }
+            if (newDescription != null) {
+                throwIfInvalid(TaskValidator.checkDescription(newDescription));
+            }
+            // Fail fast, before anything changes
+            if (task.getVersion() != expectedVersion) {
+                throw stale(task, expectedVersion);
+            }
+            if (newName == null && newDescription == null) {
+                return expectedVersion;
+            }
+
+            // Log first, like every other change. Calls run one at a time, so the
+            // version cannot move between the check and the change, and every
+            // logged update is applied exactly as replay will apply it.
+            if (log != null) {
+                logged(() -> log.appendUpdate(taskId, newName, newDescription));
+            }
+            searchIndex.remove(taskId);
+            TaskSnapshot applied = task.update(newName, newDescription);
+            republish(task);
+            publishUpdate(taskId, newName, newDescription);
+            searchIndex.add(task);
+            snapshotIfDue();
+            return applied.getVersion();
+        } catch (RuntimeException failure) {
+            throw failed(TaskMetrics.Operation.UPDATE_TASK, failure);
+        } finally {
+            recorded(TaskMetrics.Operation.UPDATE_TASK, start);
         }
+    }
 
-        // Update description only if a new value is provided
-        if (newDescription != null) {
-            task.setDescription(newDescription);  // Setter handles validation
+    /**
+     * Applies a batch of adds, updates and deletes, in order, as one unit.
+     * 
+     * Every op is checked first against the service as the ops before it in
+     * the batch would leave it, with the same rules (and messages) as addTask,
+     * updateTask and deleteTask; each op's task is looked up once, during this
+     * pass. If any op is invalid, nothing is changed or logged and the result
+     * reports each rejected op. Otherwise every op is applied and a durable
+     * service writes the batch as a single log record with at most one fsync,
+     * so recovery after a crash also sees the batch whole or not at all.
+     * 
+     * @param ops the ops to apply, in order
+     * @return the outcome of each op
+     * @throws IllegalArgumentException if ops is null
+     * @throws UncheckedIOException if the log write fails (the service is then unchanged)
+     */
+    public TaskBatchResult applyBatch(List<TaskOp> ops) {
+        long start = metrics == null ? 0 : metrics.start();
+        try {
+            if (ops == null) {
+                throw new IllegalArgumentException("Task operations cannot be null");
+            }
+            TaskBatchResult result = new TaskBatchResult(ops.size());
+
+            // Tasks as the ops checked so far leave them, for the IDs the batch touches (null = deleted)
+            Map<String, Task> staged = new HashMap<>();
+            // Task each op applies to, resolved during the check so applying needs no lookups
+            Task[] targets = new Task[ops.size()];
+            for (int i = 0; i < ops.size(); i++) {
+                String error = stage(ops.get(i), i, staged, targets, result);
+                if (error != null) {
+                    result.reject(i, error);
+                }
+            }
+            // Nothing has changed yet, so a rejected batch has nothing to roll back
+            if (!result.isApplied()) {
+                for (int i = 0; metrics != null && i < ops.size(); i++) {
+                    metrics.recordValidationFailure(result.getError(i));
+                }
+                result.discard();
+                return result;
+            }
+
+            // Log first so an applied batch is never missing from the log
+            if (log != null) {
+                List<TaskOp> changes = new ArrayList<>(ops.size());
+                for (int i = 0; i < ops.size(); i++) {
+                    TaskOp op = ops.get(i);
+                    // Same rule as the single-op methods: only log what changes something
+                    if (result.getOutcome(i) != TaskBatchResult.Outcome.NOT_FOUND
+                            && (op.getType() != TaskOp.Type.UPDATE || op.getNewName() != null || op.getNewDescription() != null)) {
+                        changes.add(op);
+                    }
+                }
+                if (!changes.isEmpty()) {
+                    logged(() -> log.appendBatch(changes));
+                }
+            }
+
+            for (int i = 0; i < ops.size(); i++) {
+                TaskOp op = ops.get(i);
+                Task task = targets[i];
+                switch (result.getOutcome(i)) {
+                    case ADDED:
+                        tasks.put(task.getTaskId(), task);
+                        if (byId != null) {
+                            byId.put(task.getTaskId(), task);
+                        }
+                        searchIndex.add(task);
+                        if (events != null) {
+                            events.publish(TaskEvent.created(task));
+                        }
+                        break;
+                    case UPDATED:
+                        searchIndex.remove(task.getTaskId());
+                        if (op.getNewName() != null || op.getNewDescription() != null) {
+                            task.update(op.getNewName(), op.getNewDescription());
+                            republish(task);
+                        }
+                        publishUpdate(task.getTaskId(), op.getNewName(), op.getNewDescription());
+                        searchIndex.add(task);
+                        break;
+                    case DELETED:
+                        tasks.remove(task.getTaskId());
+                        if (byId != null) {
+                            byId.remove(task.getTaskId());
+                        }
+                        searchIndex.remove(task.getTaskId());
+                        if (events != null) {
+                            events.publish(TaskEvent.deleted(task.getTaskId()));
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            taskCount = tasks.size();
+            snapshotIfDue();
+            return result;
+        } catch (RuntimeException failure) {
+            throw failed(TaskMetrics.Operation.APPLY_BATCH, failure);
+        } finally {
+            recorded(TaskMetrics.Operation.APPLY_BATCH, start);
         }
     }
 
@@ -101,6 +542,310 @@ public class TaskService {
      * @return the Task object, or null if not found
      */
     public Task getTask(String taskId) {
-        return tasks.get(taskId);
+        long start = metrics == null ? 0 : metrics.start();
+        try {
+            return tasks.get(taskId);
+        } catch (RuntimeException failure) {
+            throw failed(TaskMetrics.Operation.GET_TASK, failure);
+        } finally {
+            recorded(TaskMetrics.Operation.GET_TASK, start);
+        }
+    }
+
+    /**
+     * Finds tasks whose name or description starts with the given text, ignoring case.
+     * Name matches come first, each group in alphabetical order.
+     * Runs in O(log n + k) where k is the number of tasks returned.
+     * 
+     * @param prefix the text to match (empty matches every task)
+     * @param limit  maximum number of tasks to return
+     * @return up to limit matching tasks
+     * @throws IllegalArgumentException if prefix is null or limit is negative
+     */
+    public List<Task> searchByPrefix(String prefix, int limit) {
+        long start = metrics == null ? 0 : metrics.start();
+        try {
+            checkSearch(prefix, limit);
+            return searchIndex.searchPrefix(prefix, limit);
+        } catch (RuntimeException failure) {
+            throw failed(TaskMetrics.Operation.SEARCH_BY_PREFIX, failure);
+        } finally {
+            recorded(TaskMetrics.Operation.SEARCH_BY_PREFIX, start);
+        }
+    }
+
+    /**
+     * Finds tasks whose name or description contains the given text, ignoring case,
+     * in the order they were last added or updated.
+     * Text of three or more characters is answered from a trigram index; shorter
+     * text is answered by a scan that stops once limit tasks are found.
+     * 
+     * @param text  the text to find (empty matches every task)
+     * @param limit maximum number of tasks to return
+     * @return up to limit matching tasks
+     * @throws IllegalArgumentException if text is null or limit is negative
+     */
+    public List<Task> searchBySubstring(String text, int limit) {
+        long start = metrics == null ? 0 : metrics.start();
+        try {
+            checkSearch(text, limit);
+            return searchIndex.searchSubstring(text, limit);
+        } catch (RuntimeException failure) {
+            throw failed(TaskMetrics.Operation.SEARCH_BY_SUBSTRING, failure);
+        } finally {
+            recorded(TaskMetrics.Operation.SEARCH_BY_SUBSTRING, start);
+        }
+    }
+
+    /**
+     * Returns a stream over every task, in task ID order, without copying them.
+     * The stream may be made parallel and may be consumed on any thread while
+     * the service keeps changing: it reflects each add and delete made before
+     * it reaches that ID, never fails with ConcurrentModificationException,
+     * and never returns a task twice. The tasks are the service's own objects;
+     * read them, and change them only through updateTask.
+     * 
+     * @return a lazy stream over the tasks
+     */
+    public Stream<Task> streamTasks() {
+        return StreamSupport.stream(taskSpliterator(), false);
+    }
+
+    /**
+     * Returns a spliterator over every task, in task ID order, with the same
+     * guarantees as streamTasks. It splits by task ID range without walking
+     * or copying the tasks (see TaskSpliterator), so a parallel stream spreads
+     * a large export across cores.
+     * 
+     * @return a spliterator over the tasks
+     */
+    public Spliterator<Task> taskSpliterator() {
+        return new TaskSpliterator(orderedIndex(), null, null, taskCount);
+    }
+
+    /**
+     * Returns a point-in-time view of every task and its fields, which later
+     * changes to the service do not affect. Only changes made through this
+     * service are seen; like the log and the search index, the view does not
+     * follow Task setters called directly.
+     * 
+     * In PERSISTENT storage mode this is O(1) and may be called from any
+     * thread while the service keeps changing. In HASH_MAP mode it copies
+     * every task (O(n) time and memory) and, like every other method, must
+     * not run alongside a change.
+     * 
+     * @return the snapshot
+     */
+    public TaskServiceSnapshot snapshot() {
+        if (persistent != null) {
+            return new TaskServiceSnapshot(persistent.root());
+        }
+        TaskTrie copy = TaskTrie.EMPTY;
+        for (Task task : tasks.values()) {
+            copy = copy.put(task);
+        }
+        return new TaskServiceSnapshot(copy);
+    }
+
+    /**
+     * Returns one page of tasks in task ID order. Pass null for the first page,
+     * then the previous page's next-page token until it is null. The token
+     * stays valid across any adds and deletes made between calls (see TaskPage).
+     * Runs in O(log n + pageSize).
+     * 
+     * @param pageToken the previous page's next-page token, or null for the first page
+     * @param pageSize  the most tasks to return (at least 1)
+     * @return the page and the token for the next one
+     * @throws IllegalArgumentException if pageSize is below 1
+     */
+    public TaskPage listTasks(String pageToken, int pageSize) {
+        long start = metrics == null ? 0 : metrics.start();
+        try {
+            if (pageSize < 1) {
+                throw new IllegalArgumentException("Page size must be at least 1");
+            }
+            // Resume after the last ID returned, whether or not that task still exists
+            NavigableMap<String, Task> ordered = orderedIndex();
+            Map<String, Task> rest = pageToken == null ? ordered : ordered.tailMap(pageToken, false);
+            List<Task> page = new ArrayList<>(Math.min(pageSize, 1024));
+            String last = null;
+            for (Map.Entry<String, Task> entry : rest.entrySet()) {
+                page.add(entry.getValue());
+                last = entry.getKey();
+                if (page.size() == pageSize) {
+                    break;
+                }
+            }
+            // A full page ends the listing only if nothing follows it
+            String next = page.size() == pageSize && ordered.higherKey(last) != null ? last : null;
+            return new TaskPage(page, next);
+        } catch (RuntimeException failure) {
+            throw failed(TaskMetrics.Operation.LIST_TASKS, failure);
+        } finally {
+            recorded(TaskMetrics.Operation.LIST_TASKS, start);
+        }
+    }
+
+    /**
+     * Forces any log records still buffered by group commit to disk.
+     * Does nothing for an in-memory service.
+     * 
+     * @throws UncheckedIOException if the flush fails
+     */
+    public void sync() {
+        if (log != null) {
+            logged(log::sync);
+        }
+    }
+
+    /**
+     * Flushes and closes the write-ahead log. Does nothing for an in-memory service.
+     * 
+     * @throws UncheckedIOException if the final flush fails
+     */
+    @Override
+    public void close() {
+        if (log != null) {
+            logged(log::close);
+        }
+    }
+
+    // Counts a call, and records its latency if it was timed, when metrics are attached
+    private void recorded(TaskMetrics.Operation operation, long start) {
+        if (metrics != null) {
+            metrics.record(operation, start);
+        }
+    }
+
+    // Counts a failed call when metrics are attached; returns the failure to rethrow
+    private RuntimeException failed(TaskMetrics.Operation operation, RuntimeException failure) {
+        if (metrics != null) {
+            metrics.recordFailure(operation, failure);
+        }
+        return failure;
+    }
+
+    // Runs a log operation, surfacing I/O failures unchecked
+    private void logged(LogWrite write) {
+        try {
+            write.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write the task log", e);
+        }
+    }
+
+    // Called after the map has changed, so the snapshot includes the change it follows
+    private void snapshotIfDue() {
+        if (log != null && log.snapshotDue()) {
+            logged(() -> log.snapshot(tasks.values()));
+        }
+    }
+
+    // Returns the ID-ordered index, building it from the map on first use; later changes keep it current
+    private NavigableMap<String, Task> orderedIndex() {
+        NavigableMap<String, Task> index = byId;
+        if (index == null) {
+            index = new ConcurrentSkipListMap<>(tasks);
+            byId = index;
+        }
+        return index;
+    }
+
+    // In PERSISTENT mode, stores a changed task again so later snapshots see its new fields
+    private void republish(Task task) {
+        if (persistent != null) {
+            persistent.put(task.getTaskId(), task);
+        }
+    }
+
+    // Checks one batch op against the staged state and records its effect; returns why it is invalid, or null
+    private String stage(TaskOp op, int index, Map<String, Task> staged, Task[] targets, TaskBatchResult result) {
+        if (op == null) {
+            return "Task operation cannot be null";
+        }
+        String id = op.getTaskId();
+        Task current = staged.containsKey(id) ? staged.get(id) : tasks.get(id);
+        switch (op.getType()) {
+            case ADD:
+                if (op.getTask() == null) {
+                    return "Task cannot be null";
+                }
+                if (current != null) {
+                    return "Task ID already exists: " + id;
+                }
+                staged.put(id, op.getTask());
+                targets[index] = op.getTask();
+                result.set(index, TaskBatchResult.Outcome.ADDED);
+                return null;
+            case UPDATE:
+                if (current == null) {
+                    return "Task not found with ID: " + id;
+                }
+                TaskError error = op.getNewName() == null ? null : TaskValidator.checkName(op.getNewName());
+                if (error == null && op.getNewDescription() != null) {
+                    error = TaskValidator.checkDescription(op.getNewDescription());
+                }
+                if (error != null) {
+                    return error.getMessage();
+                }
+                targets[index] = current;
+                result.set(index, TaskBatchResult.Outcome.UPDATED);
+                return null;
+            default:
+                if (current == null) {
+                    result.set(index, TaskBatchResult.Outcome.NOT_FOUND);
+                    return null;
+                }
+                staged.put(id, null);
+                targets[index] = current;
+                result.set(index, TaskBatchResult.Outcome.DELETED);
+                return null;
+        }
+    }
+
+    private static void checkSearch(String text, int limit) {
+        if (text == null) {
+            throw new IllegalArgumentException("Search text cannot be null");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Result limit cannot be negative");
+        }
+    }
+
+    // Publishes the events for an applied update of one or both fields
+    private void publishUpdate(String taskId, String newName, String newDescription) {
+        if (events == null) {
+            return;
+        }
+        if (newName != null) {
+            events.publish(TaskEvent.nameChanged(taskId, newName));
+        }
+        if (newDescription != null) {
+            events.publish(TaskEvent.descriptionChanged(taskId, newDescription));
+        }
+    }
+
+    // The exception for a versioned update that lost the race
+    private static IllegalStateException stale(Task task, long expectedVersion) {
+        return new IllegalStateException("Task version mismatch for ID: " + task.getTaskId()
+                + " (expected " + expectedVersion + ", current " + task.getVersion() + ")");
+    }
+
+    private static TaskLog requireLog(TaskLog log) {
+        if (log == null) {
+            throw new IllegalArgumentException("Task log cannot be null");
+        }
+        return log;
+    }
+
+    private static void throwIfInvalid(TaskError error) {
+        if (error != null) {
+            throw error.toException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface LogWrite {
+        void run() throws IOException;
     }
 }
\ No newline at end of file
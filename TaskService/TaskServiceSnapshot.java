@@ -0,0 +1,92 @@
+package src.main.java;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * TaskServiceSnapshot Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Point-in-time view of every task in a TaskService, from TaskService.snapshot().
+ * It holds the tasks that existed and the fields they had (as TaskSnapshots)
+ * at that moment, and never changes afterwards, so a reporting job can read
+ * it at its own pace, on any thread, while the service keeps changing.
+ *
+ * Tasks are visited in hash order, not task ID order. For ID-ordered paging
+ * over the live tasks, use TaskService.listTasks.
+ */
+public final class TaskServiceSnapshot implements Iterable<TaskSnapshot> {
+
+    private final TaskTrie trie;
+
+    TaskServiceSnapshot(TaskTrie trie) {
+        this.trie = trie;
+    }
+
+    /**
+     * Returns the number of tasks in the snapshot.
+     *
+     * @return the task count
+     */
+    public int size() {
+        return trie.size();
+    }
+
+    /**
+     * Returns a task's fields as of the snapshot.
+     *
+     * @param taskId the ID of the task
+     * @return the task's snapshot, or null if it did not exist
+     */
+    public TaskSnapshot get(String taskId) {
+        TaskTrie.Leaf leaf = trie.find(taskId);
+        return leaf == null ? null : leaf.state;
+    }
+
+    /**
+     * Returns true if a task with the given ID existed at the snapshot.
+     *
+     * @param taskId the ID of the task
+     * @return true if it existed
+     */
+    public boolean contains(String taskId) {
+        return trie.find(taskId) != null;
+    }
+
+    @Override
+    public Iterator<TaskSnapshot> iterator() {
+        Iterator<TaskTrie.Leaf> leaves = trie.iterator();
+        return new Iterator<TaskSnapshot>() {
+            @Override
+            public boolean hasNext() {
+                return leaves.hasNext();
+            }
+
+            @Override
+            public TaskSnapshot next() {
+                return leaves.next().state;
+            }
+        };
+    }
+
+    /**
+     * Returns a stream over every task in the snapshot.
+     *
+     * @return a sequential stream of task snapshots
+     */
+    public Stream<TaskSnapshot> stream() {
+        Spliterator<TaskSnapshot> spliterator = Spliterators.spliterator(iterator(), trie.size(),
+                Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskServiceSnapshot[" + trie.size() + " tasks]";
+    }
+}
@@ -1,11 +1,28 @@
 package src.test.java;
 
 import src.main.java.Task;
+import src.main.java.TaskBatchResult;
+import src.main.java.TaskOp;
+import src.main.java.TaskPage;
 import src.main.java.TaskService;
+import src.main.java.TaskServiceSnapshot;
+import src.main.java.TaskSnapshot;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
 /**
  * CS 320 Module Four Milestone - TaskServiceTest
  * 
@@ -18,6 +35,11 @@ import static org.junit.jupiter.api.Assertions.*;
  * - Deleting tasks by ID (returns success/failure)
  * - Updating name and/or description by ID (partial updates allowed)
  * - Proper handling of invalid or non-existent tasks
+ * - Prefix and substring search staying in sync with adds, updates and deletes
+ * - Batches applied in order, all or nothing, with an outcome per op
+ * - Streaming, splitting and paging over every task, including while tasks change
+ * - Versioned updates that fail fast when another edit got in first
+ * - Point-in-time snapshots in both storage modes, including while tasks change
  * 
  * Uses @BeforeEach to create a fresh TaskService instance for each test,
  * ensuring test isolation and no state leakage.
@@ -147,4 +169,435 @@ public class TaskServiceTest {
         assertEquals("Task not found with ID: FakeID", exception.getMessage(),
                 "Exception message should indicate task not found");
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies case-insensitive prefix search over names and descriptions,
+     * with name matches first.
+     */
+    @Test
+    void testSearchByPrefix() {
+        service.addTask(new Task("T1", "Write report", "Quarterly numbers"));
+        service.addTask(new Task("T2", "wrap up", "Close the sprint"));
+        service.addTask(new Task("T3", "Review", "Write feedback"));
+
+        List<Task> found = service.searchByPrefix("WR", 10);
+        assertEquals(3, found.size());
+        // Names "wrap up" and "Write report" in alphabetical order, then the description match
+        assertEquals("T2", found.get(0).getTaskId());
+        assertEquals("T1", found.get(1).getTaskId());
+        assertEquals("T3", found.get(2).getTaskId());
+
+        assertEquals(1, service.searchByPrefix("wr", 1).size(), "Limit should cap the results");
+        assertTrue(service.searchByPrefix("zzz", 10).isEmpty());
+    }
+
+    /**
+     * Verifies case-insensitive substring search for long and short queries,
+     * including matches that span gram boundaries and do not repeat tasks.
+     */
+    @Test
+    void testSearchBySubstring() {
+        service.addTask(new Task("T1", "Fix login bug", "Users cannot sign in"));
+        service.addTask(new Task("T2", "Write docs", "Explain the LOGIN flow"));
+        service.addTask(new Task("T3", "Plan", "Sprint planning"));
+
+        List<Task> found = service.searchBySubstring("login", 10);
+        assertEquals(2, found.size());
+        assertEquals("T1", found.get(0).getTaskId());
+        assertEquals("T2", found.get(1).getTaskId());
+
+        assertEquals(1, service.searchBySubstring("n the lo", 10).size(), "Multi-word text should match");
+        assertEquals(2, service.searchBySubstring("pl", 10).size(), "Short text should fall back to a scan");
+        assertEquals(1, service.searchBySubstring("planning", 10).size(), "A task matching in both fields appears once");
+        assertTrue(service.searchBySubstring("logout", 10).isEmpty());
+        assertTrue(service.searchBySubstring("login", 0).isEmpty());
+    }
+
+    /**
+     * Verifies that updates and deletes are reflected in search results,
+     * including after enough churn to rebuild the index.
+     */
+    @Test
+    void testSearchFollowsUpdatesAndDeletes() {
+        service.addTask(new Task("T1", "Old name", "Old description"));
+        service.updateTask("T1", "Fresh name", null);
+        assertTrue(service.searchBySubstring("old name", 10).isEmpty());
+        assertTrue(service.searchByPrefix("old name", 10).isEmpty());
+        assertEquals(1, service.searchBySubstring("fresh", 10).size());
+        assertEquals(1, service.searchBySubstring("old desc", 10).size(), "Unchanged field should stay searchable");
+
+        service.deleteTask("T1");
+        assertTrue(service.searchBySubstring("fresh", 10).isEmpty());
+        assertTrue(service.searchByPrefix("fresh", 10).isEmpty());
+
+        // Churn one task through many updates so stale entries pile up and get compacted
+        service.addTask(new Task("T2", "Counter 0", "Updated often"));
+        for (int i = 1; i <= 5000; i++) {
+            service.updateTask("T2", "Counter " + i, null);
+        }
+        List<Task> found = service.searchBySubstring("counter", 10);
+        assertEquals(1, found.size());
+        assertEquals("Counter 5000", found.get(0).getName());
+    }
+
+    /**
+     * Verifies that search arguments are validated.
+     */
+    @Test
+    void testSearchRejectsInvalidArguments() {
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> service.searchBySubstring(null, 10));
+        assertEquals("Search text cannot be null", exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class,
+                () -> service.searchByPrefix("a", -1));
+        assertEquals("Result limit cannot be negative", exception.getMessage());
+    }
+
+    /**
+     * Verifies that a valid batch is applied in order, each op seeing the ones before it.
+     */
+    @Test
+    void testApplyBatch() {
+        service.addTask(new Task("T1", "Write Code", "First draft"));
+        service.addTask(new Task("T2", "Old Task", "To be removed"));
+        Task added = new Task("T3", "Plan Sprint", "Pick the stories");
+
+        TaskBatchResult result = service.applyBatch(Arrays.asList(
+                TaskOp.update("T1", "Review Code", null),
+                TaskOp.delete("T2"),
+                TaskOp.add(added),
+                TaskOp.update("T3", null, "Pick and size the stories"),
+                TaskOp.add(new Task("T2", "New Task", "Reuses a deleted ID")),
+                TaskOp.delete("T9")));
+
+        assertTrue(result.isApplied());
+        assertEquals(-1, result.firstRejected());
+        assertEquals(TaskBatchResult.Outcome.UPDATED, result.getOutcome(0));
+        assertEquals(TaskBatchResult.Outcome.DELETED, result.getOutcome(1));
+        assertEquals(TaskBatchResult.Outcome.ADDED, result.getOutcome(2));
+        assertEquals(TaskBatchResult.Outcome.UPDATED, result.getOutcome(3));
+        assertEquals(TaskBatchResult.Outcome.ADDED, result.getOutcome(4));
+        assertEquals(TaskBatchResult.Outcome.NOT_FOUND, result.getOutcome(5), "Deleting a missing ID is not an error");
+        assertEquals("Review Code", service.getTask("T1").getName());
+        assertEquals("New Task", service.getTask("T2").getName());
+        assertSame(added, service.getTask("T3"));
+        assertEquals("Pick and size the stories", added.getDescription());
+        assertEquals(1, service.searchBySubstring("size the", 10).size(), "Batch changes should be searchable");
+        assertTrue(service.searchByPrefix("old task", 10).isEmpty());
+    }
+
+    /**
+     * Verifies that one invalid op discards the whole batch and every problem is reported.
+     */
+    @Test
+    void testApplyBatchIsAllOrNothing() {
+        service.addTask(new Task("T1", "Write Code", "First draft"));
+
+        TaskBatchResult result = service.applyBatch(Arrays.asList(
+                TaskOp.update("T1", "Review Code", null),
+                TaskOp.add(new Task("T2", "Plan Sprint", "Pick the stories")),
+                TaskOp.add(new Task("T2", "Duplicate", "Same ID as the op before")),
+                TaskOp.delete("T1"),
+                TaskOp.update("T1", "Too late", null),
+                TaskOp.update("T2", null, "This description is much longer than fifty characters"),
+                null));
+
+        assertFalse(result.isApplied());
+        assertEquals(2, result.firstRejected());
+        assertEquals(TaskBatchResult.Outcome.NOT_APPLIED, result.getOutcome(0));
+        assertEquals(TaskBatchResult.Outcome.NOT_APPLIED, result.getOutcome(1));
+        assertEquals("Task ID already exists: T2", result.getError(2));
+        assertEquals(TaskBatchResult.Outcome.NOT_APPLIED, result.getOutcome(3));
+        assertEquals("Task not found with ID: T1", result.getError(4), "Checked against the earlier delete");
+        assertEquals("Description cannot exceed 50 characters", result.getError(5));
+        assertEquals("Task operation cannot be null", result.getError(6));
+        assertNull(result.getError(0));
+
+        assertEquals("Write Code", service.getTask("T1").getName(), "Nothing should change");
+        assertNull(service.getTask("T2"));
+        assertEquals(1, service.searchByPrefix("", 10).size());
+        assertThrows(IllegalArgumentException.class, () -> service.applyBatch(null));
+        assertTrue(service.applyBatch(Arrays.asList()).isApplied());
+    }
+
+    /**
+     * Verifies that listTasks pages in ID order and that a token still works
+     * after the tasks around it are added and deleted.
+     */
+    @Test
+    void testListTasksPages() {
+        for (String id : new String[] {"T5", "T1", "T3", "T2", "T4"}) {
+            service.addTask(new Task(id, "Name " + id, "Description"));
+        }
+        TaskPage page = service.listTasks(null, 2);
+        assertEquals(Arrays.asList("T1", "T2"), ids(page.getTasks()));
+        assertEquals("T2", page.getNextPageToken());
+
+        // The token's own task is deleted, one task behind it and one ahead of it are added
+        service.deleteTask("T2");
+        service.deleteTask("T3");
+        service.addTask(new Task("T0", "Behind", "Description"));
+        service.addTask(new Task("T35", "Ahead", "Description"));
+        page = service.listTasks(page.getNextPageToken(), 2);
+        assertEquals(Arrays.asList("T35", "T4"), ids(page.getTasks()));
+        assertTrue(page.hasNext());
+        page = service.listTasks(page.getNextPageToken(), 2);
+        assertEquals(Arrays.asList("T5"), ids(page.getTasks()));
+        assertFalse(page.hasNext());
+
+        // A full last page has no token either
+        assertNull(service.listTasks("T4", 1).getNextPageToken());
+        assertTrue(new TaskService().listTasks(null, 10).getTasks().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> service.listTasks(null, 0));
+        assertThrows(UnsupportedOperationException.class, () -> service.listTasks(null, 1).getTasks().clear());
+    }
+
+    /**
+     * Verifies that streamTasks returns every task once in ID order, and that
+     * its spliterator splits into balanced parts for parallel streams.
+     */
+    @Test
+    void testStreamTasksInOrderAndInParallel() {
+        for (int i = 0; i < 1000; i++) {
+            service.addTask(new Task(String.format("T%04d", i), "Name", "Description"));
+        }
+        List<String> ids = ids(service.streamTasks().collect(Collectors.toList()));
+        assertEquals(1000, ids.size());
+        assertEquals("T0000", ids.get(0));
+        assertEquals("T0999", ids.get(999));
+        assertEquals(ids(service.listTasks(null, 1000).getTasks()), ids);
+        assertEquals(ids, ids(service.streamTasks().parallel().collect(Collectors.toList())), "Parallel streams keep the order");
+
+        Spliterator<Task> right = service.taskSpliterator();
+        assertEquals(1000, right.estimateSize());
+        Spliterator<Task> left = right.trySplit();
+        assertNotNull(left);
+        long leftCount = count(left);
+        long rightCount = count(right);
+        assertEquals(1000, leftCount + rightCount);
+        assertTrue(leftCount > 300 && rightCount > 300, leftCount + " / " + rightCount);
+        assertNull(right.trySplit(), "A started spliterator does not split");
+
+        service.deleteTask("T0000");
+        assertEquals(999, service.streamTasks().count());
+    }
+
+    /**
+     * Verifies that the ID-ordered index, built by the first ordered read,
+     * reflects the adds, deletes and batches made before it and follows
+     * every change made after it.
+     */
+    @Test
+    void testOrderedIndexBuiltOnFirstRead() {
+        service.addTask(new Task("B", "Name", "Description"));
+        service.addTask(new Task("D", "Name", "Description"));
+        service.deleteTask("B");
+        service.applyBatch(List.of(TaskOp.add(new Task("A", "Name", "Description")), TaskOp.delete("D")));
+        assertEquals(List.of("A"), ids(service.listTasks(null, 10).getTasks()));
+
+        service.addTask(new Task("C", "Name", "Description"));
+        service.applyBatch(List.of(TaskOp.add(new Task("E", "Name", "Description")), TaskOp.delete("A")));
+        assertEquals(List.of("C", "E"), ids(service.streamTasks().collect(Collectors.toList())));
+    }
+
+    /**
+     * Verifies that a stream read on another thread never fails while tasks
+     * are added and deleted, sees no task twice, and sees every task that
+     * existed for the whole stream.
+     */
+    @Test
+    void testStreamTasksWhileChanging() throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            service.addTask(new Task(String.format("K%03d", i), "Kept", "Description"));
+        }
+        // The first ordered read builds the index; like a change, it runs on the writer's thread
+        assertEquals(500, service.streamTasks().count());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                for (int round = 0; round < 200; round++) {
+                    List<String> seen = ids(service.streamTasks().parallel().collect(Collectors.toList()));
+                    Set<String> distinct = new HashSet<>(seen);
+                    assertEquals(seen.size(), distinct.size(), "No task twice");
+                    assertEquals(500, seen.stream().filter(id -> id.startsWith("K")).count(), "Every kept task");
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        reader.start();
+        for (int i = 0; reader.isAlive(); i++) {
+            service.addTask(new Task("C" + i, "Churn", "Description"));
+            service.deleteTask("C" + (i - 50));
+        }
+        reader.join();
+        assertNull(failure.get());
+    }
+
+    private static List<String> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getTaskId).collect(Collectors.toList());
+    }
+
+    private static long count(Spliterator<Task> spliterator) {
+        long[] count = {0};
+        spliterator.forEachRemaining(task -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Verifies that a versioned update applies at the expected version, that
+     * a stale one fails without changing the task or the search index, and
+     * that an unversioned update of both fields counts as one change.
+     */
+    @Test
+    void testVersionedUpdate() {
+        service.addTask(new Task("T001", "Write Code", "Implement unit tests"));
+        TaskSnapshot read = service.getTask("T001").getSnapshot();
+        assertEquals(0, read.getVersion());
+
+        // First client wins
+        assertEquals(1, service.updateTask("T001", read.getVersion(), "Review Code", null));
+        // Second client edited the same version and fails fast
+        IllegalStateException conflict = assertThrows(IllegalStateException.class,
+                () -> service.updateTask("T001", read.getVersion(), null, "Overwritten"));
+        assertTrue(conflict.getMessage().contains("expected 0, current 1"));
+        assertEquals("Implement unit tests", service.getTask("T001").getDescription());
+        assertEquals(1, service.searchByPrefix("review", 10).size());
+
+        // Re-read and retry
+        long version = service.getTask("T001").getVersion();
+        assertEquals(2, service.updateTask("T001", version, "Ship Code", "Release it"));
+        assertTrue(service.searchByPrefix("review", 10).isEmpty());
+        assertEquals(1, service.searchByPrefix("ship", 10).size());
+
+        // Unversioned updates still work and move the version by one
+        service.updateTask("T001", "Name", "Description");
+        assertEquals(3, service.getTask("T001").getVersion());
+
+        assertThrows(IllegalArgumentException.class, () -> service.updateTask("T999", 0, "Name", null));
+        assertThrows(IllegalArgumentException.class, () -> service.updateTask("T001", 3, "A name that is far too long", null));
+        assertEquals(3, service.getTask("T001").getVersion());
+    }
+
+    /**
+     * Verifies in both storage modes that a snapshot keeps the tasks and
+     * fields it was taken with, whatever happens to the service afterwards.
+     */
+    @Test
+    void testSnapshotIsPointInTime() {
+        for (TaskService.Storage storage : TaskService.Storage.values()) {
+            TaskService tasks = new TaskService(storage);
+            tasks.addTask(new Task("T001", "Write Code", "Implement unit tests"));
+            tasks.addTask(new Task("T002", "Review Code", "Check the tests"));
+            TaskServiceSnapshot before = tasks.snapshot();
+
+            tasks.updateTask("T001", "Ship Code", null);
+            tasks.deleteTask("T002");
+            tasks.addTask(new Task("T003", "Plan", "Next sprint"));
+            TaskServiceSnapshot after = tasks.snapshot();
+
+            assertEquals(2, before.size(), storage.name());
+            assertEquals("Write Code", before.get("T001").getName(), storage.name());
+            assertEquals(0, before.get("T001").getVersion(), storage.name());
+            assertTrue(before.contains("T002"), storage.name());
+            assertFalse(before.contains("T003"), storage.name());
+            assertNull(before.get("T999"), storage.name());
+
+            assertEquals(2, after.size(), storage.name());
+            assertEquals("Ship Code", after.get("T001").getName(), storage.name());
+            assertFalse(after.contains("T002"), storage.name());
+            assertEquals(Set.of("T001", "T003"),
+                    after.stream().map(TaskSnapshot::getTaskId).collect(Collectors.toSet()), storage.name());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new TaskService((TaskService.Storage) null));
+    }
+
+    /**
+     * Verifies that PERSISTENT storage behaves exactly like HASH_MAP storage
+     * through thousands of random adds, updates and deletes, including IDs
+     * whose hash codes are equal ("Aa" and "BB" hash alike, and so do their
+     * concatenations).
+     */
+    @Test
+    void testPersistentStorageMatchesHashMap() {
+        TaskService hashMap = new TaskService(TaskService.Storage.HASH_MAP);
+        TaskService persistent = new TaskService(TaskService.Storage.PERSISTENT);
+        List<String> ids = new ArrayList<>(Arrays.asList("Aa", "BB", "AaAa", "AaBB", "BBAa", "BBBB"));
+        for (int i = 0; i < 500; i++) {
+            ids.add("T" + i);
+        }
+        Random random = new Random(320);
+        for (int step = 0; step < 20_000; step++) {
+            String id = ids.get(random.nextInt(ids.size()));
+            switch (random.nextInt(3)) {
+                case 0:
+                    if (hashMap.getTask(id) == null) {
+                        hashMap.addTask(new Task(id, "Name " + step, "Description"));
+                        persistent.addTask(new Task(id, "Name " + step, "Description"));
+                    }
+                    break;
+                case 1:
+                    if (hashMap.getTask(id) != null) {
+                        hashMap.updateTask(id, null, "Step " + step);
+                        persistent.updateTask(id, null, "Step " + step);
+                    }
+                    break;
+                default:
+                    assertEquals(hashMap.deleteTask(id), persistent.deleteTask(id));
+                    break;
+            }
+        }
+
+        TaskServiceSnapshot snapshot = persistent.snapshot();
+        Map<String, String> seen = new HashMap<>();
+        for (TaskSnapshot task : snapshot) {
+            assertNull(seen.put(task.getTaskId(), task.getDescription()), "Visited twice: " + task.getTaskId());
+        }
+        assertEquals(seen.size(), snapshot.size());
+        for (String id : ids) {
+            Task expected = hashMap.getTask(id);
+            Task actual = persistent.getTask(id);
+            if (expected == null) {
+                assertNull(actual, id);
+                assertFalse(seen.containsKey(id), id);
+            } else {
+                assertEquals(expected.getDescription(), actual.getDescription(), id);
+                assertEquals(expected.getDescription(), seen.get(id), id);
+            }
+        }
+        assertEquals(hashMap.streamTasks().count(), snapshot.size());
+    }
+
+    /**
+     * Verifies that PERSISTENT snapshots taken on another thread while tasks
+     * are being added are always consistent: each holds exactly the first k
+     * tasks added, for some k, and the same k fields throughout.
+     */
+    @Test
+    void testPersistentSnapshotsWhileWriting() throws InterruptedException {
+        TaskService tasks = new TaskService(TaskService.Storage.PERSISTENT);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                for (int round = 0; round < 200; round++) {
+                    TaskServiceSnapshot snapshot = tasks.snapshot();
+                    int size = snapshot.size();
+                    for (int i = 0; i < size; i++) {
+                        assertTrue(snapshot.contains("t" + i), "Missing t" + i + " of " + size);
+                    }
+                    assertFalse(snapshot.contains("t" + size));
+                    assertEquals(size, snapshot.stream().count());
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 20_000; i++) {
+            tasks.addTask(new Task("t" + i, "Write Code", "Implement unit tests"));
+        }
+        reader.join();
+        assertNull(failure.get());
+        assertEquals(20_000, tasks.snapshot().size());
+    }
+}
@@ -0,0 +1,68 @@
+package src.main.java;
+
+/**
+ * TaskSnapshot Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Immutable view of a task's fields as of one version. A Task holds its
+ * current snapshot and replaces it with a compare-and-set on every change, so
+ * the name, description and version read from one snapshot always belong
+ * together, even when another thread is updating the task.
+ *
+ * The version starts at 0 when a task is created and goes up by one with
+ * every change. Clients read it with the
+ * task and pass it back to TaskService.updateTask to detect that someone else
+ * changed the task in between. A durable TaskService stores versions in its
+ * log's snapshot file and replays one change per logged update, so a task's
+ * version never goes back after a restart.
+ */
+public final class TaskSnapshot {
+
+    private final String taskId;
+    private final String name;
+    private final String description;
+    private final long version;
+
+    TaskSnapshot(String taskId, String name, String description, long version) {
+        this.taskId = taskId;
+        this.name = name;
+        this.description = description;
+        this.version = version;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the number of changes made to the task before this snapshot.
+     *
+     * @return the version, 0 for a task that has never changed
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    // The next version, with null meaning "keep the current value"
+    TaskSnapshot next(String newName, String newDescription) {
+        return new TaskSnapshot(taskId,
+                newName != null ? newName : name,
+                newDescription != null ? newDescription : description,
+                version + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskSnapshot[" + taskId + " v" + version + "]";
+    }
+}
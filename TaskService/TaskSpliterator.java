@@ -0,0 +1,150 @@
+package src.main.java;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * TaskSpliterator Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Spliterator over the tasks of TaskService's ID-ordered index, for
+ * streamTasks. It covers a range of task IDs and reads the index through a
+ * bounded view, so it holds no copy of the tasks and inherits the concurrent
+ * skip list's iteration guarantees.
+ *
+ * The JDK's own ConcurrentSkipListMap spliterator rarely splits, which leaves
+ * a parallel stream on one core. This one splits its range where its first
+ * and last IDs first differ: it finds the distinct characters the range's IDs
+ * have at that position (one skip-list seek each) and splits at the middle
+ * one. Gaps in the alphabet, such as between digits and letters, therefore do
+ * not matter, and IDs from a counter or a random source split about evenly.
+ * Neither side of a split is ever empty.
+ */
+final class TaskSpliterator implements Spliterator<Task> {
+
+    // Most distinct characters examined per split; enough for digits and both letter cases
+    static final int MAX_DISTINCT = 64;
+
+    private final NavigableMap<String, Task> index;
+    // Range covered: from inclusive (null = start), to exclusive (null = end)
+    private String from;
+    private final String to;
+    private long estimate;
+    // Created on first traversal; a spliterator that has started no longer splits
+    private Iterator<Task> iterator;
+
+    TaskSpliterator(NavigableMap<String, Task> index, String from, String to, long estimate) {
+        this.index = index;
+        this.from = from;
+        this.to = to;
+        this.estimate = estimate;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Task> action) {
+        if (iterator == null) {
+            iterator = range().values().iterator();
+        }
+        if (!iterator.hasNext()) {
+            return false;
+        }
+        action.accept(iterator.next());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Task> action) {
+        if (iterator == null) {
+            iterator = range().values().iterator();
+        }
+        while (iterator.hasNext()) {
+            action.accept(iterator.next());
+        }
+    }
+
+    @Override
+    public Spliterator<Task> trySplit() {
+        if (iterator != null) {
+            return null;
+        }
+        NavigableMap<String, Task> range = range();
+        // Entry reads return null instead of throwing if the range empties meanwhile
+        Map.Entry<String, Task> first = range.firstEntry();
+        Map.Entry<String, Task> last = range.lastEntry();
+        if (first == null || last == null) {
+            return null;
+        }
+        String mid = splitKey(range, first.getKey(), last.getKey());
+        // Both sides must be non-empty ranges: first < mid <= last
+        if (mid == null || mid.compareTo(first.getKey()) <= 0 || mid.compareTo(last.getKey()) > 0) {
+            return null;
+        }
+        long half = estimate >>> 1;
+        TaskSpliterator prefix = new TaskSpliterator(index, from, mid, half);
+        from = mid;
+        estimate -= half;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        // Each ID maps to one task, so no task is returned twice
+        return ORDERED | DISTINCT | NONNULL | CONCURRENT;
+    }
+
+    private NavigableMap<String, Task> range() {
+        if (from == null) {
+            return to == null ? index : index.headMap(to, false);
+        }
+        return to == null ? index.tailMap(from, true) : index.subMap(from, true, to, false);
+    }
+
+    /**
+     * Returns a key with first < key <= last that splits the range near its
+     * middle, or null if the range holds a single ID. Every ID in the range
+     * shares the common prefix of first and last; the key is that prefix plus
+     * the middle of the distinct characters that follow it.
+     */
+    static String splitKey(NavigableMap<String, Task> range, String first, String last) {
+        int position = 0;
+        int shorter = Math.min(first.length(), last.length());
+        while (position < shorter && first.charAt(position) == last.charAt(position)) {
+            position++;
+        }
+        if (position == last.length()) {
+            // first equals last
+            return null;
+        }
+        String prefix = last.substring(0, position);
+        char[] found = new char[MAX_DISTINCT];
+        int count = 0;
+        // first may be the prefix itself, which has no character at this position
+        String key = first.length() > position ? first : range.higherKey(first);
+        // IDs added after last was read may lie beyond it without sharing the prefix
+        while (key != null && key.compareTo(last) <= 0 && count < MAX_DISTINCT) {
+            char c = key.charAt(position);
+            found[count++] = c;
+            if (c == Character.MAX_VALUE) {
+                break;
+            }
+            // Jump past every ID with this character to the next distinct one
+            key = range.ceilingKey(prefix + (char) (c + 1));
+        }
+        if (count == 0) {
+            return null;
+        }
+        // Past MAX_DISTINCT the middle of those found still leaves IDs on both sides
+        char middle = found[count / 2];
+        return prefix + middle;
+    }
+}
@@ -1,9 +1,16 @@
 package src.test.java;
 
 import src.main.java.Task;
+import src.main.java.TaskError;
+import src.main.java.TaskSnapshot;
+import src.main.java.TaskValidation;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * CS 320 Module Four Milestone - TaskTest
  * 
@@ -176,4 +183,105 @@ public class TaskTest {
         assertEquals("Updated Description Here", task.getDescription(),
                 "Description should be updated successfully");
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that tryCreate builds the same task as the constructor for valid input.
+     */
+    @Test
+    void testTryCreateValid() {
+        TaskValidation result = Task.tryCreate("Task0001", "Finish Report", "Complete the report");
+        assertTrue(result.isValid());
+        assertEquals(0, result.getErrorCount());
+        assertNull(result.firstError());
+        assertEquals("Task0001", result.getTask().getTaskId());
+        assertEquals("Finish Report", result.getTask().getName());
+        assertEquals("Complete the report", result.getTask().getDescription());
+    }
+
+    /**
+     * Verifies that tryCreate reports every bad field without throwing, and
+     * that a reused result forgets the previous row.
+     */
+    @Test
+    void testTryCreateReportsEveryFieldAndIsReusable() {
+        TaskValidation result = new TaskValidation();
+        assertSame(result, Task.tryCreate("Task0000001", null, "   ", result));
+        assertFalse(result.isValid());
+        assertNull(result.getTask());
+        assertEquals(3, result.getErrorCount());
+        assertEquals(TaskError.ID_TOO_LONG, result.getError(TaskValidation.Field.TASK_ID));
+        assertEquals(TaskError.NAME_BLANK, result.getError(TaskValidation.Field.NAME));
+        assertEquals(TaskError.DESCRIPTION_BLANK, result.getError(TaskValidation.Field.DESCRIPTION));
+        // Same failure the constructor throws for
+        assertEquals(TaskError.ID_TOO_LONG, result.firstError());
+
+        Task.tryCreate("Task0002", "A name that is far too long", "Fine", result);
+        assertEquals(1, result.getErrorCount());
+        assertNull(result.getError(TaskValidation.Field.TASK_ID));
+        assertEquals(TaskError.NAME_TOO_LONG, result.getError(TaskValidation.Field.NAME));
+
+        Task.tryCreate("Task0003", "Name", "Description", result);
+        assertTrue(result.isValid());
+        assertNull(result.getError(TaskValidation.Field.NAME));
+        assertEquals("Task0003", result.getTask().getTaskId());
+
+        assertThrows(IllegalArgumentException.class, () -> Task.tryCreate("Task0004", "Name", "Description", null));
+    }
+
+    /**
+     * Verifies that every change adds one to the version, and that
+     * compareAndSet applies a change only at the expected version.
+     */
+    @Test
+    void testVersionAndCompareAndSet() {
+        Task task = new Task("T001", "Write Code", "Implement unit tests");
+        assertEquals(0, task.getVersion());
+        task.setName("Review Code");
+        assertEquals(1, task.getVersion());
+
+        TaskSnapshot before = task.getSnapshot();
+        assertTrue(task.compareAndSet(1, "Ship Code", "Release it"));
+        assertEquals(2, task.getVersion());
+        assertEquals("Ship Code", task.getName());
+        assertEquals("Release it", task.getDescription());
+        // A snapshot never changes once read
+        assertEquals("Review Code", before.getName());
+        assertEquals(1, before.getVersion());
+
+        // A stale version changes nothing
+        assertFalse(task.compareAndSet(1, "Too Late", null));
+        assertEquals("Ship Code", task.getName());
+        assertEquals(2, task.getVersion());
+        // Nothing to change: succeeds at the right version without a new one
+        assertTrue(task.compareAndSet(2, null, null));
+        assertEquals(2, task.getVersion());
+        assertThrows(IllegalArgumentException.class, () -> task.compareAndSet(2, "   ", null));
+    }
+
+    /**
+     * Verifies that threads racing with compareAndSet never lose an update:
+     * each success adds exactly one to the version.
+     */
+    @Test
+    void testCompareAndSetUnderContention() throws InterruptedException {
+        Task task = new Task("T001", "Name", "Description");
+        AtomicInteger applied = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    TaskSnapshot read = task.getSnapshot();
+                    if (task.compareAndSet(read.getVersion(), "Name " + (i % 10), null)) {
+                        applied.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(applied.get(), task.getVersion());
+    }
+}
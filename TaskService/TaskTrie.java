@@ -0,0 +1,345 @@
+package src.main.java;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * TaskTrie Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Persistent hash array mapped trie from task ID to task. A TaskTrie never
+ * changes: put and remove return a new trie that shares every node off the
+ * changed path with the old one, so keeping an old trie around costs nothing
+ * until the tries diverge, and each change copies at most seven small arrays.
+ *
+ * Each level consumes five bits of the (mixed) ID hash. A node holds a 32-bit
+ * bitmap of the occupied slots and an array with one entry per set bit: a
+ * Leaf, a child node, or a Collision holding the leaves of IDs whose hashes
+ * are equal in all 32 bits. A node left with a single leaf (or collision) is
+ * collapsed into its parent, so removes never leave chains of one-entry nodes.
+ *
+ * Each leaf holds the live Task and the TaskSnapshot it had when it was put,
+ * so a trie is a consistent view of every task's fields as well as of which
+ * tasks exist. Lookups read only final fields and never wait or retry.
+ */
+final class TaskTrie {
+
+    static final TaskTrie EMPTY = new TaskTrie(new Node(0, new Object[0]), 0);
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    // Deepest possible path: seven levels of nodes (shifts 0 to 30) plus a collision
+    private static final int MAX_DEPTH = 8;
+
+    private final Node root;
+    private final int size;
+
+    private TaskTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * One task, as stored when it was put.
+     */
+    static final class Leaf {
+        final int hash;
+        final Task task;
+        final TaskSnapshot state;
+
+        Leaf(int hash, Task task, TaskSnapshot state) {
+            this.hash = hash;
+            this.task = task;
+            this.state = state;
+        }
+
+        String id() {
+            return state.getTaskId();
+        }
+    }
+
+    // Bitmap-indexed interior node; entries are Leaf, Node or Collision
+    private static final class Node {
+        final int bitmap;
+        final Object[] entries;
+
+        Node(int bitmap, Object[] entries) {
+            this.bitmap = bitmap;
+            this.entries = entries;
+        }
+    }
+
+    // Leaves whose IDs differ but whose hashes are equal
+    private static final class Collision {
+        final int hash;
+        final Leaf[] leaves;
+
+        Collision(int hash, Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the leaf stored for a task ID.
+     *
+     * @param taskId the ID to look up (may be null)
+     * @return the leaf, or null if the ID is not stored
+     */
+    Leaf find(String taskId) {
+        if (taskId == null) {
+            return null;
+        }
+        int hash = hash(taskId);
+        Object entry = root;
+        for (int shift = 0; ; shift += BITS) {
+            if (entry instanceof Node) {
+                Node node = (Node) entry;
+                int bit = 1 << ((hash >>> shift) & MASK);
+                if ((node.bitmap & bit) == 0) {
+                    return null;
+                }
+                entry = node.entries[Integer.bitCount(node.bitmap & (bit - 1))];
+            } else if (entry instanceof Leaf) {
+                Leaf leaf = (Leaf) entry;
+                return leaf.hash == hash && leaf.id().equals(taskId) ? leaf : null;
+            } else {
+                Collision collision = (Collision) entry;
+                if (collision.hash != hash) {
+                    return null;
+                }
+                for (Leaf leaf : collision.leaves) {
+                    if (leaf.id().equals(taskId)) {
+                        return leaf;
+                    }
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Returns a trie that maps the task's ID to the task and its current snapshot.
+     *
+     * @param task the task to store or re-store
+     * @return the new trie
+     */
+    TaskTrie put(Task task) {
+        TaskSnapshot state = task.getSnapshot();
+        Leaf leaf = new Leaf(hash(state.getTaskId()), task, state);
+        boolean[] added = new boolean[1];
+        Node newRoot = (Node) put(root, leaf, 0, added);
+        return new TaskTrie(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Returns a trie without the given task ID.
+     *
+     * @param taskId the ID to remove
+     * @return the new trie, or this trie if the ID is not stored
+     */
+    TaskTrie remove(String taskId) {
+        if (taskId == null) {
+            return this;
+        }
+        Object newRoot = remove(root, taskId, hash(taskId), 0);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? EMPTY : new TaskTrie((Node) newRoot, size - 1);
+    }
+
+    /**
+     * Returns an iterator over the leaves, in hash order.
+     *
+     * @return the iterator
+     */
+    Iterator<Leaf> iterator() {
+        return new LeafIterator(root);
+    }
+
+    private static Object put(Object entry, Leaf leaf, int shift, boolean[] added) {
+        if (entry instanceof Collision) {
+            Collision collision = (Collision) entry;
+            if (collision.hash != leaf.hash) {
+                added[0] = true;
+                return split(collision, collision.hash, leaf, shift);
+            }
+            Leaf[] leaves = collision.leaves;
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].id().equals(leaf.id())) {
+                    Leaf[] replaced = leaves.clone();
+                    replaced[i] = leaf;
+                    return new Collision(leaf.hash, replaced);
+                }
+            }
+            added[0] = true;
+            Leaf[] grown = Arrays.copyOf(leaves, leaves.length + 1);
+            grown[leaves.length] = leaf;
+            return new Collision(leaf.hash, grown);
+        }
+        Node node = (Node) entry;
+        int bit = 1 << ((leaf.hash >>> shift) & MASK);
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        if ((node.bitmap & bit) == 0) {
+            added[0] = true;
+            Object[] entries = new Object[node.entries.length + 1];
+            System.arraycopy(node.entries, 0, entries, 0, index);
+            entries[index] = leaf;
+            System.arraycopy(node.entries, index, entries, index + 1, node.entries.length - index);
+            return new Node(node.bitmap | bit, entries);
+        }
+        Object child = node.entries[index];
+        Object newChild;
+        if (child instanceof Leaf) {
+            Leaf existing = (Leaf) child;
+            if (existing.hash == leaf.hash && existing.id().equals(leaf.id())) {
+                newChild = leaf;
+            } else if (existing.hash == leaf.hash) {
+                added[0] = true;
+                newChild = new Collision(leaf.hash, new Leaf[] {existing, leaf});
+            } else {
+                added[0] = true;
+                newChild = split(existing, existing.hash, leaf, shift + BITS);
+            }
+        } else {
+            newChild = put(child, leaf, shift + BITS, added);
+        }
+        Object[] entries = node.entries.clone();
+        entries[index] = newChild;
+        return new Node(node.bitmap, entries);
+    }
+
+    // A node holding an existing entry and a leaf whose hash differs from the entry's
+    private static Node split(Object existing, int existingHash, Leaf leaf, int shift) {
+        int existingIndex = (existingHash >>> shift) & MASK;
+        int leafIndex = (leaf.hash >>> shift) & MASK;
+        if (existingIndex == leafIndex) {
+            return new Node(1 << leafIndex, new Object[] {split(existing, existingHash, leaf, shift + BITS)});
+        }
+        Object[] entries = existingIndex < leafIndex ? new Object[] {existing, leaf} : new Object[] {leaf, existing};
+        return new Node((1 << existingIndex) | (1 << leafIndex), entries);
+    }
+
+    // Returns the entry without the ID: the same entry if absent, null if it would be empty
+    private static Object remove(Object entry, String taskId, int hash, int shift) {
+        if (entry instanceof Collision) {
+            Collision collision = (Collision) entry;
+            if (collision.hash != hash) {
+                return collision;
+            }
+            Leaf[] leaves = collision.leaves;
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].id().equals(taskId)) {
+                    if (leaves.length == 2) {
+                        return leaves[1 - i];
+                    }
+                    Leaf[] shrunk = new Leaf[leaves.length - 1];
+                    System.arraycopy(leaves, 0, shrunk, 0, i);
+                    System.arraycopy(leaves, i + 1, shrunk, i, shrunk.length - i);
+                    return new Collision(hash, shrunk);
+                }
+            }
+            return collision;
+        }
+        Node node = (Node) entry;
+        int bit = 1 << ((hash >>> shift) & MASK);
+        if ((node.bitmap & bit) == 0) {
+            return node;
+        }
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        Object child = node.entries[index];
+        Object newChild;
+        if (child instanceof Leaf) {
+            Leaf leaf = (Leaf) child;
+            if (leaf.hash != hash || !leaf.id().equals(taskId)) {
+                return node;
+            }
+            newChild = null;
+        } else {
+            newChild = remove(child, taskId, hash, shift + BITS);
+            if (newChild == child) {
+                return node;
+            }
+        }
+        if (newChild == null) {
+            if (node.entries.length == 1) {
+                return null;
+            }
+            if (node.entries.length == 2 && shift > 0 && !(node.entries[1 - index] instanceof Node)) {
+                // The remaining leaf (or collision) moves up into the parent
+                return node.entries[1 - index];
+            }
+            Object[] entries = new Object[node.entries.length - 1];
+            System.arraycopy(node.entries, 0, entries, 0, index);
+            System.arraycopy(node.entries, index + 1, entries, index, entries.length - index);
+            return new Node(node.bitmap & ~bit, entries);
+        }
+        if (node.entries.length == 1 && shift > 0 && !(newChild instanceof Node)) {
+            return newChild;
+        }
+        Object[] entries = node.entries.clone();
+        entries[index] = newChild;
+        return new Node(node.bitmap, entries);
+    }
+
+    // String.hashCode of IDs like "t1", "t2", ... differs only in the low bits; spread it over all 32
+    static int hash(String taskId) {
+        int h = taskId.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Depth-first walk over the leaves with an explicit stack
+    private static final class LeafIterator implements Iterator<Leaf> {
+        private final Object[][] entries = new Object[MAX_DEPTH + 1][];
+        private final int[] positions = new int[MAX_DEPTH + 1];
+        private int depth;
+        private Leaf next;
+
+        LeafIterator(Node root) {
+            entries[0] = root.entries;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Leaf next() {
+            Leaf leaf = next;
+            if (leaf == null) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return leaf;
+        }
+
+        private void advance() {
+            while (depth >= 0) {
+                if (positions[depth] == entries[depth].length) {
+                    depth--;
+                    continue;
+                }
+                Object entry = entries[depth][positions[depth]++];
+                if (entry instanceof Leaf) {
+                    next = (Leaf) entry;
+                    return;
+                }
+                depth++;
+                entries[depth] = entry instanceof Node ? ((Node) entry).entries : ((Collision) entry).leaves;
+                positions[depth] = 0;
+            }
+            next = null;
+        }
+    }
+}
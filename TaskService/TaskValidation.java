@@ -0,0 +1,122 @@
+package src.main.java;
+
+/**
+ * TaskValidation Class
+ *
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ *
+ * Result of Task.tryCreate: the task, if every field was valid, and the
+ * TaskError of each field that was not. Unlike the Task constructor, which
+ * throws on the first bad field, tryCreate checks every field and never
+ * throws for bad input, so an importer rejecting many rows pays for neither
+ * a stack trace nor a message.
+ *
+ * A result can be passed back to tryCreate to be reused for the next row, so
+ * a loop over many rows allocates nothing for the rows it rejects. A result
+ * is not thread-safe; use one per thread.
+ */
+public final class TaskValidation {
+
+    /**
+     * A field checked by tryCreate.
+     */
+    public enum Field {
+        TASK_ID,
+        NAME,
+        DESCRIPTION
+    }
+
+    private final TaskError[] errors = new TaskError[Field.values().length];
+    private int errorCount;
+    private Task task;
+
+    /**
+     * Creates an empty result, ready to pass to Task.tryCreate.
+     */
+    public TaskValidation() {
+    }
+
+    // Clears the previous row's outcome
+    void reset() {
+        for (int i = 0; i < errors.length; i++) {
+            errors[i] = null;
+        }
+        errorCount = 0;
+        task = null;
+    }
+
+    // Records a field's check; null means the field is valid
+    void check(Field field, TaskError error) {
+        errors[field.ordinal()] = error;
+        if (error != null) {
+            errorCount++;
+        }
+    }
+
+    void setTask(Task task) {
+        this.task = task;
+    }
+
+    /**
+     * Returns whether every field was valid (and a task was created).
+     */
+    public boolean isValid() {
+        return errorCount == 0;
+    }
+
+    /**
+     * Returns the task created from the last checked row.
+     *
+     * @return the task, or null if any field was invalid
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Returns why the given field was rejected.
+     *
+     * @param field the field
+     * @return the failure, or null if the field was valid
+     */
+    public TaskError getError(Field field) {
+        return errors[field.ordinal()];
+    }
+
+    /**
+     * Returns how many fields were rejected.
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Returns the first rejected field in constructor order, the one the
+     * constructor would have thrown for.
+     *
+     * @return the failure, or null if every field was valid
+     */
+    public TaskError firstError() {
+        for (TaskError error : errors) {
+            if (error != null) {
+                return error;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        if (isValid()) {
+            return "valid " + task.getTaskId();
+        }
+        StringBuilder text = new StringBuilder("invalid");
+        for (Field field : Field.values()) {
+            if (errors[field.ordinal()] != null) {
+                text.append(' ').append(field).append('=').append(errors[field.ordinal()]);
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package src.main.java;
+
+/**
+ * TaskValidator Class
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * Allocation-free field checks for Task.
+ * 
+ * Each check inspects its argument in a single pass and returns null when the
+ * value is valid, or the matching TaskError constant when it is not.
+ * Blank and length rules follow String.trim() semantics (characters up to
+ * U+0020 are ignored at both ends) without creating the trimmed copy.
+ */
+public final class TaskValidator {
+
+    static final int ID_MAX = 10;
+    static final int NAME_MAX = 20;
+    static final int DESCRIPTION_MAX = 50;
+
+    private TaskValidator() {
+        // Static methods only
+    }
+
+    /**
+     * Checks a task ID: not null, not blank, at most 10 characters (untrimmed).
+     * 
+     * @param taskId the value to check
+     * @return null if valid, otherwise the failure
+     */
+    public static TaskError checkTaskId(String taskId) {
+        if (taskId == null || trimmedLength(taskId) == 0) {
+            return TaskError.ID_BLANK;
+        }
+        // IDs are stored exactly as given, so the raw length is what counts
+        return taskId.length() > ID_MAX ? TaskError.ID_TOO_LONG : null;
+    }
+
+    /**
+     * Checks a task name: not null, not blank, at most 20 characters once trimmed.
+     * 
+     * @param name the value to check
+     * @return null if valid, otherwise the failure
+     */
+    public static TaskError checkName(String name) {
+        return checkText(name, NAME_MAX, TaskError.NAME_BLANK, TaskError.NAME_TOO_LONG);
+    }
+
+    /**
+     * Checks a task description: not null, not blank, at most 50 characters once trimmed.
+     * 
+     * @param description the value to check
+     * @return null if valid, otherwise the failure
+     */
+    public static TaskError checkDescription(String description) {
+        return checkText(description, DESCRIPTION_MAX, TaskError.DESCRIPTION_BLANK, TaskError.DESCRIPTION_TOO_LONG);
+    }
+
+    private static TaskError checkText(String value, int max, TaskError blank, TaskError tooLong) {
+        if (value == null) {
+            return blank;
+        }
+        // Most values are short and already trimmed, so skip the scan when the raw length fits
+        if (value.length() <= max) {
+            return trimmedLength(value) == 0 ? blank : null;
+        }
+        int trimmed = trimmedLength(value);
+        if (trimmed == 0) {
+            return blank;
+        }
+        return trimmed > max ? tooLong : null;
+    }
+
+    /**
+     * Returns the length value.trim() would have, without creating it.
+     * 
+     * @param value a non-null string
+     * @return the number of characters between the first and last character above U+0020
+     */
+    static int trimmedLength(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end - start;
+    }
+}
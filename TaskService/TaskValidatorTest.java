@@ -0,0 +1,64 @@
+package src.test.java;
+
+import src.main.java.TaskError;
+import src.main.java.TaskValidator;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TaskValidatorTest
+ * 
+ * Author: Rimon Hamo
+ * Date: October 17, 2026
+ * 
+ * JUnit 5 tests for the TaskValidator class.
+ * Verifies that the single-pass checks give the same answers as the former
+ * trim()-based validation, including whitespace-padded values.
+ */
+public class TaskValidatorTest {
+
+    /**
+     * Verifies that valid values produce no error.
+     */
+    @Test
+    void testValidValuesPass() {
+        assertNull(TaskValidator.checkTaskId("1234567890"));
+        assertNull(TaskValidator.checkName("12345678901234567890"));
+        assertNull(TaskValidator.checkDescription("12345678901234567890123456789012345678901234567890"));
+    }
+
+    /**
+     * Verifies null and blank values, including control characters trim() would strip.
+     */
+    @Test
+    void testBlankValues() {
+        assertSame(TaskError.ID_BLANK, TaskValidator.checkTaskId(null));
+        assertSame(TaskError.ID_BLANK, TaskValidator.checkTaskId("   "));
+        assertSame(TaskError.NAME_BLANK, TaskValidator.checkName("\t\n "));
+        assertSame(TaskError.DESCRIPTION_BLANK, TaskValidator.checkDescription(""));
+    }
+
+    /**
+     * Verifies that name and description limits apply to the trimmed length,
+     * while the ID limit applies to the raw length.
+     */
+    @Test
+    void testLengthUsesTrimmedContent() {
+        String padded = "  12345678901234567890  ";
+        assertNull(TaskValidator.checkName(padded), "Padding should not count towards the name limit");
+        assertSame(TaskError.NAME_TOO_LONG, TaskValidator.checkName(" 123456789012345678901 "));
+        assertSame(TaskError.DESCRIPTION_TOO_LONG,
+                TaskValidator.checkDescription("123456789012345678901234567890123456789012345678901"));
+        assertSame(TaskError.ID_TOO_LONG, TaskValidator.checkTaskId(" 123456789 "),
+                "Task IDs are stored untrimmed, so padding counts");
+    }
+
+    /**
+     * Verifies that the descriptors carry the messages Task has always thrown.
+     */
+    @Test
+    void testErrorMessages() {
+        assertEquals("Name cannot exceed 20 characters", TaskError.NAME_TOO_LONG.getMessage());
+        assertEquals("Task ID cannot be null or empty", TaskError.ID_BLANK.toException().getMessage());
+    }
+}